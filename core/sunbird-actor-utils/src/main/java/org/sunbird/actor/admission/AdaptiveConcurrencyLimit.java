@@ -0,0 +1,123 @@
+package org.sunbird.actor.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AdaptiveConcurrencyLimit bounds the number of requests of one operation that may be in flight at
+ * the same time, and adapts the bound to the observed latency using additive increase /
+ * multiplicative decrease (AIMD).
+ *
+ * <p>Each completion that finishes within the latency threshold grows the limit by {@code
+ * 1/limit}, so the limit grows by about one per round of {@code limit} requests, but only while
+ * the limit is actually being used. A completion slower than the threshold, or one that timed out,
+ * multiplies the limit by the backoff ratio. Requests that were already in flight when the
+ * downstream slowed down complete slowly together, so at most one decrease is applied per latency
+ * threshold window.
+ */
+public class AdaptiveConcurrencyLimit {
+
+  private final int initialLimit;
+  private final int minLimit;
+  private final int maxLimit;
+  private final long latencyThresholdMillis;
+  private final double backoffRatio;
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private double limit;
+  private long lastDecreaseNanos;
+  private volatile int currentLimit;
+
+  /**
+   * Creates a limit.
+   *
+   * @param initialLimit Limit used until latency has been observed.
+   * @param minLimit Lower bound of the limit.
+   * @param maxLimit Upper bound of the limit.
+   * @param latencyThresholdMillis Completions slower than this shrink the limit.
+   * @param backoffRatio Factor, between 0 and 1, applied to the limit when it shrinks.
+   */
+  public AdaptiveConcurrencyLimit(
+      int initialLimit,
+      int minLimit,
+      int maxLimit,
+      long latencyThresholdMillis,
+      double backoffRatio) {
+    this.minLimit = Math.max(1, minLimit);
+    this.maxLimit = Math.max(this.minLimit, maxLimit);
+    this.initialLimit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    this.latencyThresholdMillis = latencyThresholdMillis;
+    this.backoffRatio = backoffRatio;
+    this.limit = this.initialLimit;
+    this.currentLimit = this.initialLimit;
+    this.lastDecreaseNanos =
+        System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+  }
+
+  /**
+   * Tries to reserve a slot for a new request.
+   *
+   * @return True if the request may proceed, false if the limit has been reached.
+   */
+  public boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= currentLimit) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Releases a slot reserved by {@link #tryAcquire()} and adapts the limit.
+   *
+   * @param latencyMillis Time between admission and completion of the request.
+   * @param dropped Whether the request timed out.
+   */
+  public void release(long latencyMillis, boolean dropped) {
+    int inFlightBeforeRelease = inFlight.getAndUpdate(value -> value > 0 ? value - 1 : 0);
+    synchronized (this) {
+      if (dropped || latencyMillis > latencyThresholdMillis) {
+        long now = System.nanoTime();
+        if (now - lastDecreaseNanos >= TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis)) {
+          limit = Math.max(minLimit, limit * backoffRatio);
+          lastDecreaseNanos = now;
+        }
+      } else if (inFlightBeforeRelease * 2 >= currentLimit) {
+        limit = Math.min(maxLimit, limit + 1.0 / limit);
+      }
+      currentLimit = (int) limit;
+    }
+  }
+
+  public int getLimit() {
+    return currentLimit;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * Checks whether the limit has been reduced below its initial value, which means that the
+   * operation is slower than usual rather than merely busy.
+   *
+   * @return True if the limit is below the initial limit.
+   */
+  public boolean isDegraded() {
+    return currentLimit < initialLimit;
+  }
+
+  /**
+   * Returns how far the limit has been reduced, as the ratio of the initial limit to the current
+   * one.
+   *
+   * @return Ratio greater than or equal to 1.
+   */
+  public double getDegradation() {
+    return Math.max(1.0, (double) initialLimit / Math.max(1, currentLimit));
+  }
+}
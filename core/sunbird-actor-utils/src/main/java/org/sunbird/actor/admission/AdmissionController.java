@@ -0,0 +1,179 @@
+package org.sunbird.actor.admission;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.sunbird.actor.metrics.ActorMetrics;
+import org.sunbird.common.ProjectUtil;
+import org.sunbird.logging.LoggerUtil;
+import org.sunbird.response.ResponseCode;
+
+/**
+ * AdmissionController decides, before a request is sent to an actor, whether the service has
+ * capacity for it. Each operation has its own {@link AdaptiveConcurrencyLimit}, so a slow
+ * Cassandra or Elasticsearch backed operation sheds its own excess load instead of piling up asks
+ * that would only time out, while other operations are unaffected.
+ *
+ * <p>Callers invoke {@link #acquire(String)} before the ask and {@link #release(String, long,
+ * Throwable)} when the ask completes. Rejected requests fail fast with {@link
+ * AdmissionRejectedException} and are counted as shed in {@link ActorMetrics}. Admission control
+ * is disabled unless {@code sunbird_admission_control_enabled} is true.
+ */
+public final class AdmissionController {
+
+  private static final LoggerUtil logger = new LoggerUtil(AdmissionController.class);
+  private static final int MAX_RETRY_AFTER_SECONDS = 30;
+
+  private static final ConcurrentMap<String, AdaptiveConcurrencyLimit> limits =
+      new ConcurrentHashMap<>();
+
+  private static volatile boolean enabled;
+  private static int initialLimit;
+  private static int minLimit;
+  private static int maxLimit;
+  private static long latencyThresholdMillis;
+  private static double backoffRatio;
+  private static int retryAfterSeconds;
+  private static Set<String> exemptOperations = Collections.emptySet();
+
+  static {
+    configure(
+        Boolean.parseBoolean(ProjectUtil.getConfigValue("sunbird_admission_control_enabled")),
+        NumberUtils.toInt(ProjectUtil.getConfigValue("sunbird_admission_initial_limit"), 100),
+        NumberUtils.toInt(ProjectUtil.getConfigValue("sunbird_admission_min_limit"), 10),
+        NumberUtils.toInt(ProjectUtil.getConfigValue("sunbird_admission_max_limit"), 1000),
+        NumberUtils.toLong(
+            ProjectUtil.getConfigValue("sunbird_admission_latency_threshold_ms"), 5000),
+        NumberUtils.toDouble(ProjectUtil.getConfigValue("sunbird_admission_backoff_ratio"), 0.75),
+        NumberUtils.toInt(ProjectUtil.getConfigValue("sunbird_admission_retry_after_seconds"), 1),
+        ProjectUtil.getConfigValue("sunbird_admission_exempt_operations"));
+  }
+
+  private AdmissionController() {}
+
+  /**
+   * Admits a request of an operation.
+   *
+   * @param operation The operation name.
+   * @return Admission time in nanoseconds, to be passed to {@link #release(String, long,
+   *     Throwable)}.
+   * @throws AdmissionRejectedException If the operation is at its concurrency limit.
+   */
+  public static long acquire(String operation) {
+    AdaptiveConcurrencyLimit limit = getLimit(operation);
+    if (limit != null && !limit.tryAcquire()) {
+      ActorMetrics.onShed(operation);
+      boolean degraded = limit.isDegraded();
+      int retryAfter =
+          (int)
+              Math.min(
+                  MAX_RETRY_AFTER_SECONDS,
+                  Math.ceil(retryAfterSeconds * (degraded ? limit.getDegradation() : 1)));
+      logger.info(
+          "AdmissionController: shedding request for operation "
+              + operation
+              + " at concurrency limit "
+              + limit.getLimit());
+      throw new AdmissionRejectedException(
+          operation,
+          retryAfter,
+          degraded
+              ? ResponseCode.SERVICE_UNAVAILABLE.getResponseCode()
+              : ResponseCode.TOO_MANY_REQUESTS.getResponseCode());
+    }
+    return System.nanoTime();
+  }
+
+  /**
+   * Releases a request admitted by {@link #acquire(String)} and feeds its latency back into the
+   * operation limit.
+   *
+   * @param operation The operation name.
+   * @param admittedAt The value returned by {@link #acquire(String)}.
+   * @param failure The failure the ask completed with, or null on success.
+   */
+  public static void release(String operation, long admittedAt, Throwable failure) {
+    AdaptiveConcurrencyLimit limit = getLimit(operation);
+    if (limit == null) {
+      return;
+    }
+    int previous = limit.getLimit();
+    limit.release(
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - admittedAt),
+        ActorMetrics.isAskTimeout(failure));
+    if (limit.getLimit() != previous) {
+      ActorMetrics.onLimitChange(operation, limit.getLimit());
+    }
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  private static AdaptiveConcurrencyLimit getLimit(String operation) {
+    if (!enabled || StringUtils.isBlank(operation) || exemptOperations.contains(operation)) {
+      return null;
+    }
+    return limits.computeIfAbsent(
+        operation,
+        key -> {
+          ActorMetrics.onLimitChange(key, initialLimit);
+          return new AdaptiveConcurrencyLimit(
+              initialLimit, minLimit, maxLimit, latencyThresholdMillis, backoffRatio);
+        });
+  }
+
+  /**
+   * Applies the admission settings and discards the current operation limits.
+   *
+   * @param enabled Whether admission control is applied.
+   * @param initialLimit Initial concurrency limit of each operation.
+   * @param minLimit Lower bound of the concurrency limits.
+   * @param maxLimit Upper bound of the concurrency limits.
+   * @param latencyThresholdMillis Latency above which an operation limit is reduced.
+   * @param backoffRatio Factor applied to an operation limit when it is reduced.
+   * @param retryAfterSeconds Retry delay returned for requests shed by a busy operation.
+   * @param exemptOperations Comma separated operations that are never shed.
+   */
+  static synchronized void configure(
+      boolean enabled,
+      int initialLimit,
+      int minLimit,
+      int maxLimit,
+      long latencyThresholdMillis,
+      double backoffRatio,
+      int retryAfterSeconds,
+      String exemptOperations) {
+    AdmissionController.initialLimit = initialLimit;
+    AdmissionController.minLimit = minLimit;
+    AdmissionController.maxLimit = maxLimit;
+    AdmissionController.latencyThresholdMillis = latencyThresholdMillis;
+    AdmissionController.backoffRatio = backoffRatio;
+    AdmissionController.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    String exempt = StringUtils.deleteWhitespace(exemptOperations);
+    AdmissionController.exemptOperations =
+        StringUtils.isBlank(exempt)
+            ? Collections.emptySet()
+            : new HashSet<>(Arrays.asList(StringUtils.split(exempt, ",")));
+    limits.clear();
+    AdmissionController.enabled = enabled;
+    if (enabled) {
+      logger.info(
+          "AdmissionController: enabled with initial limit "
+              + initialLimit
+              + ", limits ["
+              + minLimit
+              + ", "
+              + maxLimit
+              + "] and latency threshold "
+              + latencyThresholdMillis
+              + "ms");
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package org.sunbird.actor.admission;
+
+import java.text.MessageFormat;
+import org.sunbird.exception.ProjectCommonException;
+import org.sunbird.response.ResponseCode;
+
+/**
+ * Exception raised by {@link AdmissionController} when a request is shed. The response code is
+ * 429 when the operation is merely busy and 503 when its limit has been reduced because it is
+ * slow. The retry delay is meant to be returned to the client in a {@code Retry-After} header.
+ */
+public class AdmissionRejectedException extends ProjectCommonException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final int retryAfterSeconds;
+
+  /**
+   * Creates the exception.
+   *
+   * @param operation The rejected operation.
+   * @param retryAfterSeconds Seconds after which the client may retry.
+   * @param responseCode HTTP status code, 429 or 503.
+   */
+  public AdmissionRejectedException(String operation, int retryAfterSeconds, int responseCode) {
+    super(
+        ResponseCode.errorOperationOverloaded,
+        MessageFormat.format(
+            ResponseCode.errorOperationOverloaded.getErrorMessage(),
+            operation,
+            String.valueOf(retryAfterSeconds)),
+        responseCode);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public int getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
@@ -6,6 +6,7 @@ import org.apache.pekko.actor.ActorRef;
 import org.apache.pekko.actor.ActorSelection;
 import org.apache.pekko.actor.UntypedAbstractActor;
 import org.apache.pekko.util.Timeout;
+import org.sunbird.actor.metrics.ActorMetrics;
 import org.sunbird.actor.router.BackgroundRequestRouter;
 import org.sunbird.actor.router.RequestRouter;
 import org.sunbird.actor.service.BaseMWService;
@@ -54,20 +55,37 @@ public abstract class BaseActor extends UntypedAbstractActor {
       String operation = request.getOperation();
       logger.debug(
           request.getRequestContext(), "BaseActor: onReceive called for operation: " + operation);
+      boolean recorded = isOperationRecorded();
+      long startTime = recorded ? ActorMetrics.onStart(request) : 0;
+      boolean failed = false;
       try {
         onReceive(request);
       } catch (Exception e) {
+        failed = true;
         logger.error(
             request.getRequestContext(),
             "BaseActor: FAILED onReceive called for operation: " + operation,
             e);
         onReceiveException(request, e);
+      } finally {
+        if (recorded) {
+          ActorMetrics.onComplete(operation, startTime, failed);
+        }
       }
     } else {
       logger.error("BaseActor: onReceive called for unsupported message type: " + message.getClass().getCanonicalName(), null);
     }
   }
 
+  /**
+   * Whether the processing of requests by this actor is recorded in {@link ActorMetrics}.
+   *
+   * @return True by default; routers override it so a routed request is recorded only once.
+   */
+  protected boolean isOperationRecorded() {
+    return true;
+  }
+
   /**
    * Tells a request to another router (BackgroundRequestRouter).
    *
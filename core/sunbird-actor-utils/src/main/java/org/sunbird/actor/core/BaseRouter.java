@@ -42,6 +42,15 @@ public abstract class BaseRouter extends BaseActor {
    */
   protected abstract void cacheActor(String key, ActorRef actor);
 
+  /**
+   * Routers only pass requests on, so they are not recorded in the actor metrics: the actor the
+   * request is routed to records it, with the queueing delay covering the time spent in the router.
+   */
+  @Override
+  protected boolean isOperationRecorded() {
+    return false;
+  }
+
   @Override
   public void onReceive(Request request) throws Throwable {
     String senderPath = sender().path().toString();
@@ -0,0 +1,172 @@
+package org.sunbird.actor.dispatch;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.pekko.dispatch.DispatcherPrerequisites;
+import org.apache.pekko.dispatch.ExecutorServiceConfigurator;
+import org.apache.pekko.dispatch.ExecutorServiceFactory;
+import org.apache.pekko.dispatch.MonitorableThreadFactory;
+import org.sunbird.logging.LoggerUtil;
+
+/**
+ * VirtualThreadExecutorConfigurator is a Pekko executor configurator that runs actor mailboxes on
+ * Java virtual threads, one per task. It is intended for actors that spend most of their time in
+ * blocking Cassandra, Elasticsearch or HTTP calls, where a fork-join pool needs a large number of
+ * platform threads to reach the same concurrency.
+ *
+ * <p>A dispatcher selects it by its fully qualified class name:
+ *
+ * <pre>
+ * virtual-thread-dispatcher {
+ *   type = "Dispatcher"
+ *   executor = "org.sunbird.actor.dispatch.VirtualThreadExecutorConfigurator"
+ *   virtual-thread-executor {
+ *     fallback-pool-size = 64
+ *     pinning-diagnostics = "short"
+ *   }
+ *   throughput = 1
+ * }
+ * </pre>
+ *
+ * <p>Virtual threads require Java 21. The code is compiled for Java 11, so the JDK API is looked up
+ * reflectively; on older runtimes, including the Java 11 runtime the services are built for, a
+ * bounded platform thread pool of {@code fallback-pool-size} threads is used instead. When {@code pinning-diagnostics} is {@code short} or {@code full} the
+ * JDK is asked to print a stack trace whenever a virtual thread blocks while pinned to its carrier
+ * (for example inside a {@code synchronized} block), which is what limits the scalability of these
+ * dispatchers. The {@code jdk.VirtualThreadPinned} JFR event gives the same information in
+ * production recordings.
+ */
+public class VirtualThreadExecutorConfigurator extends ExecutorServiceConfigurator {
+
+  /** Name of the dispatcher configured with this executor in the service configuration. */
+  public static final String DISPATCHER_ID = "virtual-thread-dispatcher";
+
+  private static final String CONFIG_SECTION = "virtual-thread-executor";
+  private static final String FALLBACK_POOL_SIZE = "fallback-pool-size";
+  private static final String PINNING_DIAGNOSTICS = "pinning-diagnostics";
+  private static final String TRACE_PINNED_THREADS = "jdk.tracePinnedThreads";
+  private static final int DEFAULT_FALLBACK_POOL_SIZE = 64;
+
+  private static final LoggerUtil logger = new LoggerUtil(VirtualThreadExecutorConfigurator.class);
+
+  private final int fallbackPoolSize;
+
+  /**
+   * Constructor invoked reflectively by Pekko with the dispatcher configuration.
+   *
+   * @param config The dispatcher configuration.
+   * @param prerequisites The dispatcher prerequisites.
+   */
+  public VirtualThreadExecutorConfigurator(
+      Config config, DispatcherPrerequisites prerequisites) {
+    super(config, prerequisites);
+    Config executorConfig =
+        config.hasPath(CONFIG_SECTION) ? config.getConfig(CONFIG_SECTION) : ConfigFactory.empty();
+    this.fallbackPoolSize =
+        executorConfig.hasPath(FALLBACK_POOL_SIZE)
+            ? executorConfig.getInt(FALLBACK_POOL_SIZE)
+            : DEFAULT_FALLBACK_POOL_SIZE;
+    String pinningDiagnostics =
+        executorConfig.hasPath(PINNING_DIAGNOSTICS)
+            ? executorConfig.getString(PINNING_DIAGNOSTICS)
+            : "off";
+    enablePinningDiagnostics(pinningDiagnostics);
+  }
+
+  @Override
+  public ExecutorServiceFactory createExecutorServiceFactory(
+      String id, ThreadFactory threadFactory) {
+    return new ExecutorServiceFactory() {
+      @Override
+      public ExecutorService createExecutorService() {
+        ExecutorService executor = createVirtualThreadExecutor(id);
+        if (executor != null) {
+          logger.info("VirtualThreadExecutorConfigurator: using virtual threads for " + id);
+          return executor;
+        }
+        logger.info(
+            "VirtualThreadExecutorConfigurator: virtual threads not supported by this JVM, using "
+                + fallbackPoolSize
+                + " platform threads for "
+                + id);
+        ThreadPoolExecutor pool =
+            new ThreadPoolExecutor(
+                fallbackPoolSize,
+                fallbackPoolSize,
+                60,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                withDispatcherName(threadFactory, id));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+      }
+    };
+  }
+
+  /**
+   * Checks whether the running JVM supports virtual threads.
+   *
+   * @return True if virtual threads are available.
+   */
+  public static boolean isVirtualThreadSupported() {
+    try {
+      Thread.class.getMethod("ofVirtual");
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Creates a thread-per-task executor backed by virtual threads named after the dispatcher.
+   *
+   * @param id The dispatcher id, used as thread name prefix.
+   * @return The executor, or null if the JVM does not support virtual threads.
+   */
+  static ExecutorService createVirtualThreadExecutor(String id) {
+    if (!isVirtualThreadSupported()) {
+      return null;
+    }
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+      builder =
+          builderClass.getMethod("name", String.class, long.class).invoke(builder, id + "-", 0L);
+      Method factoryMethod = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+      ThreadFactory factory = (ThreadFactory) factoryMethod.invoke(builder);
+      Method newThreadPerTaskExecutor =
+          Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+      return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory);
+    } catch (Exception e) {
+      logger.error(
+          "VirtualThreadExecutorConfigurator: unable to create virtual thread executor for " + id,
+          e);
+      return null;
+    }
+  }
+
+  /** Names the fallback pool threads after the dispatcher, as Pekko's own executors do. */
+  private static ThreadFactory withDispatcherName(ThreadFactory threadFactory, String id) {
+    if (threadFactory instanceof MonitorableThreadFactory) {
+      MonitorableThreadFactory factory = (MonitorableThreadFactory) threadFactory;
+      return factory.withName(factory.name() + "-" + id);
+    }
+    return threadFactory;
+  }
+
+  private static void enablePinningDiagnostics(String mode) {
+    if (StringUtils.equalsAnyIgnoreCase(mode, "short", "full")
+        && StringUtils.isBlank(System.getProperty(TRACE_PINNED_THREADS))) {
+      System.setProperty(TRACE_PINNED_THREADS, mode.toLowerCase());
+      logger.info("VirtualThreadExecutorConfigurator: pinned thread tracing enabled: " + mode);
+    }
+  }
+}
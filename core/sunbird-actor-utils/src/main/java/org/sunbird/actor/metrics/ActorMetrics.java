@@ -0,0 +1,163 @@
+package org.sunbird.actor.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.pekko.pattern.AskTimeoutException;
+import org.sunbird.request.Request;
+
+/**
+ * ActorMetrics is the process-wide registry of per-operation actor instrumentation. Callers that
+ * hand a {@link Request} to an actor mark it with {@link #onEnqueue(Request)}, and the base actors
+ * wrap message processing with {@link #onStart(Request)} and {@link #onComplete(String, long,
+ * boolean)}. This gives, per operation, the enqueue-to-start delay (mailbox wait), processing time,
+ * ask timeouts, requests shed by admission control and the number of queued and in-flight
+ * requests. The snapshot is exposed through the service metrics endpoint and is intended for
+ * sizing the actor dispatchers.
+ */
+public final class ActorMetrics {
+
+  private static final String UNKNOWN_OPERATION = "unknown";
+  private static final ConcurrentMap<String, OperationMetrics> operations =
+      new ConcurrentHashMap<>();
+
+  private ActorMetrics() {}
+
+  /**
+   * Marks the request as handed to an actor mailbox. Must be called before the message is sent. A
+   * request which is already marked, such as one passed on by a router, keeps its original enqueue
+   * time, so the queueing delay covers every hop up to the actor that processes it.
+   *
+   * @param request The request being sent.
+   */
+  public static void onEnqueue(Request request) {
+    if (request == null || request.getEnqueuedAt() > 0) {
+      return;
+    }
+    request.setEnqueuedAt(System.currentTimeMillis());
+    get(request.getOperation()).enqueued();
+  }
+
+  /**
+   * Clears the enqueue marker of a request which leaves the mailboxes without being processed,
+   * for example because it was shed or its operation is not supported.
+   *
+   * @param request The request being discarded.
+   */
+  public static void onDequeue(Request request) {
+    if (request == null || request.getEnqueuedAt() <= 0) {
+      return;
+    }
+    request.setEnqueuedAt(0);
+    get(request.getOperation()).dequeued();
+  }
+
+  /**
+   * Marks the start of processing of the request by an actor and records the queueing delay if
+   * the request was marked with {@link #onEnqueue(Request)}. The enqueue marker is cleared so that
+   * a request forwarded to another actor is not counted twice.
+   *
+   * @param request The request being processed.
+   * @return Start time in nanoseconds, to be passed to {@link #onComplete(String, long, boolean)}.
+   */
+  public static long onStart(Request request) {
+    long enqueuedAt = request.getEnqueuedAt();
+    boolean wasEnqueued = enqueuedAt > 0;
+    request.setEnqueuedAt(0);
+    get(request.getOperation())
+        .started(wasEnqueued ? System.currentTimeMillis() - enqueuedAt : 0, wasEnqueued);
+    return System.nanoTime();
+  }
+
+  /**
+   * Marks the end of processing of an operation.
+   *
+   * @param operation The operation name.
+   * @param startNanos The value returned by {@link #onStart(Request)}.
+   * @param failed Whether processing ended with an exception.
+   */
+  public static void onComplete(String operation, long startNanos, boolean failed) {
+    get(operation)
+        .completed(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), failed);
+  }
+
+  /**
+   * Records the outcome of an ask for an operation. Only {@link AskTimeoutException} failures
+   * (possibly wrapped by the future implementation) are counted.
+   *
+   * @param operation The operation name.
+   * @param failure The failure the ask completed with, or null on success.
+   */
+  public static void onAskComplete(String operation, Throwable failure) {
+    if (isAskTimeout(failure)) {
+      get(operation).timedOut();
+    }
+  }
+
+  /**
+   * Checks whether an ask failed with {@link AskTimeoutException}, possibly wrapped by the future
+   * implementation.
+   *
+   * @param failure The failure the ask completed with, or null on success.
+   * @return True if the ask timed out.
+   */
+  public static boolean isAskTimeout(Throwable failure) {
+    Throwable cause = failure;
+    while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+        && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause instanceof AskTimeoutException;
+  }
+
+  /**
+   * Records a request of an operation that was rejected by admission control.
+   *
+   * @param operation The operation name.
+   */
+  public static void onShed(String operation) {
+    get(operation).shed();
+  }
+
+  /**
+   * Records the current adaptive concurrency limit of an operation.
+   *
+   * @param operation The operation name.
+   * @param limit The new concurrency limit.
+   */
+  public static void onLimitChange(String operation, int limit) {
+    get(operation).limitChanged(limit);
+  }
+
+  /**
+   * Returns the metrics of an operation, creating them if needed.
+   *
+   * @param operation The operation name.
+   * @return The operation metrics.
+   */
+  public static OperationMetrics get(String operation) {
+    String key = StringUtils.isBlank(operation) ? UNKNOWN_OPERATION : operation;
+    return operations.computeIfAbsent(key, OperationMetrics::new);
+  }
+
+  /**
+   * Returns a point-in-time view of all operations, sorted by operation name.
+   *
+   * @return Map of operation name to its metrics.
+   */
+  public static Map<String, Object> snapshot() {
+    Map<String, Object> snapshot = new TreeMap<>();
+    operations.forEach((operation, metrics) -> snapshot.put(operation, metrics.toMap()));
+    return snapshot;
+  }
+
+  /** Clears all recorded metrics. */
+  public static void reset() {
+    operations.clear();
+  }
+}
@@ -0,0 +1,150 @@
+package org.sunbird.actor.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.sunbird.metrics.LatencyHistogram;
+
+/**
+ * OperationMetrics holds the counters and latency histograms recorded for a single actor
+ * operation. Instances are created and owned by {@link ActorMetrics}.
+ */
+public class OperationMetrics {
+
+  private final String operation;
+  private final AtomicLong queued = new AtomicLong();
+  private final AtomicLong inFlight = new AtomicLong();
+  private final LongAdder processed = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+  private final LongAdder shed = new LongAdder();
+  private volatile int concurrencyLimit;
+  private final LatencyHistogram queueDelay = new LatencyHistogram();
+  private final LatencyHistogram processingTime = new LatencyHistogram();
+
+  OperationMetrics(String operation) {
+    this.operation = operation;
+  }
+
+  public String getOperation() {
+    return operation;
+  }
+
+  /**
+   * Number of requests handed to an actor mailbox for this operation that have not started
+   * processing yet.
+   *
+   * @return The current queued count.
+   */
+  public long getQueued() {
+    return queued.get();
+  }
+
+  /**
+   * Number of requests for this operation currently being processed by an actor.
+   *
+   * @return The current in-flight count.
+   */
+  public long getInFlight() {
+    return inFlight.get();
+  }
+
+  public long getProcessed() {
+    return processed.sum();
+  }
+
+  public long getFailures() {
+    return failures.sum();
+  }
+
+  public long getTimeouts() {
+    return timeouts.sum();
+  }
+
+  /**
+   * Number of requests for this operation rejected by admission control without being sent to an
+   * actor.
+   *
+   * @return The shed count.
+   */
+  public long getShed() {
+    return shed.sum();
+  }
+
+  /**
+   * Current adaptive concurrency limit of this operation, or zero when admission control is not
+   * applied to it.
+   *
+   * @return The concurrency limit.
+   */
+  public int getConcurrencyLimit() {
+    return concurrencyLimit;
+  }
+
+  public LatencyHistogram getQueueDelay() {
+    return queueDelay;
+  }
+
+  public LatencyHistogram getProcessingTime() {
+    return processingTime;
+  }
+
+  void enqueued() {
+    queued.incrementAndGet();
+  }
+
+  void dequeued() {
+    queued.updateAndGet(value -> value > 0 ? value - 1 : 0);
+  }
+
+  void started(long queueDelayMillis, boolean wasEnqueued) {
+    if (wasEnqueued) {
+      queued.updateAndGet(value -> value > 0 ? value - 1 : 0);
+      queueDelay.record(queueDelayMillis);
+    }
+    inFlight.incrementAndGet();
+  }
+
+  void completed(long processingMillis, boolean failed) {
+    inFlight.decrementAndGet();
+    processed.increment();
+    if (failed) {
+      failures.increment();
+    }
+    processingTime.record(processingMillis);
+  }
+
+  void timedOut() {
+    timeouts.increment();
+  }
+
+  void shed() {
+    shed.increment();
+  }
+
+  void limitChanged(int limit) {
+    concurrencyLimit = limit;
+  }
+
+  /**
+   * Returns a point-in-time view of this operation suitable for JSON serialisation.
+   *
+   * @return Map of counters and histograms.
+   */
+  public Map<String, Object> toMap() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("queued", getQueued());
+    map.put("inFlight", getInFlight());
+    map.put("processed", getProcessed());
+    map.put("failures", getFailures());
+    map.put("timeouts", getTimeouts());
+    map.put("shed", getShed());
+    if (concurrencyLimit > 0) {
+      map.put("concurrencyLimit", concurrencyLimit);
+    }
+    map.put("queueDelay", queueDelay.toMap());
+    map.put("processingTime", processingTime.toMap());
+    return map;
+  }
+}
@@ -5,6 +5,7 @@ import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.pekko.actor.ActorRef;
 import org.sunbird.actor.core.BaseRouter;
+import org.sunbird.actor.metrics.ActorMetrics;
 import org.sunbird.keys.JsonKey;
 import org.sunbird.request.Request;
 
@@ -43,8 +44,10 @@ public class BackgroundRequestRouter extends BaseRouter {
     String operation = request.getOperation();
     ActorRef ref = routingMap.get(getKey(self().path().name(), operation));
     if (null != ref) {
+      ActorMetrics.onEnqueue(request);
       ref.tell(request, self());
     } else {
+      ActorMetrics.onDequeue(request);
       logger.info(request.getRequestContext(), "BackgroundRequestRouter: Unsupported operation: " + operation);
       onReceiveUnsupportedOperation(operation);
     }
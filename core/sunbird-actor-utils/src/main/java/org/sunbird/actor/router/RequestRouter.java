@@ -8,7 +8,10 @@ import org.apache.pekko.actor.ActorRef;
 import org.apache.pekko.dispatch.OnComplete;
 import org.apache.pekko.pattern.Patterns;
 import org.apache.pekko.util.Timeout;
+import org.sunbird.actor.admission.AdmissionController;
+import org.sunbird.actor.admission.AdmissionRejectedException;
 import org.sunbird.actor.core.BaseRouter;
+import org.sunbird.actor.metrics.ActorMetrics;
 import org.sunbird.exception.ProjectCommonException;
 import org.sunbird.keys.JsonKey;
 import org.sunbird.request.Request;
@@ -20,7 +23,10 @@ import scala.concurrent.duration.Duration;
 /**
  * RequestRouter is responsible for routing synchronous API requests to the corresponding actors. It
  * uses the {@link Patterns#ask(ActorRef, Object, Timeout)} pattern to communicate with actors and
- * handles timeouts and exceptions, propagating them back to the caller.
+ * handles timeouts and exceptions, propagating them back to the caller. Requests are admitted
+ * through {@link AdmissionController}, so an overloaded operation is rejected immediately instead
+ * of waiting for the ask to time out. Enqueue time and ask timeouts are recorded in {@link
+ * ActorMetrics}.
  */
 public class RequestRouter extends BaseRouter {
 
@@ -54,6 +60,7 @@ public class RequestRouter extends BaseRouter {
     if (null != ref) {
       route(ref, request, getContext().dispatcher());
     } else {
+      ActorMetrics.onDequeue(request);
       logger.info(request.getRequestContext(), "RequestRouter: Unsupported operation: " + operation);
       onReceiveUnsupportedOperation(operation);
     }
@@ -92,7 +99,7 @@ public class RequestRouter extends BaseRouter {
    * @param router The target actor reference.
    * @param request The request object.
    * @param ec The execution context for handling the future.
-   * @return True if routing was successful.
+   * @return True if routing was successful, false if the request was shed.
    */
   private boolean route(ActorRef router, Request request, ExecutionContext ec) {
     long startTime = System.currentTimeMillis();
@@ -103,14 +110,25 @@ public class RequestRouter extends BaseRouter {
             + " at time: "
             + startTime);
 
+    ActorRef parent = sender();
+    long admittedAt;
+    try {
+      admittedAt = AdmissionController.acquire(request.getOperation());
+    } catch (AdmissionRejectedException e) {
+      ActorMetrics.onDequeue(request);
+      parent.tell(e, self());
+      return false;
+    }
     Timeout timeout = new Timeout(Duration.create(request.getTimeout(), TimeUnit.SECONDS));
+    ActorMetrics.onEnqueue(request);
     Future<Object> future = Patterns.ask(router, request, timeout);
-    ActorRef parent = sender();
 
     future.onComplete(
         new OnComplete<Object>() {
           @Override
           public void onComplete(Throwable failure, Object result) {
+            AdmissionController.release(request.getOperation(), admittedAt, failure);
+            ActorMetrics.onAskComplete(request.getOperation(), failure);
             if (failure != null) {
               logger.error(
                   request.getRequestContext(),
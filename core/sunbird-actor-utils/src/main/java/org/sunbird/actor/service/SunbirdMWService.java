@@ -2,6 +2,7 @@ package org.sunbird.actor.service;
 
 import org.apache.pekko.actor.ActorRef;
 import org.apache.pekko.actor.ActorSelection;
+import org.sunbird.actor.metrics.ActorMetrics;
 import org.sunbird.actor.router.BackgroundRequestRouter;
 import org.sunbird.actor.router.RequestRouter;
 import org.sunbird.keys.JsonKey;
@@ -30,6 +31,7 @@ public class SunbirdMWService extends BaseMWService {
   public static void tellToRequestRouter(Request request, ActorRef sender) {
     String operation = request.getOperation();
     ActorRef actor = RequestRouter.getActor(operation);
+    ActorMetrics.onEnqueue(request);
     if (null == actor) {
       ActorSelection select = getRemoteRouter(RequestRouter.class.getSimpleName());
       select.tell(request, sender);
@@ -47,6 +49,7 @@ public class SunbirdMWService extends BaseMWService {
   public static void tellToBGRouter(Request request, ActorRef sender) {
     String operation = request.getOperation();
     ActorRef actor = BackgroundRequestRouter.getActor(operation);
+    ActorMetrics.onEnqueue(request);
     if (null == actor) {
       ActorSelection select = getRemoteRouter(BackgroundRequestRouter.class.getSimpleName());
       select.tell(request, sender);
@@ -0,0 +1,121 @@
+package org.sunbird.actor.admission;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.apache.pekko.pattern.AskTimeoutException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sunbird.actor.metrics.ActorMetrics;
+import org.sunbird.response.ResponseCode;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimit and AdmissionController.
+ */
+public class AdmissionControllerTest {
+
+  private static final String OPERATION = "testOperation";
+
+  @Before
+  public void setUp() {
+    ActorMetrics.reset();
+    AdmissionController.configure(true, 2, 1, 4, 1000, 0.5, 1, "healthCheck");
+  }
+
+  @After
+  public void tearDown() {
+    AdmissionController.configure(false, 100, 10, 1000, 5000, 0.75, 1, "healthCheck");
+  }
+
+  /**
+   * Verifies that the limit grows additively on fast completions while in use and never exceeds
+   * its maximum.
+   */
+  @Test
+  public void testAdditiveIncrease() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 3, 1000, 0.5);
+    for (int i = 0; i < 20; i++) {
+      assertTrue(limit.tryAcquire());
+      assertTrue(limit.tryAcquire());
+      limit.release(1, false);
+      limit.release(1, false);
+    }
+    assertEquals(3, limit.getLimit());
+    assertEquals(0, limit.getInFlight());
+  }
+
+  /**
+   * Verifies that a slow or timed out completion halves the limit once per latency window, and
+   * that the limit is then reported as degraded.
+   */
+  @Test
+  public void testMultiplicativeDecrease() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 8, 1000, 0.5);
+    limit.tryAcquire();
+    limit.tryAcquire();
+    limit.release(2000, false);
+    assertEquals(4, limit.getLimit());
+    limit.release(10, true);
+    assertEquals(4, limit.getLimit());
+    assertTrue(limit.isDegraded());
+    assertEquals(2.0, limit.getDegradation(), 0.0);
+  }
+
+  /**
+   * Verifies that requests beyond the limit are shed with 429 and counted in the metrics, and that
+   * releasing a request admits the next one.
+   */
+  @Test
+  public void testShedWhenBusy() {
+    long first = AdmissionController.acquire(OPERATION);
+    AdmissionController.acquire(OPERATION);
+    try {
+      AdmissionController.acquire(OPERATION);
+      fail("Request beyond the concurrency limit was admitted");
+    } catch (AdmissionRejectedException e) {
+      assertEquals(ResponseCode.TOO_MANY_REQUESTS.getResponseCode(), e.getErrorResponseCode());
+      assertEquals(1, e.getRetryAfterSeconds());
+    }
+    assertEquals(1, ActorMetrics.get(OPERATION).getShed());
+    AdmissionController.release(OPERATION, first, null);
+    AdmissionController.acquire(OPERATION);
+  }
+
+  /**
+   * Verifies that an operation whose limit was reduced by timeouts is shed with 503 and a longer
+   * retry delay.
+   */
+  @Test
+  public void testShedWhenDegraded() {
+    long admittedAt = AdmissionController.acquire(OPERATION);
+    AdmissionController.release(OPERATION, admittedAt, new AskTimeoutException("timeout"));
+    assertEquals(1, ActorMetrics.get(OPERATION).getConcurrencyLimit());
+    AdmissionController.acquire(OPERATION);
+    try {
+      AdmissionController.acquire(OPERATION);
+      fail("Request beyond the concurrency limit was admitted");
+    } catch (AdmissionRejectedException e) {
+      assertEquals(ResponseCode.SERVICE_UNAVAILABLE.getResponseCode(), e.getErrorResponseCode());
+      assertEquals(2, e.getRetryAfterSeconds());
+    }
+  }
+
+  /**
+   * Verifies that exempt operations and disabled admission control never shed requests.
+   */
+  @Test
+  public void testExemptAndDisabled() {
+    for (int i = 0; i < 10; i++) {
+      AdmissionController.acquire("healthCheck");
+    }
+    AdmissionController.configure(false, 1, 1, 1, 1000, 0.5, 1, null);
+    assertFalse(AdmissionController.isEnabled());
+    for (int i = 0; i < 10; i++) {
+      AdmissionController.acquire(OPERATION);
+    }
+    assertEquals(0, ActorMetrics.get(OPERATION).getShed());
+  }
+}
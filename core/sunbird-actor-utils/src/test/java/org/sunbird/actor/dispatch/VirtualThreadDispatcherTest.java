@@ -0,0 +1,227 @@
+package org.sunbird.actor.dispatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.pekko.actor.ActorRef;
+import org.apache.pekko.actor.ActorSystem;
+import org.apache.pekko.actor.Props;
+import org.apache.pekko.actor.UntypedAbstractActor;
+import org.apache.pekko.pattern.Patterns;
+import org.apache.pekko.routing.RoundRobinPool;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks that actors deployed on the virtual thread dispatcher run on its executor: virtual
+ * threads on Java 21+, the bounded fallback pool on older runtimes. Also compares throughput and
+ * latency of actors that block on simulated I/O against a fork-join dispatcher sized like
+ * brr-usr-dispatcher.
+ */
+public class VirtualThreadDispatcherTest {
+
+  /** More tasks than brr-usr-dispatcher runs at once, within the fallback pool size. */
+  private static final int BLOCKED_ACTORS = 16;
+
+  private static final int LOAD_ACTORS = 200;
+  private static final int LOAD_REQUESTS = 400;
+  private static final long IO_MILLIS = 20;
+
+  /**
+   * The Jackson Scala module pulled in by pekko-serialization-jackson does not accept the
+   * jackson-databind version of this module, and no test message is serialised.
+   */
+  private static final String JACKSON_MODULES =
+      "pekko.serialization.jackson.jackson-modules = [\n"
+          + "  \"org.apache.pekko.serialization.jackson.PekkoJacksonModule\",\n"
+          + "  \"com.fasterxml.jackson.module.paramnames.ParameterNamesModule\",\n"
+          + "  \"com.fasterxml.jackson.datatype.jdk8.Jdk8Module\",\n"
+          + "  \"com.fasterxml.jackson.datatype.jsr310.JavaTimeModule\"\n"
+          + "]\n";
+
+  private static ActorSystem system;
+
+  @BeforeClass
+  public static void setUp() {
+    Config config =
+        ConfigFactory.parseString(
+            "fork-join-io-dispatcher {\n"
+                + "  type = Dispatcher\n"
+                + "  executor = fork-join-executor\n"
+                + "  fork-join-executor { parallelism-min = 1, parallelism-factor = 2.0,"
+                + " parallelism-max = 4 }\n"
+                + "  throughput = 1\n"
+                + "}\n"
+                + "virtual-thread-dispatcher {\n"
+                + "  type = Dispatcher\n"
+                + "  executor = \"org.sunbird.actor.dispatch.VirtualThreadExecutorConfigurator\"\n"
+                + "  virtual-thread-executor { fallback-pool-size = 64 }\n"
+                + "  throughput = 1\n"
+                + "}\n"
+                + "pekko.loglevel = OFF\n"
+                + "pekko.stdout-loglevel = OFF\n"
+                + JACKSON_MODULES);
+    system = ActorSystem.create("VirtualThreadDispatcherTest", config);
+  }
+
+  @AfterClass
+  public static void tearDown() {
+    system.terminate();
+  }
+
+  @Test
+  public void testActorRunsOnVirtualThreadDispatcher() throws Exception {
+    ActorRef actor =
+        system.actorOf(
+            Props.create(ThreadActor.class)
+                .withDispatcher(VirtualThreadExecutorConfigurator.DISPATCHER_ID));
+
+    Thread thread = (Thread) ask(actor, "thread").get(10, TimeUnit.SECONDS);
+
+    assertTrue(
+        thread.getName(),
+        thread.getName().contains(VirtualThreadExecutorConfigurator.DISPATCHER_ID));
+    assertEquals(VirtualThreadExecutorConfigurator.isVirtualThreadSupported(), isVirtual(thread));
+    system.stop(actor);
+  }
+
+  @Test
+  public void testBlockedActorsDoNotHoldBackEachOther() throws Exception {
+    ActorRef router =
+        system.actorOf(
+            new RoundRobinPool(BLOCKED_ACTORS)
+                .props(
+                    Props.create(BlockingActor.class)
+                        .withDispatcher(VirtualThreadExecutorConfigurator.DISPATCHER_ID)));
+    // Every actor waits until all of them are blocked at the same time.
+    CountDownLatch allBlocked = new CountDownLatch(BLOCKED_ACTORS);
+    List<CompletableFuture<Object>> futures = new ArrayList<>();
+    for (int i = 0; i < BLOCKED_ACTORS; i++) {
+      futures.add(ask(router, allBlocked));
+    }
+
+    for (CompletableFuture<Object> future : futures) {
+      assertEquals(Boolean.TRUE, future.get(20, TimeUnit.SECONDS));
+    }
+    system.stop(router);
+  }
+
+  /**
+   * The same number of actor instances is used for both dispatchers, so the difference comes only
+   * from how many tasks each executor can keep blocked at the same time. The fork-join pool needs
+   * at least LOAD_REQUESTS / 4 * IO_MILLIS, far above what the fallback pool of 64 needs.
+   */
+  @Test
+  public void testVirtualThreadDispatcherOutperformsForkJoinForBlockingActors() throws Exception {
+    LoadResult forkJoin = runLoad("fork-join-io-dispatcher");
+    LoadResult virtual = runLoad(VirtualThreadExecutorConfigurator.DISPATCHER_ID);
+    String summary =
+        LOAD_REQUESTS
+            + " requests x "
+            + IO_MILLIS
+            + "ms blocking I/O, fork-join(max 4) = "
+            + forkJoin
+            + ", "
+            + (VirtualThreadExecutorConfigurator.isVirtualThreadSupported()
+                ? "virtual threads"
+                : "fallback pool(64)")
+            + " = "
+            + virtual;
+    assertTrue(summary, virtual.throughput() > forkJoin.throughput());
+    assertTrue(summary, virtual.p99Millis < forkJoin.p99Millis);
+  }
+
+  private LoadResult runLoad(String dispatcher) throws Exception {
+    ActorRef router =
+        system.actorOf(
+            new RoundRobinPool(LOAD_ACTORS)
+                .props(Props.create(SleepingActor.class).withDispatcher(dispatcher)));
+    List<CompletableFuture<Long>> latencies = new ArrayList<>();
+    long start = System.nanoTime();
+    for (int i = 0; i < LOAD_REQUESTS; i++) {
+      long sent = System.nanoTime();
+      latencies.add(
+          ask(router, IO_MILLIS)
+              .thenApply(
+                  reply -> {
+                    assertEquals(IO_MILLIS, reply);
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent);
+                  }));
+    }
+    CompletableFuture.allOf(latencies.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    List<Long> sorted = new ArrayList<>();
+    for (CompletableFuture<Long> latency : latencies) {
+      sorted.add(latency.get());
+    }
+    Collections.sort(sorted);
+    system.stop(router);
+    return new LoadResult(elapsedMillis, sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1));
+  }
+
+  private static CompletableFuture<Object> ask(ActorRef actor, Object message) {
+    return Patterns.ask(actor, message, Duration.ofSeconds(20)).toCompletableFuture();
+  }
+
+  private static boolean isVirtual(Thread thread) throws Exception {
+    return VirtualThreadExecutorConfigurator.isVirtualThreadSupported()
+        && (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+  }
+
+  /** Actor that replies with the thread it runs on. */
+  public static class ThreadActor extends UntypedAbstractActor {
+    @Override
+    public void onReceive(Object message) {
+      sender().tell(Thread.currentThread(), self());
+    }
+  }
+
+  /** Elapsed time and 99th percentile latency of one load run. */
+  private static class LoadResult {
+    private final long elapsedMillis;
+    private final long p99Millis;
+
+    LoadResult(long elapsedMillis, long p99Millis) {
+      this.elapsedMillis = elapsedMillis;
+      this.p99Millis = p99Millis;
+    }
+
+    double throughput() {
+      return LOAD_REQUESTS * 1000.0 / Math.max(1, elapsedMillis);
+    }
+
+    @Override
+    public String toString() {
+      return elapsedMillis + "ms (" + Math.round(throughput()) + " req/s, p99 " + p99Millis + "ms)";
+    }
+  }
+
+  /** Actor that sleeps for the requested time, like a blocking Cassandra/ES/HTTP call. */
+  public static class SleepingActor extends UntypedAbstractActor {
+    @Override
+    public void onReceive(Object message) throws Throwable {
+      Thread.sleep((Long) message);
+      sender().tell(message, self());
+    }
+  }
+
+  /** Actor that simulates a blocking Cassandra/ES/HTTP call. */
+  public static class BlockingActor extends UntypedAbstractActor {
+    @Override
+    public void onReceive(Object message) throws Throwable {
+      CountDownLatch allBlocked = (CountDownLatch) message;
+      allBlocked.countDown();
+      sender().tell(allBlocked.await(10, TimeUnit.SECONDS), self());
+    }
+  }
+}
@@ -0,0 +1,185 @@
+package org.sunbird.actor.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.typesafe.config.ConfigFactory;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.pekko.actor.ActorRef;
+import org.apache.pekko.actor.ActorSystem;
+import org.apache.pekko.actor.Props;
+import org.apache.pekko.pattern.AskTimeoutException;
+import org.apache.pekko.pattern.Patterns;
+import org.junit.Before;
+import org.junit.Test;
+import org.sunbird.actor.core.BaseActor;
+import org.sunbird.actor.core.BaseRouter;
+import org.sunbird.actor.core.RouterMode;
+import org.sunbird.metrics.LatencyHistogram;
+import org.sunbird.request.Request;
+import org.sunbird.response.Response;
+import scala.concurrent.Await;
+import scala.concurrent.duration.Duration;
+
+/**
+ * Unit tests for ActorMetrics.
+ */
+public class ActorMetricsTest {
+
+  private static final String OPERATION = "testOperation";
+
+  @Before
+  public void setUp() {
+    ActorMetrics.reset();
+  }
+
+  /**
+   * Verifies that queued and in-flight counts follow the enqueue, start and complete lifecycle.
+   */
+  @Test
+  public void testRequestLifecycle() {
+    Request request = new Request();
+    request.setOperation(OPERATION);
+    ActorMetrics.onEnqueue(request);
+    OperationMetrics metrics = ActorMetrics.get(OPERATION);
+    assertEquals(1, metrics.getQueued());
+    assertTrue(request.getEnqueuedAt() > 0);
+
+    long start = ActorMetrics.onStart(request);
+    assertEquals(0, metrics.getQueued());
+    assertEquals(1, metrics.getInFlight());
+    assertEquals(0, request.getEnqueuedAt());
+    assertEquals(1, metrics.getQueueDelay().getCount());
+
+    ActorMetrics.onComplete(OPERATION, start, true);
+    assertEquals(0, metrics.getInFlight());
+    assertEquals(1, metrics.getProcessed());
+    assertEquals(1, metrics.getFailures());
+    assertEquals(1, metrics.getProcessingTime().getCount());
+  }
+
+  /**
+   * Verifies that a request that was not marked as enqueued does not record a queueing delay.
+   */
+  @Test
+  public void testStartWithoutEnqueue() {
+    Request request = new Request();
+    request.setOperation(OPERATION);
+    ActorMetrics.onComplete(OPERATION, ActorMetrics.onStart(request), false);
+    OperationMetrics metrics = ActorMetrics.get(OPERATION);
+    assertEquals(0, metrics.getQueueDelay().getCount());
+    assertEquals(0, metrics.getQueued());
+    assertEquals(1, metrics.getProcessed());
+  }
+
+  /**
+   * Verifies that only ask timeouts, including wrapped ones, are counted as timeouts.
+   */
+  @Test
+  public void testAskTimeoutCounting() {
+    ActorMetrics.onAskComplete(OPERATION, null);
+    ActorMetrics.onAskComplete(OPERATION, new RuntimeException("failure"));
+    ActorMetrics.onAskComplete(OPERATION, new AskTimeoutException("timeout"));
+    ActorMetrics.onAskComplete(
+        OPERATION, new CompletionException(new AskTimeoutException("timeout")));
+    assertEquals(2, ActorMetrics.get(OPERATION).getTimeouts());
+  }
+
+  /**
+   * Verifies the histogram percentile estimate and the snapshot layout.
+   */
+  @Test
+  public void testHistogramAndSnapshot() {
+    LatencyHistogram histogram = ActorMetrics.get(OPERATION).getProcessingTime();
+    for (int i = 0; i < 99; i++) {
+      histogram.record(3);
+    }
+    histogram.record(700);
+    assertEquals(5, histogram.percentile(50));
+    assertEquals(1000, histogram.percentile(100));
+
+    Map<String, Object> snapshot = ActorMetrics.snapshot();
+    assertTrue(snapshot.containsKey(OPERATION));
+    Map<String, Object> operation = (Map<String, Object>) snapshot.get(OPERATION);
+    assertTrue(operation.containsKey("queueDelay"));
+    assertTrue(operation.containsKey("processingTime"));
+  }
+
+  /**
+   * Verifies that a request passed on by a router is recorded once, by the actor that processes
+   * it, with the queueing delay taken from the original enqueue.
+   */
+  @Test
+  public void testRequestThroughRouter() throws Exception {
+    ActorSystem system =
+        ActorSystem.create(
+            "ActorMetricsTest",
+            ConfigFactory.parseString(
+                "pekko.loglevel = OFF\n"
+                    + "pekko.stdout-loglevel = OFF\n"
+                    // The Jackson Scala module does not accept the jackson-databind version of
+                    // this module, and no test message is serialised.
+                    + "pekko.serialization.jackson.jackson-modules = ["
+                    + "\"org.apache.pekko.serialization.jackson.PekkoJacksonModule\"]"));
+    try {
+      ActorRef router = system.actorOf(Props.create(TestRouter.class));
+      Request request = new Request();
+      request.setOperation(OPERATION);
+      ActorMetrics.onEnqueue(request);
+      Object response =
+          Await.result(
+              Patterns.ask(router, request, 5000), Duration.create(5, TimeUnit.SECONDS));
+      assertTrue(response instanceof Response);
+
+      OperationMetrics metrics = ActorMetrics.get(OPERATION);
+      long deadline = System.currentTimeMillis() + 5000;
+      while (metrics.getInFlight() > 0 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(1, metrics.getProcessed());
+      assertEquals(0, metrics.getInFlight());
+      assertEquals(0, metrics.getQueued());
+      assertEquals(1, metrics.getQueueDelay().getCount());
+      assertEquals(1, metrics.getProcessingTime().getCount());
+    } finally {
+      system.terminate();
+    }
+  }
+
+  /** Router passing every request on to a single {@link TestActor}. */
+  public static class TestRouter extends BaseRouter {
+
+    private ActorRef actor;
+
+    @Override
+    public void preStart() throws Exception {
+      super.preStart();
+      actor = getContext().actorOf(Props.create(TestActor.class));
+    }
+
+    @Override
+    public String getRouterMode() {
+      return RouterMode.LOCAL.name();
+    }
+
+    @Override
+    public void route(Request request) {
+      ActorMetrics.onEnqueue(request);
+      actor.forward(request, getContext());
+    }
+
+    @Override
+    protected void cacheActor(String key, ActorRef actor) {}
+  }
+
+  /** Actor replying with an empty response. */
+  public static class TestActor extends BaseActor {
+
+    @Override
+    public void onReceive(Request request) {
+      sender().tell(new Response(), self());
+    }
+  }
+}
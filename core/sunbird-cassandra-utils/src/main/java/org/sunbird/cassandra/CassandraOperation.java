@@ -210,6 +210,33 @@ public interface CassandraOperation {
       Object propertyValue,
       RequestContext requestContext);
 
+  /**
+   * Retrieves one page of the records matching an indexed property. The response holds at most
+   * pageSize records under {@code response} and, if more records may follow, the paging state to
+   * pass to the next call under {@code pagingState}.
+   *
+   * @param keyspaceName The Cassandra keyspace name.
+   * @param tableName The table name to query.
+   * @param propertyName The name of the indexed property/column to filter by.
+   * @param propertyValue The value to match against the indexed property.
+   * @param fields Columns to fetch, or null to fetch all columns.
+   * @param pageSize Maximum number of records to return.
+   * @param pagingState Paging state returned by the previous call, or null for the first page. A
+   *     paging state which is malformed or was returned for another query is rejected as an invalid
+   *     parameter value.
+   * @param requestContext The request context for tracking and logging.
+   * @return Response object containing the records of the page and the next paging state.
+   */
+  Response getRecordsByIndexedPropertyWithPaging(
+      String keyspaceName,
+      String tableName,
+      String propertyName,
+      Object propertyValue,
+      List<String> fields,
+      int pageSize,
+      String pagingState,
+      RequestContext requestContext);
+
   /**
    * Retrieves records from a Cassandra table matching multiple property criteria.
    *
@@ -679,6 +706,23 @@ public interface CassandraOperation {
       List<Map<String, Object>> records,
       RequestContext requestContext);
 
+  /**
+   * Performs an unlogged batch insert operation to insert multiple records into a Cassandra table.
+   * Unlogged batches skip the batch log; they are atomic only when all records belong to the same
+   * partition, which is the intended use.
+   *
+   * @param keyspaceName The Cassandra keyspace name.
+   * @param tableName The table name where records will be inserted.
+   * @param records A list of maps, each representing a record to insert.
+   * @param requestContext The request context for tracking and logging.
+   * @return Response object containing the operation result.
+   */
+  Response batchInsertUnlogged(
+      String keyspaceName,
+      String tableName,
+      List<Map<String, Object>> records,
+      RequestContext requestContext);
+
   /**
    * Retrieves records with specified columns for given identifiers.
    *
@@ -10,6 +10,7 @@ import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
@@ -36,6 +37,18 @@ import org.sunbird.response.ResponseCode;
  */
 public class CassandraDACImpl extends CassandraOperationImpl {
 
+  /**
+   * Runs the callbacks of async operations. Callbacks may page through large result sets, so they
+   * do not run on driver threads; idle threads of the pool exit after a minute.
+   */
+  private static final ExecutorService callbackExecutor =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread = new Thread(runnable, "cassandra-async-callback");
+            thread.setDaemon(true);
+            return thread;
+          });
+
   /**
    * Retrieves records from a Cassandra table based on filter criteria with specified fields.
    * Overrides the base implementation to provide consistent error handling and logging.
@@ -165,7 +178,7 @@ public class CassandraDACImpl extends CassandraOperationImpl {
       // Log and execute async query
       logDebug(requestContext, formatLogMessage("Executing async CQL query: {}", select.getQueryString()));
       ResultSetFuture future = session.executeAsync(select);
-      Futures.addCallback(future, callback, Executors.newFixedThreadPool(1));
+      Futures.addCallback(future, callback, callbackExecutor);
       
       // Log async operation initiation at INFO level
       logInfo(
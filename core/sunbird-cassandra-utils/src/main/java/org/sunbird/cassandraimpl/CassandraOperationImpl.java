@@ -7,14 +7,17 @@ import com.google.common.util.concurrent.FutureCallback;
 
 import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PagingState;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.UserType;
 import com.datastax.driver.core.KeyspaceMetadata;
 import com.datastax.driver.core.WriteType;
 import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.exceptions.PagingStateException;
 import com.datastax.driver.core.exceptions.QueryExecutionException;
 import com.datastax.driver.core.exceptions.QueryValidationException;
 import com.datastax.driver.core.exceptions.WriteTimeoutException;
@@ -30,6 +33,7 @@ import com.datastax.driver.core.querybuilder.Update;
 import com.datastax.driver.core.querybuilder.Update.Assignments;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -914,6 +918,118 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
 
 
 
+  @Override
+  public Response getRecordsByIndexedPropertyWithPaging(
+      String keyspaceName,
+      String tableName,
+      String propertyName,
+      Object propertyValue,
+      List<String> fields,
+      int pageSize,
+      String pagingState,
+      RequestContext requestContext) {
+
+    long startTime = System.currentTimeMillis();
+    logDebug(
+        requestContext, formatLogMessage("Starting getRecordsByIndexedPropertyWithPaging - keyspace: {}, table: {}, property: {}, pageSize: {}",
+        keyspaceName,
+        tableName,
+        propertyName,
+        pageSize));
+
+    PagingState state;
+    try {
+      state = StringUtils.isBlank(pagingState) ? null : PagingState.fromString(pagingState);
+    } catch (Exception e) {
+      throw new ProjectCommonException(
+          ResponseCode.invalidParameterValue,
+          ResponseCode.invalidParameterValue.getErrorMessage(),
+          ResponseCode.CLIENT_ERROR.getResponseCode(),
+          pagingState,
+          Constants.PAGING_STATE);
+    }
+
+    Response response = new Response();
+    Select selectQuery = null;
+
+    try {
+      if (CollectionUtils.isEmpty(fields)) {
+        selectQuery = QueryBuilder.select().all().from(keyspaceName, tableName);
+      } else {
+        Selection selection = QueryBuilder.select();
+        fields.forEach(selection::column);
+        selectQuery = selection.from(keyspaceName, tableName);
+      }
+      selectQuery.where().and(eq(propertyName, propertyValue));
+      Select finalQuery = selectQuery.allowFiltering();
+      finalQuery.setFetchSize(pageSize);
+      if (state != null) {
+        finalQuery.setPagingState(state);
+      }
+
+      logDebug(requestContext, formatLogMessage("Executing CQL query: {}", finalQuery.getQueryString()));
+
+      // Read only the rows of the fetched page, so the driver does not fetch the next one
+      ResultSet results = connectionManager.getSession(keyspaceName).execute(finalQuery);
+      Map<String, String> columnsMapping = CassandraUtil.fetchColumnsMapping(results);
+      List<Map<String, Object>> records = new ArrayList<>();
+      int available = Math.min(pageSize, results.getAvailableWithoutFetching());
+      for (int i = 0; i < available; i++) {
+        Row row = results.one();
+        Map<String, Object> rowMap = new HashMap<>();
+        columnsMapping.forEach((property, column) -> rowMap.put(property, row.getObject(column)));
+        records.add(rowMap);
+      }
+      response.put(Constants.RESPONSE, records);
+      PagingState nextState = results.getExecutionInfo().getPagingState();
+      if (nextState != null) {
+        response.put(Constants.PAGING_STATE, nextState.toString());
+      }
+
+      logInfo(
+          requestContext, formatLogMessage("Successfully retrieved page of records by indexed property - keyspace: {}, table: {}, property: {}, count: {}",
+          keyspaceName,
+          tableName,
+          propertyName,
+          records.size()));
+
+    } catch (PagingStateException e) {
+      // The paging state was issued for another query, e.g. another batch or set of fields.
+      throw new ProjectCommonException(
+          ResponseCode.invalidParameterValue,
+          ResponseCode.invalidParameterValue.getErrorMessage(),
+          ResponseCode.CLIENT_ERROR.getResponseCode(),
+          pagingState,
+          Constants.PAGING_STATE);
+    } catch (Exception e) {
+      logError(
+          requestContext, "Failed to retrieve page of records by indexed property - keyspace: {}, table: {}, property: {}, error: {}",
+          keyspaceName,
+          tableName,
+          propertyName,
+          e.getMessage(),
+          e);
+
+      throw new ProjectCommonException(
+          ResponseCode.SERVER_ERROR.getErrorCode(),
+          ResponseCode.SERVER_ERROR.getErrorMessage(),
+          ResponseCode.SERVER_ERROR.getResponseCode());
+
+    } finally {
+      if (selectQuery != null) {
+        logQueryElapseTime(
+            "getRecordsByIndexedPropertyWithPaging",
+            startTime,
+            selectQuery.getQueryString(),
+            requestContext);
+      } else {
+        logQueryElapseTime("getRecordsByIndexedPropertyWithPaging", startTime);
+      }
+    }
+
+    return response;
+  }
+
   /**
    * Retrieves all fields from records matching multiple property criteria.
    * Convenience method that delegates to the full getRecordsByProperties method.
@@ -3210,6 +3326,79 @@ public abstract class CassandraOperationImpl implements CassandraOperation {
     return response;
   }
 
+  @Override
+  public Response batchInsertUnlogged(
+      String keyspaceName,
+      String tableName,
+      List<Map<String, Object>> records,
+      RequestContext requestContext) {
+
+    long startTime = System.currentTimeMillis();
+    int recordCount = records != null ? records.size() : 0;
+
+    logDebug(
+        requestContext, formatLogMessage("Starting batchInsertUnlogged - keyspace: {}, table: {}, records: {}",
+        keyspaceName,
+        tableName,
+        recordCount));
+
+    Response response = new Response();
+    BatchStatement batchStatement =
+        new BatchStatement(BatchStatement.Type.UNLOGGED);
+    batchStatement.setConsistencyLevel(CassandraConnectionManagerImpl.getConsistencyLevel());
+
+    try {
+      Session session = connectionManager.getSession(keyspaceName);
+
+      for (Map<String, Object> record : records) {
+        if (record == null || record.isEmpty()) {
+          logWarn(requestContext, "Skipping null or empty record in UNLOGGED batch insert");
+          continue;
+        }
+
+        Insert insert = QueryBuilder.insertInto(keyspaceName, tableName);
+        for (Map.Entry<String, Object> entry : record.entrySet()) {
+          insert.value(entry.getKey(), entry.getValue());
+        }
+
+        batchStatement.add(insert);
+      }
+
+      session.execute(batchStatement);
+      response.put(Constants.RESPONSE, Constants.SUCCESS);
+
+      logInfo(
+          requestContext, formatLogMessage("Successfully UNLOGGED batch inserted records - keyspace: {}, table: {}, records: {}, statements: {}",
+          keyspaceName,
+          tableName,
+          recordCount,
+          batchStatement.size()));
+
+    } catch (QueryExecutionException | QueryValidationException | NoHostAvailableException | IllegalStateException e) {
+      logError(
+          requestContext, "UNLOGGED batch insert failed - keyspace: {}, table: {}, records: {}, error: {}",
+          keyspaceName,
+          tableName,
+          recordCount,
+          e.getMessage(),
+          e);
+      throw e;
+
+    } finally {
+      if (batchStatement.size() > 0) {
+        logQueryElapseTime(
+            "batchInsertUnlogged",
+            startTime,
+            batchStatement.getStatements().toString(),
+            requestContext);
+      } else {
+        logQueryElapseTime("batchInsertUnlogged", startTime);
+      }
+    }
+
+    return response;
+  }
+
 
 
   /**
@@ -73,6 +73,7 @@ public interface Constants {
   // ===========================================================================
   String SUCCESS = "SUCCESS";
   String RESPONSE = "response";
+  String PAGING_STATE = "pagingState";
   
   String SESSION_IS_NULL = "cassandra session is null for this ";
   String CLUSTER_IS_NULL = "cassandra cluster value is null for this ";
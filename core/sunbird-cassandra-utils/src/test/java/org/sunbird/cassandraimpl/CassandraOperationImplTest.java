@@ -12,14 +12,18 @@ import static org.mockito.Mockito.when;
 
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.PagingState;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.CodecRegistry;
 import com.datastax.driver.core.ProtocolVersion;
 import com.datastax.driver.core.DataType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -341,6 +345,22 @@ public class CassandraOperationImplTest {
     verify(session, times(1)).execute(any(Statement.class)); // BatchStatement extends Statement
   }
 
+  @Test
+  public void testBatchInsertUnlogged() {
+    String keyspaceName = "sunbird";
+    String tableName = "user";
+    List<Map<String, Object>> records = new ArrayList<>();
+    Map<String, Object> record = new HashMap<>();
+    record.put("id", "1");
+    records.add(record);
+
+    Response response =
+        cassandraOperation.batchInsertUnlogged(keyspaceName, tableName, records, requestContext);
+
+    assertEquals(Constants.SUCCESS, response.get(Constants.RESPONSE));
+    verify(session, times(1)).execute(any(Statement.class));
+  }
+
   @Test
   public void testGetRecordsByCompositeKey() {
     String keyspaceName = "sunbird";
@@ -421,6 +441,31 @@ public class CassandraOperationImplTest {
     }
   }
 
+  @Test
+  public void testGetRecordsWithPagingStateOfAnotherQuery() throws Exception {
+    Constructor<PagingState> constructor =
+        PagingState.class.getDeclaredConstructor(
+            ByteBuffer.class, Statement.class, ProtocolVersion.class, CodecRegistry.class);
+    constructor.setAccessible(true);
+    String otherQueryState =
+        constructor
+            .newInstance(
+                ByteBuffer.wrap(new byte[] {1, 2, 3}),
+                new SimpleStatement("SELECT * FROM sunbird.user"),
+                ProtocolVersion.V4,
+                CodecRegistry.DEFAULT_INSTANCE)
+            .toString();
+
+    try {
+      cassandraOperation.getRecordsByIndexedPropertyWithPaging(
+          "sunbird", "user_courses", "batchid", "b1", null, 10, otherQueryState, requestContext);
+      fail("Should throw ProjectCommonException");
+    } catch (ProjectCommonException e) {
+      assertEquals(ResponseCode.invalidParameterValue.getErrorCode(), e.getErrorCode());
+      assertEquals(ResponseCode.CLIENT_ERROR.getResponseCode(), e.getErrorResponseCode());
+    }
+  }
+
   // Concrete implementation for testing abstract class
   private static class CassandraOperationImplConcrete extends CassandraOperationImpl {
     @Override
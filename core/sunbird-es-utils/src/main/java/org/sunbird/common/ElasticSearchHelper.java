@@ -3,6 +3,7 @@ package org.sunbird.common;
 import static org.sunbird.common.ProjectUtil.isNotNull;
 
 import java.math.BigInteger;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -32,11 +33,16 @@ import org.elasticsearch.index.query.TermsQueryBuilder;
 import org.elasticsearch.common.unit.Fuzziness;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.aggregations.AggregationBuilder;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.filter.Filters;
+import org.elasticsearch.search.aggregations.bucket.filter.FiltersAggregator;
 import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramInterval;
 import org.elasticsearch.search.aggregations.bucket.histogram.Histogram;
 import org.elasticsearch.search.aggregations.bucket.terms.Terms;
 import org.elasticsearch.search.aggregations.bucket.terms.Terms.Bucket;
+import org.elasticsearch.search.aggregations.metrics.TopHits;
+import org.elasticsearch.search.aggregations.metrics.TopHitsAggregationBuilder;
 import org.elasticsearch.search.sort.SortOrder;
 import org.sunbird.keys.JsonKey;
 import org.sunbird.logging.LoggerUtil;
@@ -76,6 +82,12 @@ public class ElasticSearchHelper {
   
   /** Suffix for raw field access in Elasticsearch. */
   public static final String RAW_APPEND = ".raw";
+
+  /**
+   * Maximum documents returned per group filter (default index.max_inner_result_window). A group
+   * with this many documents may have more, which callers have to search for separately.
+   */
+  public static final int MAX_HITS_PER_GROUP = 100;
   
   /** Cache for verifying index existence. */
   protected static Map<String, Boolean> indexMap = new HashMap<>();
@@ -156,6 +168,32 @@ public class ElasticSearchHelper {
     return searchRequestBuilder;
   }
 
+  /**
+   * Creates a filters aggregation with one bucket per group filter of the SearchDTO, each holding
+   * the first matching documents, so that the documents of several groups are fetched by one
+   * search.
+   *
+   * @param searchDTO The search object with the group filters and the fields to return.
+   * @return The aggregation builder.
+   */
+  public static AggregationBuilder createGroupAggregation(SearchDTO searchDTO) {
+    List<FiltersAggregator.KeyedFilter> filters = new ArrayList<>();
+    for (Map.Entry<String, Map<String, Object>> group : searchDTO.getGroupFilters().entrySet()) {
+      BoolQueryBuilder query = QueryBuilders.boolQuery();
+      addAdditionalProperties(
+          query, new AbstractMap.SimpleEntry<>(JsonKey.FILTERS, group.getValue()), new HashMap<>());
+      filters.add(new FiltersAggregator.KeyedFilter(group.getKey(), query));
+    }
+    TopHitsAggregationBuilder topHits =
+        AggregationBuilders.topHits(JsonKey.CONTENT).size(MAX_HITS_PER_GROUP);
+    if (searchDTO.getFields() != null) {
+      topHits.fetchSource(searchDTO.getFields().toArray(new String[0]), null);
+    }
+    return AggregationBuilders.filters(
+            JsonKey.HITS_BY_GROUP, filters.toArray(new FiltersAggregator.KeyedFilter[0]))
+        .subAggregation(topHits);
+  }
+
   /**
    * Extracts soft constraints from the SearchDTO.
    *
@@ -344,15 +382,24 @@ public class ElasticSearchHelper {
   /**
    * Creates a boolean OR query for multiple term filters.
    *
-   * @param orFilters Map of field names to values for the OR condition.
+   * @param orFilters Map of field names to values for the OR condition. A list value matches any
+   *     of its values.
    * @return A new BoolQueryBuilder with SHOULD clauses.
    */
   private static BoolQueryBuilder createEsORFilterQuery(Map<String, Object> orFilters) {
     BoolQueryBuilder query = new BoolQueryBuilder();
     for (Map.Entry<String, Object> entry : orFilters.entrySet()) {
-      query.should(
-          QueryBuilders.termQuery(
-              entry.getKey() + RAW_APPEND, ((String) entry.getValue()).toLowerCase()));
+      if (entry.getValue() instanceof List) {
+        List<String> values = new ArrayList<>();
+        for (Object value : (List<?>) entry.getValue()) {
+          values.add(((String) value).toLowerCase());
+        }
+        query.should(QueryBuilders.termsQuery(entry.getKey() + RAW_APPEND, values));
+      } else {
+        query.should(
+            QueryBuilders.termQuery(
+                entry.getKey() + RAW_APPEND, ((String) entry.getValue()).toLowerCase()));
+      }
     }
     return query;
   }
@@ -820,6 +867,9 @@ public class ElasticSearchHelper {
 
       // Fetch aggregations
       finalFacetList = getFinalFacetList(response, searchDTO, finalFacetList);
+      if (MapUtils.isNotEmpty(searchDTO.getGroupFilters())) {
+        responseMap.put(JsonKey.HITS_BY_GROUP, getHitsByGroup(response));
+      }
     }
     
     responseMap.put(JsonKey.CONTENT, esSource);
@@ -830,6 +880,26 @@ public class ElasticSearchHelper {
     return responseMap;
   }
 
+  /**
+   * Extracts the documents of each group filter from the Elasticsearch response.
+   *
+   * @param response The Elasticsearch SearchResponse.
+   * @return Map of group names to the documents matching them.
+   */
+  private static Map<String, List<Map<String, Object>>> getHitsByGroup(SearchResponse response) {
+    Map<String, List<Map<String, Object>>> hitsByGroup = new HashMap<>();
+    Filters groups = response.getAggregations().get(JsonKey.HITS_BY_GROUP);
+    for (Filters.Bucket group : groups.getBuckets()) {
+      List<Map<String, Object>> hits = new ArrayList<>();
+      TopHits topHits = group.getAggregations().get(JsonKey.CONTENT);
+      for (SearchHit hit : topHits.getHits()) {
+        hits.add(hit.getSourceAsMap());
+      }
+      hitsByGroup.put(group.getKeyAsString(), hits);
+    }
+    return hitsByGroup;
+  }
+
   /**
    * Extracts facet aggregations from the Elasticsearch response.
    *
@@ -1,17 +1,20 @@
 package org.sunbird.common;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.pekko.dispatch.Futures;
 import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.DocWriteResponse;
 import org.elasticsearch.action.admin.indices.get.GetIndexRequest;
 import org.elasticsearch.action.support.IndicesOptions;
@@ -404,6 +407,9 @@ public class ElasticSearchRestHighImpl implements ElasticSearchService {
       if (searchDTO.getFacets() != null && !searchDTO.getFacets().isEmpty()) {
         searchSourceBuilder = addAggregations(searchSourceBuilder, searchDTO.getFacets(), requestContext);
       }
+      if (MapUtils.isNotEmpty(searchDTO.getGroupFilters())) {
+        searchSourceBuilder.aggregation(ElasticSearchHelper.createGroupAggregation(searchDTO));
+      }
 
       logger.info(requestContext, "ElasticSearchRestHighImpl:search: calling search for index " + index 
           + ", with query = " + searchSourceBuilder.toString());
@@ -562,6 +568,118 @@ public class ElasticSearchRestHighImpl implements ElasticSearchService {
     return promise.future();
   }
 
+  /**
+   * Partially updates multiple documents in Elasticsearch in a single bulk request.
+   *
+   * @param index          The name of the index.
+   * @param dataById       The partial document data, by document identifier.
+   * @param requestContext The RequestContext for logging and tracing.
+   * @return A Future containing the IDs of the documents which could not be updated.
+   */
+  @Override
+  public Future<List<String>> bulkUpdate(String index, Map<String, Map<String, Object>> dataById, RequestContext requestContext) {
+    return bulk(index, dataById, doc -> new UpdateRequest(index, _DOC, doc.getKey()).doc(doc.getValue()), "bulkUpdate", requestContext);
+  }
+
+  /**
+   * Upserts multiple documents in a single bulk request. Fields of the given data are merged into
+   * existing documents, and documents which do not exist are created from the data.
+   *
+   * @param index          The name of the index.
+   * @param dataById       Map of document ID to document data.
+   * @param requestContext The RequestContext for logging and tracing.
+   * @return A Future containing the IDs of the documents which could not be upserted.
+   */
+  @Override
+  public Future<List<String>> bulkUpsert(String index, Map<String, Map<String, Object>> dataById, RequestContext requestContext) {
+    return bulk(index, dataById, doc -> new UpdateRequest(index, _DOC, doc.getKey()).doc(doc.getValue()).docAsUpsert(true), "bulkUpsert", requestContext);
+  }
+
+  /**
+   * Indexes multiple documents in a single bulk request, replacing the documents which exist.
+   *
+   * @param index          The name of the index.
+   * @param dataById       Map of document ID to document data.
+   * @param requestContext The RequestContext for logging and tracing.
+   * @return A Future containing the IDs of the documents which could not be indexed.
+   */
+  @Override
+  public Future<List<String>> bulkSave(String index, Map<String, Map<String, Object>> dataById, RequestContext requestContext) {
+    return bulk(index, dataById, doc -> new IndexRequest(index, _DOC, doc.getKey()).source(doc.getValue()), "bulkSave", requestContext);
+  }
+
+  /**
+   * Writes multiple documents in a single bulk request. Each document is a copy of the given data
+   * with its identifier added, so the caller's maps are left unchanged.
+   *
+   * @param index          The name of the index.
+   * @param dataById       Map of document ID to document data.
+   * @param toRequest      Creates the write request of a document from its ID and data.
+   * @param op             Name of the calling operation, for logging.
+   * @param requestContext The RequestContext for logging and tracing.
+   * @return A Future containing the IDs of the documents which could not be written.
+   */
+  private Future<List<String>> bulk(
+      String index,
+      Map<String, Map<String, Object>> dataById,
+      Function<Map.Entry<String, Map<String, Object>>, DocWriteRequest<?>> toRequest,
+      String op,
+      RequestContext requestContext) {
+    long startTime = System.currentTimeMillis();
+    Promise<List<String>> promise = Futures.promise();
+
+    logger.debug(requestContext, "ElasticSearchRestHighImpl:" + op + ": method started at ==" + startTime + " for Index " + index);
+
+    if (StringUtils.isBlank(index) || dataById == null || dataById.isEmpty()) {
+      logger.info(requestContext, "ElasticSearchRestHighImpl:" + op + ": Invalid parameters - index: " + index
+          + ", dataById size: " + (dataById == null ? "null" : dataById.size()));
+      promise.failure(ProjectUtil.createClientException(ResponseCode.invalidData));
+      return promise.future();
+    }
+
+    try {
+      BulkRequest request = new BulkRequest();
+      dataById.forEach(
+          (identifier, data) -> {
+            Map<String, Object> doc = new HashMap<>(data);
+            doc.put(JsonKey.IDENTIFIER, identifier);
+            request.add(toRequest.apply(new AbstractMap.SimpleImmutableEntry<>(identifier, doc)));
+          });
+
+      ActionListener<BulkResponse> listener = new ActionListener<BulkResponse>() {
+        @Override
+        public void onResponse(BulkResponse bulkResponse) {
+          List<String> failedIds = new ArrayList<>();
+          for (BulkItemResponse bResponse : bulkResponse) {
+            if (bResponse.isFailed()) {
+              failedIds.add(bResponse.getId());
+              logger.warn(requestContext, "ElasticSearchRestHighImpl:" + op + ": Failed to write document - ID: "
+                  + bResponse.getId() + ", Failure: " + bResponse.getFailureMessage(), null);
+            }
+          }
+          promise.success(failedIds);
+          logBulkEndTime(op, startTime, index, requestContext);
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+          logger.error(requestContext, "ElasticSearchRestHighImpl:" + op + ": Bulk request failed for index: " + index, e);
+          promise.failure(e);
+          logBulkEndTime(op, startTime, index, requestContext);
+        }
+      };
+
+      ConnectionManager.getRestClient().bulkAsync(request, RequestOptions.DEFAULT, listener);
+
+    } catch (Exception e) {
+      logger.error(requestContext, "ElasticSearchRestHighImpl:" + op + ": Failed to prepare/submit bulk request for index: " + index, e);
+      promise.failure(e);
+      logBulkEndTime(op, startTime, index, requestContext);
+    }
+
+    return promise.future();
+  }
+
   /**
    * Adds aggregations to the SearchSourceBuilder based on facet configurations.
    * Supports date histogram and terms aggregations.
@@ -750,4 +868,9 @@ public class ElasticSearchRestHighImpl implements ElasticSearchService {
         + ", Total time elapsed = " + ElasticSearchHelper.calculateEndTime(startTime));
   }
 
+  private void logBulkEndTime(String op, long startTime, String index, RequestContext requestContext) {
+    logger.debug(requestContext, "ElasticSearchRestHighImpl:" + op + ": method end for Index " + index
+        + ", Total time elapsed = " + ElasticSearchHelper.calculateEndTime(startTime));
+  }
+
 }
@@ -105,6 +105,49 @@ public interface ElasticSearchService {
       List<Map<String, Object>> dataList,
       RequestContext requestContext);
 
+  /**
+   * Partially updates multiple documents in a single bulk operation.
+   *
+   * @param index ES index name
+   * @param dataById partial document data by document ID
+   * @param requestContext request context for logging and tracking
+   * @return Future containing the IDs of the documents which could not be updated, failed if the
+   *     bulk request could not be executed
+   */
+  Future<List<String>> bulkUpdate(
+      String index,
+      Map<String, Map<String, Object>> dataById,
+      RequestContext requestContext);
+
+  /**
+   * Upserts multiple documents in a single bulk operation, merging the given fields into existing
+   * documents and creating the documents which do not exist.
+   *
+   * @param index ES index name
+   * @param dataById document data by document ID
+   * @param requestContext request context for logging and tracking
+   * @return Future containing the IDs of the documents which could not be upserted, failed if the
+   *     bulk request could not be executed
+   */
+  Future<List<String>> bulkUpsert(
+      String index,
+      Map<String, Map<String, Object>> dataById,
+      RequestContext requestContext);
+
+  /**
+   * Indexes multiple documents in a single bulk operation, replacing the documents which exist.
+   *
+   * @param index ES index name
+   * @param dataById document data by document ID
+   * @param requestContext request context for logging and tracking
+   * @return Future containing the IDs of the documents which could not be indexed, failed if the
+   *     bulk request could not be executed
+   */
+  Future<List<String>> bulkSave(
+      String index,
+      Map<String, Map<String, Object>> dataById,
+      RequestContext requestContext);
+
   /**
    * Upserts a document (update if exists, insert if not).
    *
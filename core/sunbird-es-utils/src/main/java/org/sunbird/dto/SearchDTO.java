@@ -61,6 +61,9 @@ public class SearchDTO {
   /** Query execution modes. */
   private List<String> mode = new ArrayList<>();
 
+  /** Named filters whose matching documents are returned separately, by filter name. */
+  private Map<String, Map<String, Object>> groupFilters = new HashMap<>();
+
   /** Default constructor. */
   public SearchDTO() {
     super();
@@ -230,4 +233,12 @@ public class SearchDTO {
   public void setGroupQuery(List<Map<String, Object>> groupQuery) {
     this.groupQuery = groupQuery;
   }
+
+  public Map<String, Map<String, Object>> getGroupFilters() {
+    return groupFilters;
+  }
+
+  public void setGroupFilters(Map<String, Map<String, Object>> groupFilters) {
+    this.groupFilters = groupFilters;
+  }
 }
@@ -180,6 +180,55 @@ public class ElasticSearchHelperTest {
       assertTrue(queryString.contains("active"));
   }
 
+  /**
+   * Test addAdditionalProperties method for an OR filter with a list value.
+   */
+  @Test
+  public void testAddAdditionalPropertiesOrFilterWithList() {
+      BoolQueryBuilder query = QueryBuilders.boolQuery();
+      Map<String, Object> orFilter = new HashMap<>();
+      orFilter.put("roles.role", Arrays.asList("ORG_ADMIN", "CONTENT_CREATOR"));
+      orFilter.put("managedBy", "user1");
+      Map<String, Object> entryValue = new HashMap<>();
+      entryValue.put(JsonKey.ES_OR_OPERATION, orFilter);
+
+      Map.Entry<String, Object> entry = new java.util.AbstractMap.SimpleEntry<>(JsonKey.FILTERS, entryValue);
+      Map<String, Float> constraints = new HashMap<>();
+
+      ElasticSearchHelper.addAdditionalProperties(query, entry, constraints);
+
+      String queryString = query.toString();
+      assertTrue(queryString.contains("should"));
+      assertTrue(queryString.contains("terms"));
+      assertTrue(queryString.contains("roles.role.raw"));
+      assertTrue(queryString.contains("org_admin"));
+      assertTrue(queryString.contains("content_creator"));
+      assertTrue(queryString.contains("managedBy.raw"));
+  }
+
+  /**
+   * Test createGroupAggregation method.
+   */
+  @Test
+  public void testCreateGroupAggregation() {
+      SearchDTO searchDTO = new SearchDTO();
+      searchDTO.setFields(Arrays.asList("userId"));
+      Map<String, Object> adminFilter = new HashMap<>();
+      adminFilter.put("roles.role", "ORG_ADMIN");
+      Map<String, Object> managedFilter = new HashMap<>();
+      managedFilter.put("managedBy", "user1");
+      searchDTO.getGroupFilters().put("ORG_ADMIN", adminFilter);
+      searchDTO.getGroupFilters().put("managed", managedFilter);
+
+      String aggregation = ElasticSearchHelper.createGroupAggregation(searchDTO).toString();
+      assertTrue(aggregation.contains(JsonKey.HITS_BY_GROUP));
+      assertTrue(aggregation.contains("\"ORG_ADMIN\""));
+      assertTrue(aggregation.contains("org_admin"));
+      assertTrue(aggregation.contains("\"managed\""));
+      assertTrue(aggregation.contains("top_hits"));
+      assertTrue(aggregation.contains("\"size\":" + ElasticSearchHelper.MAX_HITS_PER_GROUP));
+  }
+
   /**
    * Test addAdditionalProperties method for EXISTS.
    */
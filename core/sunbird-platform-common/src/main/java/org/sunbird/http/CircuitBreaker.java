@@ -0,0 +1,88 @@
+package org.sunbird.http;
+
+/**
+ * Consecutive-failure circuit breaker for an outbound HTTP destination.
+ *
+ * <p>The breaker opens after {@code failureThreshold} consecutive failed calls and rejects calls
+ * for {@code openMillis}. It then lets a single trial call through (half open): a successful trial
+ * closes the breaker, a failed one opens it again. A threshold of zero or less disables the
+ * breaker.
+ */
+public class CircuitBreaker {
+
+  /** State of the breaker. */
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final int failureThreshold;
+  private final long openMillis;
+
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private long openedAt;
+  private boolean trialInFlight;
+
+  /**
+   * Creates a closed circuit breaker.
+   *
+   * @param failureThreshold Number of consecutive failures that opens the breaker.
+   * @param openMillis Time the breaker stays open before allowing a trial call.
+   */
+  public CircuitBreaker(int failureThreshold, long openMillis) {
+    this.failureThreshold = failureThreshold;
+    this.openMillis = openMillis;
+  }
+
+  /**
+   * Checks whether a call may proceed. A permitted call must be followed by either {@link
+   * #onSuccess()} or {@link #onFailure()}.
+   *
+   * @return True if the call is permitted.
+   */
+  public synchronized boolean tryAcquirePermission() {
+    if (failureThreshold <= 0) {
+      return true;
+    }
+    if (state == State.OPEN) {
+      if (System.currentTimeMillis() - openedAt < openMillis) {
+        return false;
+      }
+      state = State.HALF_OPEN;
+      trialInFlight = false;
+    }
+    if (state == State.HALF_OPEN) {
+      if (trialInFlight) {
+        return false;
+      }
+      trialInFlight = true;
+    }
+    return true;
+  }
+
+  /** Records a successful call. */
+  public synchronized void onSuccess() {
+    consecutiveFailures = 0;
+    trialInFlight = false;
+    state = State.CLOSED;
+  }
+
+  /** Records a failed call. */
+  public synchronized void onFailure() {
+    if (failureThreshold <= 0) {
+      return;
+    }
+    consecutiveFailures++;
+    if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+      state = State.OPEN;
+      openedAt = System.currentTimeMillis();
+      trialInFlight = false;
+    }
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+}
@@ -4,11 +4,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import org.apache.commons.collections.MapUtils;
 import org.apache.http.Consts;
-import org.apache.http.HeaderElement;
-import org.apache.http.HeaderElementIterator;
 import org.apache.http.HttpEntity;
 import org.apache.http.NameValuePair;
 import org.apache.http.StatusLine;
@@ -18,31 +16,28 @@ import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
-import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
-import org.apache.http.message.BasicHeaderElementIterator;
 import org.apache.http.message.BasicNameValuePair;
-import org.apache.http.protocol.HTTP;
 import org.apache.http.util.EntityUtils;
 import org.sunbird.logging.LoggerUtil;
 import org.sunbird.request.RequestContext;
+import org.sunbird.response.HttpUtilResponse;
 import org.sunbird.keys.JsonKey;
 import org.apache.commons.lang3.StringUtils;
 
 /**
  * HTTP client utility for making REST API calls.
  * 
- * <p>This class provides a thread-safe singleton HTTP client with connection pooling
- * and keep-alive strategy. It supports GET, POST, PATCH, and DELETE operations
- * with custom headers and supports both JSON and form-encoded payloads.
+ * <p>This class supports GET, POST, PATCH, and DELETE operations with custom headers
+ * and supports both JSON and form-encoded payloads. Every call is routed through the
+ * {@link HttpDestination} of the target host, see {@link HttpDestinations}.
  * 
  * <p>Features:
  * <ul>
- *   <li>Connection pooling with configurable max connections (200 total, 150 per route)</li>
+ *   <li>Separate connection pool and timeouts per downstream destination</li>
+ *   <li>Bulkhead and circuit breaker per destination, optional hedging of GET calls</li>
  *   <li>Keep-alive strategy with 180-second timeout</li>
  *   <li>Automatic idle connection cleanup</li>
  *   <li>Comprehensive logging with request context</li>
@@ -54,48 +49,16 @@ import org.apache.commons.lang3.StringUtils;
 public class HttpClientUtil {
   
   private static final LoggerUtil logger = new LoggerUtil(HttpClientUtil.class);
-  private static final int MAX_TOTAL_CONNECTIONS = 200;
-  private static final int MAX_CONNECTIONS_PER_ROUTE = 150;
-  private static final int KEEP_ALIVE_TIMEOUT_SECONDS = 180;
   private static final int SUCCESS_STATUS_MIN = 200;
   private static final int SUCCESS_STATUS_MAX = 300;
 
-  private static CloseableHttpClient httpclient = null;
   private static HttpClientUtil httpClientUtil;
 
   /**
-   * Private constructor to initialize the HTTP client with connection pooling.
-   * Configures keep-alive strategy and connection manager settings.
+   * Private constructor. Connection pools are created per destination on first use.
    */
   private HttpClientUtil() {
-    ConnectionKeepAliveStrategy keepAliveStrategy =
-        (response, context) -> {
-          HeaderElementIterator it =
-              new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
-          while (it.hasNext()) {
-            HeaderElement he = it.nextElement();
-            String param = he.getName();
-            String value = he.getValue();
-            if (value != null && param.equalsIgnoreCase("timeout")) {
-              return Long.parseLong(value) * 1000;
-            }
-          }
-          return KEEP_ALIVE_TIMEOUT_SECONDS * 1000;
-        };
-
-    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
-    connectionManager.setMaxTotal(MAX_TOTAL_CONNECTIONS);
-    connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
-    connectionManager.closeIdleConnections(KEEP_ALIVE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
-    
-    httpclient =
-        HttpClients.custom()
-            .setConnectionManager(connectionManager)
-            .useSystemProperties()
-            .setKeepAliveStrategy(keepAliveStrategy)
-            .build();
-    
-    logger.info("HttpClientUtil initialized with max connections: " + MAX_TOTAL_CONNECTIONS);
+    logger.info("HttpClientUtil initialized with per-destination connection pools");
   }
 
   /**
@@ -125,24 +88,17 @@ public class HttpClientUtil {
    */
   public static String get(String requestURL, Map<String, String> headers, Object context) {
     RequestContext requestContext = resolveContext(context);
-    CloseableHttpResponse response = null;
     try {
       logger.debug(requestContext, "HttpClientUtil:get: Making GET request to URL: " + requestURL);
-      HttpGet httpGet = new HttpGet(requestURL);
-      
-      if (MapUtils.isNotEmpty(headers)) {
-        for (Map.Entry<String, String> entry : headers.entrySet()) {
-          httpGet.addHeader(entry.getKey(), entry.getValue());
-        }
-      }
-      
-      response = httpclient.execute(httpGet);
-      return getResponse(response, requestContext, "GET");
+      return execute(
+          requestURL,
+          () -> addHeaders(new HttpGet(requestURL), headers),
+          requestContext,
+          "GET",
+          true);
     } catch (Exception ex) {
       logger.error(requestContext, "HttpClientUtil:get: Exception occurred while calling GET method for URL: " + requestURL, ex);
       return "";
-    } finally {
-      closeResponse(response, requestContext, "GET");
     }
   }
 
@@ -158,27 +114,21 @@ public class HttpClientUtil {
   public static String post(
       String requestURL, String params, Map<String, String> headers, Object context) {
     RequestContext requestContext = resolveContext(context);
-    CloseableHttpResponse response = null;
     try {
       logger.debug(requestContext, "HttpClientUtil:post: Making POST request to URL: " + requestURL);
-      HttpPost httpPost = new HttpPost(requestURL);
-      
-      if (MapUtils.isNotEmpty(headers)) {
-        for (Map.Entry<String, String> entry : headers.entrySet()) {
-          httpPost.addHeader(entry.getKey(), entry.getValue());
-        }
-      }
-      
-      StringEntity entity = new StringEntity(params, ContentType.APPLICATION_JSON);
-      httpPost.setEntity(entity);
-
-      response = httpclient.execute(httpPost);
-      return getResponse(response, requestContext, "POST");
+      return execute(
+          requestURL,
+          () -> {
+            HttpPost httpPost = addHeaders(new HttpPost(requestURL), headers);
+            httpPost.setEntity(new StringEntity(params, ContentType.APPLICATION_JSON));
+            return httpPost;
+          },
+          requestContext,
+          "POST",
+          false);
     } catch (Exception ex) {
       logger.error(requestContext, "HttpClientUtil:post: Exception occurred while calling POST method for URL: " + requestURL, ex);
       return "";
-    } finally {
-      closeResponse(response, requestContext, "POST");
     }
   }
 
@@ -197,31 +147,25 @@ public class HttpClientUtil {
       Map<String, String> headers,
       Object context) {
     RequestContext requestContext = resolveContext(context);
-    CloseableHttpResponse response = null;
     try {
       logger.debug(requestContext, "HttpClientUtil:postFormData: Making POST form data request to URL: " + requestURL);
-      HttpPost httpPost = new HttpPost(requestURL);
-      
-      if (MapUtils.isNotEmpty(headers)) {
-        for (Map.Entry<String, String> entry : headers.entrySet()) {
-          httpPost.addHeader(entry.getKey(), entry.getValue());
-        }
-      }
-
-      List<NameValuePair> form = new ArrayList<>();
-      for (Map.Entry<String, String> entry : params.entrySet()) {
-        form.add(new BasicNameValuePair(entry.getKey(), entry.getValue()));
-      }
-      UrlEncodedFormEntity entity = new UrlEncodedFormEntity(form, Consts.UTF_8);
-      httpPost.setEntity(entity);
-
-      response = httpclient.execute(httpPost);
-      return getResponse(response, requestContext, "POST_FORM");
+      return execute(
+          requestURL,
+          () -> {
+            HttpPost httpPost = addHeaders(new HttpPost(requestURL), headers);
+            List<NameValuePair> form = new ArrayList<>();
+            for (Map.Entry<String, String> entry : params.entrySet()) {
+              form.add(new BasicNameValuePair(entry.getKey(), entry.getValue()));
+            }
+            httpPost.setEntity(new UrlEncodedFormEntity(form, Consts.UTF_8));
+            return httpPost;
+          },
+          requestContext,
+          "POST_FORM",
+          false);
     } catch (Exception ex) {
       logger.error(requestContext, "HttpClientUtil:postFormData: Exception occurred while calling POST form data method for URL: " + requestURL, ex);
       return "";
-    } finally {
-      closeResponse(response, requestContext, "POST_FORM");
     }
   }
 
@@ -237,27 +181,21 @@ public class HttpClientUtil {
   public static String patch(
       String requestURL, String params, Map<String, String> headers, Object context) {
     RequestContext requestContext = resolveContext(context);
-    CloseableHttpResponse response = null;
     try {
       logger.debug(requestContext, "HttpClientUtil:patch: Making PATCH request to URL: " + requestURL);
-      HttpPatch httpPatch = new HttpPatch(requestURL);
-      
-      if (MapUtils.isNotEmpty(headers)) {
-        for (Map.Entry<String, String> entry : headers.entrySet()) {
-          httpPatch.addHeader(entry.getKey(), entry.getValue());
-        }
-      }
-      
-      StringEntity entity = new StringEntity(params, ContentType.APPLICATION_JSON);
-      httpPatch.setEntity(entity);
-
-      response = httpclient.execute(httpPatch);
-      return getResponse(response, requestContext, "PATCH");
+      return execute(
+          requestURL,
+          () -> {
+            HttpPatch httpPatch = addHeaders(new HttpPatch(requestURL), headers);
+            httpPatch.setEntity(new StringEntity(params, ContentType.APPLICATION_JSON));
+            return httpPatch;
+          },
+          requestContext,
+          "PATCH",
+          false);
     } catch (Exception ex) {
       logger.error(requestContext, "HttpClientUtil:patch: Exception occurred while calling PATCH method for URL: " + requestURL, ex);
       return "";
-    } finally {
-      closeResponse(response, requestContext, "PATCH");
     }
   }
 
@@ -272,27 +210,67 @@ public class HttpClientUtil {
   public static String delete(
       String requestURL, Map<String, String> headers, Object context) {
     RequestContext requestContext = resolveContext(context);
-    CloseableHttpResponse response = null;
     try {
       logger.debug(requestContext, "HttpClientUtil:delete: Making DELETE request to URL: " + requestURL);
-      HttpDelete httpDelete = new HttpDelete(requestURL);
-      
-      if (MapUtils.isNotEmpty(headers)) {
-        for (Map.Entry<String, String> entry : headers.entrySet()) {
-          httpDelete.addHeader(entry.getKey(), entry.getValue());
-        }
-      }
-      
-      response = httpclient.execute(httpDelete);
-      return getResponse(response, requestContext, "DELETE");
+      return execute(
+          requestURL,
+          () -> addHeaders(new HttpDelete(requestURL), headers),
+          requestContext,
+          "DELETE",
+          false);
     } catch (Exception ex) {
       logger.error(requestContext, "HttpClientUtil:delete: Exception occurred while calling DELETE method for URL: " + requestURL, ex);
       return "";
-    } finally {
-      closeResponse(response, requestContext, "DELETE");
     }
   }
 
+  /**
+   * Executes a request through the destination of its URL. A new request is built for every
+   * attempt, since hedged GET calls may send it twice.
+   *
+   * @param requestURL The target URL
+   * @param requestFactory Builds the request to send
+   * @param context Request context for logging
+   * @param method The HTTP method name for logging purposes
+   * @param idempotent Whether the call may be hedged
+   * @return Response body as a string, or empty string for a non-2xx response
+   * @throws Exception If the call fails or is rejected by the destination
+   */
+  private static String execute(
+      String requestURL,
+      Supplier<HttpRequestBase> requestFactory,
+      RequestContext context,
+      String method,
+      boolean idempotent)
+      throws Exception {
+    HttpDestination destination = HttpDestinations.forUrl(requestURL);
+    HttpUtilResponse response =
+        destination.execute(
+            () -> {
+              CloseableHttpResponse httpResponse = null;
+              try {
+                httpResponse = destination.getClient().execute(requestFactory.get());
+                return new HttpUtilResponse(
+                    getResponse(httpResponse, context, method),
+                    httpResponse.getStatusLine().getStatusCode());
+              } finally {
+                closeResponse(httpResponse, context, method);
+              }
+            },
+            result -> HttpDestinations.isServerError(result.getStatusCode()),
+            idempotent);
+    return response.getBody();
+  }
+
+  private static <T extends HttpRequestBase> T addHeaders(T request, Map<String, String> headers) {
+    if (MapUtils.isNotEmpty(headers)) {
+      for (Map.Entry<String, String> entry : headers.entrySet()) {
+        request.addHeader(entry.getKey(), entry.getValue());
+      }
+    }
+    return request;
+  }
+
   // Helper method to resolve context
   @SuppressWarnings("unchecked")
   private static RequestContext resolveContext(Object context) {
@@ -0,0 +1,300 @@
+package org.sunbird.http;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.protocol.HTTP;
+import org.sunbird.exception.ProjectCommonException;
+import org.sunbird.logging.LoggerUtil;
+import org.sunbird.metrics.LatencyHistogram;
+import org.sunbird.response.ResponseCode;
+
+/**
+ * HttpDestination isolates the outbound calls made to one downstream service.
+ *
+ * <p>Each destination has its own connection pool and timeouts, a bulkhead that limits the number
+ * of concurrent calls, a {@link CircuitBreaker} and latency metrics. A slow or failing dependency
+ * can therefore only exhaust its own connections and permits, and once its breaker opens calls to
+ * it fail immediately instead of holding caller threads. Idempotent calls can optionally be hedged:
+ * if no response arrives within the hedge delay, a second attempt is started and the first
+ * response wins. The losing attempt is only interrupted, which does not abort a request blocked on
+ * its socket, so it keeps its connection, though not a bulkhead permit, until it completes or
+ * times out.
+ *
+ * <p>Destinations are created and configured by {@link HttpDestinations}.
+ */
+public class HttpDestination {
+
+  private static final LoggerUtil logger = new LoggerUtil(HttpDestination.class);
+  private static final int KEEP_ALIVE_TIMEOUT_SECONDS = 180;
+
+  private static final ExecutorService hedgeExecutor =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread = new Thread(runnable, "http-hedge");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final String name;
+  private final Settings settings;
+  private final Semaphore bulkhead;
+  private final CircuitBreaker circuitBreaker;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder bulkheadRejected = new LongAdder();
+  private final LongAdder circuitOpenRejected = new LongAdder();
+  private final LongAdder hedged = new LongAdder();
+  private final LatencyHistogram latency = new LatencyHistogram();
+  private volatile CloseableHttpClient client;
+
+  HttpDestination(String name, Settings settings) {
+    this.name = name;
+    this.settings = settings;
+    this.bulkhead = new Semaphore(settings.maxConcurrentCalls);
+    this.circuitBreaker =
+        new CircuitBreaker(settings.circuitFailureThreshold, settings.circuitOpenMillis);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public CircuitBreaker.State getCircuitState() {
+    return circuitBreaker.getState();
+  }
+
+  /**
+   * Returns the pooled HTTP client of this destination, creating it on first use.
+   *
+   * @return The HTTP client.
+   */
+  public CloseableHttpClient getClient() {
+    if (client == null) {
+      synchronized (this) {
+        if (client == null) {
+          client = createClient();
+        }
+      }
+    }
+    return client;
+  }
+
+  /**
+   * Executes a call to this destination through the bulkhead and circuit breaker, and records its
+   * latency.
+   *
+   * @param call The call to execute.
+   * @param isFailure Tells whether a returned result counts as a failure for the circuit breaker,
+   *     for example a 5xx response. May be null.
+   * @param idempotent Whether the call may be hedged.
+   * @param <T> Type of the call result.
+   * @return The call result.
+   * @throws ProjectCommonException With {@link ResponseCode#serviceUnAvailable} if the bulkhead is
+   *     full or the circuit is open.
+   * @throws Exception Any exception thrown by the call.
+   */
+  public <T> T execute(Callable<T> call, Predicate<T> isFailure, boolean idempotent)
+      throws Exception {
+    Call admitted = begin();
+    boolean failed = true;
+    try {
+      T result =
+          idempotent && settings.hedgeDelayMillis > 0 ? executeHedged(call) : call.call();
+      failed = isFailure != null && isFailure.test(result);
+      return result;
+    } finally {
+      admitted.end(failed);
+    }
+  }
+
+  /**
+   * Admits a call through the bulkhead and circuit breaker, for callers which complete their calls
+   * asynchronously. The returned call must be ended exactly once.
+   *
+   * @return The admitted call.
+   * @throws ProjectCommonException With {@link ResponseCode#serviceUnAvailable} if the bulkhead is
+   *     full or the circuit is open.
+   */
+  public Call begin() {
+    if (!bulkhead.tryAcquire()) {
+      bulkheadRejected.increment();
+      throw unavailable("too many concurrent calls");
+    }
+    if (!circuitBreaker.tryAcquirePermission()) {
+      bulkhead.release();
+      circuitOpenRejected.increment();
+      throw unavailable("circuit open");
+    }
+    return new Call();
+  }
+
+  private <T> T executeHedged(Callable<T> call) throws Exception {
+    CompletionService<T> completionService = new ExecutorCompletionService<>(hedgeExecutor);
+    Future<T> primary = completionService.submit(call);
+    Future<T> completed = completionService.poll(settings.hedgeDelayMillis, TimeUnit.MILLISECONDS);
+    if (completed != null || !bulkhead.tryAcquire()) {
+      return getResult(completed != null ? completed : primary);
+    }
+    hedged.increment();
+    Future<T> hedge = completionService.submit(call);
+    try {
+      Future<T> first = completionService.take();
+      try {
+        return getResult(first);
+      } catch (Exception e) {
+        logger.info("HttpDestination: first attempt to " + name + " failed, waiting for the other");
+        return getResult(completionService.take());
+      }
+    } finally {
+      bulkhead.release();
+      primary.cancel(true);
+      hedge.cancel(true);
+    }
+  }
+
+  private static <T> T getResult(Future<T> future) throws Exception {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private ProjectCommonException unavailable(String reason) {
+    logger.info("HttpDestination: rejecting call to " + name + ": " + reason);
+    return new ProjectCommonException(
+        ResponseCode.serviceUnAvailable,
+        ResponseCode.serviceUnAvailable.getErrorMessage() + ": " + name + " (" + reason + ")",
+        ResponseCode.SERVICE_UNAVAILABLE.getResponseCode());
+  }
+
+  private CloseableHttpClient createClient() {
+    ConnectionKeepAliveStrategy keepAliveStrategy =
+        (response, context) -> {
+          HeaderElementIterator it =
+              new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+          while (it.hasNext()) {
+            HeaderElement he = it.nextElement();
+            String param = he.getName();
+            String value = he.getValue();
+            if (value != null && param.equalsIgnoreCase("timeout")) {
+              return Long.parseLong(value) * 1000;
+            }
+          }
+          return KEEP_ALIVE_TIMEOUT_SECONDS * 1000;
+        };
+
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(settings.maxConnections);
+    connectionManager.setDefaultMaxPerRoute(settings.maxConnections);
+    connectionManager.closeIdleConnections(KEEP_ALIVE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+    RequestConfig requestConfig =
+        RequestConfig.custom()
+            .setConnectTimeout(settings.connectTimeoutMillis)
+            .setSocketTimeout(settings.socketTimeoutMillis)
+            .setConnectionRequestTimeout(settings.connectionRequestTimeoutMillis)
+            .build();
+
+    logger.info(
+        "HttpDestination: created connection pool for "
+            + name
+            + " with max connections: "
+            + settings.maxConnections);
+    return HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(requestConfig)
+        .useSystemProperties()
+        .setKeepAliveStrategy(keepAliveStrategy)
+        .build();
+  }
+
+  /**
+   * Returns a point-in-time view of this destination suitable for JSON serialisation.
+   *
+   * @return Map of counters, circuit state and latency histogram.
+   */
+  public Map<String, Object> toMap() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("circuitState", circuitBreaker.getState().name());
+    map.put("inFlight", inFlight.get());
+    map.put("maxConcurrentCalls", settings.maxConcurrentCalls);
+    map.put("calls", calls.sum());
+    map.put("failures", failures.sum());
+    map.put("bulkheadRejected", bulkheadRejected.sum());
+    map.put("circuitOpenRejected", circuitOpenRejected.sum());
+    map.put("hedged", hedged.sum());
+    map.put("latency", latency.toMap());
+    return map;
+  }
+
+  /** A call admitted by {@link #begin()}, which holds a bulkhead permit until it is ended. */
+  public final class Call {
+
+    private final long startTime = System.nanoTime();
+    private final AtomicBoolean ended = new AtomicBoolean();
+
+    private Call() {
+      inFlight.incrementAndGet();
+    }
+
+    /**
+     * Releases the bulkhead permit of the call and records its outcome. Calls after the first are
+     * ignored.
+     *
+     * @param failed Whether the call failed, which counts towards opening the circuit breaker.
+     */
+    public void end(boolean failed) {
+      if (!ended.compareAndSet(false, true)) {
+        return;
+      }
+      inFlight.decrementAndGet();
+      bulkhead.release();
+      calls.increment();
+      latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+      if (failed) {
+        failures.increment();
+        circuitBreaker.onFailure();
+      } else {
+        circuitBreaker.onSuccess();
+      }
+    }
+  }
+
+  /** Connection pool, bulkhead, circuit breaker and hedging settings of a destination. */
+  static class Settings {
+    int maxConnections;
+    int maxConcurrentCalls;
+    int connectTimeoutMillis;
+    int socketTimeoutMillis;
+    int connectionRequestTimeoutMillis;
+    int circuitFailureThreshold;
+    long circuitOpenMillis;
+    long hedgeDelayMillis;
+  }
+}
@@ -0,0 +1,162 @@
+package org.sunbird.http;
+
+import com.mashape.unirest.http.HttpResponse;
+import com.mashape.unirest.http.exceptions.UnirestException;
+import java.net.URI;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.sunbird.common.ProjectUtil;
+
+/**
+ * HttpDestinations is the registry of {@link HttpDestination}s used for outbound HTTP calls.
+ *
+ * <p>Calls are assigned to a destination by the host and port of their URL, so every downstream
+ * service (content service, Keycloak, form API, learning platform, ...) gets its own connection
+ * pool, bulkhead and circuit breaker without callers having to name it. Settings are read from the
+ * {@code sunbird_http_*} properties, and can be overridden per destination with {@code
+ * sunbird_http_<destination>_<setting>}, where the destination is the host and port with every
+ * character other than letters and digits replaced by an underscore, e.g. {@code
+ * sunbird_http_content_service_9000_max_concurrent_calls}.
+ *
+ * <p>The connect, socket and connection request timeouts are only applied to a destination when
+ * they are configured for it, or for all destinations with {@code sunbird_http_<setting>}. Without
+ * them its calls wait as long as they did before destinations existed. Only the {@link
+ * HttpClientUtil} callers are affected by these settings: the Keycloak utilities, the URL shortener,
+ * the NIC SMS gateway, the form, admin-util, content store, notification service and captcha calls
+ * of userorg, and the user lookups of the notification service.
+ *
+ * <p>Not every caller gets all of this. {@link HttpClientUtil} uses the connection pool and timeouts
+ * of the destination. {@link HttpUtil}, {@link org.sunbird.utils.RestUtil} and the Unirest callers
+ * of the lms module go through the bulkhead, circuit breaker and metrics of the destination, but
+ * Unirest has a single global connection pool, so they share it and its timeouts (Unirest's
+ * defaults, 10 seconds to connect and 60 seconds per read), and the destination pool and timeout
+ * settings do not apply to them. They would only get their own pools by moving to {@link
+ * HttpClientUtil}, which is out of scope because their tests mock Unirest statically. The
+ * notification-sdk does not depend on this module and is out of scope too: its calls use neither
+ * the destination settings nor its bulkhead and circuit breaker.
+ */
+public final class HttpDestinations {
+
+  private static final String PREFIX = "sunbird_http_";
+  private static final String UNKNOWN_DESTINATION = "unknown";
+  private static final int SERVER_ERROR_STATUS_MIN = 500;
+  private static final int NO_TIMEOUT = -1;
+
+  private static final ConcurrentMap<String, HttpDestination> destinations =
+      new ConcurrentHashMap<>();
+
+  private HttpDestinations() {}
+
+  /**
+   * Returns the destination that handles calls to the given URL.
+   *
+   * @param url The request URL.
+   * @return The destination.
+   */
+  public static HttpDestination forUrl(String url) {
+    return get(getDestinationName(url));
+  }
+
+  /**
+   * Returns a destination by name, creating it if needed.
+   *
+   * @param name The destination name.
+   * @return The destination.
+   */
+  public static HttpDestination get(String name) {
+    return destinations.computeIfAbsent(
+        name, key -> new HttpDestination(key, readSettings(key)));
+  }
+
+  /**
+   * Executes a Unirest call through the destination of its URL, so that it is subject to the
+   * destination bulkhead and circuit breaker and recorded in its latency metrics. Responses with a
+   * 5xx status count as failures.
+   *
+   * <p>Unirest keeps using its own global connection pool, so for these calls the destination only
+   * limits the number of concurrent calls; its connection pool and timeouts are not applied. A
+   * hedged Unirest call which loses the race is not aborted either, it runs to completion and
+   * holds its connection until then.
+   *
+   * @param requestURL The request URL.
+   * @param call The Unirest call.
+   * @param idempotent Whether the call may be hedged.
+   * @return The Unirest response.
+   * @throws UnirestException If the call fails.
+   */
+  public static HttpResponse<String> execute(
+      String requestURL, Callable<HttpResponse<String>> call, boolean idempotent)
+      throws UnirestException {
+    try {
+      return forUrl(requestURL)
+          .execute(call, response -> isServerError(response.getStatus()), idempotent);
+    } catch (UnirestException | RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new UnirestException(e);
+    }
+  }
+
+  /**
+   * Checks whether an HTTP status code indicates a failure of the destination itself, which is
+   * what the circuit breakers count. Client errors are not failures of the destination.
+   *
+   * @param status The HTTP status code.
+   * @return True for 5xx status codes.
+   */
+  public static boolean isServerError(int status) {
+    return status >= SERVER_ERROR_STATUS_MIN;
+  }
+
+  /**
+   * Returns a point-in-time view of all destinations, sorted by name.
+   *
+   * @return Map of destination name to its metrics.
+   */
+  public static Map<String, Object> snapshot() {
+    Map<String, Object> snapshot = new TreeMap<>();
+    destinations.forEach((name, destination) -> snapshot.put(name, destination.toMap()));
+    return snapshot;
+  }
+
+  static String getDestinationName(String url) {
+    try {
+      URI uri = URI.create(StringUtils.trimToEmpty(url));
+      if (StringUtils.isNotBlank(uri.getHost())) {
+        String name = uri.getHost().toLowerCase();
+        return uri.getPort() > 0 ? name + ":" + uri.getPort() : name;
+      }
+    } catch (IllegalArgumentException e) {
+      // Malformed URLs fail in the HTTP client; they share a single destination until then.
+    }
+    return UNKNOWN_DESTINATION;
+  }
+
+  static HttpDestination.Settings readSettings(String name) {
+    String key = name.replaceAll("[^A-Za-z0-9]", "_");
+    HttpDestination.Settings settings = new HttpDestination.Settings();
+    settings.maxConnections = getInt(key, "max_connections", 200);
+    settings.maxConcurrentCalls = getInt(key, "max_concurrent_calls", 150);
+    settings.connectTimeoutMillis = getInt(key, "connect_timeout_ms", NO_TIMEOUT);
+    settings.socketTimeoutMillis = getInt(key, "socket_timeout_ms", NO_TIMEOUT);
+    settings.connectionRequestTimeoutMillis =
+        getInt(key, "connection_request_timeout_ms", NO_TIMEOUT);
+    settings.circuitFailureThreshold = getInt(key, "circuit_failure_threshold", 20);
+    settings.circuitOpenMillis = getInt(key, "circuit_open_ms", 30000);
+    settings.hedgeDelayMillis = getInt(key, "hedge_delay_ms", 0);
+    return settings;
+  }
+
+  private static int getInt(String destination, String setting, int defaultValue) {
+    String value = ProjectUtil.getConfigValue(PREFIX + destination + "_" + setting);
+    if (StringUtils.isBlank(value)) {
+      value = ProjectUtil.getConfigValue(PREFIX + setting);
+    }
+    return NumberUtils.toInt(StringUtils.trim(value), defaultValue);
+  }
+}
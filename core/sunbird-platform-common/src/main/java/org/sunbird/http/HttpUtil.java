@@ -14,7 +14,8 @@ import java.util.Map;
 
 /**
  * Utility class to handle external HTTP calls.
- * Provides methods for GET, POST, and PATCH requests using Unirest.
+ * Provides methods for GET, POST, and PATCH requests using Unirest. Calls are routed through the
+ * {@link HttpDestination} of the target host.
  */
 public class HttpUtil {
 
@@ -32,7 +33,9 @@ public class HttpUtil {
   public static String sendGetRequest(String requestURL, Map<String, String> headers)
           throws UnirestException {
     long startTime = System.currentTimeMillis();
-    HttpResponse<String> httpResponse = Unirest.get(requestURL).headers(headers).asString();
+    HttpResponse<String> httpResponse =
+        HttpDestinations.execute(
+            requestURL, () -> Unirest.get(requestURL).headers(headers).asString(), true);
     if(200 == httpResponse.getStatus()) {
       long stopTime = System.currentTimeMillis();
       long elapsedTime = stopTime - startTime;
@@ -57,7 +60,11 @@ public class HttpUtil {
       String requestURL, Map<String, String> params, Map<String, String> headers)
       throws Exception {
     long startTime = System.currentTimeMillis();
-    HttpResponse<String> httpResponse = Unirest.post(requestURL).headers(headers).body(params).asString();
+    HttpResponse<String> httpResponse =
+        HttpDestinations.execute(
+            requestURL,
+            () -> Unirest.post(requestURL).headers(headers).body(params).asString(),
+            false);
     String str = httpResponse.getBody();
     long stopTime = System.currentTimeMillis();
     long elapsedTime = stopTime - startTime;
@@ -83,7 +90,11 @@ public class HttpUtil {
   public static String sendPostRequest(
       String requestURL, String params, Map<String, String> headers) throws Exception {
     long startTime = System.currentTimeMillis();
-    HttpResponse<String> httpResponse = Unirest.post(requestURL).headers(headers).body(params).asString();
+    HttpResponse<String> httpResponse =
+        HttpDestinations.execute(
+            requestURL,
+            () -> Unirest.post(requestURL).headers(headers).body(params).asString(),
+            false);
     String str = httpResponse.getBody();
     long stopTime = System.currentTimeMillis();
     long elapsedTime = stopTime - startTime;
@@ -111,7 +122,11 @@ public class HttpUtil {
     long startTime = System.currentTimeMillis();
     HttpUtilResponse response = new HttpUtilResponse();
     try {
-      HttpResponse<String> httpResponse = Unirest.post(requestURL).headers(headers).body(params).asString();
+      HttpResponse<String> httpResponse =
+          HttpDestinations.execute(
+              requestURL,
+              () -> Unirest.post(requestURL).headers(headers).body(params).asString(),
+              false);
       response = new HttpUtilResponse(httpResponse.getBody(), httpResponse.getStatus());
     } catch (Exception ex) {
       logger.error("HttpUtil:doPostRequest: Exception occurred while reading response body for URL: " + requestURL, ex);
@@ -145,7 +160,11 @@ public class HttpUtil {
             + params);
 
     try {
-      HttpResponse<String> httpResponse = Unirest.patch(requestURL).headers(headers).body(params).asString();
+      HttpResponse<String> httpResponse =
+          HttpDestinations.execute(
+              requestURL,
+              () -> Unirest.patch(requestURL).headers(headers).body(params).asString(),
+              false);
       
       if (ResponseCode.OK.getResponseCode() == httpResponse.getStatus()) {
         long stopTime = System.currentTimeMillis();
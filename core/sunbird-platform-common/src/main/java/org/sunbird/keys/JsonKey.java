@@ -167,6 +167,7 @@ public final class JsonKey {
   public static final String FIELDS = "fields";
   public static final String FILE = "file";
   public static final String FILE_NAME = "fileName";
+  public static final String FILE_PATH = "filePath";
   public static final String FILTER = "filter";
   public static final String FILTERS = "filters";
   public static final String FIRST_NAME = "firstName";
@@ -179,6 +180,7 @@ public final class JsonKey {
   public static final String GROUP_QUERY = "groupQuery";
   public static final String HASH_TAG_ID = "hashtagid";
   public static final String HEADER = "header";
+  public static final String HITS_BY_GROUP = "hitsByGroup";
   public static final String Healthy = "healthy";
   public static final String ID = "id";
   public static final String IDENTIFIER = "identifier";
@@ -256,6 +258,7 @@ public final class JsonKey {
   public static final String PARAMS = "params";
   public static final String PARTICIPANT = "participant";
   public static final String PARTICIPANTS = "participants";
+  public static final String CURSOR = "cursor";
   public static final String PASSWORD = "password";
   public static final String PDATA = "pdata";
   public static final String REST = "rest";
@@ -356,6 +359,7 @@ public final class JsonKey {
   public static final String SUNBIRD_GET_ORGANISATION_API = "sunbird_search_organisation_api";
   public static final String SUNBIRD_GET_SINGLE_USER_API = "sunbird_read_user_api";
   public static final String SUNBIRD_GET_MULTIPLE_USER_API = "sunbird_search_user_api";
+  public static final String SUNBIRD_GET_USERS_API = "sunbird_read_users_api";
   public static final String TAGS = "tags";
   public static final String TARGET_OBJECT = "targetObject";
   public static final String TELEMETRY_CONTEXT = "TELEMETRY_CONTEXT";
@@ -592,6 +596,14 @@ public final class JsonKey {
   public static final String DATASET = "dataset";
   public static final String DATASETCONFIG = "datasetConfig";
   public static final String OUTPUT_FORMAT = "output_format";
+  public static final String OUTBOUND = "outbound";
+  public static final String USER_ROLE_ES_SYNC = "userRoleEsSync";
+  public static final String CONTENT_CONSUMPTION_WRITE_BEHIND = "contentConsumptionWriteBehind";
+  public static final String PAGE_SECTION_SEARCH_CACHE = "pageSectionSearchCache";
+  public static final String PAGE_CACHE = "pageCache";
+  public static final String COLLECTION_SUMMARY_CACHE = "collectionSummaryCache";
+  public static final String ASSESSMENT_CONTENT_CACHE = "assessmentContentCache";
+  public static final String USER_COURSES_ES_SYNC = "userCoursesEsSync";
 
   public static final String CONTENT_LENGTH = "Content-Length";
 
@@ -0,0 +1,102 @@
+package org.sunbird.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram is a lock-free, fixed-bucket histogram of durations in milliseconds. Bucket
+ * boundaries are chosen to cover the range between a cache hit and the maximum ask timeout, which
+ * is enough resolution to size dispatcher and connection pools without the cost of a full HDR
+ * histogram.
+ */
+public class LatencyHistogram {
+
+  /** Inclusive upper bounds (in milliseconds) of the histogram buckets. */
+  static final long[] BUCKET_BOUNDS_MS = {
+    5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000
+  };
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MS.length + 1);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Records a single observation.
+   *
+   * @param millis The observed duration in milliseconds. Negative values are treated as zero.
+   */
+  public void record(long millis) {
+    long value = Math.max(0, millis);
+    buckets.incrementAndGet(bucketIndex(value));
+    count.increment();
+    sum.add(value);
+    max.accumulateAndGet(value, Math::max);
+  }
+
+  /**
+   * Returns the number of recorded observations.
+   *
+   * @return The observation count.
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Estimates the given percentile as the upper bound of the bucket that contains it.
+   *
+   * @param percentile Percentile between 0 and 100.
+   * @return The estimated value in milliseconds, or 0 if nothing was recorded.
+   */
+  public long percentile(double percentile) {
+    long total = getCount();
+    if (total == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(total * percentile / 100.0);
+    long seen = 0;
+    for (int i = 0; i < buckets.length(); i++) {
+      seen += buckets.get(i);
+      if (seen >= rank) {
+        return i < BUCKET_BOUNDS_MS.length ? BUCKET_BOUNDS_MS[i] : max.get();
+      }
+    }
+    return max.get();
+  }
+
+  /**
+   * Returns a point-in-time view of the histogram suitable for JSON serialisation.
+   *
+   * @return Map of summary statistics and bucket counts.
+   */
+  public Map<String, Object> toMap() {
+    long total = getCount();
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("count", total);
+    map.put("meanMs", total == 0 ? 0 : sum.sum() / total);
+    map.put("maxMs", max.get());
+    map.put("p50Ms", percentile(50));
+    map.put("p95Ms", percentile(95));
+    map.put("p99Ms", percentile(99));
+    Map<String, Long> bucketMap = new LinkedHashMap<>();
+    for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+      bucketMap.put("le_" + BUCKET_BOUNDS_MS[i], buckets.get(i));
+    }
+    bucketMap.put("le_inf", buckets.get(BUCKET_BOUNDS_MS.length));
+    map.put("buckets", bucketMap);
+    return map;
+  }
+
+  private static int bucketIndex(long value) {
+    for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+      if (value <= BUCKET_BOUNDS_MS[i]) {
+        return i;
+      }
+    }
+    return BUCKET_BOUNDS_MS.length;
+  }
+}
@@ -20,6 +20,7 @@ public enum ActorOperations {
   GET_USER_PROFILE_V3("getUserProfileV3", "USRRED"),
   GET_USER_PROFILE_V4("getUserProfileV4", "USRRED"),
   GET_USER_PROFILE_V5("getUserProfileV5", "USRRED"),
+  GET_USER_PROFILES("getUserProfiles", "USRRED"),
 
   UPDATE_USER_INFO_ELASTIC("updateUserInfoToElastic", "UBKGUPD"),
 
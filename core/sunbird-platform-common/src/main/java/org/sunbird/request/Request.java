@@ -1,5 +1,6 @@
 package org.sunbird.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.io.Serializable;
 import java.text.MessageFormat;
@@ -51,6 +52,10 @@ public class Request implements Serializable {
 
   private Integer timeout; // in seconds
 
+  // Time (epoch millis) at which the request was handed to an actor mailbox, used for queueing
+  // delay metrics. Local only: not serialised and not carried over by the copy constructor.
+  @JsonIgnore private transient long enqueuedAt;
+
   /** Default constructor initializes context and params. */
   public Request() {
     this.context = new HashMap<>();
@@ -307,6 +312,16 @@ public class Request implements Serializable {
     return path;
   }
 
+  @JsonIgnore
+  public long getEnqueuedAt() {
+    return enqueuedAt;
+  }
+
+  @JsonIgnore
+  public void setEnqueuedAt(long enqueuedAt) {
+    this.enqueuedAt = enqueuedAt;
+  }
+
   public void setPath(String path) {
     this.path = path;
   }
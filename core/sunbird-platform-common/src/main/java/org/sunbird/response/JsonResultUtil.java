@@ -0,0 +1,39 @@
+package org.sunbird.response;
+
+import java.io.IOException;
+import java.util.Optional;
+import org.apache.pekko.util.ByteString;
+import org.apache.pekko.util.ByteStringBuilder;
+import org.sunbird.request.HeaderParam;
+import play.http.HttpEntity;
+import play.libs.Json;
+import play.mvc.Http;
+import play.mvc.Result;
+import play.mvc.Results;
+
+/** Utility class for turning {@link Response} objects into Play JSON results. */
+public final class JsonResultUtil {
+
+  private JsonResultUtil() {}
+
+  /**
+   * Serializes the response straight into the result body in a single pass, using the shared Play
+   * object mapper instead of building an intermediate JSON tree. The number of bytes written is
+   * sent in the x-response-length header, which the gzip filter uses.
+   *
+   * @param response The response to send.
+   * @return A 200 result with the JSON body.
+   */
+  public static Result createJsonResult(Response response) {
+    ByteStringBuilder body = new ByteStringBuilder();
+    try {
+      Json.mapper().writeValue(body.asOutputStream(), response);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    ByteString json = body.result();
+    return Results.ok()
+        .sendEntity(new HttpEntity.Strict(json, Optional.of(Http.MimeTypes.JSON)))
+        .withHeader(HeaderParam.X_Response_Length.getName(), String.valueOf(json.size()));
+  }
+}
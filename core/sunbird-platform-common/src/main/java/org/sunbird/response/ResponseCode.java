@@ -54,6 +54,9 @@ public enum ResponseCode {
   errorRateLimitExceeded(
       ResponseMessage.Key.ERROR_RATE_LIMIT_EXCEEDED,
       ResponseMessage.Message.ERROR_RATE_LIMIT_EXCEEDED),
+  errorOperationOverloaded(
+      ResponseMessage.Key.ERROR_OPERATION_OVERLOADED,
+      ResponseMessage.Message.ERROR_OPERATION_OVERLOADED),
   invalidRequestTimeout(
       ResponseMessage.Key.INVALID_REQUEST_TIMEOUT, ResponseMessage.Message.INVALID_REQUEST_TIMEOUT),
   invalidObjectType(
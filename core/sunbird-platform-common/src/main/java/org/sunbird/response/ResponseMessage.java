@@ -51,6 +51,8 @@ public interface ResponseMessage {
         "Invalid value supplied for parameter {0}.Supported values are {1}";
     String ERROR_RATE_LIMIT_EXCEEDED =
         "Your per {0} rate limit has exceeded. You can retry after some time.";
+    String ERROR_OPERATION_OVERLOADED =
+        "Too many concurrent {0} requests are being processed. Please retry after {1} seconds.";
     String INVALID_REQUEST_TIMEOUT = "Invalid request timeout value {0}.";
 
     // -------------------------------------------------------------------------
@@ -523,6 +525,7 @@ public interface ResponseMessage {
     String ERROR_UNSUPPORTED_FIELD = "ERROR_UNSUPPORTED_FIELD";
     String INVALID_ELEMENT_IN_LIST = "INVALID_ELEMENT_IN_LIST";
     String ERROR_RATE_LIMIT_EXCEEDED = "ERROR_RATE_LIMIT_EXCEEDED";
+    String ERROR_OPERATION_OVERLOADED = "ERROR_OPERATION_OVERLOADED";
     String INVALID_REQUEST_TIMEOUT = "INVALID_REQUEST_TIMEOUT";
     String INVALID_OPERATION_NAME = "INVALID_OPERATION_NAME";
 
@@ -9,6 +9,8 @@ import com.mashape.unirest.http.exceptions.UnirestException;
 import com.mashape.unirest.request.BaseRequest;
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONObject;
+import org.sunbird.http.HttpDestination;
+import org.sunbird.http.HttpDestinations;
 import org.sunbird.logging.LoggerUtil;
 import org.sunbird.keys.JsonKey;
 import org.sunbird.common.PropertiesCache;
@@ -36,30 +38,43 @@ public class RestUtil {
   private RestUtil() {}
 
   /**
-   * Executes an asynchronous JSON request.
+   * Executes an asynchronous JSON request through the {@link HttpDestination} of its URL, which
+   * holds a bulkhead permit until the response arrives. The request is not hedged.
    *
    * @param request The Unirest BaseRequest to execute.
-   * @return A Future containing the HttpResponse with JsonNode.
+   * @return A Future containing the HttpResponse with JsonNode, failed with a {@link
+   *     org.sunbird.exception.ProjectCommonException} if the destination rejects the request.
    */
   public static Future<HttpResponse<JsonNode>> executeAsync(BaseRequest request) {
-    logger.debug("RestUtil:executeAsync: request url = " + request.getHttpRequest().getUrl());
+    String url = request.getHttpRequest().getUrl();
+    logger.debug("RestUtil:executeAsync: request url = " + url);
     Promise<HttpResponse<JsonNode>> promise = Futures.promise();
+    HttpDestination.Call call;
+    try {
+      call = HttpDestinations.forUrl(url).begin();
+    } catch (RuntimeException e) {
+      promise.failure(e);
+      return promise.future();
+    }
 
     request.asJsonAsync(
         new Callback<JsonNode>() {
 
           @Override
           public void failed(UnirestException e) {
+            call.end(true);
             promise.failure(e);
           }
 
           @Override
           public void completed(HttpResponse<JsonNode> response) {
+            call.end(HttpDestinations.isServerError(response.getStatus()));
             promise.success(response);
           }
 
           @Override
           public void cancelled() {
+            call.end(true);
             promise.failure(new Exception("cancelled"));
           }
         });
@@ -68,14 +83,18 @@ public class RestUtil {
   }
 
   /**
-   * Executes a synchronous JSON request.
+   * Executes a synchronous JSON request through the {@link HttpDestination} of its URL.
    *
    * @param request The Unirest BaseRequest to execute.
    * @return The HttpResponse with JsonNode.
-   * @throws Exception If the request fails.
+   * @throws Exception If the request fails or the destination rejects it.
    */
   public static HttpResponse<JsonNode> execute(BaseRequest request) throws Exception {
-    return request.asJson();
+    return HttpDestinations.forUrl(request.getHttpRequest().getUrl())
+        .execute(
+            request::asJson,
+            response -> HttpDestinations.isServerError(response.getStatus()),
+            false);
   }
 
   /**
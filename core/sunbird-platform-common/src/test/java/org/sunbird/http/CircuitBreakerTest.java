@@ -0,0 +1,77 @@
+package org.sunbird.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/** Unit tests for CircuitBreaker. */
+public class CircuitBreakerTest {
+
+  private static final long OPEN_MILLIS = 100;
+
+  /** Verifies that the breaker opens after the threshold of consecutive failures. */
+  @Test
+  public void testOpensAfterConsecutiveFailures() {
+    CircuitBreaker breaker = new CircuitBreaker(3, OPEN_MILLIS);
+    fail(breaker, 2);
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    fail(breaker, 1);
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    assertFalse(breaker.tryAcquirePermission());
+  }
+
+  /** Verifies that a success resets the count of consecutive failures. */
+  @Test
+  public void testSuccessResetsFailureCount() {
+    CircuitBreaker breaker = new CircuitBreaker(3, OPEN_MILLIS);
+    fail(breaker, 2);
+    assertTrue(breaker.tryAcquirePermission());
+    breaker.onSuccess();
+    fail(breaker, 2);
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+  }
+
+  /** Verifies that an open breaker lets one trial call through and closes when it succeeds. */
+  @Test
+  public void testHalfOpenTrialSuccessCloses() throws InterruptedException {
+    CircuitBreaker breaker = new CircuitBreaker(1, OPEN_MILLIS);
+    fail(breaker, 1);
+    Thread.sleep(OPEN_MILLIS + 20);
+    assertTrue(breaker.tryAcquirePermission());
+    assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    assertFalse(breaker.tryAcquirePermission());
+    breaker.onSuccess();
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    assertTrue(breaker.tryAcquirePermission());
+  }
+
+  /** Verifies that a failed trial call opens the breaker again. */
+  @Test
+  public void testHalfOpenTrialFailureReopens() throws InterruptedException {
+    CircuitBreaker breaker = new CircuitBreaker(2, OPEN_MILLIS);
+    fail(breaker, 2);
+    Thread.sleep(OPEN_MILLIS + 20);
+    assertTrue(breaker.tryAcquirePermission());
+    breaker.onFailure();
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    assertFalse(breaker.tryAcquirePermission());
+  }
+
+  /** Verifies that a threshold of zero disables the breaker. */
+  @Test
+  public void testDisabledBreakerNeverOpens() {
+    CircuitBreaker breaker = new CircuitBreaker(0, OPEN_MILLIS);
+    fail(breaker, 10);
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    assertTrue(breaker.tryAcquirePermission());
+  }
+
+  private static void fail(CircuitBreaker breaker, int times) {
+    for (int i = 0; i < times; i++) {
+      assertTrue(breaker.tryAcquirePermission());
+      breaker.onFailure();
+    }
+  }
+}
@@ -0,0 +1,220 @@
+package org.sunbird.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+import org.sunbird.exception.ProjectCommonException;
+import org.sunbird.response.ResponseCode;
+
+/** Unit tests for HttpDestination and HttpDestinations. */
+public class HttpDestinationTest {
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  /** Verifies that a call is rejected while the bulkhead permits are all in use. */
+  @Test
+  public void testBulkheadRejectsWhenFull() throws Exception {
+    HttpDestination destination = new HttpDestination("bulkhead", settings(1, 0, 0));
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Future<String> blocked =
+        executor.submit(
+            () ->
+                destination.execute(
+                    () -> {
+                      started.countDown();
+                      release.await();
+                      return "first";
+                    },
+                    null,
+                    false));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    assertUnavailable(() -> destination.execute(() -> "second", null, false));
+    assertEquals(1L, destination.toMap().get("bulkheadRejected"));
+
+    release.countDown();
+    assertEquals("first", blocked.get(5, TimeUnit.SECONDS));
+    assertEquals("third", destination.execute(() -> "third", null, false));
+    assertEquals(0, destination.toMap().get("inFlight"));
+  }
+
+  /** Verifies that failed calls and failed results open the circuit and reject later calls. */
+  @Test
+  public void testCircuitOpensOnFailures() throws Exception {
+    HttpDestination destination = new HttpDestination("circuit", settings(10, 2, 0));
+    try {
+      destination.execute(
+          () -> {
+            throw new IllegalStateException("down");
+          },
+          null,
+          false);
+      fail("call should have failed");
+    } catch (IllegalStateException e) {
+      assertEquals(CircuitBreaker.State.CLOSED, destination.getCircuitState());
+    }
+    assertEquals(503, (int) destination.execute(() -> 503, HttpDestinations::isServerError, false));
+    assertEquals(CircuitBreaker.State.OPEN, destination.getCircuitState());
+
+    assertUnavailable(() -> destination.execute(() -> 200, null, false));
+    Map<String, Object> metrics = destination.toMap();
+    assertEquals(2L, metrics.get("calls"));
+    assertEquals(2L, metrics.get("failures"));
+    assertEquals(1L, metrics.get("circuitOpenRejected"));
+  }
+
+  /**
+   * Verifies that a hedged call returns the first response once, records a single call and
+   * interrupts the slower attempt.
+   */
+  @Test
+  public void testHedgedCallFinishesOnce() throws Exception {
+    HttpDestination destination = new HttpDestination("hedge", settings(2, 0, 20));
+    AtomicInteger attempts = new AtomicInteger();
+    CountDownLatch slowInterrupted = new CountDownLatch(1);
+    String result =
+        destination.execute(
+            () -> {
+              if (attempts.incrementAndGet() == 1) {
+                try {
+                  Thread.sleep(10000);
+                } catch (InterruptedException e) {
+                  slowInterrupted.countDown();
+                  throw e;
+                }
+                return "slow";
+              }
+              return "fast";
+            },
+            null,
+            true);
+
+    assertEquals("fast", result);
+    assertEquals(2, attempts.get());
+    assertTrue(slowInterrupted.await(5, TimeUnit.SECONDS));
+    Map<String, Object> metrics = destination.toMap();
+    assertEquals(1L, metrics.get("calls"));
+    assertEquals(1L, metrics.get("hedged"));
+    assertEquals(0L, metrics.get("failures"));
+    assertEquals(0, metrics.get("inFlight"));
+    // both permits are free again
+    destination.begin().end(false);
+    HttpDestination.Call first = destination.begin();
+    HttpDestination.Call second = destination.begin();
+    first.end(false);
+    second.end(false);
+  }
+
+  /** Verifies that a call which completes before the hedge delay is not hedged. */
+  @Test
+  public void testFastCallIsNotHedged() throws Exception {
+    HttpDestination destination = new HttpDestination("no-hedge", settings(2, 0, 1000));
+    AtomicInteger attempts = new AtomicInteger();
+    assertEquals(
+        "ok",
+        destination.execute(
+            () -> {
+              attempts.incrementAndGet();
+              return "ok";
+            },
+            null,
+            true));
+    assertEquals(1, attempts.get());
+    assertEquals(0L, destination.toMap().get("hedged"));
+  }
+
+  /** Verifies that an asynchronous call holds its permit until ended, and is recorded once. */
+  @Test
+  public void testAsyncCallEndsOnce() {
+    HttpDestination destination = new HttpDestination("async", settings(1, 0, 0));
+    HttpDestination.Call call = destination.begin();
+    assertUnavailable(destination::begin);
+    call.end(true);
+    call.end(false);
+    Map<String, Object> metrics = destination.toMap();
+    assertEquals(1L, metrics.get("calls"));
+    assertEquals(1L, metrics.get("failures"));
+    destination.begin().end(false);
+  }
+
+  /** Verifies that calls are assigned to destinations by host and port, each with its metrics. */
+  @Test
+  public void testMetricsArePerDestination() throws Exception {
+    assertEquals(
+        "content-service:9000",
+        HttpDestinations.getDestinationName("http://Content-Service:9000/content/v3/read"));
+    assertEquals("learner-service", HttpDestinations.getDestinationName("http://learner-service/x"));
+    assertEquals("unknown", HttpDestinations.getDestinationName("not a url"));
+
+    HttpDestination first = HttpDestinations.forUrl("http://metrics-first-test:8080/api");
+    HttpDestination second = HttpDestinations.forUrl("http://metrics-second-test:8080/api");
+    assertTrue(first == HttpDestinations.forUrl("http://metrics-first-test:8080/other"));
+    first.execute(() -> "a", null, false);
+    first.execute(() -> "b", null, false);
+    second.execute(() -> "c", null, false);
+
+    Map<String, Object> snapshot = HttpDestinations.snapshot();
+    assertEquals(2L, destinationMetrics(snapshot, "metrics-first-test:8080").get("calls"));
+    assertEquals(1L, destinationMetrics(snapshot, "metrics-second-test:8080").get("calls"));
+  }
+
+  /** Verifies that destinations without configured timeouts get none, as before destinations. */
+  @Test
+  public void testTimeoutsAreOptIn() {
+    HttpDestination.Settings settings = HttpDestinations.readSettings("timeouts-test:8080");
+    assertEquals(-1, settings.connectTimeoutMillis);
+    assertEquals(-1, settings.socketTimeoutMillis);
+    assertEquals(-1, settings.connectionRequestTimeoutMillis);
+    assertEquals(200, settings.maxConnections);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> destinationMetrics(Map<String, Object> snapshot, String name) {
+    return (Map<String, Object>) snapshot.get(name);
+  }
+
+  private static void assertUnavailable(ThrowingRunnable call) {
+    try {
+      call.run();
+      fail("call should have been rejected");
+    } catch (ProjectCommonException e) {
+      assertEquals(ResponseCode.serviceUnAvailable.getErrorCode(), e.getErrorCode());
+    } catch (Exception e) {
+      fail("unexpected exception " + e);
+    }
+  }
+
+  private static HttpDestination.Settings settings(
+      int maxConcurrentCalls, int circuitFailureThreshold, long hedgeDelayMillis) {
+    HttpDestination.Settings settings = new HttpDestination.Settings();
+    settings.maxConnections = 10;
+    settings.maxConcurrentCalls = maxConcurrentCalls;
+    settings.connectTimeoutMillis = 1000;
+    settings.socketTimeoutMillis = 1000;
+    settings.connectionRequestTimeoutMillis = 1000;
+    settings.circuitFailureThreshold = circuitFailureThreshold;
+    settings.circuitOpenMillis = 60000;
+    settings.hedgeDelayMillis = hedgeDelayMillis;
+    return settings;
+  }
+
+  private interface ThrowingRunnable {
+    void run() throws Exception;
+  }
+}
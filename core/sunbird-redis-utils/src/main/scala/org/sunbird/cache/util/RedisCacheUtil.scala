@@ -144,6 +144,47 @@ class RedisCacheUtil {
     } finally returnConnection(jedis)
   }
 
+  /**
+   * Retrieves string data for several keys in one round trip.
+   *
+   * @param keys The cache keys.
+   * @return The cached data in the order of the keys, with null for missing keys.
+   */
+  def getMultiple(keys: List[String]): List[String] = {
+    if (keys.isEmpty) List() else {
+      val jedis = getConnection
+      try jedis.mget(keys: _*).asScala.toList
+      catch {
+        case e: Exception =>
+          logger.error( s"RedisCacheUtil:getMultiple: Exception for keys: ${keys.mkString(",")}", e)
+          throw e
+      } finally returnConnection(jedis)
+    }
+  }
+
+  /**
+   * Stores string data for several keys in one pipelined round trip.
+   *
+   * @param data Map of cache key to the data to store.
+   * @param ttl Time to live in seconds.
+   */
+  def setMultiple(data: Map[String, String], ttl: Int = 0): Unit = {
+    if (data.nonEmpty) {
+      val jedis = getConnection
+      try {
+        val pipeline = jedis.pipelined()
+        data.foreach { case (key, value) =>
+          if (ttl > 0) pipeline.setex(key, ttl, value) else pipeline.set(key, value)
+        }
+        pipeline.sync()
+      } catch {
+        case e: Exception =>
+          logger.error( s"RedisCacheUtil:setMultiple: Exception for keys: ${data.keys.mkString(",")}", e)
+          throw e
+      } finally returnConnection(jedis)
+    }
+  }
+
   /**
    * Asynchronously retrieves string data for a given key.
    *
@@ -170,6 +170,18 @@ class RedisCacheUtilTest extends AsyncFlatSpec with Matchers with BeforeAndAfter
     }
   }
 
+  "setMultiple" should "store data for all given keys" in {
+    cacheUtil.setMultiple(Map("kptest-117" -> "kptest-value-17", "kptest-118" -> "kptest-value-18"), 60)
+    cacheUtil.get("kptest-117") shouldEqual "kptest-value-17"
+    cacheUtil.get("kptest-118") shouldEqual "kptest-value-18"
+  }
+
+  "getMultiple" should "return data in key order with null for missing keys" in {
+    cacheUtil.set("kptest-119", "kptest-value-19")
+    val result = cacheUtil.getMultiple(List("kptest-119", "kptest-120"))
+    result shouldEqual List("kptest-value-19", null)
+  }
+
   private def delay(time: Long): Unit = {
     try Thread.sleep(time)
     catch {
@@ -14,14 +14,17 @@ import org.sunbird.common.ProjectUtil
 import scala.collection.JavaConverters._
 import org.apache.commons.lang3.StringUtils
 
-class AssessmentAggregatorActor(_redisService: Option[RedisService],_contentService: Option[ContentService],_cassandraService: Option[CassandraService],_kafkaService: Option[KafkaService]) extends BaseActor {
+class AssessmentAggregatorActor(_redisService: Option[RedisService],_contentService: Option[ContentService],_cassandraService: Option[CassandraService],_kafkaService: Option[KafkaService],_metadataCache: Option[ContentMetadataCache]) extends BaseActor {
 
   @Inject()
-  def this() = this(None, None, None, None)
+  def this() = this(None, None, None, None, Some(ContentMetadataCache.instance))
+
+  def this(_redisService: Option[RedisService], _contentService: Option[ContentService], _cassandraService: Option[CassandraService], _kafkaService: Option[KafkaService]) =
+    this(_redisService, _contentService, _cassandraService, _kafkaService, None)
 
   private lazy val redisService = _redisService.getOrElse(new RedisService())
   private lazy val contentService = _contentService.getOrElse(new ContentService())
-  private lazy val assessmentService = new AssessmentService(redisService, contentService)
+  private lazy val assessmentService = new AssessmentService(redisService, contentService, _metadataCache)
   private lazy val cassandraService = _cassandraService.getOrElse(new CassandraService())
   private lazy val kafkaService = _kafkaService.getOrElse(new KafkaService())
 
@@ -150,6 +153,7 @@ class AssessmentAggregatorActor(_redisService: Option[RedisService],_contentServ
     if (assessments.nonEmpty) {
       val agg = assessmentService.computeUserAggregates(userId, courseId, batchId, assessments)
       cassandraService.updateUserActivity(userId, courseId, batchId, agg, context)
+      redisService.invalidateMemberActivityAgg(courseId, userId)
       val attemptId = assessmentService.getLatestAttemptId(agg)
       if (ProjectUtil.getConfigValue("assessment_aggregator_publish_certificate") == "true") {
         kafkaService.publishCertificateEvent(userId, courseId, batchId, attemptId)
@@ -1,10 +1,12 @@
 package org.sunbird.assessment.service
 import org.sunbird.assessment.models._
 import org.sunbird.common.ProjectUtil
+import org.slf4j.LoggerFactory
 import java.text.DecimalFormat
 
-class AssessmentService(redisService: RedisService, contentService: ContentService) {
+class AssessmentService(redisService: RedisService, contentService: ContentService, metadataCache: Option[ContentMetadataCache] = None) {
 
+  private val logger = LoggerFactory.getLogger(classOf[AssessmentService])
   private val decimalFormat = new DecimalFormat("0.0#")
   private val aggType = Option(org.sunbird.common.ProjectUtil.getConfigValue("user_activity_agg_type")).getOrElse("assessment")
 
@@ -22,10 +24,22 @@ class AssessmentService(redisService: RedisService, contentService: ContentServi
   }
 
   /**
-   * Fetches content metadata once by combining Redis and Content API checks.
+   * Fetches content metadata once by combining Redis and Content API checks, through the metadata
+   * cache when one is given. When the content API cannot be reached the content is treated as
+   * valid with the question count Redis has, and that result is not cached.
    */
   def getMetadata(courseId: String, contentId: String, context: org.sunbird.request.RequestContext): ContentMetadata = {
-    val isValidInCache = redisService.isValidContent(courseId, contentId)
+    try {
+      metadataCache.map(_.get(courseId, contentId)(loadMetadata(courseId, contentId, context)))
+        .getOrElse(loadMetadata(courseId, contentId, context))
+    } catch {
+      case _: ContentReadException =>
+        ContentMetadata(isValid = true, totalQuestions = redisService.getTotalQuestionsCount(contentId).getOrElse(0))
+    }
+  }
+
+  private def loadMetadata(courseId: String, contentId: String, context: org.sunbird.request.RequestContext): ContentMetadata = {
+    val isValidInCache = isLeafNode(courseId, contentId)
     val cachedCount = redisService.getTotalQuestionsCount(contentId)
     if (isValidInCache && cachedCount.isDefined) {
       ContentMetadata(isValid = true, totalQuestions = cachedCount.get)
@@ -37,6 +51,19 @@ class AssessmentService(redisService: RedisService, contentService: ContentServi
     }
   }
 
+  private def isLeafNode(courseId: String, contentId: String): Boolean = metadataCache match {
+    case Some(cache) =>
+      try {
+        val leafNodes = cache.getLeafNodes(courseId)(redisService.getLeafNodes(courseId))
+        leafNodes.isEmpty || leafNodes.contains(contentId)
+      } catch {
+        case ex: Exception =>
+          logger.error(s"Failed to read leaf nodes of courseId=$courseId: ${ex.getMessage}", ex)
+          true
+      }
+    case None => redisService.isValidContent(courseId, contentId)
+  }
+
   def validateContent(req: AssessmentRequest, metadata: ContentMetadata): Boolean = {
     val isValidationEnabled = ProjectUtil.getConfigValue("assessment_enable_content_validation") == "true"
     if (isValidationEnabled) metadata.isValid else true
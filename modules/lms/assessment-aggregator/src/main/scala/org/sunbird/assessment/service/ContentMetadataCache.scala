@@ -0,0 +1,131 @@
+package org.sunbird.assessment.service
+
+import org.apache.commons.lang3.math.NumberUtils
+import org.sunbird.common.ProjectUtil
+
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.{CompletableFuture, CompletionException, ConcurrentHashMap}
+
+/**
+ * In-process cache of the content metadata checked on every assessment submission, keyed by
+ * course and content, and of the leaf node ids of each course, keyed by course. Concurrent misses
+ * of a key share one load. Metadata of valid content with a question count and non-empty leaf node
+ * sets are kept for ttlMillis; invalid or incomplete metadata and empty leaf node sets are kept for
+ * negativeTtlMillis. Failed loads are not kept. Each map holds at most maxEntries keys: when full,
+ * expired entries are dropped first and then the least recently used ones.
+ */
+class ContentMetadataCache(ttlMillis: Long, negativeTtlMillis: Long, maxEntries: Int) {
+
+  private class Entry[V] {
+    val value = new CompletableFuture[V]()
+    @volatile var expiresAt: Long = Long.MaxValue
+    @volatile var lastAccess: Long = System.nanoTime()
+  }
+
+  private val metadataEntries = new ConcurrentHashMap[String, Entry[ContentMetadata]]()
+  private val leafNodeEntries = new ConcurrentHashMap[String, Entry[Set[String]]]()
+  private val hits = new AtomicLong()
+  private val negativeHits = new AtomicLong()
+  private val collapsed = new AtomicLong()
+  private val misses = new AtomicLong()
+  private val failedLoads = new AtomicLong()
+  private val evictions = new AtomicLong()
+  private val loadNanos = new AtomicLong()
+  private val maxLoadNanos = new AtomicLong()
+
+  def get(courseId: String, contentId: String)(load: => ContentMetadata): ContentMetadata =
+    cached(metadataEntries, s"$courseId:$contentId", (metadata: ContentMetadata) => metadata.isValid && metadata.totalQuestions > 0)(load)
+
+  def getLeafNodes(courseId: String)(load: => Set[String]): Set[String] =
+    cached(leafNodeEntries, courseId, (leafNodes: Set[String]) => leafNodes.nonEmpty)(load)
+
+  private def cached[V](entries: ConcurrentHashMap[String, Entry[V]], key: String, isComplete: V => Boolean)(load: => V): V = {
+    if (ttlMillis <= 0) return load
+    val now = System.currentTimeMillis()
+    val cached = entries.get(key)
+    if (cached != null && cached.expiresAt > now) {
+      cached.lastAccess = System.nanoTime()
+      return await(cached, isComplete)
+    }
+    if (entries.size() >= maxEntries) evict(entries, now)
+    val created = new Entry[V]()
+    val current = entries.compute(key, (_, entry) => if (entry != null && entry.expiresAt > now) entry else created)
+    if (current ne created) return await(current, isComplete)
+
+    misses.incrementAndGet()
+    val start = System.nanoTime()
+    try {
+      val value = load
+      created.expiresAt = System.currentTimeMillis() + (if (isComplete(value)) ttlMillis else negativeTtlMillis)
+      created.value.complete(value)
+      value
+    } catch {
+      case ex: Throwable =>
+        failedLoads.incrementAndGet()
+        entries.remove(key, created)
+        created.value.completeExceptionally(ex)
+        throw ex
+    } finally {
+      val elapsed = System.nanoTime() - start
+      loadNanos.addAndGet(elapsed)
+      maxLoadNanos.accumulateAndGet(elapsed, (a, b) => Math.max(a, b))
+    }
+  }
+
+  private def await[V](entry: Entry[V], isComplete: V => Boolean): V = {
+    if (entry.value.isDone) hits.incrementAndGet() else collapsed.incrementAndGet()
+    try {
+      val value = entry.value.join()
+      if (!isComplete(value)) negativeHits.incrementAndGet()
+      value
+    } catch {
+      case ex: CompletionException => throw ex.getCause
+    }
+  }
+
+  /** Makes room for one more key, removing expired entries and then the least recently used ones. */
+  private def evict[V](entries: ConcurrentHashMap[String, Entry[V]], now: Long): Unit = {
+    entries.forEach((key, entry) => if (entry.expiresAt <= now && entries.remove(key, entry)) evictions.incrementAndGet())
+    val excess = entries.size() - maxEntries + 1
+    if (excess > 0) {
+      // Most recently used of the candidates on top, so it is the one replaced by a less recent entry.
+      val candidates = new java.util.PriorityQueue[java.util.Map.Entry[String, Entry[V]]](excess,
+        (a: java.util.Map.Entry[String, Entry[V]], b: java.util.Map.Entry[String, Entry[V]]) => java.lang.Long.compare(b.getValue.lastAccess, a.getValue.lastAccess))
+      entries.entrySet().forEach { entry =>
+        if (candidates.size() < excess) candidates.add(entry)
+        else if (entry.getValue.lastAccess < candidates.peek().getValue.lastAccess) {
+          candidates.poll()
+          candidates.add(entry)
+        }
+      }
+      candidates.forEach(entry => if (entries.remove(entry.getKey, entry.getValue)) evictions.incrementAndGet())
+    }
+  }
+
+  def snapshot(): java.util.Map[String, AnyRef] = {
+    val loads = misses.get()
+    val requests = hits.get() + collapsed.get() + loads
+    val snapshot = new java.util.LinkedHashMap[String, AnyRef]()
+    snapshot.put("entries", Int.box(metadataEntries.size()))
+    snapshot.put("leafNodeSets", Int.box(leafNodeEntries.size()))
+    snapshot.put("hits", Long.box(hits.get()))
+    snapshot.put("negativeHits", Long.box(negativeHits.get()))
+    snapshot.put("collapsed", Long.box(collapsed.get()))
+    snapshot.put("misses", Long.box(loads))
+    snapshot.put("hitRatio", Double.box(if (requests == 0) 0.0 else (requests - loads).toDouble / requests))
+    snapshot.put("failedLoads", Long.box(failedLoads.get()))
+    snapshot.put("evictions", Long.box(evictions.get()))
+    snapshot.put("avgLoadMillis", Long.box(if (loads == 0) 0L else loadNanos.get() / loads / 1000000))
+    snapshot.put("maxLoadMillis", Long.box(maxLoadNanos.get() / 1000000))
+    snapshot
+  }
+}
+
+object ContentMetadataCache {
+  lazy val instance: ContentMetadataCache = new ContentMetadataCache(
+    NumberUtils.toLong(ProjectUtil.getConfigValue("assessment_content_cache_ttl_ms"), 300000),
+    NumberUtils.toLong(ProjectUtil.getConfigValue("assessment_content_cache_negative_ttl_ms"), 30000),
+    Math.max(1, NumberUtils.toInt(ProjectUtil.getConfigValue("assessment_content_cache_max_entries"), 10000)))
+
+  def metrics(): java.util.Map[String, AnyRef] = instance.snapshot()
+}
@@ -10,6 +10,12 @@ import scala.collection.JavaConverters._
 
 case class ContentMetadata(isValid: Boolean, totalQuestions: Int)
 
+/**
+ * Raised when the content read API could not be called or its response could not be read, so the
+ * metadata of the content is unknown rather than invalid
+ */
+class ContentReadException(contentId: String, cause: Throwable) extends RuntimeException(s"Content read failed for $contentId", cause)
+
 trait HttpUtilWrapper {
   def sendGetRequest(url: String, headers: java.util.Map[String, String]): String
 }
@@ -24,6 +30,10 @@ class ContentService(http: Option[HttpUtilWrapper] = None) {
   private val baseUrl = Option(ProjectUtil.getConfigValue("sunbird_api_base_url")).filter(StringUtils.isNotBlank).getOrElse("http://localhost:9000")
   private val contentReadPath = Option(ProjectUtil.getConfigValue("sunbird_content_read_api_path")).filter(StringUtils.isNotBlank).getOrElse("/content/v1/read/")
 
+  /**
+   * Reads the question count of the content from the content read API. Throws ContentReadException
+   * when the API could not be called, so callers can tell an outage apart from invalid content
+   */
   def fetchMetadata(contentId: String, context: RequestContext): ContentMetadata = {
     val url = s"$baseUrl$contentReadPath$contentId"
     logger.info(context, s"Fetching content metadata from URL: $url")
@@ -44,7 +54,7 @@ class ContentService(http: Option[HttpUtilWrapper] = None) {
     } catch {
       case ex: Exception =>
         logger.error(context, s"Error retrieving content metadata for $contentId: ${ex.getMessage}", ex)
-        ContentMetadata(isValid = true, totalQuestions = 0)
+        throw new ContentReadException(contentId, ex)
     }
   }
 
@@ -1,16 +1,21 @@
 package org.sunbird.assessment.service
 
 import org.redisson.api.RedissonClient
+import org.sunbird.cache.util.RedisCacheUtil
 import org.sunbird.redis.RedisConnectionManager
 import org.slf4j.LoggerFactory
 
+import scala.collection.JavaConverters._
+
 /**
  * Redis service using Sunbird's shared Redis connection
  */
-class RedisService(client: Option[RedissonClient] = None) {
+class RedisService(client: Option[RedissonClient] = None, cacheUtil: Option[RedisCacheUtil] = None) {
   
   private val logger = LoggerFactory.getLogger(classOf[RedisService])
   private val redisClient: RedissonClient = client.getOrElse(RedisConnectionManager.getClient())
+  // The group aggregates are cached through RedisCacheUtil, which selects redis.dbIndex
+  private lazy val redisCacheUtil: RedisCacheUtil = cacheUtil.getOrElse(new RedisCacheUtil())
   
   /**
    * Check if content is valid by verifying it exists in the course hierarchy
@@ -35,6 +40,14 @@ class RedisService(client: Option[RedissonClient] = None) {
     }
   }
   
+  /**
+   * Get the leaf node ids of the course hierarchy, empty when the hierarchy is not in Redis. Redis
+   * errors are thrown to the caller
+   */
+  def getLeafNodes(courseId: String): Set[String] = {
+    redisClient.getSet[String](s"$courseId:$courseId:leafnodes").readAll().asScala.toSet
+  }
+
   /**
    * Get total questions count for content from metadata
    */
@@ -54,6 +67,20 @@ class RedisService(client: Option[RedissonClient] = None) {
     }
   }
 
+  /**
+   * Drop the cached group activity aggregate of a member, so the next group aggregate request
+   * reads the updated aggregate. Deletes through the same client that GroupAggregatesActor caches
+   * with, so the key is removed from the same Redis database
+   */
+  def invalidateMemberActivityAgg(courseId: String, userId: String): Unit = {
+    try {
+      redisCacheUtil.delete(s"$courseId:Course:$userId:member-activity-agg")
+    } catch {
+      case ex: Exception =>
+        logger.error(s"Failed to invalidate activity aggregate for courseId=$courseId, userId=$userId: ${ex.getMessage}", ex)
+    }
+  }
+
   private def extractCount(value: AnyRef): Option[Int] = {
     value match {
       case i: java.lang.Integer => Some(i.toInt)
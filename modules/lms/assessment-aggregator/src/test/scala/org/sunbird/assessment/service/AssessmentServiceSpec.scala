@@ -61,6 +61,16 @@ class AssessmentServiceSpec extends AnyFlatSpec with Matchers with MockitoSugar
     metadata.totalQuestions should be (15)
   }
 
+  it should "treat content as valid with the Redis count when the Content Service is down" in {
+    when(mockRedis.isValidContent("c1", "cont1")).thenReturn(false)
+    when(mockRedis.getTotalQuestionsCount("cont1")).thenReturn(None)
+    when(mockContent.fetchMetadata(anyString, any[RequestContext])).thenThrow(new ContentReadException("cont1", new RuntimeException("API error")))
+
+    val metadata = assessmentService.getMetadata("c1", "cont1", mock[RequestContext])
+    metadata.isValid should be (true)
+    metadata.totalQuestions should be (0)
+  }
+
   it should "compute user aggregates correctly" in {
     val assessments = List(
       ExistingAssessment("a1", "cont1", 2000L, 1000L, 5.0, 10.0, List.empty),
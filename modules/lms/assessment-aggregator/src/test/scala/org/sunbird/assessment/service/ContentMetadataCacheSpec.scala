@@ -0,0 +1,127 @@
+package org.sunbird.assessment.service
+
+import org.mockito.ArgumentMatchers._
+import org.mockito.MockitoSugar
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+import org.sunbird.request.RequestContext
+
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.{Callable, CountDownLatch, Executors, TimeUnit}
+
+class ContentMetadataCacheSpec extends AnyFlatSpec with Matchers with MockitoSugar {
+
+  "ContentMetadataCache" should "load metadata once and serve it from memory" in {
+    val cache = new ContentMetadataCache(60000, 60000, 10)
+    val loads = new AtomicInteger()
+
+    cache.get("c1", "cont1") { loads.incrementAndGet(); ContentMetadata(isValid = true, totalQuestions = 10) }
+    val metadata = cache.get("c1", "cont1") { loads.incrementAndGet(); ContentMetadata(isValid = true, totalQuestions = 20) }
+
+    metadata.totalQuestions should be (10)
+    loads.get() should be (1)
+    cache.snapshot().get("hits") should be (1L)
+  }
+
+  it should "share one load between concurrent misses" in {
+    val cache = new ContentMetadataCache(60000, 60000, 10)
+    val loads = new AtomicInteger()
+    val release = new CountDownLatch(1)
+    val pool = Executors.newFixedThreadPool(5)
+    val results = (1 to 5).map(_ => pool.submit(new Callable[ContentMetadata] {
+      override def call(): ContentMetadata = cache.get("c1", "cont1") {
+        loads.incrementAndGet()
+        release.await(5, TimeUnit.SECONDS)
+        ContentMetadata(isValid = true, totalQuestions = 10)
+      }
+    }))
+    Thread.sleep(200)
+    release.countDown()
+
+    results.foreach(_.get(5, TimeUnit.SECONDS).totalQuestions should be (10))
+    pool.shutdown()
+    loads.get() should be (1)
+    cache.snapshot().get("collapsed") should be (4L)
+  }
+
+  it should "keep invalid content for the negative ttl only" in {
+    val cache = new ContentMetadataCache(60000, 0, 10)
+    val loads = new AtomicInteger()
+
+    cache.get("c1", "cont1") { loads.incrementAndGet(); ContentMetadata(isValid = false, totalQuestions = 0) }
+    Thread.sleep(5)
+    cache.get("c1", "cont1") { loads.incrementAndGet(); ContentMetadata(isValid = false, totalQuestions = 0) }
+
+    loads.get() should be (2)
+  }
+
+  it should "not cache failed loads" in {
+    val cache = new ContentMetadataCache(60000, 60000, 10)
+
+    an[RuntimeException] should be thrownBy cache.get("c1", "cont1") { throw new RuntimeException("content api down") }
+    cache.get("c1", "cont1") { ContentMetadata(isValid = true, totalQuestions = 5) }.totalQuestions should be (5)
+    cache.snapshot().get("failedLoads") should be (1L)
+  }
+
+  it should "evict the least recently used entry when full" in {
+    val cache = new ContentMetadataCache(60000, 60000, 3)
+    val loads = new AtomicInteger()
+    def get(contentId: String) = cache.get("c1", contentId) { loads.incrementAndGet(); ContentMetadata(isValid = true, totalQuestions = 10) }
+
+    Seq("cont1", "cont2", "cont3", "cont1").foreach { contentId => get(contentId); Thread.sleep(2) }
+    get("cont4")
+    loads.set(0)
+    Seq("cont1", "cont3", "cont4").foreach(get)
+
+    loads.get() should be (0)
+    cache.snapshot().get("evictions") should be (1L)
+    get("cont2")
+    loads.get() should be (1)
+  }
+
+  it should "not cache metadata of AssessmentService while the content API is down" in {
+    val mockRedis = mock[RedisService]
+    val mockHttp = mock[HttpUtilWrapper]
+    when(mockRedis.getLeafNodes("c1")).thenReturn(Set.empty[String])
+    when(mockRedis.getTotalQuestionsCount("cont1")).thenReturn(None)
+    when(mockHttp.sendGetRequest(anyString, any))
+      .thenThrow(new RuntimeException("content api down"))
+      .thenReturn("""{"responseCode":"OK","result":{"content":{"totalQuestions":7}}}""")
+    val cache = new ContentMetadataCache(60000, 60000, 10)
+    val service = new AssessmentService(mockRedis, new ContentService(Some(mockHttp)), Some(cache))
+
+    service.getMetadata("c1", "cont1", null) should be (ContentMetadata(isValid = true, totalQuestions = 0))
+    service.getMetadata("c1", "cont1", null) should be (ContentMetadata(isValid = true, totalQuestions = 7))
+    service.getMetadata("c1", "cont1", null).totalQuestions should be (7)
+    verify(mockHttp, times(2)).sendGetRequest(anyString, any)
+    cache.snapshot().get("failedLoads") should be (1L)
+  }
+
+  it should "serve AssessmentService metadata without calling Redis or the content API again" in {
+    val mockRedis = mock[RedisService]
+    val mockContent = mock[ContentService]
+    when(mockRedis.getLeafNodes("c1")).thenReturn(Set("cont2"))
+    when(mockRedis.getTotalQuestionsCount("cont1")).thenReturn(None)
+    when(mockContent.fetchMetadata(anyString, any[RequestContext])).thenReturn(ContentMetadata(isValid = true, totalQuestions = 15))
+    val service = new AssessmentService(mockRedis, mockContent, Some(new ContentMetadataCache(60000, 60000, 10)))
+
+    service.getMetadata("c1", "cont1", null)
+    service.getMetadata("c1", "cont1", null).totalQuestions should be (15)
+    verify(mockContent, times(1)).fetchMetadata(anyString, any[RequestContext])
+    verify(mockRedis, times(1)).getLeafNodes("c1")
+    verify(mockRedis, never).isValidContent(anyString, anyString)
+  }
+
+  it should "read the leaf nodes of a course once for all of its contents" in {
+    val mockRedis = mock[RedisService]
+    val mockContent = mock[ContentService]
+    when(mockRedis.getLeafNodes("c1")).thenReturn(Set("cont1", "cont2"))
+    when(mockRedis.getTotalQuestionsCount(anyString)).thenReturn(Some(4))
+    val service = new AssessmentService(mockRedis, mockContent, Some(new ContentMetadataCache(60000, 60000, 10)))
+
+    service.getMetadata("c1", "cont1", null) should be (ContentMetadata(isValid = true, totalQuestions = 4))
+    service.getMetadata("c1", "cont2", null) should be (ContentMetadata(isValid = true, totalQuestions = 4))
+    verify(mockRedis, times(1)).getLeafNodes("c1")
+    verify(mockContent, never).fetchMetadata(anyString, any[RequestContext])
+  }
+}
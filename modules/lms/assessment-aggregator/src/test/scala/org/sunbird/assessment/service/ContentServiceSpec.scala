@@ -38,13 +38,11 @@ class ContentServiceSpec extends AnyFlatSpec with Matchers with MockitoSugar {
     metadata.isValid should be (false)
   }
 
-  it should "handle exception and return valid = true with 0 questions" in {
+  it should "throw ContentReadException when the content API cannot be called" in {
     val mHttp = mock[HttpUtilWrapper]
     when(mHttp.sendGetRequest(anyString, any)).thenThrow(new RuntimeException("API error"))
     
     val service = new ContentService(Some(mHttp))
-    val metadata = service.fetchMetadata("cont1", mock[RequestContext])
-    metadata.isValid should be (true)
-    metadata.totalQuestions should be (0)
+    a[ContentReadException] should be thrownBy service.fetchMetadata("cont1", mock[RequestContext])
   }
 }
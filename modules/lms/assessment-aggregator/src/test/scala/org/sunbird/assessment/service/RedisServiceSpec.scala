@@ -5,6 +5,7 @@ import org.mockito.MockitoSugar
 import org.redisson.api.{RMap, RSet, RedissonClient}
 import org.scalatest.flatspec.AnyFlatSpec
 import org.scalatest.matchers.should.Matchers
+import org.sunbird.cache.util.RedisCacheUtil
 
 class RedisServiceSpec extends AnyFlatSpec with Matchers with MockitoSugar {
 
@@ -48,6 +49,16 @@ class RedisServiceSpec extends AnyFlatSpec with Matchers with MockitoSugar {
     service.isValidContent("c1", "cont1") should be (true)
   }
 
+  it should "return all leaf nodes of the course" in {
+    val mClient = mock[RedissonClient]
+    val mSet = mock[RSet[String]]
+    when(mClient.getSet[String]("c1:c1:leafnodes")).thenReturn(mSet)
+    when(mSet.readAll()).thenReturn(new java.util.HashSet[String](java.util.Arrays.asList("cont1", "cont2")))
+
+    val service = new RedisService(Some(mClient))
+    service.getLeafNodes("c1") should be (Set("cont1", "cont2"))
+  }
+
   it should "return total questions count from map" in {
     val mClient = mock[RedissonClient]
     val mMap = mock[RMap[String, AnyRef]]
@@ -83,4 +94,14 @@ class RedisServiceSpec extends AnyFlatSpec with Matchers with MockitoSugar {
     extractCount.invoke(service, null) should be (None)
     extractCount.invoke(service, new Object()) should be (None)
   }
+
+  it should "delete the cached group activity aggregate of a member" in {
+    val mClient = mock[RedissonClient]
+    val mCacheUtil = mock[RedisCacheUtil]
+
+    val service = new RedisService(Some(mClient), Some(mCacheUtil))
+    service.invalidateMemberActivityAgg("c1", "u1")
+    verify(mCacheUtil).delete("c1:Course:u1:member-activity-agg")
+    verify(mClient, never).getKeys
+  }
 }
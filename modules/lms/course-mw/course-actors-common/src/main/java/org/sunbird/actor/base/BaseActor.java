@@ -1,6 +1,7 @@
 package org.sunbird.actor.base;
 
 import org.apache.pekko.actor.UntypedAbstractActor;
+import org.sunbird.actor.metrics.ActorMetrics;
 import org.sunbird.exception.ProjectCommonException;
 import org.sunbird.response.Response;
 import org.sunbird.response.ResponseParams;
@@ -19,11 +20,16 @@ public abstract class BaseActor extends UntypedAbstractActor {
       Request request = (Request) message;
       String operation = request.getOperation();
       logger.debug(request.getRequestContext(), "onReceive called for operation: " + operation);
+      long startTime = ActorMetrics.onStart(request);
+      boolean failed = false;
       try {
         onReceive(request);
       } catch (Exception e) {
+        failed = true;
         logger.error(request.getRequestContext(), "Error while processing the message : " + operation, e);
         onReceiveException(operation, e);
+      } finally {
+        ActorMetrics.onComplete(operation, startTime, failed);
       }
     } else {
       // Do nothing !
@@ -122,15 +122,44 @@ public class PageCacheLoaderService implements Runnable {
     if (isCacheEnabled) {
       cache.put(mapName, key, obj);
       return true;
-    } else {
-      Map<String, Map<String, Object>> map = getDCMap(mapName);
-      if (map != null) {
-        map.put(key, (Map<String, Object>) obj);
+    } else if (obj instanceof Map) {
+      switch (mapName) {
+        case "getPageData":
+          DataCacheHandler.putPage(key, (Map<String, Object>) obj);
+          break;
+        case "getSection":
+          DataCacheHandler.putSection(key, (Map<String, Object>) obj);
+          break;
       }
     }
     return false;
   }
 
+  /**
+   * Reloads an edited page or section from the database into the cache.
+   *
+   * @param mapName getPageData for a page, getSection for a section.
+   * @param id Id of the page or section.
+   */
+  public static void invalidate(String mapName, String id) {
+    Map<String, Object> data = null;
+    switch (mapName) {
+      case "getPageData":
+        data = DataCacheHandler.reloadPage(id);
+        if (isCacheEnabled && data != null) {
+          String orgId = (String) data.get(JsonKey.ORGANISATION_ID);
+          cache.put(mapName, (orgId == null ? "NA" : orgId) + ":" + data.get(JsonKey.PAGE_NAME), data);
+        }
+        break;
+      case "getSection":
+        data = DataCacheHandler.reloadSection(id);
+        if (isCacheEnabled && data != null) {
+          cache.put(mapName, id, data);
+        }
+        break;
+    }
+  }
+
   private static Map<String, Map<String, Object>> getDCMap(String mapName) {
     switch (mapName) {
       case "getPageData":
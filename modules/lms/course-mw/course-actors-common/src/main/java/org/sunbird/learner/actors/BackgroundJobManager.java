@@ -1,7 +1,6 @@
 package org.sunbird.learner.actors;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.commons.lang3.StringUtils;
 import org.sunbird.actor.base.BaseActor;
 import org.sunbird.common.ElasticSearchHelper;
 import org.sunbird.exception.ProjectCommonException;
@@ -14,6 +13,7 @@ import org.sunbird.common.ProjectUtil;
 import org.sunbird.request.Request;
 import org.sunbird.request.RequestContext;
 import org.sunbird.response.ResponseCode;
+import org.sunbird.learner.actors.coursebatch.service.UserCoursesEsSyncer;
 import org.sunbird.learner.actors.coursebatch.service.UserCoursesService;
 import org.sunbird.learner.util.CourseBatchSchedulerUtil;
 import org.sunbird.learner.util.Util;
@@ -84,11 +84,8 @@ public class BackgroundJobManager extends BaseActor {
   @SuppressWarnings("unchecked")
   private void updateUserCourseInfoToEs(Request actorMessage) {
     Map<String, Object> batch = (Map<String, Object>) actorMessage.getRequest().get(JsonKey.USER_COURSES);
-    updateDataToElastic(actorMessage.getRequestContext(), 
-        ProjectUtil.EsIndex.sunbird.getIndexName(),
-        ProjectUtil.EsType.usercourses.getTypeName(),
-        (String) batch.get(JsonKey.ID),
-        batch);
+    UserCoursesEsSyncer.getInstance()
+        .submitUpdate((String) batch.get(JsonKey.ID), batch, actorMessage.getRequestContext());
   }
 
   @SuppressWarnings("unchecked")
@@ -97,11 +94,8 @@ public class BackgroundJobManager extends BaseActor {
     String userId = (String) batch.get(JsonKey.USER_ID);
     String batchId = (String) batch.get(JsonKey.BATCH_ID);
     String identifier = UserCoursesService.generateUserCourseESId(batchId, userId);
-    insertDataToElastic(actorMessage.getRequestContext(), 
-        ProjectUtil.EsIndex.sunbird.getIndexName(),
-        ProjectUtil.EsType.usercourses.getTypeName(),
-        identifier,
-        batch);
+    UserCoursesEsSyncer.getInstance()
+        .submitDocument(identifier, batch, actorMessage.getRequestContext());
   }
 
   @SuppressWarnings("unchecked")
@@ -119,11 +113,11 @@ public class BackgroundJobManager extends BaseActor {
     // making call to register tag
     registertag(actorMessage.getRequestContext(), 
         (String) batch.getOrDefault(JsonKey.HASH_TAG_ID, batch.get(JsonKey.ID)),
-        "{}", CourseBatchSchedulerUtil.headerMap);
+        "{}", CourseBatchSchedulerUtil.getHeaders());
     // register tag for course
     registertag(actorMessage.getRequestContext(),
             (String) batch.getOrDefault(JsonKey.COURSE_ID, batch.get(JsonKey.COURSE_ID)),
-        "{}", CourseBatchSchedulerUtil.headerMap);
+        "{}", CourseBatchSchedulerUtil.getHeaders());
   }
 
   private boolean updateDataToElastic(RequestContext requestContext, String indexName, String typeName, String identifier, Map<String, Object> data) {
@@ -136,29 +130,6 @@ public class BackgroundJobManager extends BaseActor {
     return false;
   }
 
-  /**
-   * Method to cache the course data .
-   *
-   *
-   * @param requestContext
-   * @param index String
-   * @param type String
-   * @param identifier String
-   * @param data Map<String,Object>
-   * @return boolean
-   */
-  private boolean insertDataToElastic(RequestContext requestContext, String index, String type, String identifier, Map<String, Object> data) {
-    logger.info(requestContext, "BackgroundJobManager:insertDataToElastic: type = " + type + " identifier = " + identifier);
-    Future<String> responseF = esService.save(type, identifier, data, requestContext);
-    String response = (String) ElasticSearchHelper.getResponseFromFuture(responseF);
-    logger.debug(requestContext, "ES save response for identifier :" + identifier, null, new HashMap<String, Object>() {{put("response", response);}});
-    if (!StringUtils.isBlank(response)) {
-      return true;
-    }
-    logger.info(requestContext,"unbale to save the data inside ES with identifier " + identifier);
-    return false;
-  }
-
   /**
    * This method will make EkStep api call register the tag.
    *
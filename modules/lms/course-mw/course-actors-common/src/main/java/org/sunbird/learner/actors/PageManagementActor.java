@@ -2,6 +2,7 @@ package org.sunbird.learner.actors;
 
 import org.apache.pekko.dispatch.Futures;
 import org.apache.pekko.dispatch.Mapper;
+import org.apache.pekko.dispatch.Recover;
 import org.apache.pekko.pattern.Patterns;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -9,6 +10,7 @@ import com.google.common.collect.Lists;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.sunbird.actor.base.BaseActor;
 import org.sunbird.cassandra.CassandraOperation;
 import org.sunbird.common.CassandraUtil;
@@ -30,6 +32,7 @@ import org.sunbird.common.*;
 import org.sunbird.dto.SearchDTO;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.util.ContentSearchUtil;
+import org.sunbird.learner.util.PageSectionSearchCache;
 import org.sunbird.learner.util.Util;
 import org.sunbird.telemetry.util.TelemetryUtil;
 import org.sunbird.userorg.UserOrgService;
@@ -37,12 +40,14 @@ import org.sunbird.userorg.UserOrgServiceImpl;
 import scala.concurrent.ExecutionContextExecutor;
 import scala.concurrent.Future;
 import scala.concurrent.Promise;
+import scala.concurrent.duration.FiniteDuration;
 
 import java.io.IOException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.sunbird.keys.JsonKey.ID;
@@ -62,6 +67,10 @@ public class PageManagementActor extends BaseActor {
   private UserOrgService userOrgService = UserOrgServiceImpl.getInstance();
   private ElasticSearchService esService = EsClientFactory.getInstance();
   private static final String DYNAMIC_FILTERS = "dynamicFilters";
+  private static final String UNAVAILABLE_SECTIONS = "unavailableSections";
+  private static final long PAGE_ASSEMBLY_DEADLINE_MILLIS =
+      NumberUtils.toLong(ProjectUtil.getConfigValue("page_assembly_deadline_ms"), 5000);
+  private static final Map<String, Object> SECTION_TIMED_OUT = Collections.emptyMap();
   private static List<String> userProfilePropList = Arrays.asList("board");
   private LoggerUtil logger = new LoggerUtil(PageManagementActor.class);
   private static final SimpleDateFormat DATE_FORMAT = ProjectUtil.getDateFormatter();
@@ -227,10 +236,8 @@ public class PageManagementActor extends BaseActor {
     new Thread(
             () -> {
               if ((JsonKey.SUCCESS).equalsIgnoreCase((String) response.get(JsonKey.RESPONSE))) {
-                PageCacheLoaderService.putDataIntoCache(
-                    ActorOperations.GET_SECTION.getValue(),
-                    (String) sectionMap.get(JsonKey.ID),
-                    sectionMap);
+                PageCacheLoaderService.invalidate(
+                    ActorOperations.GET_SECTION.getValue(), (String) sectionMap.get(JsonKey.ID));
               }
             })
         .start();
@@ -283,7 +290,8 @@ public class PageManagementActor extends BaseActor {
 
     try {
       List<String> ignoredSections = new ArrayList<>();
-      List<Future<Map<String, Object>>> sectionList = getSectionData(actorMessage.getRequestContext(), arr, reqFilters, urlQueryString, headers, sectionFilters, filterMap, ignoredSections);
+      Set<String> unavailableSections = Collections.synchronizedSet(new LinkedHashSet<>());
+      List<Future<Map<String, Object>>> sectionList = getSectionData(actorMessage.getRequestContext(), arr, reqFilters, urlQueryString, headers, sectionFilters, filterMap, ignoredSections, unavailableSections);
       Future<Iterable<Map<String, Object>>> sectionsFuture = Futures.sequence(sectionList, getContext().dispatcher());
       Map<String, Object> finalPageMap = pageMap;
         Future<Response> response =
@@ -292,11 +300,13 @@ public class PageManagementActor extends BaseActor {
                 @Override
                 public Response apply(Iterable<Map<String, Object>> sections) {
                   ArrayList<Map<String, Object>> sectionList = Lists.newArrayList(sections);
+                  sectionList.removeIf(Objects::isNull);
                   Map<String, Object> result = new HashMap<>();
                   result.put(JsonKey.NAME, finalPageMap.get(JsonKey.NAME));
                   result.put(JsonKey.ID, finalPageMap.get(JsonKey.ID));
                   result.put(JsonKey.SECTIONS, sectionList);
                   result.put("ignoredSections", ignoredSections);
+                  result.put(UNAVAILABLE_SECTIONS, getUnavailableSections(unavailableSections));
                   Response response = new Response();
                   response.put(JsonKey.RESPONSE, result);
                   logger.debug(actorMessage.getRequestContext(), "PageManagementActor:getPageData:apply: Response before caching it = "
@@ -313,9 +323,17 @@ public class PageManagementActor extends BaseActor {
     }
   }
 
-  private List<Future<Map<String, Object>>> getSectionData(RequestContext requestContext, List<Map<String, Object>> sectionList, Map<String, Object> reqFilters, String urlQueryString, Map<String, String> headers, Map<String, Object> sectionFilters, Map<String, Object> filterMap, List<String> ignoredSections) throws Exception {
+  /**
+   * Starts the content searches of the sections of a page. Sections running the same search share
+   * one search call, and searches are shared across pages through {@link PageSectionSearchCache}.
+   * A section whose search fails, or is not complete by the page assembly deadline, completes
+   * with null and its id is added to unavailableSections.
+   */
+  private List<Future<Map<String, Object>>> getSectionData(RequestContext requestContext, List<Map<String, Object>> sectionList, Map<String, Object> reqFilters, String urlQueryString, Map<String, String> headers, Map<String, Object> sectionFilters, Map<String, Object> filterMap, List<String> ignoredSections, Set<String> unavailableSections) throws Exception {
     List<Future<Map<String, Object>>> data = new ArrayList<>();
     if(CollectionUtils.isNotEmpty(sectionList)) {
+      Map<String, Future<Map<String, Object>>> pageSearches = new HashMap<>();
+      Future<Map<String, Object>> deadline = getPageDeadline();
       for(Map<String, Object> section : sectionList){
         String sectionId = (String) section.get(ID);
         Map<String, Object> sectionData = new HashMap<String, Object>(PageCacheLoaderService.getDataFromCache(ActorOperations.GET_SECTION.getValue(),sectionId,Map.class));
@@ -329,14 +347,69 @@ public class PageManagementActor extends BaseActor {
             ignoredSections.add(sectionId);
             continue;
           }
-          Future<Map<String, Object>> contentFuture = getContentData(requestContext, sectionData, reqFilters, headers, filterMap, urlQueryString, section.get(JsonKey.GROUP), section.get(JsonKey.INDEX), sectionFilters, context().dispatcher());
-          data.add(contentFuture);
+          Future<Map<String, Object>> contentFuture = getContentData(requestContext, sectionData, reqFilters, headers, filterMap, urlQueryString, section.get(JsonKey.GROUP), section.get(JsonKey.INDEX), sectionFilters, pageSearches, context().dispatcher());
+          data.add(withDeadline(requestContext, sectionId, contentFuture, deadline, unavailableSections));
         }
       }
     }
     return data;
   }
 
+  private Future<Map<String, Object>> getPageDeadline() {
+    if (PAGE_ASSEMBLY_DEADLINE_MILLIS <= 0) {
+      return null;
+    }
+    return Patterns.after(
+        FiniteDuration.create(PAGE_ASSEMBLY_DEADLINE_MILLIS, TimeUnit.MILLISECONDS),
+        getContext().getSystem().scheduler(),
+        getContext().dispatcher(),
+        () -> Futures.successful(SECTION_TIMED_OUT));
+  }
+
+  private Future<Map<String, Object>> withDeadline(
+      RequestContext requestContext,
+      String sectionId,
+      Future<Map<String, Object>> contentFuture,
+      Future<Map<String, Object>> deadline,
+      Set<String> unavailableSections) {
+    Future<Map<String, Object>> section =
+        contentFuture.recover(
+            new Recover<Map<String, Object>>() {
+              @Override
+              public Map<String, Object> recover(Throwable failure) {
+                logger.error(requestContext, "PageManagementActor:withDeadline: search of section " + sectionId + " failed with error message = "
+                        + failure.getMessage(), failure);
+                unavailableSections.add(sectionId);
+                return null;
+              }
+            },
+            getContext().dispatcher());
+    if (null == deadline) {
+      return section;
+    }
+    return Futures.firstCompletedOf(Arrays.asList(section, deadline), getContext().dispatcher())
+        .map(
+            new Mapper<Map<String, Object>, Map<String, Object>>() {
+              @Override
+              public Map<String, Object> apply(Map<String, Object> result) {
+                if (result == SECTION_TIMED_OUT) {
+                  logger.info(requestContext, "PageManagementActor:withDeadline: section " + sectionId + " is not available within "
+                          + PAGE_ASSEMBLY_DEADLINE_MILLIS + " ms");
+                  unavailableSections.add(sectionId);
+                  return null;
+                }
+                return result;
+              }
+            },
+            getContext().dispatcher());
+  }
+
+  private List<String> getUnavailableSections(Set<String> unavailableSections) {
+    synchronized (unavailableSections) {
+      return new ArrayList<>(unavailableSections);
+    }
+  }
+
   @SuppressWarnings("unchecked")
   private void getPageSetting(Request actorMessage) {
     Map<String, Object> req = actorMessage.getRequest();
@@ -522,18 +595,12 @@ public class PageManagementActor extends BaseActor {
   }
 
   private void updatePageDataCacheHandler(Response response, Map<String, Object> pageMap) {
-    // update DataCacheHandler page map with new page data
+    // reload the edited page into the DataCacheHandler page map
     new Thread(
             () -> {
               if (JsonKey.SUCCESS.equalsIgnoreCase((String) response.get(JsonKey.RESPONSE))) {
-                String orgId = "NA";
-                if (pageMap.containsKey(JsonKey.ORGANISATION_ID)) {
-                  orgId = (String) pageMap.get(JsonKey.ORGANISATION_ID);
-                }
-                PageCacheLoaderService.putDataIntoCache(
-                    ActorOperations.GET_PAGE_DATA.getValue(),
-                    orgId + ":" + (String) pageMap.get(JsonKey.PAGE_NAME),
-                    pageMap);
+                PageCacheLoaderService.invalidate(
+                    ActorOperations.GET_PAGE_DATA.getValue(), (String) pageMap.get(JsonKey.ID));
               }
             })
         .start();
@@ -549,6 +616,7 @@ public class PageManagementActor extends BaseActor {
           Object group,
           Object index,
           Map<String, Object> sectionFilters,
+          Map<String, Future<Map<String, Object>>> pageSearches,
           ExecutionContextExecutor ec) throws Exception {
 
     Map<String, Object> searchQueryMap = mapper.readValue((String) section.get(JsonKey.SEARCH_QUERY), HashMap.class);
@@ -582,8 +650,17 @@ public class PageManagementActor extends BaseActor {
     section.put(JsonKey.GROUP, group);
     section.put(JsonKey.INDEX, index);
     if (StringUtils.isEmpty(dataSource) || JsonKey.CONTENT.equalsIgnoreCase(dataSource)) {
-      result = ContentSearchUtil.searchContent(requestContext, urlQueryString, queryRequestBody, headers, ec);
       final String finalQueryRequestBody = queryRequestBody;
+      String searchKey = PageSectionSearchCache.getKey(urlQueryString, headers, queryRequestBody);
+      result =
+          pageSearches.computeIfAbsent(
+              searchKey,
+              key ->
+                  PageSectionSearchCache.getInstance()
+                      .search(
+                          key,
+                          () -> ContentSearchUtil.searchContent(requestContext, urlQueryString, finalQueryRequestBody, headers, ec),
+                          ec));
       return result.map(
           new Mapper<Map<String, Object>, Map<String, Object>>() {
             @Override
@@ -802,7 +879,8 @@ public class PageManagementActor extends BaseActor {
     try {
       List<Map<String,Object>> arr = mapper.readValue(sectionQuery, new TypeReference<List<Map<String, Object>>>(){});
       List<String> ignoredSections = new ArrayList<>();
-      List<Future<Map<String, Object>>> sectionList = getSectionData(request.getRequestContext(), arr, reqFilters, urlQueryString, headers, sectionFilters, filterMap, ignoredSections);
+      Set<String> unavailableSections = Collections.synchronizedSet(new LinkedHashSet<>());
+      List<Future<Map<String, Object>>> sectionList = getSectionData(request.getRequestContext(), arr, reqFilters, urlQueryString, headers, sectionFilters, filterMap, ignoredSections, unavailableSections);
       Future<Iterable<Map<String, Object>>> sectionsFuture = Futures.sequence(sectionList, getContext().dispatcher());
       Map<String, Object> finalPageMap = pageMap;
       Future<Response> response =
@@ -810,12 +888,15 @@ public class PageManagementActor extends BaseActor {
                       new Mapper<Iterable<Map<String, Object>>, Response>() {
                         @Override
                         public Response apply(Iterable<Map<String, Object>> sections) {
-                          List<Map<String, Object>> sectionList = getUserProfileData(request.getRequestContext(), Lists.newArrayList(sections), userProfile);
+                          ArrayList<Map<String, Object>> availableSections = Lists.newArrayList(sections);
+                          availableSections.removeIf(Objects::isNull);
+                          List<Map<String, Object>> sectionList = getUserProfileData(request.getRequestContext(), availableSections, userProfile);
                           Map<String, Object> result = new HashMap<>();
                           result.put(JsonKey.NAME, finalPageMap.get(JsonKey.NAME));
                           result.put(JsonKey.ID, finalPageMap.get(JsonKey.ID));
                           result.put(JsonKey.SECTIONS, sectionList);
                           result.put("ignoredSections", ignoredSections);
+                          result.put(UNAVAILABLE_SECTIONS, getUnavailableSections(unavailableSections));
                           Response response = new Response();
                           response.put(JsonKey.RESPONSE, result);
                           logger.debug(request.getRequestContext(), "PageManagementActor:getPageData:apply: Response before caching it = "
@@ -7,6 +7,7 @@ import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.actor.base.BaseActor;
 import org.sunbird.exception.ProjectCommonException;
+import org.sunbird.http.HttpDestinations;
 import org.sunbird.response.Response;
 import org.sunbird.telemetry.dto.TelemetryEnvKey;
 import org.sunbird.request.Request;
@@ -66,11 +67,12 @@ public class CourseManagementActor extends BaseActor {
             }});
         }};
         try {
+            String body = mapper.writeValueAsString(requestMap);
             HttpResponse<String> updateResponse =
-                    Unirest.post(requestUrl)
-                            .headers(headers)
-                            .body(mapper.writeValueAsString(requestMap))
-                            .asString();
+                    HttpDestinations.execute(
+                            requestUrl,
+                            () -> Unirest.post(requestUrl).headers(headers).body(body).asString(),
+                            false);
             logger.info(request.getRequestContext(), "CourseManagementActor:createCourse : Request for course create : "
                     + mapper.writeValueAsString(requestMap));
 
@@ -129,11 +131,12 @@ public class CourseManagementActor extends BaseActor {
     private void handleHierarchyData(Request request, String identifier, Map<String, String> headers) throws Exception {
         if (request.getRequest().containsKey(SunbirdKey.HIERARCHY)) {
             String url = getConfigValue(CONTENT_SERVICE_BASE_URL) + "/content/v3/hierarchy/update";
+            String body = mapper.writeValueAsString(helper.generateUpdateHierarchyRequest(request, identifier));
             HttpResponse<String> updateResponse =
-                    Unirest.patch(url)
-                            .headers(headers)
-                            .body(mapper.writeValueAsString(helper.generateUpdateHierarchyRequest(request, identifier)))
-                            .asString();
+                    HttpDestinations.execute(
+                            url,
+                            () -> Unirest.patch(url).headers(headers).body(body).asString(),
+                            false);
             if (null != updateResponse) {
                 Response response = mapper.readValue(updateResponse.getBody(), Response.class);
                 if (!StringUtils.equalsIgnoreCase(response.getResponseCode().name(), ResponseCode.OK.name())) {
@@ -62,6 +62,21 @@ public interface UserCoursesDao {
    * @param active
    */
   List<String> getBatchParticipants(RequestContext requestContext, String batchId, boolean active);
+
+  /**
+   * Get one page of the participant IDs in given batch. The result holds the participant IDs of
+   * the page under {@code participants} and, if more participants may follow, the cursor of the
+   * next page under {@code cursor}. A page can hold fewer than limit participants while a cursor
+   * is still returned.
+   *
+   * @param requestContext
+   * @param batchId Batch ID
+   * @param active
+   * @param limit Maximum number of enrolments read for the page
+   * @param cursor Cursor returned with the previous page, or null for the first page
+   */
+  Map<String, Object> getBatchParticipantsPage(
+      RequestContext requestContext, String batchId, boolean active, int limit, String cursor);
   
   
   List<Map<String, Object>> listEnrolments(RequestContext requestContext, String userId, List<String> courseIdList);
@@ -5,6 +5,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
 import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.Constants;
 import org.sunbird.response.Response;
 import org.sunbird.keys.JsonKey;
 import org.sunbird.request.RequestContext;
@@ -134,6 +135,35 @@ public class UserCoursesDaoImpl implements UserCoursesDao {
         .collect(Collectors.toList());
   }
 
+  @Override
+  public Map<String, Object> getBatchParticipantsPage(
+      RequestContext requestContext, String batchId, boolean active, int limit, String cursor) {
+    Response response =
+        cassandraOperation.getRecordsByIndexedPropertyWithPaging(
+            KEYSPACE_NAME,
+            USER_ENROLMENTS,
+            "batchid",
+            batchId,
+            Arrays.asList("userid", "active"),
+            limit,
+            cursor,
+            requestContext);
+    List<Map<String, Object>> userCoursesList =
+        (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    List<String> participants = new ArrayList<>();
+    if (CollectionUtils.isNotEmpty(userCoursesList)) {
+      for (Map<String, Object> userCourse : userCoursesList) {
+        if (active == Boolean.TRUE.equals(userCourse.get(JsonKey.ACTIVE))) {
+          participants.add((String) userCourse.get(JsonKey.USER_ID));
+        }
+      }
+    }
+    Map<String, Object> page = new HashMap<>();
+    page.put(JsonKey.PARTICIPANTS, participants);
+    page.put(JsonKey.CURSOR, response.get(Constants.PAGING_STATE));
+    return page;
+  }
+
   @Override
   public List<Map<String, Object>> listEnrolments(RequestContext requestContext, String userId, List<String> courseIdList) {
     Map<String, Object> primaryKey = new HashMap<>();
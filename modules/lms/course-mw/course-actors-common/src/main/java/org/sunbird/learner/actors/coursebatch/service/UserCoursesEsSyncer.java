@@ -0,0 +1,356 @@
+package org.sunbird.learner.actors.coursebatch.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.collections.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.sunbird.common.ElasticSearchHelper;
+import org.sunbird.common.ProjectUtil;
+import org.sunbird.common.factory.EsClientFactory;
+import org.sunbird.common.inf.ElasticSearchService;
+import org.sunbird.logging.LoggerUtil;
+import org.sunbird.request.RequestContext;
+import scala.concurrent.Future;
+
+/**
+ * Syncs user course enrolments to the usercourses index in ES in the background.
+ *
+ * <p>Enrolment changes submitted for the same {@code batchId_userId} document within one window
+ * are merged into a single write, later fields overriding earlier ones and nested objects such as
+ * {@code contentStatus} merged key by key, as ES merges partial updates. The writes of a window are
+ * sent in bulk requests of at most {@code sunbird_user_courses_es_sync_batch_size} documents. An
+ * update only changes an existing document, an upsert also creates a missing one, and a full
+ * document replaces the stored document and any change queued before it; changes queued after it
+ * are merged into it. Merged changes take the strongest of their write kinds, so an update merged
+ * with an upsert creates the document. A single thread applies the writes and waits for each bulk
+ * request to complete, so the changes of a document are applied in the order they were submitted.
+ * Documents which failed within a bulk request are retried one by one. Documents which still could
+ * not be written, and all documents of a bulk request which could not be executed, are merged back
+ * under any newer change of the same document and retried in a later window up to {@code
+ * sunbird_user_courses_es_sync_max_attempts} times.
+ */
+public class UserCoursesEsSyncer {
+
+  private static final LoggerUtil logger = new LoggerUtil(UserCoursesEsSyncer.class);
+  private static final long WINDOW_MILLIS =
+      NumberUtils.toLong(ProjectUtil.getConfigValue("sunbird_user_courses_es_sync_window_ms"), 500);
+  private static final int BATCH_SIZE =
+      NumberUtils.toInt(ProjectUtil.getConfigValue("sunbird_user_courses_es_sync_batch_size"), 500);
+  private static final int MAX_ATTEMPTS =
+      NumberUtils.toInt(ProjectUtil.getConfigValue("sunbird_user_courses_es_sync_max_attempts"), 3);
+
+  private static volatile UserCoursesEsSyncer instance;
+
+  private final ElasticSearchService esService;
+  private final String index = ProjectUtil.EsType.usercourses.getTypeName();
+  private final int batchSize;
+  private final int maxAttempts;
+  private final Map<String, PendingUpsert> pending = new ConcurrentHashMap<>();
+  private final AtomicLong submitted = new AtomicLong();
+  private final AtomicLong coalesced = new AtomicLong();
+  private final AtomicLong applied = new AtomicLong();
+  private final AtomicLong itemRetries = new AtomicLong();
+  private final AtomicLong requeued = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicLong bulkRequests = new AtomicLong();
+  private final AtomicLong failedBulkRequests = new AtomicLong();
+  private final AtomicLong lastLagMillis = new AtomicLong();
+  private final AtomicLong maxLagMillis = new AtomicLong();
+
+  UserCoursesEsSyncer(ElasticSearchService esService, int batchSize, int maxAttempts) {
+    this.esService = esService;
+    this.batchSize = Math.max(1, batchSize);
+    this.maxAttempts = Math.max(1, maxAttempts);
+  }
+
+  public static UserCoursesEsSyncer getInstance() {
+    if (instance == null) {
+      synchronized (UserCoursesEsSyncer.class) {
+        if (instance == null) {
+          UserCoursesEsSyncer syncer =
+              new UserCoursesEsSyncer(EsClientFactory.getInstance(), BATCH_SIZE, MAX_ATTEMPTS);
+          syncer.start(WINDOW_MILLIS);
+          instance = syncer;
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Queues an upsert of the usercourses document of an enrolment.
+   *
+   * @param id Id of the document, see {@link UserCoursesService#generateUserCourseESId}.
+   * @param data Fields of the enrolment to upsert.
+   * @param context Request context of the change.
+   */
+  public void submit(String id, Map<String, Object> data, RequestContext context) {
+    submit(id, data, context, Write.UPSERT);
+  }
+
+  /**
+   * Queues an update of the usercourses document of an enrolment. Unlike {@link #submit}, the
+   * document is not created if it does not exist; the update is then dropped after the retries.
+   *
+   * @param id Id of the document, see {@link UserCoursesService#generateUserCourseESId}.
+   * @param data Fields of the enrolment to update.
+   * @param context Request context of the change.
+   */
+  public void submitUpdate(String id, Map<String, Object> data, RequestContext context) {
+    submit(id, data, context, Write.UPDATE);
+  }
+
+  /**
+   * Queues the full usercourses document of a new enrolment. Unlike {@link #submit}, fields of the
+   * stored document which are not in the given document are removed.
+   *
+   * @param id Id of the document, see {@link UserCoursesService#generateUserCourseESId}.
+   * @param document The enrolment document.
+   * @param context Request context of the change.
+   */
+  public void submitDocument(String id, Map<String, Object> document, RequestContext context) {
+    submit(id, document, context, Write.SAVE);
+  }
+
+  private void submit(String id, Map<String, Object> data, RequestContext context, Write write) {
+    if (StringUtils.isBlank(id) || MapUtils.isEmpty(data)) {
+      return;
+    }
+    submitted.incrementAndGet();
+    pending.merge(
+        id,
+        new PendingUpsert(new HashMap<>(data), System.currentTimeMillis(), context, 0, write),
+        (older, newer) -> {
+          coalesced.incrementAndGet();
+          return older.mergedWith(newer);
+        });
+  }
+
+  /** Applies the upserts queued so far. Called by the syncer thread at the end of each window. */
+  void flush() {
+    List<String> ids = new ArrayList<>(pending.keySet());
+    Map<String, PendingUpsert> batch = new LinkedHashMap<>();
+    for (String id : ids) {
+      PendingUpsert upsert = pending.remove(id);
+      if (upsert != null) {
+        batch.put(id, upsert);
+      }
+      if (batch.size() == batchSize) {
+        apply(batch);
+        batch = new LinkedHashMap<>();
+      }
+    }
+    if (!batch.isEmpty()) {
+      apply(batch);
+    }
+  }
+
+  private void apply(Map<String, PendingUpsert> batch) {
+    Map<Write, Map<String, PendingUpsert>> batchByWrite = new EnumMap<>(Write.class);
+    batch.forEach(
+        (id, upsert) ->
+            batchByWrite
+                .computeIfAbsent(upsert.write, write -> new LinkedHashMap<>())
+                .put(id, upsert));
+    batchByWrite.forEach(this::apply);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void apply(Write write, Map<String, PendingUpsert> batch) {
+    Map<String, Map<String, Object>> dataById = new HashMap<>();
+    batch.forEach((id, upsert) -> dataById.put(id, new HashMap<>(upsert.data)));
+    bulkRequests.incrementAndGet();
+    Future<List<String>> failedIdsF;
+    switch (write) {
+      case SAVE:
+        failedIdsF = esService.bulkSave(index, dataById, null);
+        break;
+      case UPDATE:
+        failedIdsF = esService.bulkUpdate(index, dataById, null);
+        break;
+      default:
+        failedIdsF = esService.bulkUpsert(index, dataById, null);
+    }
+    List<String> failedIds = (List<String>) ElasticSearchHelper.getResponseFromFuture(failedIdsF);
+    if (failedIds == null) {
+      failedBulkRequests.incrementAndGet();
+      batch.forEach(this::requeue);
+      return;
+    }
+    long now = System.currentTimeMillis();
+    long lag = 0;
+    for (Map.Entry<String, PendingUpsert> entry : batch.entrySet()) {
+      PendingUpsert upsert = entry.getValue();
+      if (failedIds.contains(entry.getKey()) && !retry(entry.getKey(), upsert)) {
+        requeue(entry.getKey(), upsert);
+        continue;
+      }
+      applied.incrementAndGet();
+      lag = Math.max(lag, now - upsert.firstSubmittedAt);
+    }
+    lastLagMillis.set(lag);
+    maxLagMillis.accumulateAndGet(lag, Math::max);
+  }
+
+  private boolean retry(String id, PendingUpsert upsert) {
+    itemRetries.incrementAndGet();
+    if (upsert.write == Write.SAVE) {
+      Future<String> responseF = esService.save(index, id, new HashMap<>(upsert.data), upsert.context);
+      return StringUtils.isNotBlank((String) ElasticSearchHelper.getResponseFromFuture(responseF));
+    }
+    Future<Boolean> responseF =
+        upsert.write == Write.UPDATE
+            ? esService.update(index, id, new HashMap<>(upsert.data), upsert.context)
+            : esService.upsert(index, id, new HashMap<>(upsert.data), upsert.context);
+    return Boolean.TRUE.equals(ElasticSearchHelper.getResponseFromFuture(responseF));
+  }
+
+  private void requeue(String id, PendingUpsert upsert) {
+    if (upsert.attempts + 1 >= maxAttempts) {
+      dropped.incrementAndGet();
+      logger.error(
+          upsert.context,
+          "UserCoursesEsSyncer:requeue: dropping usercourses upsert of "
+              + id
+              + " after "
+              + maxAttempts
+              + " attempts",
+          null);
+      return;
+    }
+    requeued.incrementAndGet();
+    // Changes submitted while the upsert was in flight are newer, so their fields win
+    pending.merge(
+        id,
+        new PendingUpsert(
+            upsert.data,
+            upsert.firstSubmittedAt,
+            upsert.context,
+            upsert.attempts + 1,
+            upsert.write),
+        (newer, retry) -> retry.mergedWith(newer));
+  }
+
+  /**
+   * Returns the counters of the syncer, the number of documents waiting to be upserted and the
+   * lag, in milliseconds, between the first change of a document being submitted and its upsert
+   * being applied.
+   *
+   * @return Map of metric name to value.
+   */
+  public Map<String, Object> snapshot() {
+    Map<String, Object> snapshot = new LinkedHashMap<>();
+    snapshot.put("pending", pending.size());
+    snapshot.put("submitted", submitted.get());
+    snapshot.put("coalesced", coalesced.get());
+    snapshot.put("applied", applied.get());
+    snapshot.put("itemRetries", itemRetries.get());
+    snapshot.put("requeued", requeued.get());
+    snapshot.put("dropped", dropped.get());
+    snapshot.put("bulkRequests", bulkRequests.get());
+    snapshot.put("failedBulkRequests", failedBulkRequests.get());
+    snapshot.put("lastLagMillis", lastLagMillis.get());
+    snapshot.put("maxLagMillis", maxLagMillis.get());
+    return snapshot;
+  }
+
+  private void start(long windowMillis) {
+    ScheduledExecutorService executor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "user-courses-es-syncer");
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.scheduleWithFixedDelay(
+        this::flushQuietly, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    Runtime.getRuntime()
+        .addShutdownHook(
+            new Thread(
+                () -> {
+                  executor.shutdown();
+                  try {
+                    executor.awaitTermination(windowMillis, TimeUnit.MILLISECONDS);
+                  } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                  }
+                  flushQuietly();
+                }));
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (Exception e) {
+      logger.error("UserCoursesEsSyncer:flush: failed to sync user courses to ES", e);
+    }
+  }
+
+  /** Kind of write, from the weakest to the strongest. */
+  private enum Write {
+    // fields merged into the stored document, which is not created if missing
+    UPDATE,
+    // fields merged into the stored document, which is created if missing
+    UPSERT,
+    // the full document, replacing the stored document
+    SAVE
+  }
+
+  private static final class PendingUpsert {
+    private final Map<String, Object> data;
+    private final long firstSubmittedAt;
+    private final RequestContext context;
+    private final int attempts;
+    private final Write write;
+
+    private PendingUpsert(
+        Map<String, Object> data,
+        long firstSubmittedAt,
+        RequestContext context,
+        int attempts,
+        Write write) {
+      this.data = data;
+      this.firstSubmittedAt = firstSubmittedAt;
+      this.context = context;
+      this.attempts = attempts;
+      this.write = write;
+    }
+
+    private PendingUpsert mergedWith(PendingUpsert newer) {
+      Map<String, Object> merged =
+          newer.write == Write.SAVE ? new HashMap<>(newer.data) : merge(data, newer.data);
+      return new PendingUpsert(
+          merged,
+          Math.min(firstSubmittedAt, newer.firstSubmittedAt),
+          newer.context,
+          Math.max(attempts, newer.attempts),
+          write.compareTo(newer.write) >= 0 ? write : newer.write);
+    }
+
+    /** Merges newer fields into a copy of older ones, nested objects key by key. */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> merge(Map<String, Object> older, Map<String, Object> newer) {
+      Map<String, Object> merged = new HashMap<>(older);
+      newer.forEach(
+          (key, value) -> {
+            Object olderValue = merged.get(key);
+            merged.put(
+                key,
+                olderValue instanceof Map && value instanceof Map
+                    ? merge((Map<String, Object>) olderValue, (Map<String, Object>) value)
+                    : value);
+          });
+      return merged;
+    }
+  }
+}
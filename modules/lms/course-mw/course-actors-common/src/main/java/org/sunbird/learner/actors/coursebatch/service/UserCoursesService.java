@@ -1,5 +1,6 @@
 package org.sunbird.learner.actors.coursebatch.service;
 
+import org.apache.commons.lang3.math.NumberUtils;
 import org.sunbird.common.ElasticSearchHelper;
 import org.sunbird.common.factory.EsClientFactory;
 import org.sunbird.common.inf.ElasticSearchService;
@@ -21,6 +22,8 @@ public class UserCoursesService {
   private UserCoursesDao userCourseDao = UserCoursesDaoImpl.getInstance();
   private static ElasticSearchService esService = EsClientFactory.getInstance();
   public static final String UNDERSCORE = "_";
+  private static final int PARTICIPANTS_PAGE_SIZE =
+      NumberUtils.toInt(ProjectUtil.getConfigValue("sunbird_batch_participants_page_size"), 1000);
   private LoggerUtil logger = new LoggerUtil(UserCoursesService.class);
 
   public static String generateUserCourseESId(String batchId, String userId) {
@@ -79,12 +82,16 @@ public class UserCoursesService {
     return result;
   }
 
+  /**
+   * Queues an upsert of the usercourses document of an enrolment. The upsert is applied in the
+   * background by {@link UserCoursesEsSyncer}, together with the other enrolment changes of the
+   * same window.
+   */
   public static void sync(RequestContext requestContext, Map<String, Object> courseMap, String batchId, String userId) {
     String id = generateUserCourseESId(batchId, userId);
     courseMap.put(JsonKey.ID, id);
     courseMap.put(JsonKey.IDENTIFIER, id);
-    Future<Boolean> responseF = esService.upsert(ProjectUtil.EsType.usercourses.getTypeName(), id, courseMap, requestContext);
-    boolean response = (boolean) ElasticSearchHelper.getResponseFromFuture(responseF);
+    UserCoursesEsSyncer.getInstance().submit(id, courseMap, requestContext);
   }
 
   public List<String> getEnrolledUserFromBatch(RequestContext requestContext, String batchId) {
@@ -103,4 +110,21 @@ public class UserCoursesService {
   public List<String> getParticipantsList(String batchId, boolean active, RequestContext requestContext) {
     return userCourseDao.getBatchParticipants(requestContext, batchId, active);
   }
+
+  /**
+   * Returns one page of the participants of a batch, read from the position given by the cursor
+   * of the previous page.
+   *
+   * @param batchId Batch ID
+   * @param active Whether to return active or inactive participants
+   * @param limit Maximum number of enrolments read for the page, capped at the participants page size
+   * @param cursor Cursor returned with the previous page, or null for the first page
+   * @param requestContext
+   * @return Map holding the participant IDs of the page and the cursor of the next page, if any
+   */
+  public Map<String, Object> getParticipantsPage(
+      String batchId, boolean active, int limit, String cursor, RequestContext requestContext) {
+    int pageSize = Math.min(Math.max(1, limit), PARTICIPANTS_PAGE_SIZE);
+    return userCourseDao.getBatchParticipantsPage(requestContext, batchId, active, pageSize, cursor);
+  }
 }
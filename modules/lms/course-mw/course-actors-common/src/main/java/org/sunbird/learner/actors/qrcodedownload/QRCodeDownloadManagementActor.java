@@ -1,15 +1,17 @@
 package org.sunbird.learner.actors.qrcodedownload;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.mashape.unirest.http.exceptions.UnirestException;
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.sunbird.actor.base.BaseActor;
 import org.sunbird.exception.ProjectCommonException;
 import org.sunbird.response.Response;
 import org.sunbird.keys.JsonKey;
 import org.sunbird.common.ProjectUtil;
+import org.sunbird.datasecurity.OneWayHashing;
 import org.sunbird.telemetry.dto.TelemetryEnvKey;
 import org.sunbird.request.Request;
 import org.sunbird.request.RequestContext;
@@ -17,10 +19,15 @@ import org.sunbird.response.ResponseCode;
 import org.sunbird.utils.CloudStorageUtil;
 import org.sunbird.learner.util.Util;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.io.File.separator;
 import static org.sunbird.keys.JsonKey.*;
@@ -32,6 +39,13 @@ import static org.sunbird.common.ProjectUtil.getConfigValue;
  */
 public class QRCodeDownloadManagementActor extends BaseActor {
 
+  private static final ObjectMapper mapper =
+      new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+  private static final long FILE_URL_TTL_MILLIS =
+      NumberUtils.toLong(getConfigValue("sunbird_qrcode_file_url_cache_ttl_ms"), 300000);
+  // hash of the request filter -> url and expiry time of the CSV uploaded for it
+  private static final Map<String, Object[]> recentFileUrls = new ConcurrentHashMap<>();
+
   private final QRCodeDownloadManager downloadManager = new QRCodeDownloadManager();
 
   @Override
@@ -51,7 +65,8 @@ public class QRCodeDownloadManagementActor extends BaseActor {
   }
 
   /**
-   * The request must contain list of userIds (Users Ids of people who have created courses)
+   * The request must contain list of userIds (Users Ids of people who have created courses). The
+   * url of the CSV is reused for identical requests for sunbird_qrcode_file_url_cache_ttl_ms.
    *
    * @param request
    */
@@ -59,24 +74,16 @@ public class QRCodeDownloadManagementActor extends BaseActor {
     Map<String, String> headers = (Map<String, String>) request.getRequest().get(JsonKey.HEADER);
     Map<String, Object> requestMap = (Map<String, Object>) request.getRequest().get(JsonKey.FILTER);
     requestMap.put(JsonKey.CONTENT_TYPE, "course");
-    Map<String, Object> searchResponse = downloadManager.searchCourses(request.getRequestContext(), requestMap, headers);
-    List<Map<String, Object>> contents = (List<Map<String, Object>>) searchResponse.get("contents");
-    if (CollectionUtils.isEmpty(contents))
-      throw new ProjectCommonException(
-          ResponseCode.errorUserHasNotCreatedAnyCourse.getErrorCode(),
-          ResponseCode.errorUserHasNotCreatedAnyCourse.getErrorMessage(),
-          ResponseCode.CLIENT_ERROR.getResponseCode());
-    String channel = (String) contents.get(0).get("channel");
-    Map<String, List<String>> dialCodesMap =
-        contents
-            .stream()
-            .filter(content -> content.get("dialcodes") != null)
-            .filter(content -> content.get("name") != null)
-            .collect(
-                Collectors.toMap(
-                    content -> ((String) content.get("identifier")) + "<<<" + (String) content.get("name"),
-                    content -> (List<String>) content.get("dialcodes"), (a,b) -> b, LinkedHashMap::new));
-    File file = generateCSVFile(request.getRequestContext(), dialCodesMap, channel);
+    String requestKey = getRequestKey(requestMap);
+    String recentFileUrl = getRecentFileUrl(requestKey);
+    if (StringUtils.isNotBlank(recentFileUrl)) {
+      logger.info(request.getRequestContext(), "QRCodeDownloadManagement:downloadQRCodes: Reusing recently generated file " + recentFileUrl);
+      Response response = new Response();
+      response.put("fileUrl", recentFileUrl);
+      sender().tell(response, self());
+      return;
+    }
+    File file = generateCSVFile(request.getRequestContext(), requestMap, headers);
     Response response = new Response();
     if (null == file)
       throw new ProjectCommonException(
@@ -85,56 +92,66 @@ public class QRCodeDownloadManagementActor extends BaseActor {
           ResponseCode.SERVER_ERROR.getResponseCode());
 
     response = uploadFile(request.getRequestContext(), file);
+    putRecentFileUrl(requestKey, (String) response.get("fileUrl"));
     sender().tell(response, self());
   }
 
+  private String getRequestKey(Map<String, Object> requestMap) {
+    try {
+      return OneWayHashing.encryptVal(mapper.writeValueAsString(requestMap));
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private String getRecentFileUrl(String requestKey) {
+    if (null == requestKey || FILE_URL_TTL_MILLIS <= 0) return null;
+    Object[] recent = recentFileUrls.get(requestKey);
+    if (null != recent && (long) recent[1] > System.currentTimeMillis()) return (String) recent[0];
+    return null;
+  }
+
+  private void putRecentFileUrl(String requestKey, String fileUrl) {
+    if (null == requestKey || FILE_URL_TTL_MILLIS <= 0 || StringUtils.isBlank(fileUrl)) return;
+    long now = System.currentTimeMillis();
+    recentFileUrls.values().removeIf(recent -> (long) recent[1] <= now);
+    recentFileUrls.put(requestKey, new Object[] {fileUrl, now + FILE_URL_TTL_MILLIS});
+  }
+
 
   /**
-   * Generates the CSV File for the data provided
+   * Generates the CSV File of the courses matching the request in the temp directory, writing the
+   * rows as the courses are searched and the QR code image urls are fetched
    *
    * @param requestContext
-   * @param dialCodeMap
+   * @param requestMap
+   * @param headers
    * @return
    */
-  private File generateCSVFile(RequestContext requestContext, Map<String, List<String>> dialCodeMap, String channel) {
-    File file = null;
-    if (MapUtils.isEmpty(dialCodeMap))
+  private File generateCSVFile(
+      RequestContext requestContext, Map<String, Object> requestMap, Map<String, String> headers)
+      throws UnirestException {
+    File file = new File(FileUtils.getTempDirectory(), UUID.randomUUID().toString() + ".csv");
+    int dialCodeCount;
+    try (Writer writer =
+        new BufferedWriter(
+            new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+      dialCodeCount = downloadManager.writeQRCodeCSV(requestContext, writer, requestMap, headers);
+    } catch (IOException e) {
+      logger.error(requestContext, "QRCodeDownloadManagement:createCSVFile: Exception occurred with error message = "
+                      + e.getMessage(), e);
+      FileUtils.deleteQuietly(file);
+      return null;
+    } catch (ProjectCommonException | UnirestException e) {
+      FileUtils.deleteQuietly(file);
+      throw e;
+    }
+    if (dialCodeCount == 0) {
+      FileUtils.deleteQuietly(file);
       throw new ProjectCommonException(
           ResponseCode.errorNoDialcodesLinked.getErrorCode(),
           ResponseCode.errorNoDialcodesLinked.getErrorMessage(),
           ResponseCode.CLIENT_ERROR.getResponseCode());
-    try {
-      file = new File(UUID.randomUUID().toString() + ".csv");
-      StringBuilder csvFile = new StringBuilder();
-      csvFile.append("Course Name,Dialcodes,Image Url");
-
-      Set<String> dialCodes = dialCodeMap.values().stream()
-              .flatMap(List::stream)
-              .collect(Collectors.toSet());
-
-      Map<String, String> dialcodeImageUrlMap = downloadManager.getQRCodeImageURLs(dialCodes, channel);
-
-      dialCodeMap
-          .keySet()
-          .forEach(
-              name -> {
-                dialCodeMap
-                    .get(name)
-                    .forEach(
-                        dialCode -> {
-                          csvFile.append("\n");
-                          csvFile
-                              .append(name.split("<<<")[1])
-                              .append(",")
-                              .append(dialCode)
-                              .append(",")
-                              .append(dialcodeImageUrlMap.get(dialCode));
-                        });
-              });
-      FileUtils.writeStringToFile(file, csvFile.toString());
-    } catch (IOException e) {
-      logger.error(requestContext, "QRCodeDownloadManagement:createCSVFile: Exception occurred with error message = "
-                      + e.getMessage(), e);
     }
     return file;
   }
@@ -3,9 +3,13 @@ package org.sunbird.learner.actors.qrcodedownload;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mashape.unirest.http.exceptions.UnirestException;
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.http.HttpHeaders;
+import org.sunbird.exception.ProjectCommonException;
+import org.sunbird.response.ResponseCode;
 import org.sunbird.telemetry.dto.*;
 import org.sunbird.request.RequestContext;
 import org.sunbird.logging.LoggerUtil;
@@ -16,6 +20,8 @@ import org.sunbird.http.HttpUtil;
 import org.sunbird.learner.util.ContentSearchUtil;
 
 import javax.ws.rs.core.MediaType;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -30,6 +36,8 @@ public class QRCodeDownloadManager {
                     put(JsonKey.CONTENT_TYPE, JsonKey.CONTENT_TYPE);
                 }
             };
+    private static final int DIAL_CODE_BATCH_SIZE = Math.max(1, NumberUtils.toInt(ProjectUtil.getConfigValue("sunbird_qrcode_dialcode_batch_size"), 500));
+    private static final int SEARCH_PAGE_SIZE = Math.max(1, NumberUtils.toInt(ProjectUtil.getConfigValue("sunbird_qrcode_search_page_size"), 100));
     private static final int SEARCH_CONTENTS_LIMIT = Integer.parseInt(StringUtils.isNotBlank(ProjectUtil.getConfigValue(JsonKey.SUNBIRD_QRCODE_COURSES_LIMIT)) ? ProjectUtil.getConfigValue(JsonKey.SUNBIRD_QRCODE_COURSES_LIMIT) : "2000");
 
     /**
@@ -39,11 +47,13 @@ public class QRCodeDownloadManager {
      * @param requestContext
      * @param requestMap
      * @param headers
+     * @param offset
+     * @param limit
      * @return
      */
     public Map<String, Object> searchCourses(
-            RequestContext requestContext, Map<String, Object> requestMap, Map<String, String> headers) throws UnirestException {
-        String request = prepareSearchRequest (requestContext, requestMap);
+            RequestContext requestContext, Map<String, Object> requestMap, Map<String, String> headers, int offset, int limit) throws UnirestException {
+        String request = prepareSearchRequest (requestContext, requestMap, offset, limit);
         return ContentSearchUtil.searchContentSync(requestContext, null, request, headers);
     }
 
@@ -54,9 +64,11 @@ public class QRCodeDownloadManager {
      *
      * @param requestContext
      * @param requestMap
+     * @param offset
+     * @param limit
      * @return
      */
-    private String prepareSearchRequest(RequestContext requestContext, Map<String, Object> requestMap) {
+    private String prepareSearchRequest(RequestContext requestContext, Map<String, Object> requestMap, int offset, int limit) {
         Map<String, Object> searchRequestMap =
                 new HashMap<String, Object>() {
                     {
@@ -74,8 +86,8 @@ public class QRCodeDownloadManager {
                         put(JsonKey.SORT_BY, new HashMap<String, String>() {{
                             put(SunbirdKey.LAST_PUBLISHED_ON, JsonKey.DESC);
                         }});
-                        //TODO: Limit should come from request, need to facilitate this change.
-                        put(JsonKey.LIMIT, SEARCH_CONTENTS_LIMIT);
+                        put(JsonKey.OFFSET, offset);
+                        put(JsonKey.LIMIT, limit);
                     }
                 };
         Map<String, Object> request =
@@ -94,6 +106,69 @@ public class QRCodeDownloadManager {
         return requestJson;
     }
 
+    /**
+     * Writes the CSV of course names, dialcodes and QR code image urls of the courses matching the
+     * request. The courses are searched a page of sunbird_qrcode_search_page_size at a time, up to
+     * sunbird_user_qrcode_courses_limit courses, and the image urls are fetched for a batch of
+     * dialcodes at a time. The rows of each batch are written out before the next batch is fetched,
+     * so memory use does not grow with the number of courses or dialcodes.
+     *
+     * @param requestContext
+     * @param writer
+     * @param requestMap
+     * @param headers
+     * @return number of dialcodes written
+     */
+    public int writeQRCodeCSV(
+            RequestContext requestContext, Writer writer, Map<String, Object> requestMap, Map<String, String> headers)
+            throws UnirestException, IOException {
+        writer.write("Course Name,Dialcodes,Image Url");
+        List<String[]> rows = new ArrayList<>();
+        Set<String> courses = new HashSet<>();
+        String channel = null;
+        int courseCount = 0;
+        int dialCodeCount = 0;
+        for (int offset = 0; offset < SEARCH_CONTENTS_LIMIT; offset += SEARCH_PAGE_SIZE) {
+            int limit = Math.min(SEARCH_PAGE_SIZE, SEARCH_CONTENTS_LIMIT - offset);
+            List<Map<String, Object>> contents =
+                    (List<Map<String, Object>>) searchCourses(requestContext, requestMap, headers, offset, limit).get(JsonKey.CONTENTS);
+            if (CollectionUtils.isEmpty(contents)) break;
+            if (courseCount == 0) channel = (String) contents.get(0).get("channel");
+            courseCount += contents.size();
+            for (Map<String, Object> content : contents) {
+                String name = (String) content.get("name");
+                List<String> dialCodes = (List<String>) content.get("dialcodes");
+                if (null == dialCodes || null == name || !courses.add(content.get("identifier") + "<<<" + name)) continue;
+                for (String dialCode : dialCodes) {
+                    rows.add(new String[] {name, dialCode});
+                    if (rows.size() == DIAL_CODE_BATCH_SIZE) {
+                        writeQRCodeRows(writer, rows, channel);
+                    }
+                }
+                dialCodeCount += dialCodes.size();
+            }
+            if (contents.size() < limit) break;
+        }
+        if (courseCount == 0)
+            throw new ProjectCommonException(
+                    ResponseCode.errorUserHasNotCreatedAnyCourse.getErrorCode(),
+                    ResponseCode.errorUserHasNotCreatedAnyCourse.getErrorMessage(),
+                    ResponseCode.CLIENT_ERROR.getResponseCode());
+        writeQRCodeRows(writer, rows, channel);
+        return dialCodeCount;
+    }
+
+    private void writeQRCodeRows(Writer writer, List<String[]> rows, String channel) throws IOException {
+        if (rows.isEmpty()) return;
+        Set<String> dialCodes = rows.stream().map(row -> row[1]).collect(Collectors.toSet());
+        Map<String, String> dialcodeImageUrlMap = getQRCodeImageURLs(dialCodes, channel);
+        for (String[] row : rows) {
+            writer.write("\n");
+            writer.write(row[0] + "," + row[1] + "," + dialcodeImageUrlMap.get(row[1]));
+        }
+        rows.clear();
+    }
+
     /**
      * Fetch QR code Urls for the given dialcodes
      *
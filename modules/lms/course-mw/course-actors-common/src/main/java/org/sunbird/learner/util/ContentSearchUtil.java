@@ -12,6 +12,7 @@ import org.apache.http.HttpHeaders;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.sunbird.http.HttpDestinations;
 import org.sunbird.keys.JsonKey;
 import org.sunbird.logging.LoggerUtil;
 import org.sunbird.common.PropertiesCache;
@@ -113,7 +114,11 @@ public class ContentSearchUtil {
             ? contentSearchURL + urlQueryString
             : contentSearchURL;
 
-    HttpResponse<String> searchResponse = Unirest.post(urlString).headers(getUpdatedHeaders(headers)).body(queryRequestBody).asString();
+    HttpResponse<String> searchResponse =
+        HttpDestinations.execute(
+            urlString,
+            () -> Unirest.post(urlString).headers(getUpdatedHeaders(headers)).body(queryRequestBody).asString(),
+            false);
     try {
       if (null != searchResponse && searchResponse.getStatus() == 200) {
         Map<String, Object> responseData = new ObjectMapper().readValue(searchResponse.getBody(), Map.class);
@@ -28,7 +28,7 @@ import java.util.Map;
  * @author Manzarul
  */
 public final class CourseBatchSchedulerUtil {
-  public static Map<String, String> headerMap = new HashMap<>();
+  private static final Map<String, String> headerMap = new HashMap<>();
   private static ElasticSearchService esService = EsClientFactory.getInstance();
   private static LoggerUtil logger = new LoggerUtil(CourseBatchSchedulerUtil.class);
   private static String EKSTEP_COURSE_SEARCH_QUERY =
@@ -113,25 +113,31 @@ public final class CourseBatchSchedulerUtil {
   public static boolean doOperationInContentCourse(RequestContext requestContext, String courseId, boolean increment, String enrollmentType) {
     String contentName = getCountName(enrollmentType);
     boolean response = false;
-    Map<String, Object> ekStepContent = getCourseObject(requestContext, courseId, getBasicHeader());
+    Map<String, String> headers = getHeaders();
+    Map<String, Object> ekStepContent = getCourseObject(requestContext, courseId, headers);
     if (MapUtils.isNotEmpty(ekStepContent)) {
       int val = getUpdatedBatchCount(ekStepContent, contentName, increment);
       if (ekStepContent.get(JsonKey.CHANNEL) != null) {
         logger.info(requestContext, "Channel value coming from content is " + (String) ekStepContent.get(JsonKey.CHANNEL)
                 + " Id " + courseId);
-        addHeaderProps(getBasicHeader(), HeaderParam.CHANNEL_ID.getName(), (String) ekStepContent.get(JsonKey.CHANNEL));
+        addHeaderProps(headers, HeaderParam.CHANNEL_ID.getName(), (String) ekStepContent.get(JsonKey.CHANNEL));
       } else {
         logger.info(requestContext, "No channel value available in content with Id " + courseId);
       }
-      response = updateCourseContent(requestContext, courseId, contentName, val);
+      response = updateCourseContent(requestContext, courseId, contentName, val, headers);
     } else {
       logger.info(requestContext, "EKstep content not found for course id==" + courseId);
     }
     return response;
   }
 
-  private static Map<String, String> getBasicHeader() {
-    return headerMap;
+  /**
+   * Returns a copy of the headers of content service requests, which the caller may modify.
+   *
+   * @return Map of header name to value
+   */
+  public static Map<String, String> getHeaders() {
+    return new HashMap<>(headerMap);
   }
 
   public static String getCountName(String enrollmentType) {
@@ -152,13 +158,17 @@ public final class CourseBatchSchedulerUtil {
   }
 
   public static boolean updateCourseContent(RequestContext requestContext, String courseId, String contentName, int val) {
+    return updateCourseContent(requestContext, courseId, contentName, val, getHeaders());
+  }
+
+  private static boolean updateCourseContent(RequestContext requestContext, String courseId, String contentName, int val, Map<String, String> headers) {
     String response = "";
     try {
       String contentUpdateBaseUrl = ProjectUtil.getConfigValue(JsonKey.CONTENT_SERVICE_BASE_URL);
       response = HttpUtil.sendPatchRequest(
               contentUpdateBaseUrl + PropertiesCache.getInstance().getProperty(JsonKey.EKSTEP_CONTENT_UPDATE_URL) + courseId,
               "{\"request\": {\"content\": {\"" + contentName + "\": " + val + "}}}",
-              getBasicHeader());
+              headers);
     } catch (Exception e) {
       logger.error(requestContext, "Error while updating content value " + e.getMessage(), e);
     }
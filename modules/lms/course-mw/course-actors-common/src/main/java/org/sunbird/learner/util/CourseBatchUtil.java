@@ -7,6 +7,7 @@ import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.sunbird.common.ElasticSearchHelper;
 import org.sunbird.exception.ProjectCommonException;
+import org.sunbird.http.HttpDestinations;
 import org.sunbird.common.factory.EsClientFactory;
 import org.sunbird.common.inf.ElasticSearchService;
 import org.sunbird.response.Response;
@@ -136,7 +137,9 @@ public class CourseBatchUtil {
   private static HttpResponse<String> templateReadResponse(RequestContext requestContext, String baseUrl, String templateRelativeUrl, String templateId) throws Exception {
     String certTempUrl = getTemplateUrl(requestContext, baseUrl, templateRelativeUrl, templateId);
     HttpResponse<String> httpResponse = null;
-    httpResponse = Unirest.get(certTempUrl).headers(getdefaultHeaders()).asString();
+    httpResponse =
+        HttpDestinations.execute(
+            certTempUrl, () -> Unirest.get(certTempUrl).headers(getdefaultHeaders()).asString(), true);
     logger.info(requestContext, "CourseBatchUtil:getResponse Response Status : " + httpResponse.getStatus());
     return httpResponse;
   }
@@ -1,7 +1,10 @@
 /** */
 package org.sunbird.learner.util;
 
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.CassandraPropertyReader;
 import org.sunbird.response.Response;
 import org.sunbird.keys.JsonKey;
 import org.sunbird.common.ProjectUtil;
@@ -9,67 +12,303 @@ import org.sunbird.utils.TableNameUtil;
 import org.sunbird.logging.LoggerUtil;
 import org.sunbird.helper.ServiceFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * This class will handle the data cache.
  *
+ * <p>The page and page section tables are held as immutable snapshots which are replaced
+ * atomically, so readers never see a half-updated map. The first run loads the whole tables. Later
+ * runs read only the id and the updated (or created) date of each row, reload the rows whose date
+ * changed and drop the rows that were deleted. Pages and sections edited through this service are
+ * reloaded directly.
+ *
  * @author Amit Kumar
  */
 public class DataCacheHandler implements Runnable {
+  private static final int ID_BATCH_SIZE = 100;
+  private static final String UPDATED_DATE_COLUMN = "updateddate";
+  private static final String CREATED_DATE_COLUMN = "createddate";
+
   /**
    * pageMap is the map of (orgId:pageName) and page Object (i.e map of string , object) sectionMap
    * is the map of section Id and section Object (i.e map of string , object)
    */
-  private static Map<String, Map<String, Object>> pageMap = new ConcurrentHashMap<>();
+  private static final TableSnapshot pageMap =
+      new TableSnapshot(
+          TableNameUtil.PAGE_MANAGEMENT_TABLENAME,
+          page -> {
+            String orgId =
+                (((String) page.get(JsonKey.ORGANISATION_ID)) == null
+                    ? "NA"
+                    : (String) page.get(JsonKey.ORGANISATION_ID));
+            return orgId + ":" + ((String) page.get(JsonKey.PAGE_NAME));
+          });
+
+  private static final TableSnapshot sectionMap =
+      new TableSnapshot(
+          TableNameUtil.PAGE_SECTION_TABLENAME, section -> (String) section.get(JsonKey.ID));
 
-  private static Map<String, Map<String, Object>> sectionMap = new ConcurrentHashMap<>();
   private CassandraOperation cassandraOperation = ServiceFactory.getInstance();
-  private LoggerUtil logger = new LoggerUtil(DataCacheHandler.class);
-  
+  private static LoggerUtil logger = new LoggerUtil(DataCacheHandler.class);
+
   @Override
   public void run() {
     logger.info("DataCacheHandler:run: Cache refresh started.");
-    cache(pageMap, TableNameUtil.PAGE_MANAGEMENT_TABLENAME);
-    cache(sectionMap, TableNameUtil.PAGE_SECTION_TABLENAME);
+    pageMap.refresh(cassandraOperation);
+    sectionMap.refresh(cassandraOperation);
     logger.info("DataCacheHandler:run: Cache refresh completed.");
   }
 
-  @SuppressWarnings("unchecked")
-  private void cache(Map<String, Map<String, Object>> map, String tableName) {
-    try {
-      Response response = cassandraOperation.getAllRecords(ProjectUtil.getConfigValue(JsonKey.SUNBIRD_KEYSPACE), tableName, null);
+  /** @return the pageMap */
+  public static Map<String, Map<String, Object>> getPageMap() {
+    return pageMap.rows;
+  }
+
+  /** @return the sectionMap */
+  public static Map<String, Map<String, Object>> getSectionMap() {
+    return sectionMap.rows;
+  }
+
+  /**
+   * Puts a page into the page map.
+   *
+   * @param key orgId:pageName of the page.
+   * @param page Page data.
+   */
+  public static void putPage(String key, Map<String, Object> page) {
+    pageMap.put(key, page);
+  }
+
+  /**
+   * Puts a section into the section map.
+   *
+   * @param key Id of the section.
+   * @param section Section data.
+   */
+  public static void putSection(String key, Map<String, Object> section) {
+    sectionMap.put(key, section);
+  }
+
+  /**
+   * Reloads an edited page from the database into the page map.
+   *
+   * @param id Id of the page.
+   * @return Reloaded page, or null if it could not be read.
+   */
+  public static Map<String, Object> reloadPage(String id) {
+    return pageMap.reload(ServiceFactory.getInstance(), id);
+  }
+
+  /**
+   * Reloads an edited section from the database into the section map.
+   *
+   * @param id Id of the section.
+   * @return Reloaded section, or null if it could not be read.
+   */
+  public static Map<String, Object> reloadSection(String id) {
+    return sectionMap.reload(ServiceFactory.getInstance(), id);
+  }
+
+  /**
+   * Returns the size, refresh duration and staleness, in milliseconds, of the page and section
+   * maps.
+   *
+   * @return Map of table name to its metrics.
+   */
+  public static Map<String, Object> snapshot() {
+    Map<String, Object> snapshot = new LinkedHashMap<>();
+    snapshot.put(pageMap.tableName, pageMap.snapshot());
+    snapshot.put(sectionMap.tableName, sectionMap.snapshot());
+    return snapshot;
+  }
+
+  /** Drops the loaded snapshots, so the next run loads the whole tables again. */
+  static void reset() {
+    pageMap.reset();
+    sectionMap.reset();
+  }
+
+  private static final class TableSnapshot {
+    private final String tableName;
+    private final Function<Map<String, Object>, String> keyOf;
+    private final String updatedDateKey;
+    private final String createdDateKey;
+    private volatile Map<String, Map<String, Object>> rows = Collections.emptyMap();
+    // id -> key and id -> updated date of the rows in the snapshot, guarded by this
+    private Map<String, String> keyById = new HashMap<>();
+    private Map<String, String> versionById = new HashMap<>();
+    private volatile long lastRefreshedAt;
+    private volatile long lastRefreshMillis;
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong fullLoads = new AtomicLong();
+    private final AtomicLong rowsReloaded = new AtomicLong();
+    private final AtomicLong rowsRemoved = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private TableSnapshot(String tableName, Function<Map<String, Object>, String> keyOf) {
+      this.tableName = tableName;
+      this.keyOf = keyOf;
+      this.updatedDateKey = CassandraPropertyReader.getInstance().readProperty(UPDATED_DATE_COLUMN);
+      this.createdDateKey = CassandraPropertyReader.getInstance().readProperty(CREATED_DATE_COLUMN);
+    }
+
+    private synchronized void refresh(CassandraOperation cassandraOperation) {
+      long startTime = System.currentTimeMillis();
+      String keyspace = ProjectUtil.getConfigValue(JsonKey.SUNBIRD_KEYSPACE);
+      try {
+        if (keyById.isEmpty()) {
+          Response response = cassandraOperation.getAllRecords(keyspace, tableName, null);
+          Map<String, Map<String, Object>> next = new HashMap<>();
+          keyById = new HashMap<>();
+          versionById = new HashMap<>();
+          for (Map<String, Object> row : getRows(response)) {
+            add(next, row);
+          }
+          rows = Collections.unmodifiableMap(next);
+          fullLoads.incrementAndGet();
+          rowsReloaded.addAndGet(next.size());
+        } else {
+          Response response =
+              cassandraOperation.getAllRecords(
+                  keyspace,
+                  tableName,
+                  Arrays.asList(JsonKey.ID, UPDATED_DATE_COLUMN, CREATED_DATE_COLUMN),
+                  null);
+          Set<String> removedIds = new HashSet<>(keyById.keySet());
+          List<String> changedIds = new ArrayList<>();
+          for (Map<String, Object> version : getRows(response)) {
+            String id = (String) version.get(JsonKey.ID);
+            removedIds.remove(id);
+            if (!keyById.containsKey(id) || !getVersion(version).equals(versionById.get(id))) {
+              changedIds.add(id);
+            }
+          }
+          if (!removedIds.isEmpty() || !changedIds.isEmpty()) {
+            Map<String, Map<String, Object>> next = new HashMap<>(rows);
+            for (String id : removedIds) {
+              next.remove(keyById.remove(id));
+              versionById.remove(id);
+            }
+            for (int i = 0; i < changedIds.size(); i += ID_BATCH_SIZE) {
+              List<String> ids = changedIds.subList(i, Math.min(i + ID_BATCH_SIZE, changedIds.size()));
+              for (Map<String, Object> row : getRows(
+                  cassandraOperation.getPropertiesValueById(keyspace, tableName, ids, null, null))) {
+                add(next, row);
+              }
+            }
+            rows = Collections.unmodifiableMap(next);
+            rowsReloaded.addAndGet(changedIds.size());
+            rowsRemoved.addAndGet(removedIds.size());
+          }
+        }
+        lastRefreshedAt = System.currentTimeMillis();
+        refreshes.incrementAndGet();
+        logger.info(tableName + " cache size: " + rows.size());
+      } catch (Exception e) {
+        failures.incrementAndGet();
+        logger.error("DataCacheHandler:refresh: Exception in refreshing " + tableName + " " + e.getMessage(), e);
+      } finally {
+        lastRefreshMillis = System.currentTimeMillis() - startTime;
+      }
+    }
+
+    private synchronized Map<String, Object> reload(CassandraOperation cassandraOperation, String id) {
+      try {
+        List<Map<String, Object>> reloaded =
+            getRows(
+                cassandraOperation.getPropertiesValueById(
+                    ProjectUtil.getConfigValue(JsonKey.SUNBIRD_KEYSPACE),
+                    tableName,
+                    Arrays.asList(id),
+                    null,
+                    null));
+        if (reloaded.isEmpty()) {
+          return null;
+        }
+        Map<String, Map<String, Object>> next = new HashMap<>(rows);
+        add(next, reloaded.get(0));
+        rows = Collections.unmodifiableMap(next);
+        rowsReloaded.incrementAndGet();
+        return reloaded.get(0);
+      } catch (Exception e) {
+        failures.incrementAndGet();
+        logger.error("DataCacheHandler:reload: Exception in reloading " + id + " of " + tableName + " " + e.getMessage(), e);
+        return null;
+      }
+    }
+
+    private synchronized void put(String key, Map<String, Object> row) {
+      Map<String, Map<String, Object>> next = new HashMap<>(rows);
+      next.put(key, row);
+      rows = Collections.unmodifiableMap(next);
+    }
+
+    private void add(Map<String, Map<String, Object>> next, Map<String, Object> row) {
+      String id = (String) row.get(JsonKey.ID);
+      String key = keyOf.apply(row);
+      String previousKey = keyById.put(id, key);
+      if (previousKey != null && !previousKey.equals(key)) {
+        next.remove(previousKey);
+      }
+      versionById.put(id, getVersion(row));
+      next.put(key, row);
+    }
+
+    private String getVersion(Map<String, Object> row) {
+      Object version = row.get(updatedDateKey);
+      if (version == null) {
+        version = row.get(createdDateKey);
+      }
+      return version == null ? "" : String.valueOf(version);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> getRows(Response response) {
       List<Map<String, Object>> responseList =
           (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
-      if (null != responseList && !responseList.isEmpty()) {
-        for (Map<String, Object> resultMap : responseList) {
-          if (tableName.equalsIgnoreCase(JsonKey.PAGE_SECTION)) {
-            map.put((String) resultMap.get(JsonKey.ID), resultMap);
-          } else {
-            String orgId =
-                (((String) resultMap.get(JsonKey.ORGANISATION_ID)) == null
-                    ? "NA"
-                    : (String) resultMap.get(JsonKey.ORGANISATION_ID));
-            map.put(orgId + ":" + ((String) resultMap.get(JsonKey.PAGE_NAME)), resultMap);
-          }
+      if (CollectionUtils.isEmpty(responseList)) {
+        return Collections.emptyList();
+      }
+      List<Map<String, Object>> rows = new ArrayList<>();
+      for (Map<String, Object> row : responseList) {
+        if (StringUtils.isNotBlank((String) row.get(JsonKey.ID))) {
+          rows.add(row);
         }
       }
-      logger.debug("pagemap keyset " + map.keySet());
-      logger.info(tableName + " cache size: " + map.size());
-    } catch (Exception e) {
-      logger.error("DataCacheHandler:cache: Exception in retrieving page section " + e.getMessage(), e);
+      return rows;
     }
-  }
 
-  /** @return the pageMap */
-  public static Map<String, Map<String, Object>> getPageMap() {
-    return pageMap;
-  }
+    private Map<String, Object> snapshot() {
+      Map<String, Object> snapshot = new LinkedHashMap<>();
+      snapshot.put("size", rows.size());
+      snapshot.put("lastRefreshMillis", lastRefreshMillis);
+      snapshot.put(
+          "stalenessMillis",
+          lastRefreshedAt == 0 ? -1 : System.currentTimeMillis() - lastRefreshedAt);
+      snapshot.put("refreshes", refreshes.get());
+      snapshot.put("fullLoads", fullLoads.get());
+      snapshot.put("rowsReloaded", rowsReloaded.get());
+      snapshot.put("rowsRemoved", rowsRemoved.get());
+      snapshot.put("failures", failures.get());
+      return snapshot;
+    }
 
-  /** @return the sectionMap */
-  public static Map<String, Map<String, Object>> getSectionMap() {
-    return sectionMap;
+    private synchronized void reset() {
+      rows = Collections.emptyMap();
+      keyById = new HashMap<>();
+      versionById = new HashMap<>();
+      lastRefreshedAt = 0;
+    }
   }
 }
@@ -0,0 +1,190 @@
+package org.sunbird.learner.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.pekko.dispatch.Futures;
+import org.apache.pekko.dispatch.Mapper;
+import org.sunbird.common.ProjectUtil;
+import org.sunbird.datasecurity.OneWayHashing;
+import org.sunbird.keys.JsonKey;
+import org.sunbird.logging.LoggerUtil;
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.Future;
+import scala.concurrent.Promise;
+
+/**
+ * Shares the content search results of page sections across requests for a short time.
+ *
+ * <p>Sections of different pages and tenants often run identical search queries. Results are
+ * cached for {@code page_section_search_cache_ttl_ms}, keyed by a hash of the search URL query
+ * string, the channel and the search request with its map entries sorted by key. A search is
+ * shared by the requests asking for the same key while it is in flight. Failed and empty searches
+ * are not cached.
+ */
+public class PageSectionSearchCache {
+
+  private static final LoggerUtil logger = new LoggerUtil(PageSectionSearchCache.class);
+  private static final ObjectMapper mapper =
+      new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+  private static final PageSectionSearchCache instance =
+      new PageSectionSearchCache(
+          NumberUtils.toLong(ProjectUtil.getConfigValue("page_section_search_cache_ttl_ms"), 30000),
+          NumberUtils.toInt(
+              ProjectUtil.getConfigValue("page_section_search_cache_max_entries"), 1000));
+
+  private final long ttlMillis;
+  private final int maxEntries;
+  private final Map<String, CachedSearch> entries = new ConcurrentHashMap<>();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  PageSectionSearchCache(long ttlMillis, int maxEntries) {
+    this.ttlMillis = ttlMillis;
+    this.maxEntries = Math.max(1, maxEntries);
+  }
+
+  public static PageSectionSearchCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * Returns the cache key of a section search.
+   *
+   * @param urlQueryString Query string of the search URL.
+   * @param headers Request headers forwarded to the search.
+   * @param queryRequestBody Search request body.
+   * @return Hash of the normalized search.
+   */
+  @SuppressWarnings("unchecked")
+  public static String getKey(
+      String urlQueryString, Map<String, String> headers, String queryRequestBody) {
+    String channel = "";
+    if (MapUtils.isNotEmpty(headers)) {
+      for (Map.Entry<String, String> header : headers.entrySet()) {
+        if (JsonKey.X_CHANNEL_ID.equalsIgnoreCase(header.getKey())) {
+          channel = StringUtils.defaultString(header.getValue());
+        }
+      }
+    }
+    String body;
+    try {
+      body = mapper.writeValueAsString(mapper.readValue(queryRequestBody, Map.class));
+    } catch (Exception e) {
+      body = queryRequestBody;
+    }
+    return OneWayHashing.encryptVal(
+        StringUtils.defaultString(urlQueryString) + "|" + channel + "|" + body);
+  }
+
+  /**
+   * Returns the cached result of a search, running the search if there is none.
+   *
+   * @param key Key returned by {@link #getKey}.
+   * @param search Runs the search.
+   * @param ec Execution context to complete the cache entry on.
+   * @return Future of the search result.
+   */
+  public Future<Map<String, Object>> search(
+      String key, Supplier<Future<Map<String, Object>>> search, ExecutionContext ec) {
+    if (ttlMillis <= 0) {
+      misses.incrementAndGet();
+      return search.get();
+    }
+    long now = System.currentTimeMillis();
+    CachedSearch cached = entries.get(key);
+    if (cached != null && cached.expiresAt > now) {
+      hits.incrementAndGet();
+      return cached.promise.future();
+    }
+    if (entries.size() >= maxEntries) {
+      removeExpired(now);
+    }
+    CachedSearch created = new CachedSearch(now + ttlMillis);
+    CachedSearch current =
+        entries.compute(key, (k, entry) -> entry != null && entry.expiresAt > now ? entry : created);
+    if (current != created) {
+      hits.incrementAndGet();
+      return current.promise.future();
+    }
+    misses.incrementAndGet();
+    Future<Map<String, Object>> result;
+    try {
+      result = search.get();
+    } catch (Exception e) {
+      entries.remove(key, created);
+      created.promise.failure(e);
+      return created.promise.future();
+    }
+    created.promise.completeWith(result);
+    result.map(
+        new Mapper<Map<String, Object>, Boolean>() {
+          @Override
+          public Boolean apply(Map<String, Object> searchResult) {
+            if (MapUtils.isEmpty(searchResult)) {
+              entries.remove(key, created);
+            }
+            return true;
+          }
+        },
+        ec)
+        .failed()
+        .map(
+            new Mapper<Throwable, Boolean>() {
+              @Override
+              public Boolean apply(Throwable failure) {
+                entries.remove(key, created);
+                logger.debug(
+                    "PageSectionSearchCache:search: search failed with error message = "
+                        + failure.getMessage());
+                return true;
+              }
+            },
+            ec);
+    return created.promise.future();
+  }
+
+  private void removeExpired(long now) {
+    entries.forEach(
+        (key, entry) -> {
+          if (entry.expiresAt <= now && entries.remove(key, entry)) {
+            evictions.incrementAndGet();
+          }
+        });
+    if (entries.size() >= maxEntries) {
+      evictions.addAndGet(entries.size());
+      entries.clear();
+    }
+  }
+
+  /**
+   * Returns the cache counters.
+   *
+   * @return Map of metric name to value.
+   */
+  public Map<String, Object> snapshot() {
+    Map<String, Object> snapshot = new LinkedHashMap<>();
+    snapshot.put("entries", entries.size());
+    snapshot.put("hits", hits.get());
+    snapshot.put("misses", misses.get());
+    snapshot.put("evictions", evictions.get());
+    return snapshot;
+  }
+
+  private static final class CachedSearch {
+    private final Promise<Map<String, Object>> promise = Futures.promise();
+    private final long expiresAt;
+
+    private CachedSearch(long expiresAt) {
+      this.expiresAt = expiresAt;
+    }
+  }
+}
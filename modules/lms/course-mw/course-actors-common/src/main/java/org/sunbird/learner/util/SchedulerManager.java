@@ -3,6 +3,8 @@ package org.sunbird.learner.util;
 
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.sunbird.common.ProjectUtil;
 import org.sunbird.common.cacheloader.PageCacheLoaderService;
 import org.sunbird.logging.LoggerEnum;
 import org.sunbird.logging.LoggerUtil;
@@ -12,6 +14,8 @@ import org.sunbird.logging.ProjectLogger;
 public class SchedulerManager {
 
   private static final int PAGE_DATA_TTL = 4;
+  private static final long PAGE_CACHE_REFRESH_MINUTES =
+      NumberUtils.toLong(ProjectUtil.getConfigValue("page_cache_refresh_interval_minutes"), 240);
   private static LoggerUtil logger = new LoggerUtil(SchedulerManager.class);
 
   /*
@@ -21,7 +25,8 @@ public class SchedulerManager {
 
   /** all scheduler job will be configure here. */
   public static void schedule() {
-    service.scheduleWithFixedDelay(new DataCacheHandler(), 0, PAGE_DATA_TTL, TimeUnit.HOURS);
+    service.scheduleWithFixedDelay(
+        new DataCacheHandler(), 0, PAGE_CACHE_REFRESH_MINUTES, TimeUnit.MINUTES);
     service.scheduleWithFixedDelay(new PageCacheLoaderService(), 0, PAGE_DATA_TTL, TimeUnit.HOURS);
     logger.info(
         "SchedulerManager:schedule: Started scheduler job for cache refresh.");
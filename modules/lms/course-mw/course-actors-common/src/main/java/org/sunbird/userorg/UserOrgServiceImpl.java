@@ -7,7 +7,9 @@ import com.mashape.unirest.http.Unirest;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.sunbird.exception.ProjectCommonException;
+import org.sunbird.http.HttpDestinations;
 import org.sunbird.response.Response;
 import org.sunbird.keys.JsonKey;
 import org.sunbird.logging.LoggerUtil;
@@ -15,10 +17,14 @@ import org.sunbird.request.RequestContext;
 import org.sunbird.response.ResponseCode;
 import org.sunbird.keycloak.KeycloakRequiredActionLinkUtil;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -33,6 +39,7 @@ import static org.sunbird.keys.JsonKey.SUNBIRD_AUTHORIZATION;
 import static org.sunbird.keys.JsonKey.SUNBIRD_GET_MULTIPLE_USER_API;
 import static org.sunbird.keys.JsonKey.SUNBIRD_GET_ORGANISATION_API;
 import static org.sunbird.keys.JsonKey.SUNBIRD_GET_SINGLE_USER_API;
+import static org.sunbird.keys.JsonKey.SUNBIRD_GET_USERS_API;
 import static org.sunbird.keys.JsonKey.SUNBIRD_USER_ORG_API_BASE_URL;
 import static org.sunbird.common.ProjectUtil.getConfigValue;
 import static org.sunbird.response.ResponseCode.errorProcessingRequest;
@@ -44,6 +51,18 @@ public class UserOrgServiceImpl implements UserOrgService {
   private ObjectMapper mapper = new ObjectMapper();
   private static final String FORWARD_SLASH = "/";
   private static final String X_AUTHENTICATED_USER_TOKEN = "x-authenticated-user-token";
+  private static final int USERS_READ_BATCH_SIZE =
+      NumberUtils.toInt(getConfigValue("sunbird_user_bulk_read_max_ids"), 100);
+  private static final AtomicInteger usersReadThreadCount = new AtomicInteger();
+  private static final ExecutorService usersReadExecutor =
+      Executors.newFixedThreadPool(
+          NumberUtils.toInt(getConfigValue("sunbird_user_bulk_read_concurrency"), 8),
+          runnable -> {
+            Thread thread =
+                new Thread(runnable, "user-bulk-read-" + usersReadThreadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
   private LoggerUtil logger = new LoggerUtil(UserOrgServiceImpl.class);
 
   private static UserOrgService instance = null;
@@ -82,10 +101,16 @@ public class UserOrgServiceImpl implements UserOrgService {
       String reqBody = mapper.writeValueAsString(requestMap);
       logger.info("UserOrgServiceImpl:getResponse:Sending Request Body=" + reqBody);
       if (HttpMethod.POST.equals(requestType)) {
-        httpResponse = Unirest.post(requestUrl).headers(headers).body(reqBody).asString();
+        httpResponse =
+            HttpDestinations.execute(
+                requestUrl,
+                () -> Unirest.post(requestUrl).headers(headers).body(reqBody).asString(),
+                false);
       }
       if (HttpMethod.GET.equals(requestType)) {
-        httpResponse = Unirest.get(requestUrl).headers(headers).asString();
+        httpResponse =
+            HttpDestinations.execute(
+                requestUrl, () -> Unirest.get(requestUrl).headers(headers).asString(), true);
       }
       logger.info(
           "UserOrgServiceImpl:getResponse Response Status : "
@@ -185,8 +210,42 @@ public class UserOrgServiceImpl implements UserOrgService {
 
   @Override
   public List<Map<String, Object>> getUsersByIds(List<String> ids, String authToken) {
-    List<CompletableFuture<Map<String, Object>>> futures = ids.stream().map(id -> getUserDetail(id, authToken)).collect(Collectors.toList());
-    return futures.stream().map(CompletableFuture::join).filter(map -> MapUtils.isNotEmpty(map)).collect(Collectors.toList());
+    List<CompletableFuture<List<Map<String, Object>>>> futures = new ArrayList<>();
+    for (int from = 0; from < ids.size(); from += USERS_READ_BATCH_SIZE) {
+      List<String> batch = ids.subList(from, Math.min(from + USERS_READ_BATCH_SIZE, ids.size()));
+      futures.add(CompletableFuture.supplyAsync(() -> readUsers(batch, authToken), usersReadExecutor));
+    }
+    List<Map<String, Object>> users = new ArrayList<>();
+    futures.forEach(future -> users.addAll(future.join()));
+    return users;
+  }
+
+  private List<Map<String, Object>> readUsers(List<String> ids, String authToken) {
+    Map<String, Object> request = new HashMap<>();
+    request.put(JsonKey.USER_IDs, ids);
+    Map<String, Object> requestMap = new HashMap<>();
+    requestMap.put(JsonKey.REQUEST, request);
+    Map<String, String> headers = getdefaultHeaders();
+    if (StringUtils.isNotBlank(authToken)) {
+      headers.put(X_AUTHENTICATED_USER_TOKEN, authToken);
+    } else {
+      logger.error("authToken is empty for readUsers() for ids: " + ids, null);
+    }
+    try {
+      Response response =
+          getUserOrgResponse(
+              getConfigValue(SUNBIRD_GET_USERS_API), HttpMethod.POST, requestMap, headers);
+      Map<String, Object> usersMap = (Map<String, Object>) response.get(RESPONSE);
+      if (usersMap != null && usersMap.get(CONTENT) != null) {
+        return (List<Map<String, Object>>) usersMap.get(CONTENT);
+      }
+      return new ArrayList<>();
+    } catch (ProjectCommonException e) {
+      // The bulk read may not be deployed on the user org service yet.
+      logger.info("UserOrgServiceImpl:readUsers: bulk read failed, reading users one by one");
+      List<CompletableFuture<Map<String, Object>>> futures = ids.stream().map(id -> getUserDetail(id, authToken)).collect(Collectors.toList());
+      return futures.stream().map(CompletableFuture::join).filter(map -> MapUtils.isNotEmpty(map)).collect(Collectors.toList());
+    }
   }
 
   @Override
@@ -10,6 +10,7 @@ import com.mashape.unirest.http.exceptions.UnirestException;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpHeaders;
 import org.sunbird.exception.ProjectCommonException;
+import org.sunbird.http.HttpDestinations;
 import org.sunbird.response.Response;
 import org.sunbird.keys.JsonKey;
 import org.sunbird.logging.LoggerUtil;
@@ -66,7 +67,10 @@ public class ExhaustAPIUtil {
               +", header : "+ header
               +", request : " + queryRequestBody);
       HttpResponse<String> apiResponse =
-              Unirest.post(exhaustAPISubmitURL).headers(getUpdatedHeaders(header)).body(queryRequestBody).asString();
+              HttpDestinations.execute(
+                      exhaustAPISubmitURL,
+                      () -> Unirest.post(exhaustAPISubmitURL).headers(getUpdatedHeaders(header)).body(queryRequestBody).asString(),
+                      false);
       logger.info(requestContext, "Exhaust API submit report apiResponse1 : " + apiResponse == null?"null" : ""+apiResponse.getStatus());
       if (null != apiResponse && apiResponse.getStatus()== ResponseCode.OK.getResponseCode()) {
         logger.info(requestContext, "Exhaust API submit report call success");
@@ -108,7 +112,10 @@ public class ExhaustAPIUtil {
               +", header : "+ header
               +", request : " + queryParam);
       HttpResponse<String> apiResponse =
-              Unirest.get(exhaustAPIListURL+queryParam).headers(getUpdatedHeaders(header)).asString();
+              HttpDestinations.execute(
+                      exhaustAPIListURL+queryParam,
+                      () -> Unirest.get(exhaustAPIListURL+queryParam).headers(getUpdatedHeaders(header)).asString(),
+                      true);
       logger.info(requestContext, "Exhaust API submit report apiResponse1 : " + apiResponse == null?"null" : ""+apiResponse.getStatus());
       if (null != apiResponse && apiResponse.getStatus()== ResponseCode.OK.getResponseCode()) {
         logger.info(requestContext, "Exhaust API submit report call success");
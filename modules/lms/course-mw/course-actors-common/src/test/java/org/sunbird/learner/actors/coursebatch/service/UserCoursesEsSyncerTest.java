@@ -0,0 +1,307 @@
+package org.sunbird.learner.actors.coursebatch.service;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.pekko.dispatch.Futures;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.sunbird.common.inf.ElasticSearchService;
+import org.sunbird.keys.JsonKey;
+
+public class UserCoursesEsSyncerTest {
+
+  private static final String CONTENT_STATUS = "contentStatus";
+
+  @Test
+  public void flushMergesChangesOfSameEnrolmentTest() {
+    ElasticSearchService esService = Mockito.mock(ElasticSearchService.class);
+    Mockito.when(esService.bulkUpsert(Mockito.anyString(), Mockito.anyMap(), Mockito.any()))
+        .thenReturn(Futures.successful(new ArrayList<>()));
+    UserCoursesEsSyncer syncer = new UserCoursesEsSyncer(esService, 10, 3);
+
+    syncer.submit("batch1_user1", getEnrolment(1, 0), null);
+    syncer.submit("batch1_user2", getEnrolment(1, 0), null);
+    syncer.submit("batch1_user1", getEnrolment(0, 2), null);
+    syncer.flush();
+
+    ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
+    Mockito.verify(esService, Mockito.times(1))
+        .bulkUpsert(Mockito.anyString(), captor.capture(), Mockito.any());
+    Map<String, Map<String, Object>> dataById = captor.getValue();
+    assertEquals(2, dataById.size());
+    assertEquals(0, dataById.get("batch1_user1").get(JsonKey.ACTIVE));
+    assertEquals(2, dataById.get("batch1_user1").get(JsonKey.STATUS));
+    assertEquals(1L, syncer.snapshot().get("coalesced"));
+    assertEquals(2L, syncer.snapshot().get("applied"));
+  }
+
+  @Test
+  public void flushSplitsUpsertsIntoBatchesTest() {
+    ElasticSearchService esService = Mockito.mock(ElasticSearchService.class);
+    Mockito.when(esService.bulkUpsert(Mockito.anyString(), Mockito.anyMap(), Mockito.any()))
+        .thenReturn(Futures.successful(new ArrayList<>()));
+    UserCoursesEsSyncer syncer = new UserCoursesEsSyncer(esService, 2, 3);
+
+    for (int i = 0; i < 5; i++) {
+      syncer.submit("batch1_user" + i, getEnrolment(1, 0), null);
+    }
+    syncer.flush();
+
+    Mockito.verify(esService, Mockito.times(3))
+        .bulkUpsert(Mockito.anyString(), Mockito.anyMap(), Mockito.any());
+    assertEquals(0, syncer.snapshot().get("pending"));
+    assertEquals(5L, syncer.snapshot().get("applied"));
+  }
+
+  @Test
+  public void flushRetriesFailedItemsIndividuallyTest() {
+    ElasticSearchService esService = Mockito.mock(ElasticSearchService.class);
+    Mockito.when(esService.bulkUpsert(Mockito.anyString(), Mockito.anyMap(), Mockito.any()))
+        .thenReturn(Futures.successful(Collections.singletonList("batch1_user1")));
+    Mockito.when(
+            esService.upsert(
+                Mockito.anyString(), Mockito.eq("batch1_user1"), Mockito.anyMap(), Mockito.any()))
+        .thenReturn(Futures.successful(true));
+    UserCoursesEsSyncer syncer = new UserCoursesEsSyncer(esService, 10, 3);
+
+    syncer.submit("batch1_user1", getEnrolment(1, 0), null);
+    syncer.submit("batch1_user2", getEnrolment(1, 0), null);
+    syncer.flush();
+
+    Mockito.verify(esService, Mockito.times(1))
+        .upsert(Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.any());
+    assertEquals(1L, syncer.snapshot().get("itemRetries"));
+    assertEquals(2L, syncer.snapshot().get("applied"));
+    assertEquals(0, syncer.snapshot().get("pending"));
+  }
+
+  @Test
+  public void flushRequeuesFailedBulkUnderNewerChangesTest() {
+    ElasticSearchService esService = Mockito.mock(ElasticSearchService.class);
+    Mockito.when(esService.bulkUpsert(Mockito.anyString(), Mockito.anyMap(), Mockito.any()))
+        .thenReturn(
+            Futures.failed(new RuntimeException("es unavailable")),
+            Futures.successful(new ArrayList<>()));
+    UserCoursesEsSyncer syncer = new UserCoursesEsSyncer(esService, 10, 3);
+
+    syncer.submit("batch1_user1", getEnrolment(1, 0), null);
+    syncer.flush();
+    syncer.submit("batch1_user1", getEnrolment(0, 2), null);
+    syncer.flush();
+
+    ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
+    Mockito.verify(esService, Mockito.times(2))
+        .bulkUpsert(Mockito.anyString(), captor.capture(), Mockito.any());
+    Map<String, Map<String, Object>> dataById = captor.getAllValues().get(1);
+    assertEquals(0, dataById.get("batch1_user1").get(JsonKey.ACTIVE));
+    assertEquals(1L, syncer.snapshot().get("requeued"));
+    assertEquals(1L, syncer.snapshot().get("applied"));
+  }
+
+  @Test
+  public void flushDropsUpsertsAfterMaxAttemptsTest() {
+    ElasticSearchService esService = Mockito.mock(ElasticSearchService.class);
+    Mockito.when(esService.bulkUpsert(Mockito.anyString(), Mockito.anyMap(), Mockito.any()))
+        .thenReturn(Futures.successful(Collections.singletonList("batch1_user1")));
+    Mockito.when(
+            esService.upsert(
+                Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.any()))
+        .thenReturn(Futures.failed(new RuntimeException("mapping error")));
+    UserCoursesEsSyncer syncer = new UserCoursesEsSyncer(esService, 10, 2);
+
+    syncer.submit("batch1_user1", getEnrolment(1, 0), null);
+    syncer.flush();
+    syncer.flush();
+    syncer.flush();
+
+    Mockito.verify(esService, Mockito.times(2))
+        .bulkUpsert(Mockito.anyString(), Mockito.anyMap(), Mockito.any());
+    assertEquals(1L, syncer.snapshot().get("dropped"));
+    assertEquals(0, syncer.snapshot().get("pending"));
+  }
+
+  @Test
+  public void flushRetriesUpsertsUnderChangesSubmittedInFlightTest() {
+    ElasticSearchService esService = Mockito.mock(ElasticSearchService.class);
+    UserCoursesEsSyncer syncer = new UserCoursesEsSyncer(esService, 10, 3);
+    Map<String, Object> retried = getEnrolment(1, 1);
+    retried.put(JsonKey.COURSE_ID, "course1");
+    Mockito.when(esService.bulkUpsert(Mockito.anyString(), Mockito.anyMap(), Mockito.any()))
+        .thenAnswer(
+            invocation -> {
+              syncer.submit("batch1_user1", getEnrolment(0, 2), null);
+              return Futures.failed(new RuntimeException("es unavailable"));
+            })
+        .thenReturn(Futures.successful(new ArrayList<>()));
+
+    syncer.submit("batch1_user1", retried, null);
+    syncer.flush();
+    syncer.flush();
+
+    ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
+    Mockito.verify(esService, Mockito.times(2))
+        .bulkUpsert(Mockito.anyString(), captor.capture(), Mockito.any());
+    Map<String, Object> data =
+        ((Map<String, Map<String, Object>>) captor.getAllValues().get(1)).get("batch1_user1");
+    assertEquals(0, data.get(JsonKey.ACTIVE));
+    assertEquals(2, data.get(JsonKey.STATUS));
+    assertEquals("course1", data.get(JsonKey.COURSE_ID));
+    assertEquals(1L, syncer.snapshot().get("applied"));
+  }
+
+  @Test
+  public void flushKeepsAttemptsOfUpsertsChangedInFlightTest() {
+    ElasticSearchService esService = Mockito.mock(ElasticSearchService.class);
+    UserCoursesEsSyncer syncer = new UserCoursesEsSyncer(esService, 10, 2);
+    Mockito.when(esService.bulkUpsert(Mockito.anyString(), Mockito.anyMap(), Mockito.any()))
+        .thenAnswer(
+            invocation -> {
+              syncer.submit("batch1_user1", getEnrolment(0, 2), null);
+              return Futures.failed(new RuntimeException("es unavailable"));
+            });
+
+    syncer.submit("batch1_user1", getEnrolment(1, 0), null);
+    syncer.flush();
+    syncer.flush();
+
+    assertEquals(1L, syncer.snapshot().get("requeued"));
+    assertEquals(1L, syncer.snapshot().get("dropped"));
+  }
+
+  @Test
+  public void flushSavesFullDocumentsTest() {
+    ElasticSearchService esService = Mockito.mock(ElasticSearchService.class);
+    Mockito.when(esService.bulkSave(Mockito.anyString(), Mockito.anyMap(), Mockito.any()))
+        .thenReturn(Futures.successful(new ArrayList<>()));
+    Mockito.when(esService.bulkUpsert(Mockito.anyString(), Mockito.anyMap(), Mockito.any()))
+        .thenReturn(Futures.successful(new ArrayList<>()));
+    UserCoursesEsSyncer syncer = new UserCoursesEsSyncer(esService, 10, 3);
+    Map<String, Object> document = getEnrolment(1, 0);
+    document.put(JsonKey.COURSE_ID, "course1");
+
+    syncer.submit("batch1_user1", Collections.singletonMap(JsonKey.COMPLETED_ON, "2024-01-01"), null);
+    syncer.submitDocument("batch1_user1", document, null);
+    syncer.submit("batch1_user1", getEnrolment(1, 1), null);
+    syncer.submit("batch1_user2", getEnrolment(1, 0), null);
+    syncer.flush();
+
+    ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
+    Mockito.verify(esService, Mockito.times(1))
+        .bulkSave(Mockito.anyString(), captor.capture(), Mockito.any());
+    Map<String, Map<String, Object>> dataById = captor.getValue();
+    assertEquals(1, dataById.size());
+    Map<String, Object> saved = dataById.get("batch1_user1");
+    assertEquals(3, saved.size());
+    assertEquals("course1", saved.get(JsonKey.COURSE_ID));
+    assertEquals(1, saved.get(JsonKey.STATUS));
+    Mockito.verify(esService, Mockito.times(1))
+        .bulkUpsert(Mockito.anyString(), captor.capture(), Mockito.any());
+    assertEquals(Collections.singleton("batch1_user2"), captor.getValue().keySet());
+    assertEquals(2L, syncer.snapshot().get("applied"));
+  }
+
+  @Test
+  public void flushRetriesFailedDocumentsWithSaveTest() {
+    ElasticSearchService esService = Mockito.mock(ElasticSearchService.class);
+    Mockito.when(esService.bulkSave(Mockito.anyString(), Mockito.anyMap(), Mockito.any()))
+        .thenReturn(Futures.successful(Collections.singletonList("batch1_user1")));
+    Mockito.when(
+            esService.save(
+                Mockito.anyString(), Mockito.eq("batch1_user1"), Mockito.anyMap(), Mockito.any()))
+        .thenReturn(Futures.successful("batch1_user1"));
+    UserCoursesEsSyncer syncer = new UserCoursesEsSyncer(esService, 10, 3);
+
+    syncer.submitDocument("batch1_user1", getEnrolment(1, 0), null);
+    syncer.flush();
+
+    Mockito.verify(esService, Mockito.never())
+        .upsert(Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.any());
+    assertEquals(1L, syncer.snapshot().get("itemRetries"));
+    assertEquals(1L, syncer.snapshot().get("applied"));
+  }
+
+  @Test
+  public void flushUpdatesWithoutUpsertTest() {
+    ElasticSearchService esService = Mockito.mock(ElasticSearchService.class);
+    Mockito.when(esService.bulkUpdate(Mockito.anyString(), Mockito.anyMap(), Mockito.any()))
+        .thenReturn(Futures.successful(Collections.singletonList("batch1_user1")));
+    Mockito.when(
+            esService.update(
+                Mockito.anyString(), Mockito.eq("batch1_user1"), Mockito.anyMap(), Mockito.any()))
+        .thenReturn(Futures.successful(true));
+    UserCoursesEsSyncer syncer = new UserCoursesEsSyncer(esService, 10, 3);
+
+    syncer.submitUpdate("batch1_user1", getEnrolment(1, 0), null);
+    syncer.submitUpdate("batch1_user1", getEnrolment(1, 1), null);
+    syncer.flush();
+
+    Mockito.verify(esService, Mockito.times(1))
+        .bulkUpdate(Mockito.anyString(), Mockito.anyMap(), Mockito.any());
+    Mockito.verify(esService, Mockito.times(1))
+        .update(Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.any());
+    Mockito.verify(esService, Mockito.never())
+        .bulkUpsert(Mockito.anyString(), Mockito.anyMap(), Mockito.any());
+    Mockito.verify(esService, Mockito.never())
+        .upsert(Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.any());
+    assertEquals(1L, syncer.snapshot().get("applied"));
+  }
+
+  @Test
+  public void flushUpsertsUpdateMergedWithUpsertTest() {
+    ElasticSearchService esService = Mockito.mock(ElasticSearchService.class);
+    Mockito.when(esService.bulkUpsert(Mockito.anyString(), Mockito.anyMap(), Mockito.any()))
+        .thenReturn(Futures.successful(new ArrayList<>()));
+    UserCoursesEsSyncer syncer = new UserCoursesEsSyncer(esService, 10, 3);
+
+    syncer.submit("batch1_user1", getEnrolment(1, 0), null);
+    syncer.submitUpdate("batch1_user1", getEnrolment(1, 1), null);
+    syncer.flush();
+
+    Mockito.verify(esService, Mockito.never())
+        .bulkUpdate(Mockito.anyString(), Mockito.anyMap(), Mockito.any());
+    Mockito.verify(esService, Mockito.times(1))
+        .bulkUpsert(Mockito.anyString(), Mockito.anyMap(), Mockito.any());
+  }
+
+  @Test
+  public void flushMergesNestedFieldsOfSameEnrolmentTest() {
+    ElasticSearchService esService = Mockito.mock(ElasticSearchService.class);
+    Mockito.when(esService.bulkUpsert(Mockito.anyString(), Mockito.anyMap(), Mockito.any()))
+        .thenReturn(Futures.successful(new ArrayList<>()));
+    UserCoursesEsSyncer syncer = new UserCoursesEsSyncer(esService, 10, 3);
+    Map<String, Object> first = getEnrolment(1, 1);
+    first.put(CONTENT_STATUS, Collections.singletonMap("content1", 2));
+    Map<String, Object> second = getEnrolment(1, 1);
+    second.put(CONTENT_STATUS, Collections.singletonMap("content2", 1));
+
+    syncer.submit("batch1_user1", first, null);
+    syncer.submit("batch1_user1", second, null);
+    syncer.flush();
+
+    ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
+    Mockito.verify(esService, Mockito.times(1))
+        .bulkUpsert(Mockito.anyString(), captor.capture(), Mockito.any());
+    Map<String, Object> contentStatus =
+        (Map<String, Object>)
+            ((Map<String, Map<String, Object>>) captor.getValue())
+                .get("batch1_user1")
+                .get(CONTENT_STATUS);
+    assertEquals(2, contentStatus.size());
+    assertEquals(2, contentStatus.get("content1"));
+    assertEquals(1, contentStatus.get("content2"));
+    assertEquals(1, first.get(JsonKey.STATUS));
+    assertEquals(1, ((Map<String, Object>) first.get(CONTENT_STATUS)).size());
+  }
+
+  private Map<String, Object> getEnrolment(int active, int status) {
+    Map<String, Object> data = new HashMap<>();
+    data.put(JsonKey.ACTIVE, active);
+    data.put(JsonKey.STATUS, status);
+    return data;
+  }
+}
@@ -1,6 +1,7 @@
 package org.sunbird.learner.actors.qrcode;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mashape.unirest.http.HttpResponse;
 import com.mashape.unirest.http.Unirest;
 import com.mashape.unirest.http.exceptions.UnirestException;
@@ -10,19 +11,25 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.sunbird.http.HttpUtil;
 import org.sunbird.common.ProjectUtil;
+import org.sunbird.keys.JsonKey;
 import org.sunbird.utils.RestUtil;
 
 import org.sunbird.request.Request;
 import org.sunbird.learner.actors.qrcodedownload.QRCodeDownloadManager;
 
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -50,7 +57,7 @@ public class QRCodeDownloadManagerTest {
         PowerMockito.when(HttpUtil.sendPostRequest(Mockito.anyString(),Mockito.anyString(),Mockito.anyMap())).thenReturn(qrImageListAPIResponse);
     }
 
-    private void mockSearchResponse() throws UnirestException {
+    private HttpRequestWithBody mockSearchResponses(String body, String... nextBodies) throws UnirestException {
         HttpRequestWithBody http = Mockito.mock(HttpRequestWithBody.class);
         RequestBodyEntity entity = Mockito.mock(RequestBodyEntity.class);
         HttpResponse<String> response = Mockito.mock(HttpResponse.class);
@@ -59,7 +66,31 @@ public class QRCodeDownloadManagerTest {
         when(http.body(Mockito.anyString())).thenReturn(entity);
         when(entity.asString()).thenReturn(response);
         when(response.getStatus()).thenReturn(200);
-        when(response.getBody()).thenReturn("{\n" +
+        when(response.getBody()).thenReturn(body, nextBodies);
+        return http;
+    }
+
+    private String searchResponse(List<Map<String, Object>> contents) throws Exception {
+        Map<String, Object> result = new HashMap<>();
+        result.put("count", contents.size());
+        result.put("content", contents);
+        Map<String, Object> response = new HashMap<>();
+        response.put("responseCode", "OK");
+        response.put("result", result);
+        return new ObjectMapper().writeValueAsString(response);
+    }
+
+    private Map<String, Object> course(String identifier, String name, List<String> dialCodes) {
+        Map<String, Object> course = new HashMap<>();
+        course.put("identifier", identifier);
+        course.put("name", name);
+        course.put("channel", "sunbird");
+        course.put("dialcodes", dialCodes);
+        return course;
+    }
+
+    private void mockSearchResponse() throws UnirestException {
+        mockSearchResponses("{\n" +
                 "    \"id\": \"api.v1.search\",\n" +
                 "    \"ver\": \"1.0\",\n" +
                 "    \"ts\": \"2023-02-06T09:42:48.238Z\",\n" +
@@ -99,7 +130,7 @@ public class QRCodeDownloadManagerTest {
     public void getContentSearchResponseTest() throws Exception {
         mockSearchResponse();
         Request request = new Request();
-        Map<String, Object> searchCoursesResponse = downloadManager.searchCourses(request.getRequestContext(), new HashMap<String, Object>(), new HashMap<String, String>() );
+        Map<String, Object> searchCoursesResponse = downloadManager.searchCourses(request.getRequestContext(), new HashMap<String, Object>(), new HashMap<String, String>(), 0, 100);
         Assert.assertTrue((Integer) searchCoursesResponse.get("count") > 0);
     }
 
@@ -114,6 +145,52 @@ public class QRCodeDownloadManagerTest {
 
     }
 
+    @Test
+    public void writeQRCodeCSVTest() throws Exception {
+        mockSearchResponses(searchResponse(Arrays.asList(course("do_123", "Course 1", Arrays.asList("F6A5C7", "A5Z7I3")))));
+        StringWriter writer = new StringWriter();
+        int dialCodeCount = downloadManager.writeQRCodeCSV(new Request().getRequestContext(), writer, new HashMap<>(), new HashMap<>());
+        String[] rows = writer.toString().split("\n");
+        Assert.assertEquals(2, dialCodeCount);
+        Assert.assertEquals(3, rows.length);
+        Assert.assertEquals("Course Name,Dialcodes,Image Url", rows[0]);
+        Assert.assertEquals("Course 1,F6A5C7,https://sunbirddevbbpublic.blob.core.windows.net/dial/01309282781705830427//4_F6A5C7.png", rows[1]);
+        Assert.assertTrue(rows[2].startsWith("Course 1,A5Z7I3,"));
+    }
 
+    @Test
+    public void writeQRCodeCSVAcrossSearchPagesAndDialCodeBatchesTest() throws Exception {
+        // a full first page of 100 courses with 6 dialcodes each crosses the dialcode batch of 500
+        List<Map<String, Object>> firstPage = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            List<String> dialCodes = new ArrayList<>();
+            for (int j = 0; j < 6; j++) {
+                dialCodes.add("D" + i + "_" + j);
+            }
+            firstPage.add(course("do_" + i, "Course " + i, dialCodes));
+        }
+        HttpRequestWithBody http = mockSearchResponses(
+                searchResponse(firstPage),
+                searchResponse(Arrays.asList(course("do_100", "Course 100", Arrays.asList("F6A5C7")))));
+        StringWriter writer = new StringWriter();
+        int dialCodeCount = downloadManager.writeQRCodeCSV(new Request().getRequestContext(), writer, new HashMap<>(), new HashMap<>());
 
+        String[] rows = writer.toString().split("\n");
+        Assert.assertEquals(601, dialCodeCount);
+        Assert.assertEquals(602, rows.length);
+        Assert.assertTrue(rows[1].startsWith("Course 0,D0_0,"));
+        Assert.assertTrue(rows[600].startsWith("Course 99,D99_5,"));
+        Assert.assertEquals("Course 100,F6A5C7,https://sunbirddevbbpublic.blob.core.windows.net/dial/01309282781705830427//4_F6A5C7.png", rows[601]);
+        PowerMockito.verifyStatic(HttpUtil.class, Mockito.times(2));
+        HttpUtil.sendPostRequest(Mockito.anyString(), Mockito.anyString(), Mockito.anyMap());
+        ArgumentCaptor<String> searchRequests = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(http, Mockito.times(2)).body(searchRequests.capture());
+        Assert.assertEquals(0, getSearchRequest(searchRequests.getAllValues().get(0)).get(JsonKey.OFFSET));
+        Assert.assertEquals(100, getSearchRequest(searchRequests.getAllValues().get(1)).get(JsonKey.OFFSET));
+    }
+
+    private Map<String, Object> getSearchRequest(String body) throws Exception {
+        Map<String, Object> request = new ObjectMapper().readValue(body, Map.class);
+        return (Map<String, Object>) request.get(JsonKey.REQUEST);
+    }
 }
@@ -133,4 +133,11 @@ public class CourseBatchSchedulerUtilTest {
     PowerMockito.verifyStatic(ContentUtil.class);
     ContentUtil.searchContent(Mockito.anyString(), Mockito.anyMap());
   }
+
+  @Test
+  public void getHeadersReturnsCopyTest() {
+    Map<String, String> headers = CourseBatchSchedulerUtil.getHeaders();
+    headers.put("X-Channel-Id", "channel1");
+    Assert.assertFalse(CourseBatchSchedulerUtil.getHeaders().containsKey("X-Channel-Id"));
+  }
 }
@@ -1,5 +1,10 @@
 package org.sunbird.learner.util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -12,7 +17,10 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.sunbird.builder.mocker.CassandraMocker;
 import org.sunbird.builder.mocker.MockerBuilder;
 import org.sunbird.builder.object.CustomObjectBuilder;
+import org.sunbird.common.CassandraPropertyReader;
 import org.sunbird.helper.ServiceFactory;
+import org.sunbird.keys.JsonKey;
+import org.sunbird.response.Response;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({ServiceFactory.class})
@@ -24,6 +32,7 @@ public class DataCacheHandlerTest {
   @Before
   public void setup() {
     group = MockerBuilder.getFreshMockerGroup().withCassandraMock(new CassandraMocker());
+    DataCacheHandler.reset();
   }
 
   @Test
@@ -45,4 +54,68 @@ public class DataCacheHandlerTest {
     Assert.assertEquals(10, cacheHandler.getPageMap().size());
     Assert.assertEquals(4, cacheHandler.getSectionMap().size());
   }
+
+  @Test
+  public void sectionIncrementalRefreshTest() {
+    PowerMockito.when(
+            group
+                .getCassandraMockerService()
+                .getAllRecords(Mockito.anyString(), Mockito.eq("page_management"), Mockito.any()))
+        .thenReturn(getResponse());
+    PowerMockito.when(
+            group
+                .getCassandraMockerService()
+                .getAllRecords(Mockito.anyString(), Mockito.eq("page_section"), Mockito.any()))
+        .thenReturn(
+            getResponse(getSection("section1", "v1"), getSection("section2", "v1"), getSection("section3", "v1")));
+    DataCacheHandler cacheHandler = new DataCacheHandler();
+    cacheHandler.run();
+    Assert.assertEquals(3, DataCacheHandler.getSectionMap().size());
+
+    PowerMockito.when(
+            group
+                .getCassandraMockerService()
+                .getAllRecords(
+                    Mockito.anyString(), Mockito.eq("page_section"), Mockito.anyList(), Mockito.any()))
+        .thenReturn(
+            getResponse(getSection("section1", "v1"), getSection("section2", "v2"), getSection("section4", "v1")));
+    PowerMockito.when(
+            group
+                .getCassandraMockerService()
+                .getPropertiesValueById(
+                    Mockito.anyString(),
+                    Mockito.eq("page_section"),
+                    Mockito.eq(Arrays.asList("section2", "section4")),
+                    Mockito.any(),
+                    Mockito.any()))
+        .thenReturn(getResponse(getSection("section2", "v2"), getSection("section4", "v1")));
+    cacheHandler.run();
+
+    Map<String, Map<String, Object>> sectionMap = DataCacheHandler.getSectionMap();
+    Assert.assertEquals(3, sectionMap.size());
+    Assert.assertNull(sectionMap.get("section3"));
+    Assert.assertEquals("v2", sectionMap.get("section2").get(getUpdatedDateKey()));
+    Assert.assertNotNull(sectionMap.get("section4"));
+    Map<String, Object> metrics = (Map<String, Object>) DataCacheHandler.snapshot().get("page_section");
+    Assert.assertEquals(1L, metrics.get("fullLoads"));
+    Assert.assertEquals(1L, metrics.get("rowsRemoved"));
+  }
+
+  private Map<String, Object> getSection(String id, String updatedDate) {
+    Map<String, Object> section = new HashMap<>();
+    section.put(JsonKey.ID, id);
+    section.put(getUpdatedDateKey(), updatedDate);
+    return section;
+  }
+
+  private String getUpdatedDateKey() {
+    return CassandraPropertyReader.getInstance().readProperty("updateddate");
+  }
+
+  private Response getResponse(Map<String, Object>... rows) {
+    List<Map<String, Object>> list = new ArrayList<>(Arrays.asList(rows));
+    Response response = new Response();
+    response.put(JsonKey.RESPONSE, list);
+    return response;
+  }
 }
@@ -0,0 +1,90 @@
+package org.sunbird.learner.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.pekko.dispatch.Futures;
+import org.junit.Test;
+import org.sunbird.keys.JsonKey;
+import scala.concurrent.Await;
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.Future;
+import scala.concurrent.duration.Duration;
+
+public class PageSectionSearchCacheTest {
+
+  private final ExecutionContext ec = ExecutionContext.global();
+
+  @Test
+  public void getKeyIgnoresMapEntryOrderTest() {
+    String key =
+        PageSectionSearchCache.getKey(
+            null, null, "{\"request\":{\"filters\":{\"board\":\"CBSE\",\"medium\":\"English\"}}}");
+    String reordered =
+        PageSectionSearchCache.getKey(
+            null, null, "{\"request\":{\"filters\":{\"medium\":\"English\",\"board\":\"CBSE\"}}}");
+    assertEquals(key, reordered);
+  }
+
+  @Test
+  public void getKeyDependsOnChannelTest() {
+    Map<String, String> headers = new HashMap<>();
+    headers.put("X-Channel-Id", "channel1");
+    String body = "{\"request\":{\"filters\":{\"board\":\"CBSE\"}}}";
+    assertNotEquals(
+        PageSectionSearchCache.getKey(null, headers, body),
+        PageSectionSearchCache.getKey(null, null, body));
+  }
+
+  @Test
+  public void searchReusesResultOfSameKeyTest() throws Exception {
+    PageSectionSearchCache cache = new PageSectionSearchCache(60000, 10);
+    AtomicInteger searches = new AtomicInteger();
+
+    cache.search("key", () -> search(searches, getResult()), ec);
+    Map<String, Object> result =
+        Await.result(cache.search("key", () -> search(searches, getResult()), ec), Duration.Inf());
+
+    assertEquals(1, searches.get());
+    assertEquals(1, result.get(JsonKey.COUNT));
+    assertEquals(1L, cache.snapshot().get("hits"));
+  }
+
+  @Test
+  public void searchDoesNotCacheEmptyResultTest() throws Exception {
+    PageSectionSearchCache cache = new PageSectionSearchCache(60000, 10);
+    AtomicInteger searches = new AtomicInteger();
+
+    Await.result(cache.search("key", () -> search(searches, null), ec), Duration.Inf());
+    Thread.sleep(100);
+    Await.result(cache.search("key", () -> search(searches, getResult()), ec), Duration.Inf());
+
+    assertEquals(2, searches.get());
+    assertEquals(0L, cache.snapshot().get("hits"));
+  }
+
+  @Test
+  public void searchWithZeroTtlAlwaysSearchesTest() throws Exception {
+    PageSectionSearchCache cache = new PageSectionSearchCache(0, 10);
+    AtomicInteger searches = new AtomicInteger();
+
+    Await.result(cache.search("key", () -> search(searches, getResult()), ec), Duration.Inf());
+    Await.result(cache.search("key", () -> search(searches, getResult()), ec), Duration.Inf());
+
+    assertEquals(2, searches.get());
+  }
+
+  private Future<Map<String, Object>> search(AtomicInteger searches, Map<String, Object> result) {
+    searches.incrementAndGet();
+    return Futures.successful(result);
+  }
+
+  private Map<String, Object> getResult() {
+    Map<String, Object> result = new HashMap<>();
+    result.put(JsonKey.COUNT, 1);
+    return result;
+  }
+}
@@ -4,6 +4,8 @@ import com.mashape.unirest.http.HttpResponse;
 import com.mashape.unirest.http.Unirest;
 import com.mashape.unirest.http.exceptions.UnirestException;
 import com.mashape.unirest.request.GetRequest;
+import com.mashape.unirest.request.HttpRequestWithBody;
+import com.mashape.unirest.request.body.RequestBodyEntity;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
@@ -17,6 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.when;
@@ -41,6 +44,35 @@ public class UserOrgServiceTest {
         }
     }
 
+    @Test
+    public void testgetUsersByIdsWithBulkRead() throws Exception {
+        List<String> ids = new ArrayList<String>() {{
+            add("8454cb21-3ce9-4e30-85b5-fade097880d8");
+            add("95e4942d-cbe8-477d-aebd-ad8e6de4bfc8");
+        }};
+        mockBulkResponse();
+        List<Map<String, Object>> content = userOrgService.getUsersByIds(ids, "authToken");
+        assertEquals(2, content.size());
+        assertEquals("FirstName1", content.get(0).get("firstName"));
+        assertEquals("FirstName2", content.get(1).get("firstName"));
+    }
+
+    private void mockBulkResponse() throws UnirestException {
+        HttpRequestWithBody http = Mockito.mock(HttpRequestWithBody.class);
+        RequestBodyEntity body = Mockito.mock(RequestBodyEntity.class);
+        HttpResponse<String> response = Mockito.mock(HttpResponse.class);
+        mockStatic(Unirest.class);
+        when(Unirest.post(Mockito.anyString())).thenReturn(http);
+        when(http.headers(Mockito.anyMap())).thenReturn(http);
+        when(http.body(Mockito.anyString())).thenReturn(body);
+        when(body.asString()).thenReturn(response);
+        when(response.getStatus()).thenReturn(200);
+        String resp = "{\"result\":{\"response\":{\"count\":2,\"content\":["
+            + "{\"id\":\"8454cb21-3ce9-4e30-85b5-fade097880d8\",\"firstName\":\"FirstName1\"},"
+            + "{\"id\":\"95e4942d-cbe8-477d-aebd-ad8e6de4bfc8\",\"firstName\":\"FirstName2\"}]}}}";
+        when(response.getBody()).thenReturn(resp);
+    }
+
     private void mockResponse() throws UnirestException {
         GetRequest http = Mockito.mock(GetRequest.class);
         GetRequest http2 = Mockito.mock(GetRequest.class);
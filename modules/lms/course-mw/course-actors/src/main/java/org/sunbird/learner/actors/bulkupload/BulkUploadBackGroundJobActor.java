@@ -22,6 +22,7 @@ import org.sunbird.response.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.learner.actors.coursebatch.dao.UserCoursesDao;
 import org.sunbird.learner.actors.coursebatch.dao.impl.UserCoursesDaoImpl;
+import org.sunbird.learner.actors.coursebatch.service.UserCoursesEsSyncer;
 import org.sunbird.learner.actors.coursebatch.service.UserCoursesService;
 import org.sunbird.learner.util.Util;
 import org.sunbird.models.user.courses.UserCourses;
@@ -188,7 +189,7 @@ public class BulkUploadBackGroundJobActor extends BaseActor {
           updateAttributes.put(JsonKey.COURSE_ENROLL_DATE, ProjectUtil.getFormattedDate());
           userCourseDao.update(requestContext, batchId, userId, updateAttributes);
           String id = UserCoursesService.generateUserCourseESId(batchId, userId);
-          esService.update(EsType.usercourses.getTypeName(), id, updateAttributes, requestContext);
+          UserCoursesEsSyncer.getInstance().submitUpdate(id, updateAttributes, requestContext);
         }
       } else {
         addUserCourses(
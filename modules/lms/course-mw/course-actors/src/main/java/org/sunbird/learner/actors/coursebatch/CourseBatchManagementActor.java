@@ -583,6 +583,10 @@ public class CourseBatchManagementActor extends BaseActor {
       active = (boolean) request.get(JsonKey.ACTIVE);
     }
     String batchID = (String) request.get(JsonKey.BATCH_ID);
+    if (request.containsKey(JsonKey.LIMIT) || request.containsKey(JsonKey.CURSOR)) {
+      getParticipantsPage(actorMessage, request, batchID, active);
+      return;
+    }
     List<String> participants = userCoursesService.getParticipantsList(batchID, active, actorMessage.getRequestContext());
 
     if (CollectionUtils.isEmpty(participants)) {
@@ -597,6 +601,30 @@ public class CourseBatchManagementActor extends BaseActor {
     sender().tell(response, self());
   }
 
+  private void getParticipantsPage(
+      Request actorMessage, Map<String, Object> request, String batchID, boolean active) {
+    int limit =
+        null != request.get(JsonKey.LIMIT)
+            ? ((Number) request.get(JsonKey.LIMIT)).intValue()
+            : Integer.MAX_VALUE;
+    Map<String, Object> page =
+        userCoursesService.getParticipantsPage(
+            batchID,
+            active,
+            limit,
+            (String) request.get(JsonKey.CURSOR),
+            actorMessage.getRequestContext());
+    List<String> participants = (List<String>) page.get(JsonKey.PARTICIPANTS);
+
+    Response response = new Response();
+    Map<String, Object> result = new HashMap<String, Object>();
+    result.put(JsonKey.COUNT, participants.size());
+    result.put(JsonKey.PARTICIPANTS, participants);
+    result.put(JsonKey.CURSOR, page.get(JsonKey.CURSOR));
+    response.put(JsonKey.BATCH, result);
+    sender().tell(response, self());
+  }
+
   private CourseBatch mapESFieldsToObject(CourseBatch courseBatch) {
     Map<String, Object> certificateTemplates = courseBatch.getCertTemplates();
     if(MapUtils.isNotEmpty(certificateTemplates)) {
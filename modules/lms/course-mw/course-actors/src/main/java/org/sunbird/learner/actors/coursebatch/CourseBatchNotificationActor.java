@@ -56,7 +56,7 @@ public class CourseBatchNotificationActor extends BaseActor {
     String userId = (String) requestMap.get(JsonKey.USER_ID);
     logger.info(request.getRequestContext(), "CourseBatchNotificationActor:courseBatchNotification: userId = " + userId);
 
-    Map<String, String> headers = CourseBatchSchedulerUtil.headerMap;
+    Map<String, String> headers = CourseBatchSchedulerUtil.getHeaders();
     Map<String, Object> contentDetails =
         ContentUtil.getCourseObjectFromEkStep(courseBatch.getCourseId(), headers);
 
@@ -100,4 +100,33 @@ public class CourseBatchUserManagementActorTest extends SunbirdApplicationActorT
     List<String> participants = (List<String>) result.get(JsonKey.PARTICIPANTS);
     Assert.assertTrue(participants.isEmpty());
   }
+
+  @Test
+  @PrepareForTest({ServiceFactory.class})
+  public void getBatchParticipantsPageSuccess() {
+    group = MockerBuilder.getFreshMockerGroup().withCassandraMock(new CassandraMocker());
+    Response page = CustomObjectBuilder.getRandomUserCoursesList(5).asCassandraResponse();
+    page.put("pagingState", "nextPage");
+    when(group
+            .getCassandraMockerService()
+            .getRecordsByIndexedPropertyWithPaging(
+                    Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString(),
+                    Mockito.anyList(), Mockito.eq(5), Mockito.isNull(), Mockito.any()))
+        .thenReturn(page);
+    Request req = new Request();
+    HashMap<String, Object> innerMap = new HashMap<>();
+    innerMap.put(JsonKey.BATCH_ID, "randomBatchId");
+    innerMap.put(JsonKey.ACTIVE, true);
+    innerMap.put(JsonKey.LIMIT, 5);
+    HashMap<String, Object> batchMap = new HashMap<>();
+    batchMap.put(JsonKey.BATCH, innerMap);
+    req.setOperation("getParticipants");
+    req.setRequest(batchMap);
+    Response response = executeInTenSeconds(req, Response.class);
+    Assert.assertNotNull(response);
+    Map<String, Object> result = (Map<String, Object>) response.get(JsonKey.BATCH);
+    Assert.assertEquals("nextPage", result.get(JsonKey.CURSOR));
+    List<String> participants = (List<String>) result.get(JsonKey.PARTICIPANTS);
+    Assert.assertEquals((int) result.get(JsonKey.COUNT), participants.size());
+  }
 }
@@ -1,9 +1,9 @@
 package org.sunbird.aggregate
 
 import com.google.gson.Gson
-import com.mashape.unirest.http.Unirest
 import org.apache.commons.lang3.StringUtils
-import org.apache.http.HttpHeaders
+import org.apache.commons.lang3.math.NumberUtils
+import org.apache.pekko.pattern.pipe
 import org.joda.time.format.DateTimeFormat
 import org.joda.time.{DateTime, DateTimeZone}
 import org.sunbird.actor.base.BaseActor
@@ -23,16 +23,19 @@ import java.text.SimpleDateFormat
 import java.util
 import java.util.Date
 import javax.inject.Inject
-import javax.ws.rs.core.MediaType
 import scala.collection.JavaConverters._
+import scala.concurrent.{ExecutionContext, Future}
 
 class CollectionSummaryAggregate @Inject()(implicit val cacheUtil: RedisCacheUtil) extends BaseActor {
   val ttl: Int = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("collection_summary_agg_cache_ttl"))) ProjectUtil.getConfigValue("collection_summary_agg_cache_ttl").toInt else 60
+  val staleTtl: Int = NumberUtils.toInt(ProjectUtil.getConfigValue("collection_summary_agg_cache_stale_ttl"), 300)
   val dataSource: String = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("collection_summary_agg_data_source"))) ProjectUtil.getConfigValue("collection_summary_agg_data_source") else "telemetry-events-syncts"
   val stateLookUpQuery = "{\"type\":\"extraction\",\"dimension\":\"derived_loc_state\",\"outputName\":\"state\",\"extractionFn\":{\"type\":\"registeredLookup\",\"lookup\":\"stateLookup\",\"retainMissingValue\":true}}"
   val districtLookUpQuery = "{\"type\":\"extraction\",\"dimension\":\"derived_loc_district\",\"outputName\":\"district\",\"extractionFn\":{\"type\":\"registeredLookup\",\"lookup\":\"districtLookup\",\"retainMissingValue\":true}}"
   val gson = new Gson
   var courseBatchDao: CourseBatchDao = new CourseBatchDaoImpl()
+  var druidClient: DruidClient = DruidClient.instance
+  lazy val summaryCache: CollectionSummaryCache = CollectionSummaryCache.getInstance(cacheUtil, ttl, staleTtl)
 
   override def onReceive(request: Request): Unit = {
     Util.initializeContext(request, TelemetryEnvKey.BATCH, this.getClass.getName)
@@ -44,17 +47,26 @@ class CollectionSummaryAggregate @Inject()(implicit val cacheUtil: RedisCacheUti
     val collectionId = filters.get(JsonKey.COLLECTION_ID).asInstanceOf[String]
     val granularity = getDate(request.getRequestContext,request.getRequest.getOrDefault("granularity", "ALL").asInstanceOf[String], collectionId, batchId)
     val key = getCacheKey(batchId = batchId, granularity, groupByKeys)
-    println(s"Druid granularity: $granularity & Cache Key: $key")
+    logger.debug(request.getRequestContext, s"CollectionSummaryAggregate: Druid granularity: $granularity & Cache Key: $key")
+    implicit val ec: ExecutionContext = context.dispatcher
     try {
-      val redisData = cacheUtil.get(key)
-      val result: util.Map[String, AnyRef] = if (null != redisData && !redisData.isEmpty) {
-        JsonUtil.deserialize(redisData, new util.HashMap[String, AnyRef]().getClass)
-      } else {
-        val druidResponse = getResponseFromDruid(batchId = batchId, courseId = collectionId, granularity, groupByKeys = groupByKeys)
-        val transformedResult = transform(druidResponse, groupByKeys)
-        if (!transformedResult.isEmpty) cacheUtil.set(key, JsonUtil.serialize(transformedResult), ttl)
-        transformedResult
-      }
+      summaryCache.get(key, () => getResponseFromDruid(batchId = batchId, courseId = collectionId, granularity, groupByKeys = groupByKeys)
+        .map(druidResponse => transform(druidResponse, groupByKeys): util.Map[String, AnyRef]))
+        .map(result => getResponse(response, result, collectionId, batchId, groupByKeys))
+        .recover {
+          case ex: Exception =>
+            ProjectLogger.log("CollectionSummaryAggregate: Exception thrown = " + ex)
+            ex
+        }
+        .pipeTo(sender())(self)
+    } catch {
+      case ex: Exception =>
+        ProjectLogger.log("CollectionSummaryAggregate: Exception thrown = " + ex)
+        throw ex
+    }
+  }
+
+  def getResponse(response: Response, result: util.Map[String, AnyRef], collectionId: String, batchId: String, groupByKeys: List[String]): Response = {
       response.put("metrics", result.get("metrics"))
       response.put("collectionId", collectionId)
       response.put("batchId", batchId)
@@ -66,12 +78,7 @@ class CollectionSummaryAggregate @Inject()(implicit val cacheUtil: RedisCacheUti
       if (groupByKeys.nonEmpty) {
         response.put("groupBy", result.get("groupBy"))
       }
-      sender().tell(response, self)
-    } catch {
-      case ex: Exception =>
-        ProjectLogger.log("CollectionSummaryAggregate: Exception thrown = " + ex)
-        throw ex
-    }
+      response
   }
 
   def transform(druidResponse: String, groupByKeys: List[String]): util.HashMap[String, AnyRef] = {
@@ -112,13 +119,7 @@ class CollectionSummaryAggregate @Inject()(implicit val cacheUtil: RedisCacheUti
     transformedResult
   }
 
-  private def getUpdatedHeaders(headers: util.Map[String, String]): util.Map[String, String] = {
-    headers.put(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
-    headers.put("Connection", "Keep-Alive")
-    headers
-  }
-
-  def getResponseFromDruid(batchId: String, courseId: String, date: String, groupByKeys: List[String]): String = {
+  def getResponseFromDruid(batchId: String, courseId: String, date: String, groupByKeys: List[String])(implicit ec: ExecutionContext): Future[String] = {
     val druidQuery =
       s"""{
          |  "queryType": "groupBy",
@@ -199,14 +200,11 @@ class CollectionSummaryAggregate @Inject()(implicit val cacheUtil: RedisCacheUti
          |    ]
          |  }
          |}""".stripMargin.replaceAll("null", " ")
-    println("Druid Query" + JsonUtil.serialize(druidQuery))
-    val host: String = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("druid_proxy_api_host"))) ProjectUtil.getConfigValue("druid_proxy_api_host") else "localhost"
-    val port: String = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("druid_proxy_api_port"))) ProjectUtil.getConfigValue("druid_proxy_api_port") else "8081"
-    val endPoint: String = if (StringUtils.isNotBlank(ProjectUtil.getConfigValue("druid_proxy_api_endpoint"))) ProjectUtil.getConfigValue("druid_proxy_api_endpoint") else "/druid/v2/"
-    val request = Unirest.post(s"http://$host:$port$endPoint").headers(getUpdatedHeaders(new util.HashMap[String, String]())).body(druidQuery)
-    val response = request.asString().getBody
-    println("=====Druid Response======" + response)
-    response
+    logger.debug("CollectionSummaryAggregate:getResponseFromDruid: Druid Query " + JsonUtil.serialize(druidQuery))
+    druidClient.query(druidQuery).map(response => {
+      logger.debug("CollectionSummaryAggregate:getResponseFromDruid: Druid Response " + response)
+      response
+    })
   }
 
   def getCacheKey(batchId: String, intervals: String, groupByKeys: List[String]): String = {
@@ -0,0 +1,105 @@
+package org.sunbird.aggregate
+
+import org.sunbird.cache.util.RedisCacheUtil
+import org.sunbird.learner.util.JsonUtil
+import org.sunbird.logging.LoggerUtil
+
+import java.math.BigDecimal
+import java.util
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import scala.concurrent.{ExecutionContext, Future, Promise}
+import scala.util.{Failure, Success}
+
+/**
+ * Redis cache of collection summary aggregates which collapses concurrent loads of a key and
+ * serves stale values while they are reloaded.
+ *
+ * A value is fresh for ttl seconds after its lastUpdatedOn time and is kept in Redis for another
+ * staleTtl seconds. A stale value is returned at once and reloaded in the background. Concurrent
+ * requests for a key which is missing or stale share one load.
+ */
+class CollectionSummaryCache(cacheUtil: RedisCacheUtil, ttl: Int, staleTtl: Int) {
+    private val logger = new LoggerUtil(classOf[CollectionSummaryCache])
+    private val inFlight = new ConcurrentHashMap[String, Future[util.Map[String, AnyRef]]]()
+    private val hits = new AtomicLong()
+    private val staleHits = new AtomicLong()
+    private val misses = new AtomicLong()
+    private val collapsed = new AtomicLong()
+    private val loads = new AtomicLong()
+    private val failedLoads = new AtomicLong()
+
+    def get(key: String, load: () => Future[util.Map[String, AnyRef]])(implicit ec: ExecutionContext): Future[util.Map[String, AnyRef]] = {
+        val cached = cacheUtil.get(key)
+        if (null != cached && !cached.isEmpty) {
+            val result: util.Map[String, AnyRef] = JsonUtil.deserialize(cached, new util.HashMap[String, AnyRef]().getClass)
+            if (isStale(result)) {
+                staleHits.incrementAndGet()
+                reload(key, load)
+            } else hits.incrementAndGet()
+            Future.successful(result)
+        } else {
+            misses.incrementAndGet()
+            reload(key, load)
+        }
+    }
+
+    private def reload(key: String, load: () => Future[util.Map[String, AnyRef]])(implicit ec: ExecutionContext): Future[util.Map[String, AnyRef]] = {
+        val promise = Promise[util.Map[String, AnyRef]]()
+        val existing = inFlight.putIfAbsent(key, promise.future)
+        if (null != existing) {
+            collapsed.incrementAndGet()
+            existing
+        } else {
+            loads.incrementAndGet()
+            promise.completeWith(Future.delegate(load()))
+            promise.future.onComplete(result => {
+                result match {
+                    case Success(value) =>
+                        if (null != value && !value.isEmpty) {
+                            try cacheUtil.set(key, JsonUtil.serialize(value), ttl + staleTtl)
+                            catch {
+                                case e: Exception => logger.error("CollectionSummaryCache: failed to cache " + key, e)
+                            }
+                        }
+                    case Failure(e) =>
+                        failedLoads.incrementAndGet()
+                        logger.error("CollectionSummaryCache: failed to load " + key, e)
+                }
+                inFlight.remove(key, promise.future)
+            })
+            promise.future
+        }
+    }
+
+    private def isStale(result: util.Map[String, AnyRef]): Boolean = {
+        val lastUpdatedOn = result.get("lastUpdatedOn")
+        null != lastUpdatedOn && System.currentTimeMillis() - new BigDecimal(lastUpdatedOn.toString).longValue() > ttl * 1000L
+    }
+
+    def snapshot(): util.Map[String, AnyRef] = {
+        val snapshot = new util.LinkedHashMap[String, AnyRef]()
+        snapshot.put("inFlight", inFlight.size().asInstanceOf[AnyRef])
+        snapshot.put("hits", hits.get().asInstanceOf[AnyRef])
+        snapshot.put("staleHits", staleHits.get().asInstanceOf[AnyRef])
+        snapshot.put("misses", misses.get().asInstanceOf[AnyRef])
+        snapshot.put("collapsed", collapsed.get().asInstanceOf[AnyRef])
+        snapshot.put("loads", loads.get().asInstanceOf[AnyRef])
+        snapshot.put("failedLoads", failedLoads.get().asInstanceOf[AnyRef])
+        snapshot
+    }
+}
+
+object CollectionSummaryCache {
+    @volatile private var instance: CollectionSummaryCache = _
+
+    /** Returns the cache shared by all collection summary actors. */
+    def getInstance(cacheUtil: RedisCacheUtil, ttl: Int, staleTtl: Int): CollectionSummaryCache = {
+        if (null == instance) synchronized {
+            if (null == instance) instance = new CollectionSummaryCache(cacheUtil, ttl, staleTtl)
+        }
+        instance
+    }
+
+    def metrics(): util.Map[String, AnyRef] = if (null != instance) instance.snapshot() else new util.HashMap[String, AnyRef]()
+}
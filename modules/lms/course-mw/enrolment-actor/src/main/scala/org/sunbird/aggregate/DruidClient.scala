@@ -0,0 +1,71 @@
+package org.sunbird.aggregate
+
+import org.apache.commons.lang3.StringUtils
+import org.apache.commons.lang3.math.NumberUtils
+import org.apache.http.HttpHeaders
+import org.sunbird.common.ProjectUtil
+import org.sunbird.logging.LoggerUtil
+
+import java.net.URI
+import java.net.http.{HttpClient, HttpRequest, HttpResponse, HttpTimeoutException}
+import java.time.Duration
+import java.util.concurrent.{Executors, TimeUnit, TimeoutException}
+import java.util.concurrent.atomic.AtomicInteger
+import javax.ws.rs.core.MediaType
+import scala.concurrent.{ExecutionContext, Future}
+import scala.jdk.FutureConverters._
+
+/**
+ * Non-blocking client for the Druid query API. Queries share the connection pool of one HTTP
+ * client, and each query fails with an HttpTimeoutException if Druid has not sent the whole
+ * response within timeoutMillis. The request timeout only bounds the wait for the response headers,
+ * so the response as a whole is bounded separately.
+ */
+class DruidClient(url: String, timeoutMillis: Long, client: HttpClient) {
+    private val logger = new LoggerUtil(classOf[DruidClient])
+
+    /** Posts a query and returns the response body, or fails if it does not arrive in time. */
+    def query(query: String)(implicit ec: ExecutionContext): Future[String] = {
+        val request = HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofMillis(timeoutMillis))
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+            .POST(HttpRequest.BodyPublishers.ofString(query))
+            .build()
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).asScala
+            .recover({
+                case _: TimeoutException =>
+                    throw new HttpTimeoutException("Druid did not answer within " + timeoutMillis + "ms")
+            })
+            .map(response => {
+                if (response.statusCode() != 200)
+                    logger.info("DruidClient:query: Druid returned status " + response.statusCode() + " for query " + query)
+                response.body()
+            })
+    }
+}
+
+object DruidClient {
+    lazy val instance: DruidClient = {
+        val host = StringUtils.defaultIfBlank(ProjectUtil.getConfigValue("druid_proxy_api_host"), "localhost")
+        val port = StringUtils.defaultIfBlank(ProjectUtil.getConfigValue("druid_proxy_api_port"), "8081")
+        val endPoint = StringUtils.defaultIfBlank(ProjectUtil.getConfigValue("druid_proxy_api_endpoint"), "/druid/v2/")
+        val timeoutMillis = NumberUtils.toLong(ProjectUtil.getConfigValue("druid_query_timeout_ms"), 10000)
+        val connectTimeoutMillis = NumberUtils.toLong(ProjectUtil.getConfigValue("druid_connect_timeout_ms"), 2000)
+        val threads = NumberUtils.toInt(ProjectUtil.getConfigValue("druid_client_threads"), 2)
+        new DruidClient(s"http://$host:$port$endPoint", timeoutMillis, newHttpClient(connectTimeoutMillis, threads))
+    }
+
+    def newHttpClient(connectTimeoutMillis: Long, threads: Int): HttpClient = {
+        val count = new AtomicInteger()
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+            .executor(Executors.newFixedThreadPool(threads, runnable => {
+                val thread = new Thread(runnable, "druid-client-" + count.incrementAndGet())
+                thread.setDaemon(true)
+                thread
+            }))
+            .build()
+    }
+}
@@ -1,10 +1,9 @@
 package org.sunbird.enrolments
 
 import com.fasterxml.jackson.databind.ObjectMapper
-import org.apache.commons.collections4.{CollectionUtils, MapUtils}
+import org.apache.commons.collections4.CollectionUtils
 import org.apache.commons.lang3.StringUtils
 import org.sunbird.cassandra.CassandraOperation
-import org.sunbird.common.CassandraUtil
 import org.sunbird.exception.ProjectCommonException
 import org.sunbird.response.Response
 import org.sunbird.keys.JsonKey
@@ -14,13 +13,12 @@ import org.sunbird.response.ResponseCode
 import org.sunbird.utils.JsonUtil
 import org.sunbird.common.ProjectUtil
 import org.sunbird.helper.ServiceFactory
-import org.sunbird.kafka.{InstructionEventGenerator, KafkaClient}
-import org.sunbird.learner.constants.{CourseJsonKey, InstructionEvent}
+import org.sunbird.kafka.KafkaClient
 import org.sunbird.learner.util.Util
 
 import com.datastax.driver.core.{UDTValue, UserType}
 import java.util
-import java.util.{Date, TimeZone, UUID}
+import java.util.{TimeZone, UUID}
 import javax.inject.{Inject, Named}
 import org.apache.pekko.actor.ActorRef
 import scala.collection.JavaConverters._
@@ -34,7 +32,7 @@ class ContentConsumptionActor @Inject() (@Named("assessment-aggregator-actor") a
     private val mapper = new ObjectMapper
     private var cassandraOperation = ServiceFactory.getInstance
     private var pushTokafkaEnabled: Boolean = true //TODO: to be removed once all are in scala
-    private val consumptionDBInfo = Util.dbInfoMap.get(JsonKey.LEARNER_CONTENT_DB)
+    private var writer = new ContentConsumptionWriter(cassandraOperation, pushTokafkaEnabled)
     private val assessmentAggregatorDBInfo = Util.dbInfoMap.get(JsonKey.ASSESSMENT_AGGREGATOR_DB)
     private val enrolmentDBInfo = Util.dbInfoMap.get(JsonKey.LEARNER_COURSE_DB)
     val dateFormatter = ProjectUtil.getDateFormatter
@@ -96,7 +94,9 @@ class ContentConsumptionActor @Inject() (@Named("assessment-aggregator-actor") a
             } else contentList
             logger.info(requestContext, "Final content-consumption data: " + finalContentList)
             // Update consumption first and then push the assessment events if there are any. This will help us handling failures of max attempts (for assessment content).
-            val contentConsumptionResponse = processContents(finalContentList, requestContext, requestBy, requestedFor)
+            // Consumption of requests with assessment events is written before the response, so that it is stored before the events are processed.
+            val writeBehind = ContentConsumptionWriteBehind.isEnabled && CollectionUtils.isEmpty(assessmentEvents)
+            val contentConsumptionResponse = processContents(finalContentList, requestContext, requestBy, requestedFor, writeBehind)
             val assessmentResponse = processAssessments(assessmentEvents, requestContext, requestBy, requestedFor)
             val finalResponse = assessmentResponse.getOrElse(new Response())
             finalResponse.putAll(contentConsumptionResponse.getOrElse(new Response()).getResult)
@@ -169,7 +169,7 @@ class ContentConsumptionActor @Inject() (@Named("assessment-aggregator-actor") a
         } else None
     }
 
-    def processContents(contentList: java.util.List[java.util.Map[String, AnyRef]], requestContext: RequestContext, requestedBy: String, requestedFor: String): Option[Response] = {
+    def processContents(contentList: java.util.List[java.util.Map[String, AnyRef]], requestContext: RequestContext, requestedBy: String, requestedFor: String, writeBehind: Boolean = false): Option[Response] = {
         if(CollectionUtils.isNotEmpty(contentList)) {
             val batchContentList: Map[String, List[java.util.Map[String, AnyRef]]] = contentList.filter(event => StringUtils.isNotBlank(event.getOrDefault(JsonKey.BATCH_ID, "").asInstanceOf[String])).toList.groupBy(event => event.get(JsonKey.BATCH_ID).asInstanceOf[String])
             val batchIds = batchContentList.keySet.toList.asJava
@@ -189,17 +189,9 @@ class ContentConsumptionActor @Inject() (@Named("assessment-aggregator-actor") a
                         if(validUserIds.contains(userId)) {
                             val courseId = if (entry._2.head.containsKey(JsonKey.COURSE_ID)) entry._2.head.getOrDefault(JsonKey.COURSE_ID, "").asInstanceOf[String] else entry._2.head.getOrDefault(JsonKey.COLLECTION_ID, "").asInstanceOf[String]
                             if(entry._2.head.containsKey(JsonKey.COLLECTION_ID)) entry._2.head.remove(JsonKey.COLLECTION_ID)
-                            val contentIds = entry._2.map(e => e.getOrDefault(JsonKey.CONTENT_ID, "").asInstanceOf[String]).distinct.asJava
-                            val existingContents = getContentsConsumption(userId, courseId, contentIds, batchId, requestContext).groupBy(x => x.get("contentId").asInstanceOf[String]).map(e => e._1 -> e._2.toList.head).toMap
-                            val contents:List[java.util.Map[String, AnyRef]] = entry._2.toList.map(inputContent => {
-                                val existingContent = existingContents.getOrElse(inputContent.get("contentId").asInstanceOf[String], new java.util.HashMap[String, AnyRef])
-                                CassandraUtil.changeCassandraColumnMapping(processContentConsumption(inputContent, existingContent, userId))
-                            })
-                            // First push the event to kafka and then update cassandra user_content_consumption table
-                            pushInstructionEvent(requestContext, userId, batchId, courseId, contents.asJava)
-                            cassandraOperation.batchInsertLogged(consumptionDBInfo.getKeySpace, consumptionDBInfo.getTableName, contents, requestContext)
-                            val updateData = getLatestReadDetails(userId, batchId, contents)
-                            cassandraOperation.updateRecordV2(enrolmentDBInfo.getKeySpace, enrolmentDBInfo.getTableName, updateData._1, updateData._2, true, requestContext)
+                            val contentIds = entry._2.map(e => e.getOrDefault(JsonKey.CONTENT_ID, "").asInstanceOf[String]).distinct
+                            if (!writeBehind || !ContentConsumptionWriteBehind.instance.submit(ConsumptionKey(userId, courseId, batchId), entry._2, requestContext))
+                                writer.write(userId, batchId, courseId, entry._2, false, requestContext)
                             contentIds.map(id => responseMessage.put(id,JsonKey.SUCCESS))
 
                         } else {
@@ -279,130 +271,8 @@ class ContentConsumptionActor @Inject() (@Named("assessment-aggregator-actor") a
         }
     }
 
-    def getContentsConsumption(userId: String, courseId : String, contentIds: java.util.List[String], batchId: String, requestContext: RequestContext):java.util.List[java.util.Map[String, AnyRef]] = {
-        val filters = new java.util.HashMap[String, AnyRef]() {{
-            put("userid", userId)
-            put("courseid", courseId)
-            put("batchid", batchId)
-            if(CollectionUtils.isNotEmpty(contentIds))
-                put("contentid", contentIds)
-        }}
-        val response = cassandraOperation.getRecords(consumptionDBInfo.getKeySpace, consumptionDBInfo.getTableName, filters, null, requestContext)
-        response.getResult.getOrDefault(JsonKey.RESPONSE, new java.util.ArrayList[java.util.Map[String, AnyRef]]).asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
-    }
-
-    def processContentConsumption(inputContent: java.util.Map[String, AnyRef], existingContent: java.util.Map[String, AnyRef], userId: String) = {
-        val inputStatus = inputContent.getOrDefault(JsonKey.STATUS, 0.asInstanceOf[AnyRef]).asInstanceOf[Number].intValue()
-        val updatedContent = new java.util.HashMap[String, AnyRef]()
-        updatedContent.putAll(inputContent)
-        val parsedMap = new java.util.HashMap[String, AnyRef]()
-        jsonFields.foreach(field =>
-            if(inputContent.containsKey(field)) {
-                parsedMap.put(field, mapper.writeValueAsString(inputContent.get(field)))
-            }
-        )
-        updatedContent.putAll(parsedMap)
-        val inputCompletedTime = parseDate(inputContent.getOrDefault(JsonKey.LAST_COMPLETED_TIME, "").asInstanceOf[String])
-        val inputAccessTime = parseDate(inputContent.getOrDefault(JsonKey.LAST_ACCESS_TIME, "").asInstanceOf[String])
-        if(MapUtils.isNotEmpty(existingContent)) {
-            val existingAccessTime = if(parseDate(existingContent.get(JsonKey.LAST_ACCESS_TIME).asInstanceOf[Date]) == null) parseDate(existingContent.getOrDefault(JsonKey.OLD_LAST_ACCESS_TIME, "").asInstanceOf[String]) else parseDate(existingContent.get(JsonKey.LAST_ACCESS_TIME).asInstanceOf[Date])
-            updatedContent.put(JsonKey.LAST_ACCESS_TIME, compareTime(existingAccessTime, inputAccessTime))
-            val inputProgress = inputContent.getOrDefault(JsonKey.PROGRESS, 0.asInstanceOf[AnyRef]).asInstanceOf[Number].intValue()
-            val existingProgress = Option(existingContent.getOrDefault(JsonKey.PROGRESS, 0.asInstanceOf[AnyRef]).asInstanceOf[Number]).getOrElse(0.asInstanceOf[Number]).intValue()
-            updatedContent.put(JsonKey.PROGRESS, List(inputProgress, existingProgress).max.asInstanceOf[AnyRef])
-            val existingStatus = Option(existingContent.getOrDefault(JsonKey.STATUS, 0.asInstanceOf[AnyRef]).asInstanceOf[Number]).getOrElse(0.asInstanceOf[Number]).intValue()
-            val existingCompletedTime = if (parseDate(existingContent.get(JsonKey.LAST_COMPLETED_TIME).asInstanceOf[Date]) == null) parseDate(existingContent.getOrDefault(JsonKey.OLD_LAST_COMPLETED_TIME, "").asInstanceOf[String]) else parseDate(existingContent.get(JsonKey.LAST_COMPLETED_TIME).asInstanceOf[Date])
-            if(inputStatus >= existingStatus) {
-                if(inputStatus >= 2) {
-                    updatedContent.put(JsonKey.STATUS, 2.asInstanceOf[AnyRef])
-                    updatedContent.put(JsonKey.PROGRESS, 100.asInstanceOf[AnyRef])
-                    updatedContent.put(JsonKey.LAST_COMPLETED_TIME, compareTime(existingCompletedTime, inputCompletedTime))
-                }
-            } else {
-                updatedContent.put(JsonKey.STATUS, existingStatus.asInstanceOf[AnyRef])
-            }
-        } else {
-            if(inputStatus >= 2) {
-                updatedContent.put(JsonKey.PROGRESS, 100.asInstanceOf[AnyRef])
-                updatedContent.put(JsonKey.LAST_COMPLETED_TIME, compareTime(null, inputCompletedTime))
-            } else {
-                updatedContent.put(JsonKey.PROGRESS, 0.asInstanceOf[AnyRef])
-            }
-            updatedContent.put(JsonKey.LAST_ACCESS_TIME, compareTime(null, inputAccessTime))
-        }
-        updatedContent.put(JsonKey.LAST_UPDATED_TIME, ProjectUtil.getTimeStamp)
-        updatedContent.put(JsonKey.USER_ID, userId)
-        updatedContent
-    }
-
-    def parseDate(dateString: String) = {
-        if(StringUtils.isNotBlank(dateString) && !StringUtils.equalsIgnoreCase(JsonKey.NULL, dateString)) {
-            dateFormatter.parse(dateString)
-        } else null
-    }
-
-    def parseDate(date: Date) = {
-        if(date != null) {
-            dateFormatter.parse(dateFormatter.format(date))
-        } else null
-    }
-
-    def compareTime(existingTime: java.util.Date, inputTime: java.util.Date): Date = {
-        if (null == existingTime && null == inputTime) {
-            ProjectUtil.getTimeStamp
-        } else if (null == existingTime) inputTime
-        else if (null == inputTime) existingTime
-        else {
-            if (inputTime.after(existingTime)) inputTime
-            else existingTime
-        }
-    }
-
-    def getLatestReadDetails(userId: String, batchId: String, contents: List[java.util.Map[String, AnyRef]]) = {
-       val lastAccessContent: java.util.Map[String, AnyRef] = contents.groupBy(x => x.getOrDefault(JsonKey.LAST_ACCESS_TIME_KEY, null).asInstanceOf[Date]).maxBy(_._1)._2.get(0)
-       val updateMap = new java.util.HashMap[String, AnyRef] () {{
-            put("lastreadcontentid", lastAccessContent.get(JsonKey.CONTENT_ID_KEY))
-            put("lastreadcontentstatus", lastAccessContent.get("status"))
-            put(JsonKey.LAST_CONTENT_ACCESS_TIME, lastAccessContent.get(JsonKey.LAST_ACCESS_TIME_KEY))
-
-       }}
-      val selectMap = new util.HashMap[String, AnyRef]() {{
-        put("batchId", batchId)
-        put("userId", userId)
-        put("courseId", lastAccessContent.get(JsonKey.COURSE_ID_KEY))
-      }}
-      (selectMap, updateMap)
-    }
-
-    @throws[Exception]
-    private def pushInstructionEvent(requestContext: RequestContext, userId: String, batchId: String, courseId: String, contents: java.util.List[java.util.Map[String, AnyRef]]): Unit = {
-        val data = new java.util.HashMap[String, AnyRef]
-        data.put(CourseJsonKey.ACTOR, new java.util.HashMap[String, AnyRef]() {{
-            put(JsonKey.ID, InstructionEvent.BATCH_USER_STATE_UPDATE.getActorId)
-            put(JsonKey.TYPE, InstructionEvent.BATCH_USER_STATE_UPDATE.getActorType)
-        }})
-        data.put(CourseJsonKey.OBJECT, new java.util.HashMap[String, AnyRef]() {{
-            put(JsonKey.ID, batchId + CourseJsonKey.UNDERSCORE + userId)
-            put(JsonKey.TYPE, InstructionEvent.BATCH_USER_STATE_UPDATE.getType)
-        }})
-        data.put(CourseJsonKey.ACTION, InstructionEvent.BATCH_USER_STATE_UPDATE.getAction)
-        val contentsMap = contents.map(c => new java.util.HashMap[String, AnyRef]() {{
-            put(JsonKey.CONTENT_ID, c.get(JsonKey.CONTENT_ID_KEY))
-            put(JsonKey.STATUS, c.get(JsonKey.STATUS))
-        }}).asJava
-        data.put(CourseJsonKey.E_DATA, new java.util.HashMap[String, AnyRef]() {{
-            put(JsonKey.USER_ID, userId)
-            put(JsonKey.BATCH_ID, batchId)
-            put(JsonKey.COURSE_ID, courseId)
-            put(JsonKey.CONTENTS, contentsMap)
-            put(CourseJsonKey.ACTION, InstructionEvent.BATCH_USER_STATE_UPDATE.getAction)
-            put(CourseJsonKey.ITERATION, 1.asInstanceOf[AnyRef])
-        }})
-        val topic = ProjectUtil.getConfigValue("kafka_topics_instruction")
-        logger.info(requestContext,"LearnerStateUpdateActor: pushInstructionEvent :Event Data " + data + " and Topic " + topic)
-        if(pushTokafkaEnabled)
-            InstructionEventGenerator.pushInstructionEvent(userId, topic, data)
-    }
+    def getContentsConsumption(userId: String, courseId : String, contentIds: java.util.List[String], batchId: String, requestContext: RequestContext):java.util.List[java.util.Map[String, AnyRef]] =
+        writer.getContentsConsumption(userId, courseId, contentIds, batchId, requestContext)
 
     def getConsumption(request: Request): Unit = {
         val userId = request.get(JsonKey.USER_ID).asInstanceOf[String]
@@ -436,6 +306,7 @@ class ContentConsumptionActor @Inject() (@Named("assessment-aggregator-actor") a
     def setCassandraOperation(cassandraOps: CassandraOperation, kafkaEnabled: Boolean): ContentConsumptionActor = {
         pushTokafkaEnabled = kafkaEnabled
         cassandraOperation = cassandraOps
+        writer = new ContentConsumptionWriter(cassandraOps, kafkaEnabled)
         this
     }
 
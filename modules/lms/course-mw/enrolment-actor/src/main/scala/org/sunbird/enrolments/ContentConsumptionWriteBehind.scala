@@ -0,0 +1,171 @@
+package org.sunbird.enrolments
+
+import org.apache.commons.lang3.StringUtils
+import org.apache.commons.lang3.math.NumberUtils
+import org.sunbird.common.ProjectUtil
+import org.sunbird.helper.ServiceFactory
+import org.sunbird.keys.JsonKey
+import org.sunbird.logging.LoggerUtil
+import org.sunbird.request.RequestContext
+
+import java.util
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.{Executors, TimeUnit}
+import scala.collection.JavaConverters._
+
+case class ConsumptionKey(userId: String, courseId: String, batchId: String)
+
+/**
+ * Write-behind buffer for content consumption updates.
+ *
+ * Updates of the same user, course and batch (one partition of the consumption table) are
+ * buffered together. Each flush reads the stored consumption of a partition once, merges the
+ * buffered updates of each content into it in the order they were received, and writes the
+ * partition with one unlogged batch. A single thread flushes the buffer, so the writes of a
+ * partition are applied in order.
+ *
+ * Updates are acknowledged before they are written: updates buffered when the process stops
+ * without a graceful shutdown are lost. A partition which fails to be written is buffered again
+ * ahead of the updates received since, so the newer updates are still merged last, and is
+ * dropped after maxAttempts writes. When the buffer holds maxPending partitions, new partitions
+ * are rejected and should be written by the caller.
+ */
+class ContentConsumptionWriteBehind(writer: ContentConsumptionWriter, maxPending: Int, maxAttempts: Int = 3) {
+    private val logger = new LoggerUtil(classOf[ContentConsumptionWriteBehind])
+    private val pending = new util.LinkedHashMap[ConsumptionKey, PendingConsumption]()
+    private val submitted = new AtomicLong()
+    private val coalesced = new AtomicLong()
+    private val rejected = new AtomicLong()
+    private val flushedPartitions = new AtomicLong()
+    private val flushedRows = new AtomicLong()
+    private val failedPartitions = new AtomicLong()
+    private val droppedPartitions = new AtomicLong()
+    private val lastLagMillis = new AtomicLong()
+    private val maxLagMillis = new AtomicLong()
+
+    /**
+     * Buffers the consumption updates of a partition.
+     *
+     * @return false if the buffer is full and the updates were not buffered
+     */
+    def submit(key: ConsumptionKey, contents: List[util.Map[String, AnyRef]], requestContext: RequestContext): Boolean = synchronized {
+        if (!pending.containsKey(key) && pending.size() >= maxPending) {
+            rejected.incrementAndGet()
+            false
+        } else {
+            val entry = pending.computeIfAbsent(key, _ => new PendingConsumption(System.currentTimeMillis()))
+            entry.requestContext = requestContext
+            contents.foreach(content => {
+                submitted.incrementAndGet()
+                if (!entry.contentIds.add(content.getOrDefault(JsonKey.CONTENT_ID, "").asInstanceOf[String]))
+                    coalesced.incrementAndGet()
+                entry.contents.add(new util.HashMap[String, AnyRef](content))
+            })
+            true
+        }
+    }
+
+    /** Writes the partitions buffered so far. */
+    def flush(): Unit = {
+        val drained = synchronized {
+            val partitions = new util.LinkedHashMap[ConsumptionKey, PendingConsumption](pending)
+            pending.clear()
+            partitions
+        }
+        drained.asScala.foreach { case (key, entry) =>
+            try {
+                val contents = writer.write(key.userId, key.batchId, key.courseId, entry.contents.asScala.toList, true, entry.requestContext)
+                flushedPartitions.incrementAndGet()
+                flushedRows.addAndGet(contents.size)
+                val lag = System.currentTimeMillis() - entry.firstSubmittedAt
+                lastLagMillis.set(lag)
+                maxLagMillis.accumulateAndGet(lag, (a, b) => Math.max(a, b))
+            } catch {
+                case e: Exception =>
+                    failedPartitions.incrementAndGet()
+                    logger.error(entry.requestContext, "ContentConsumptionWriteBehind: failed to write consumption of user " + key.userId + " in batch " + key.batchId, e)
+                    requeue(key, entry)
+            }
+        }
+    }
+
+    /** Buffers a partition which failed to be written again, ahead of the updates received since. */
+    private def requeue(key: ConsumptionKey, failed: PendingConsumption): Unit = synchronized {
+        if (failed.attempts + 1 >= maxAttempts) {
+            droppedPartitions.incrementAndGet()
+            logger.error(failed.requestContext, "ContentConsumptionWriteBehind: dropping consumption of user " + key.userId + " in batch " + key.batchId + " after " + maxAttempts + " attempts", null)
+        } else {
+            val retry = new PendingConsumption(failed.firstSubmittedAt)
+            retry.attempts = failed.attempts + 1
+            retry.requestContext = failed.requestContext
+            retry.contents.addAll(failed.contents)
+            retry.contentIds.addAll(failed.contentIds)
+            val newer = pending.remove(key)
+            if (newer != null) {
+                retry.attempts = Math.max(retry.attempts, newer.attempts)
+                retry.requestContext = newer.requestContext
+                retry.contents.addAll(newer.contents)
+                retry.contentIds.addAll(newer.contentIds)
+            }
+            pending.put(key, retry)
+        }
+    }
+
+    /** Returns the buffer counters and the lag, in milliseconds, between buffering and writing a partition. */
+    def snapshot(): util.Map[String, AnyRef] = {
+        val snapshot = new util.LinkedHashMap[String, AnyRef]()
+        snapshot.put("pending", synchronized { pending.size() }.asInstanceOf[AnyRef])
+        snapshot.put("submitted", submitted.get().asInstanceOf[AnyRef])
+        snapshot.put("coalesced", coalesced.get().asInstanceOf[AnyRef])
+        snapshot.put("rejected", rejected.get().asInstanceOf[AnyRef])
+        snapshot.put("flushedPartitions", flushedPartitions.get().asInstanceOf[AnyRef])
+        snapshot.put("flushedRows", flushedRows.get().asInstanceOf[AnyRef])
+        snapshot.put("failedPartitions", failedPartitions.get().asInstanceOf[AnyRef])
+        snapshot.put("droppedPartitions", droppedPartitions.get().asInstanceOf[AnyRef])
+        snapshot.put("lastLagMillis", lastLagMillis.get().asInstanceOf[AnyRef])
+        snapshot.put("maxLagMillis", maxLagMillis.get().asInstanceOf[AnyRef])
+        snapshot
+    }
+
+    def start(windowMillis: Long): ContentConsumptionWriteBehind = {
+        val executor = Executors.newSingleThreadScheduledExecutor(runnable => {
+            val thread = new Thread(runnable, "content-consumption-write-behind")
+            thread.setDaemon(true)
+            thread
+        })
+        executor.scheduleWithFixedDelay(() => flush(), windowMillis, windowMillis, TimeUnit.MILLISECONDS)
+        sys.addShutdownHook {
+            executor.shutdown()
+            executor.awaitTermination(windowMillis, TimeUnit.MILLISECONDS)
+            flush()
+        }
+        this
+    }
+
+    private class PendingConsumption(val firstSubmittedAt: Long) {
+        val contents = new util.ArrayList[util.Map[String, AnyRef]]()
+        val contentIds = new util.HashSet[String]()
+        var requestContext: RequestContext = _
+        var attempts = 0
+    }
+}
+
+object ContentConsumptionWriteBehind {
+    val WRITE_BEHIND = "write_behind"
+    val writeMode: String = StringUtils.defaultIfBlank(ProjectUtil.getConfigValue("content_consumption_write_mode"), "sync")
+    @volatile private var started = false
+
+    lazy val instance: ContentConsumptionWriteBehind = {
+        val windowMillis = NumberUtils.toLong(ProjectUtil.getConfigValue("content_consumption_write_behind_window_ms"), 1000)
+        val maxPending = NumberUtils.toInt(ProjectUtil.getConfigValue("content_consumption_write_behind_max_pending"), 10000)
+        val maxAttempts = NumberUtils.toInt(ProjectUtil.getConfigValue("content_consumption_write_behind_max_attempts"), 3)
+        val writeBehind = new ContentConsumptionWriteBehind(new ContentConsumptionWriter(ServiceFactory.getInstance, true), maxPending, maxAttempts).start(windowMillis)
+        started = true
+        writeBehind
+    }
+
+    def isEnabled: Boolean = StringUtils.equalsIgnoreCase(WRITE_BEHIND, writeMode)
+
+    /** Returns the buffer metrics, or an empty map if the buffer was never used. */
+    def metrics(): util.Map[String, AnyRef] = if (started) instance.snapshot() else new util.HashMap[String, AnyRef]()
+}
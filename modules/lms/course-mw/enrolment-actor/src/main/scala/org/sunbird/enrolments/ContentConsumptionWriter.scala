@@ -0,0 +1,203 @@
+package org.sunbird.enrolments
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.apache.commons.collections4.{CollectionUtils, MapUtils}
+import org.apache.commons.lang3.StringUtils
+import org.sunbird.cassandra.CassandraOperation
+import org.sunbird.common.{CassandraUtil, ProjectUtil}
+import org.sunbird.kafka.InstructionEventGenerator
+import org.sunbird.keys.JsonKey
+import org.sunbird.learner.constants.{CourseJsonKey, InstructionEvent}
+import org.sunbird.learner.util.Util
+import org.sunbird.logging.LoggerUtil
+import org.sunbird.request.RequestContext
+
+import java.util
+import java.util.{Date, TimeZone}
+import scala.collection.JavaConverters._
+import scala.collection.convert.ImplicitConversions._
+
+/**
+ * Writes the content consumption of a user in a batch: merges the input with the stored
+ * consumption (progress never decreases and a completed content stays completed), writes the
+ * consumption rows, updates the last read content of the enrolment and then publishes the batch
+ * user state instruction event. Not thread safe.
+ */
+class ContentConsumptionWriter(cassandraOperation: CassandraOperation, pushToKafkaEnabled: Boolean) {
+    private val logger = new LoggerUtil(classOf[ContentConsumptionWriter])
+    private val mapper = new ObjectMapper
+    private val consumptionDBInfo = Util.dbInfoMap.get(JsonKey.LEARNER_CONTENT_DB)
+    private val enrolmentDBInfo = Util.dbInfoMap.get(JsonKey.LEARNER_COURSE_DB)
+    private val jsonFields = Set[String]("progressdetails")
+    val dateFormatter = ProjectUtil.getDateFormatter
+    dateFormatter.setTimeZone(TimeZone.getTimeZone(ProjectUtil.getConfigValue(JsonKey.SUNBIRD_TIMEZONE)))
+
+    /**
+     * Merges and writes the consumption of contents of a course batch by a user. Several updates of
+     * the same content are merged one after the other, in order. All rows written belong to the
+     * same partition, so an unlogged batch applies them in one atomic write.
+     *
+     * @return the consumption rows written
+     */
+    def write(userId: String, batchId: String, courseId: String, inputContents: List[java.util.Map[String, AnyRef]], unlogged: Boolean, requestContext: RequestContext): List[java.util.Map[String, AnyRef]] = {
+        val contentIds = inputContents.map(e => e.getOrDefault(JsonKey.CONTENT_ID, "").asInstanceOf[String]).distinct.asJava
+        val existingContents = getContentsConsumption(userId, courseId, contentIds, batchId, requestContext).groupBy(x => x.get("contentId").asInstanceOf[String]).map(e => e._1 -> e._2.toList.head).toMap
+        val updatesByContent = inputContents.groupBy(inputContent => inputContent.get("contentId").asInstanceOf[String])
+        val contents: List[java.util.Map[String, AnyRef]] = inputContents.map(inputContent => inputContent.get("contentId").asInstanceOf[String]).distinct.map(contentId => {
+            val updates = updatesByContent(contentId)
+            val existingContent = existingContents.getOrElse(contentId, new java.util.HashMap[String, AnyRef])
+            val merged = updates.tail.foldLeft(processContentConsumption(updates.head, existingContent, userId))((previous, update) => {
+                // Columns not sent with an update keep the value of the previous update, as they would in the table.
+                val next = new java.util.HashMap[String, AnyRef](previous)
+                next.putAll(processContentConsumption(update, asStoredContent(previous), userId))
+                next
+            })
+            CassandraUtil.changeCassandraColumnMapping(merged)
+        })
+        if (unlogged)
+            cassandraOperation.batchInsertUnlogged(consumptionDBInfo.getKeySpace, consumptionDBInfo.getTableName, contents, requestContext)
+        else
+            cassandraOperation.batchInsertLogged(consumptionDBInfo.getKeySpace, consumptionDBInfo.getTableName, contents, requestContext)
+        val updateData = getLatestReadDetails(userId, batchId, contents)
+        cassandraOperation.updateRecordV2(enrolmentDBInfo.getKeySpace, enrolmentDBInfo.getTableName, updateData._1, updateData._2, true, requestContext)
+        // Push the event to kafka only once cassandra is updated, so a failed write that is retried is not published twice
+        pushInstructionEvent(requestContext, userId, batchId, courseId, contents.asJava)
+        contents
+    }
+
+    private def asStoredContent(content: java.util.Map[String, AnyRef]): java.util.Map[String, AnyRef] = {
+        val storedContent = new java.util.HashMap[String, AnyRef](content)
+        if (!storedContent.get(JsonKey.LAST_COMPLETED_TIME).isInstanceOf[Date])
+            storedContent.remove(JsonKey.LAST_COMPLETED_TIME)
+        storedContent
+    }
+
+    def getContentsConsumption(userId: String, courseId : String, contentIds: java.util.List[String], batchId: String, requestContext: RequestContext):java.util.List[java.util.Map[String, AnyRef]] = {
+        val filters = new java.util.HashMap[String, AnyRef]() {{
+            put("userid", userId)
+            put("courseid", courseId)
+            put("batchid", batchId)
+            if(CollectionUtils.isNotEmpty(contentIds))
+                put("contentid", contentIds)
+        }}
+        val response = cassandraOperation.getRecords(consumptionDBInfo.getKeySpace, consumptionDBInfo.getTableName, filters, null, requestContext)
+        response.getResult.getOrDefault(JsonKey.RESPONSE, new java.util.ArrayList[java.util.Map[String, AnyRef]]).asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
+    }
+
+    def processContentConsumption(inputContent: java.util.Map[String, AnyRef], existingContent: java.util.Map[String, AnyRef], userId: String) = {
+        val inputStatus = inputContent.getOrDefault(JsonKey.STATUS, 0.asInstanceOf[AnyRef]).asInstanceOf[Number].intValue()
+        val updatedContent = new java.util.HashMap[String, AnyRef]()
+        updatedContent.putAll(inputContent)
+        val parsedMap = new java.util.HashMap[String, AnyRef]()
+        jsonFields.foreach(field =>
+            if(inputContent.containsKey(field)) {
+                parsedMap.put(field, mapper.writeValueAsString(inputContent.get(field)))
+            }
+        )
+        updatedContent.putAll(parsedMap)
+        val inputCompletedTime = parseDate(inputContent.getOrDefault(JsonKey.LAST_COMPLETED_TIME, "").asInstanceOf[String])
+        val inputAccessTime = parseDate(inputContent.getOrDefault(JsonKey.LAST_ACCESS_TIME, "").asInstanceOf[String])
+        if(MapUtils.isNotEmpty(existingContent)) {
+            val existingAccessTime = if(parseDate(existingContent.get(JsonKey.LAST_ACCESS_TIME).asInstanceOf[Date]) == null) parseDate(existingContent.getOrDefault(JsonKey.OLD_LAST_ACCESS_TIME, "").asInstanceOf[String]) else parseDate(existingContent.get(JsonKey.LAST_ACCESS_TIME).asInstanceOf[Date])
+            updatedContent.put(JsonKey.LAST_ACCESS_TIME, compareTime(existingAccessTime, inputAccessTime))
+            val inputProgress = inputContent.getOrDefault(JsonKey.PROGRESS, 0.asInstanceOf[AnyRef]).asInstanceOf[Number].intValue()
+            val existingProgress = Option(existingContent.getOrDefault(JsonKey.PROGRESS, 0.asInstanceOf[AnyRef]).asInstanceOf[Number]).getOrElse(0.asInstanceOf[Number]).intValue()
+            updatedContent.put(JsonKey.PROGRESS, List(inputProgress, existingProgress).max.asInstanceOf[AnyRef])
+            val existingStatus = Option(existingContent.getOrDefault(JsonKey.STATUS, 0.asInstanceOf[AnyRef]).asInstanceOf[Number]).getOrElse(0.asInstanceOf[Number]).intValue()
+            val existingCompletedTime = if (parseDate(existingContent.get(JsonKey.LAST_COMPLETED_TIME).asInstanceOf[Date]) == null) parseDate(existingContent.getOrDefault(JsonKey.OLD_LAST_COMPLETED_TIME, "").asInstanceOf[String]) else parseDate(existingContent.get(JsonKey.LAST_COMPLETED_TIME).asInstanceOf[Date])
+            if(inputStatus >= existingStatus) {
+                if(inputStatus >= 2) {
+                    updatedContent.put(JsonKey.STATUS, 2.asInstanceOf[AnyRef])
+                    updatedContent.put(JsonKey.PROGRESS, 100.asInstanceOf[AnyRef])
+                    updatedContent.put(JsonKey.LAST_COMPLETED_TIME, compareTime(existingCompletedTime, inputCompletedTime))
+                }
+            } else {
+                updatedContent.put(JsonKey.STATUS, existingStatus.asInstanceOf[AnyRef])
+            }
+        } else {
+            if(inputStatus >= 2) {
+                updatedContent.put(JsonKey.PROGRESS, 100.asInstanceOf[AnyRef])
+                updatedContent.put(JsonKey.LAST_COMPLETED_TIME, compareTime(null, inputCompletedTime))
+            } else {
+                updatedContent.put(JsonKey.PROGRESS, 0.asInstanceOf[AnyRef])
+            }
+            updatedContent.put(JsonKey.LAST_ACCESS_TIME, compareTime(null, inputAccessTime))
+        }
+        updatedContent.put(JsonKey.LAST_UPDATED_TIME, ProjectUtil.getTimeStamp)
+        updatedContent.put(JsonKey.USER_ID, userId)
+        updatedContent
+    }
+
+    def parseDate(dateString: String) = {
+        if(StringUtils.isNotBlank(dateString) && !StringUtils.equalsIgnoreCase(JsonKey.NULL, dateString)) {
+            dateFormatter.parse(dateString)
+        } else null
+    }
+
+    def parseDate(date: Date) = {
+        if(date != null) {
+            dateFormatter.parse(dateFormatter.format(date))
+        } else null
+    }
+
+    def compareTime(existingTime: java.util.Date, inputTime: java.util.Date): Date = {
+        if (null == existingTime && null == inputTime) {
+            ProjectUtil.getTimeStamp
+        } else if (null == existingTime) inputTime
+        else if (null == inputTime) existingTime
+        else {
+            if (inputTime.after(existingTime)) inputTime
+            else existingTime
+        }
+    }
+
+    def getLatestReadDetails(userId: String, batchId: String, contents: List[java.util.Map[String, AnyRef]]) = {
+       val lastAccessContent: java.util.Map[String, AnyRef] = contents.groupBy(x => x.getOrDefault(JsonKey.LAST_ACCESS_TIME_KEY, null).asInstanceOf[Date]).maxBy(_._1)._2.get(0)
+       val updateMap = new java.util.HashMap[String, AnyRef] () {{
+            put("lastreadcontentid", lastAccessContent.get(JsonKey.CONTENT_ID_KEY))
+            put("lastreadcontentstatus", lastAccessContent.get("status"))
+            put(JsonKey.LAST_CONTENT_ACCESS_TIME, lastAccessContent.get(JsonKey.LAST_ACCESS_TIME_KEY))
+
+       }}
+      val selectMap = new util.HashMap[String, AnyRef]() {{
+        put("batchId", batchId)
+        put("userId", userId)
+        put("courseId", lastAccessContent.get(JsonKey.COURSE_ID_KEY))
+      }}
+      (selectMap, updateMap)
+    }
+
+    @throws[Exception]
+    private def pushInstructionEvent(requestContext: RequestContext, userId: String, batchId: String, courseId: String, contents: java.util.List[java.util.Map[String, AnyRef]]): Unit = {
+        val data = new java.util.HashMap[String, AnyRef]
+        data.put(CourseJsonKey.ACTOR, new java.util.HashMap[String, AnyRef]() {{
+            put(JsonKey.ID, InstructionEvent.BATCH_USER_STATE_UPDATE.getActorId)
+            put(JsonKey.TYPE, InstructionEvent.BATCH_USER_STATE_UPDATE.getActorType)
+        }})
+        data.put(CourseJsonKey.OBJECT, new java.util.HashMap[String, AnyRef]() {{
+            put(JsonKey.ID, batchId + CourseJsonKey.UNDERSCORE + userId)
+            put(JsonKey.TYPE, InstructionEvent.BATCH_USER_STATE_UPDATE.getType)
+        }})
+        data.put(CourseJsonKey.ACTION, InstructionEvent.BATCH_USER_STATE_UPDATE.getAction)
+        val contentsMap = contents.map(c => new java.util.HashMap[String, AnyRef]() {{
+            put(JsonKey.CONTENT_ID, c.get(JsonKey.CONTENT_ID_KEY))
+            put(JsonKey.STATUS, c.get(JsonKey.STATUS))
+        }}).asJava
+        data.put(CourseJsonKey.E_DATA, new java.util.HashMap[String, AnyRef]() {{
+            put(JsonKey.USER_ID, userId)
+            put(JsonKey.BATCH_ID, batchId)
+            put(JsonKey.COURSE_ID, courseId)
+            put(JsonKey.CONTENTS, contentsMap)
+            put(CourseJsonKey.ACTION, InstructionEvent.BATCH_USER_STATE_UPDATE.getAction)
+            put(CourseJsonKey.ITERATION, 1.asInstanceOf[AnyRef])
+        }})
+        val topic = ProjectUtil.getConfigValue("kafka_topics_instruction")
+        logger.info(requestContext,"LearnerStateUpdateActor: pushInstructionEvent :Event Data " + data + " and Topic " + topic)
+        if(pushToKafkaEnabled)
+            publishInstructionEvent(userId, topic, data)
+    }
+
+    @throws[Exception]
+    protected def publishInstructionEvent(userId: String, topic: String, data: java.util.Map[String, AnyRef]): Unit =
+        InstructionEventGenerator.pushInstructionEvent(userId, topic, data)
+}
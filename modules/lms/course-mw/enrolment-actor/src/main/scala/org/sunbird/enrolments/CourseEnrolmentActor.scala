@@ -348,7 +348,7 @@ class CourseEnrolmentActor @Inject()(@Named("course-batch-notification-actor") c
 
     def getUpdatedStatus(enrolmentData: UserCourses) = {
         val query = "{\"request\": {\"filters\":{\"identifier\": \"" + enrolmentData.getCourseId +"\", \"status\": \"Live\"},\"fields\": [\"leafNodesCount\"],\"limit\": 1}}"
-        val result = ContentUtil.searchContent(query, CourseBatchSchedulerUtil.headerMap)
+        val result = ContentUtil.searchContent(query, CourseBatchSchedulerUtil.getHeaders())
         val contents = result.getOrDefault(JsonKey.CONTENTS, new java.util.ArrayList[java.util.Map[String, AnyRef]]).asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
         val leafNodesCount = {if(CollectionUtils.isNotEmpty(contents)){
             contents.get(0).asInstanceOf[java.util.Map[String, AnyRef]].getOrDefault(JsonKey.LEAF_NODE_COUNT, 0.asInstanceOf[AnyRef]).asInstanceOf[Int]
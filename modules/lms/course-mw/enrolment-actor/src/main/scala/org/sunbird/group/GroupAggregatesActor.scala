@@ -2,6 +2,7 @@ package org.sunbird.group
 
 import org.apache.commons.collections.CollectionUtils
 import org.apache.commons.lang3.StringUtils
+import org.apache.commons.lang3.math.NumberUtils
 import org.sunbird.actor.base.BaseActor
 import org.sunbird.cache.util.RedisCacheUtil
 import org.sunbird.exception.ProjectCommonException
@@ -14,9 +15,13 @@ import org.sunbird.learner.actors.group.dao.impl.GroupDaoImpl
 import org.sunbird.learner.util.JsonUtil
 
 import java.text.MessageFormat
+import java.util.concurrent.{Executors, TimeUnit, TimeoutException}
+import java.util.concurrent.atomic.{AtomicBoolean, AtomicInteger}
 import javax.inject.Inject
 import scala.collection.JavaConverters._
 import scala.collection.convert.ImplicitConversions._
+import scala.concurrent.duration.Duration
+import scala.concurrent.{Await, ExecutionContext, Future}
 
 class GroupAggregatesActor @Inject()(implicit val cacheUtil: RedisCacheUtil) extends BaseActor {
 
@@ -25,6 +30,9 @@ class GroupAggregatesActor @Inject()(implicit val cacheUtil: RedisCacheUtil) ext
   var groupAggregatesUtil: GroupAggregatesUtil = new GroupAggregatesUtil()
   val ttl: Int = if(StringUtils.isNotBlank(ProjectUtil.getConfigValue("group_activity_agg_cache_ttl"))) (ProjectUtil.getConfigValue("group_activity_agg_cache_ttl")).toInt else 60
   val isCacheEnabled = if(StringUtils.isNotBlank(ProjectUtil.getConfigValue("group_activity_agg_cache_enable"))) (ProjectUtil.getConfigValue("group_activity_agg_cache_enable")).toBoolean else false
+  val readBatchSize: Int = Math.max(1, NumberUtils.toInt(ProjectUtil.getConfigValue("group_activity_agg_read_batch_size"), 50))
+  val readsPerRequest: Int = Math.max(1, NumberUtils.toInt(ProjectUtil.getConfigValue("group_activity_agg_reads_per_request"), 2))
+  val readTimeoutMillis: Long = NumberUtils.toLong(ProjectUtil.getConfigValue("group_activity_agg_read_timeout_ms"), 10000)
 
   @throws[Throwable]
   override def onReceive(request: Request): Unit = {
@@ -35,8 +43,8 @@ class GroupAggregatesActor @Inject()(implicit val cacheUtil: RedisCacheUtil) ext
     }
   }
 
-  def getCacheKey(groupId: String, activityId: String, activityType: String) = {
-    groupId + ":" + activityId + ":" + activityType + ":activity-agg"
+  def getMemberCacheKey(activityId: String, activityType: String, userId: String) = {
+    activityId + ":" + activityType + ":" + userId + ":member-activity-agg"
   }
 
   def getGroupActivityAggregates(request: Request): Unit = {
@@ -45,24 +53,15 @@ class GroupAggregatesActor @Inject()(implicit val cacheUtil: RedisCacheUtil) ext
     val activityType: String = request.get(SunbirdKey.ACTIVITYTYPE).asInstanceOf[String]
 
     try {
-      val key = getCacheKey(groupId, activityId, activityType)
-      val cachedResponse = if(isCacheEnabled) getResponseFromRedis(key) else null
-      val response = {
-        if(null != cachedResponse) {
-          logger.info(request.getRequestContext, "GroupAggregatesAction:getGroupActivityAggregates:cachedResponse :: Data fetched from cache.")
-          cachedResponse
-        } else {
-          val groupMembers: java.util.List[java.util.Map[String, AnyRef]] = getGroupMember(groupId, request)
-          logger.info(request.getRequestContext, "GroupAggregatesAction:getGroupActivityAggregates:groupMembers :: Group: " + groupId + ":: Member Count : " + groupMembers.size())
-          val usersAggs: java.util.List[java.util.Map[String, AnyRef]] = if (CollectionUtils.isEmpty(groupMembers)) {
-            groupMembers
-          } else {
-            getUserActivityAggs(activityId, "Course", groupMembers, request.getRequestContext)
-          }
-          logger.info(request.getRequestContext, "GroupAggregatesAction:getGroupActivityAggregates:usersAggs :: Group: " + groupId + " :: Activity : " + activityId + " :: Enrolled Member Count: " + usersAggs.size())
-          populateResponse(groupId, activityId, activityType, usersAggs, groupMembers)
-        }
+      val groupMembers: java.util.List[java.util.Map[String, AnyRef]] = getGroupMember(groupId, request)
+      logger.info(request.getRequestContext, "GroupAggregatesAction:getGroupActivityAggregates:groupMembers :: Group: " + groupId + ":: Member Count : " + groupMembers.size())
+      val usersAggs: java.util.List[java.util.Map[String, AnyRef]] = if (CollectionUtils.isEmpty(groupMembers)) {
+        groupMembers
+      } else {
+        getUserActivityAggs(activityId, "Course", groupMembers, request.getRequestContext)
       }
+      logger.info(request.getRequestContext, "GroupAggregatesAction:getGroupActivityAggregates:usersAggs :: Group: " + groupId + " :: Activity : " + activityId + " :: Enrolled Member Count: " + usersAggs.size())
+      val response = populateResponse(groupId, activityId, activityType, usersAggs, groupMembers)
       sender().tell(response, self)
     } catch {
       case e: Exception =>
@@ -71,25 +70,77 @@ class GroupAggregatesActor @Inject()(implicit val cacheUtil: RedisCacheUtil) ext
     }
   }
 
+  def getGroupMembersCacheKey(groupId: String) = {
+    groupId + ":group-members"
+  }
+
+  /**
+   * Returns the members of the group. When caching is enabled, the member list is cached for
+   * group_activity_agg_cache_ttl seconds, so repeated requests do not call the group service; a
+   * member added to or removed from the group shows once the entry expires, as it did when the
+   * whole aggregate response was cached.
+   */
   def getGroupMember(groupId: String, request: Request): java.util.List[java.util.Map[String, AnyRef]] = {
-    val readResponse = groupAggregatesUtil.getGroupDetails(groupId, request)
-    val members: java.util.List[java.util.Map[String, AnyRef]] = readResponse.get("members").asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
+    val cachedMembers = if (isCacheEnabled) getGroupMembersFromRedis(groupId) else null
+    if (null != cachedMembers) {
+      cachedMembers
+    } else {
+      val readResponse = groupAggregatesUtil.getGroupDetails(groupId, request)
+      val members: java.util.List[java.util.Map[String, AnyRef]] = readResponse.get("members").asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
 
-    if (CollectionUtils.isEmpty(members)){
-      logger.info(request.getRequestContext, "GroupAggregatesAction:getGroupMember:: No member associated with the group: " + groupId)
-      new java.util.ArrayList[java.util.Map[String, AnyRef]]
-    }else
-      members
+      if (CollectionUtils.isEmpty(members)){
+        logger.info(request.getRequestContext, "GroupAggregatesAction:getGroupMember:: No member associated with the group: " + groupId)
+        new java.util.ArrayList[java.util.Map[String, AnyRef]]
+      }else {
+        if (isCacheEnabled) setGroupMembersToRedis(groupId, members)
+        members
+      }
+    }
+  }
+
+  def getGroupMembersFromRedis(groupId: String): java.util.List[java.util.Map[String, AnyRef]] = {
+    try {
+      val members = cacheUtil.get(getGroupMembersCacheKey(groupId), null, 0)
+      if (StringUtils.isBlank(members)) null
+      else JsonUtil.deserialize(members, classOf[java.util.List[java.util.Map[String, AnyRef]]])
+    } catch {
+      case e: Exception =>
+        logger.error("GroupAggregatesAction:getGroupMembersFromRedis:: Exception thrown:: ", e)
+        null
+    }
   }
 
+  def setGroupMembersToRedis(groupId: String, members: java.util.List[java.util.Map[String, AnyRef]]): Unit = {
+    try {
+      cacheUtil.set(getGroupMembersCacheKey(groupId), JsonUtil.serialize(members), ttl)
+    } catch {
+      case e: Exception =>
+        logger.error("GroupAggregatesAction:setGroupMembersToRedis:: Exception thrown:: ", e)
+    }
+  }
+
+  /**
+   * Returns the activity aggregates of the enrolled members. When caching is enabled, the aggregates
+   * are cached per member, so only the members missing from the cache are read from the database.
+   * A cached aggregate is dropped early only by the assessment aggregator, after it updates the
+   * member's assessment aggregates; any other change shows once the entry expires after
+   * group_activity_agg_cache_ttl seconds. Members are read in batches of group_activity_agg_read_batch_size,
+   * which keeps each query on a few partitions instead of one IN query across every member of the group.
+   * A request runs at most group_activity_agg_reads_per_request batches at a time on the shared read pool,
+   * so a large group does not hold back the others, and stops reading once group_activity_agg_read_timeout_ms
+   * has passed.
+   */
   def getUserActivityAggs(activityId: String, activityType: String, memberList: java.util.List[java.util.Map[String, AnyRef]], requestContext: RequestContext): java.util.List[java.util.Map[String, AnyRef]]= {
-    val userList: java.util.List[String] = memberList.asScala.toList.map(obj => obj.getOrDefault("userId", "").asInstanceOf[String]).filter(x => StringUtils.isNotBlank(x)).asJava
-    val userActivityDBResponse = groupDao.read(activityId, activityType, userList, requestContext)
-    if (userActivityDBResponse.getResponseCode != ResponseCode.OK)
-      ProjectCommonException.throwServerErrorException(ResponseCode.erroCallGrooupAPI,
-        MessageFormat.format(ResponseCode.erroCallGrooupAPI.getErrorMessage()))
+    val userList: List[String] = memberList.asScala.toList.map(obj => obj.getOrDefault("userId", "").asInstanceOf[String]).filter(x => StringUtils.isNotBlank(x)).distinct
+    val cachedAggs: Map[String, List[java.util.Map[String, AnyRef]]] = if (isCacheEnabled) getMemberAggsFromRedis(activityId, activityType, userList) else Map()
+    val uncachedUsers = userList.filterNot(cachedAggs.contains)
+    val readAggs: Map[String, List[java.util.Map[String, AnyRef]]] = readUserActivityAggs(activityId, activityType, uncachedUsers, requestContext)
+    logger.info(requestContext, "GroupAggregatesAction:getUserActivityAggs :: Activity : " + activityId + " :: Cached Member Count : " + cachedAggs.size + " :: Read Member Count : " + uncachedUsers.size)
+    if (isCacheEnabled && uncachedUsers.nonEmpty) {
+      setMemberAggsToRedis(activityId, activityType, uncachedUsers.map(userId => userId -> readAggs.getOrElse(userId, List())).toMap)
+    }
 
-    val enrolledGroupMemberList: java.util.List[java.util.Map[String, AnyRef]] = userActivityDBResponse.get(SunbirdKey.RESPONSE).asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
+    val enrolledGroupMemberList: java.util.List[java.util.Map[String, AnyRef]] = userList.flatMap(userId => cachedAggs.getOrElse(userId, readAggs.getOrElse(userId, List()))).asJava
     if (CollectionUtils.isEmpty(enrolledGroupMemberList)){
       logger.info(requestContext, "GroupAggregatesAction:getGroupMember:: No member enrolled to the activity: " + activityId)
       new java.util.ArrayList[java.util.Map[String, AnyRef]]
@@ -97,14 +148,78 @@ class GroupAggregatesActor @Inject()(implicit val cacheUtil: RedisCacheUtil) ext
       enrolledGroupMemberList
   }
 
+  def readUserActivityAggs(activityId: String, activityType: String, userList: List[String], requestContext: RequestContext): Map[String, List[java.util.Map[String, AnyRef]]] = {
+    implicit val ec: ExecutionContext = GroupAggregatesActor.readContext
+    val deadline = System.currentTimeMillis() + readTimeoutMillis
+    val timedOut = new AtomicBoolean(false)
+    // Iterators keep the next wave of batches from being submitted until the previous one has finished.
+    val records = userList.grouped(readBatchSize).grouped(readsPerRequest).flatMap(batches => {
+      val reads = batches.map(users => Future {
+        if (timedOut.get()) List() else readUserActivityAggBatch(activityId, activityType, users, requestContext)
+      })
+      try {
+        Await.result(Future.sequence(reads), Duration(Math.max(0L, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS))
+      } catch {
+        case e: TimeoutException =>
+          timedOut.set(true)
+          logger.error(requestContext, "GroupAggregatesAction:readUserActivityAggs:: Read of " + userList.size + " members timed out after " + readTimeoutMillis + " ms", e)
+          throw new ProjectCommonException(ResponseCode.erroCallGrooupAPI,
+            MessageFormat.format(ResponseCode.erroCallGrooupAPI.getErrorMessage()), ResponseCode.SERVER_ERROR.getResponseCode)
+      }
+    }).toList
+    records.flatten.groupBy(record => record.get("user_id").asInstanceOf[String])
+  }
+
+  def readUserActivityAggBatch(activityId: String, activityType: String, users: List[String], requestContext: RequestContext): List[java.util.Map[String, AnyRef]] = {
+    val userActivityDBResponse = groupDao.read(activityId, activityType, users.asJava, requestContext)
+    if (userActivityDBResponse.getResponseCode != ResponseCode.OK)
+      ProjectCommonException.throwServerErrorException(ResponseCode.erroCallGrooupAPI,
+        MessageFormat.format(ResponseCode.erroCallGrooupAPI.getErrorMessage()))
+    val records = userActivityDBResponse.get(SunbirdKey.RESPONSE).asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
+    if (null == records) List() else records.asScala.toList
+  }
+
+  def getMemberAggsFromRedis(activityId: String, activityType: String, userList: List[String]): Map[String, List[java.util.Map[String, AnyRef]]] = {
+    try {
+      userList.zip(cacheUtil.getMultiple(userList.map(userId => getMemberCacheKey(activityId, activityType, userId))))
+        .filter(entry => StringUtils.isNotBlank(entry._2))
+        .map(entry => entry._1 -> JsonUtil.deserialize(entry._2, classOf[java.util.List[java.util.Map[String, AnyRef]]]).asScala.toList.map(toActivityAgg)).toMap
+    } catch {
+      case e: Exception =>
+        logger.error("GroupAggregatesAction:getMemberAggsFromRedis:: Exception thrown:: ", e)
+        Map()
+    }
+  }
+
+  def setMemberAggsToRedis(activityId: String, activityType: String, memberAggs: Map[String, List[java.util.Map[String, AnyRef]]]): Unit = {
+    try {
+      cacheUtil.setMultiple(memberAggs.map(entry => getMemberCacheKey(activityId, activityType, entry._1) -> JsonUtil.serialize(entry._2.asJava)), ttl)
+    } catch {
+      case e: Exception =>
+        logger.error("GroupAggregatesAction:setMemberAggsToRedis:: Exception thrown:: ", e)
+    }
+  }
+
+  /** Restores the last updated dates of a cached aggregate, which are serialized as epoch millis. */
+  private def toActivityAgg(cached: java.util.Map[String, AnyRef]): java.util.Map[String, AnyRef] = {
+    val aggLastUpdated = cached.get("agg_last_updated").asInstanceOf[java.util.Map[String, AnyRef]]
+    if (null != aggLastUpdated) {
+      cached.put("agg_last_updated", aggLastUpdated.asScala.map(e => e._1 -> (e._2 match {
+        case time: Number => new java.util.Date(time.longValue())
+        case value => value
+      })).asJava)
+    }
+    cached
+  }
+
   def populateResponse(groupId: String, activityId: String, activityType: String, usersAggs: java.util.List[java.util.Map[String, AnyRef]], groupMembers: java.util.List[java.util.Map[String, AnyRef]]): Response= {
     val finalMemberList = if(CollectionUtils.isNotEmpty(usersAggs) && CollectionUtils.isNotEmpty(groupMembers)) {
       val membersMap = groupMembers.asScala.toList.filter(x => StringUtils.isNotBlank(x.getOrDefault("userId", "").asInstanceOf[String]))
         .map(obj => (obj.getOrDefault("userId", "").asInstanceOf[String], obj)).toMap.asJava
       usersAggs.map(dbAggRecord => {
-        val aggregates: Map[String, Double] = dbAggRecord.get("aggregates").asInstanceOf[java.util.Map[String, AnyRef]].asScala.map(e => e._1 -> e._2.asInstanceOf[java.lang.Double].toDouble).toMap
+        val aggregates: Map[String, Double] = dbAggRecord.get("aggregates").asInstanceOf[java.util.Map[String, AnyRef]].asScala.map(e => e._1 -> e._2.asInstanceOf[Number].doubleValue()).toMap
         val aggs: Map[String, Double] = if (null != dbAggRecord.get("agg")) {
-          dbAggRecord.get("agg").asInstanceOf[java.util.Map[String, AnyRef]].asScala.map(e => e._1 -> e._2.asInstanceOf[java.lang.Integer].toDouble).toMap
+          dbAggRecord.get("agg").asInstanceOf[java.util.Map[String, AnyRef]].asScala.map(e => e._1 -> e._2.asInstanceOf[Number].doubleValue()).toMap
         } else {
           Map[String, Double]()
         }
@@ -126,9 +241,6 @@ class GroupAggregatesActor @Inject()(implicit val cacheUtil: RedisCacheUtil) ext
     val activityAggs = List(Map("metric" -> "enrolmentCount", "lastUpdatedOn" -> activityLastUpdatedOn, "value" -> enrolmentCount).asJava).asJava
     response.put("activity", Map("id" -> activityId, "type" -> activityType, "agg" -> activityAggs).asJava)
     response.put("members", finalMemberList.asJava)
-    if (finalMemberList.nonEmpty && finalMemberList.size > 0) {
-      setResponseToRedis(getCacheKey(groupId, activityId, activityType), response)
-    }
     response
   }
 
@@ -140,20 +252,19 @@ class GroupAggregatesActor @Inject()(implicit val cacheUtil: RedisCacheUtil) ext
     } else System.currentTimeMillis
   }
 
-  def setResponseToRedis(key: String, response: Response) :Unit = {
-    cacheUtil.set( key, JsonUtil.serialize(response), ttl)
-  }
-
-  def getResponseFromRedis(key: String): Response = {
-    val responseString = cacheUtil.get(key)
-    if (responseString != null) {
-      JsonUtil.deserialize(responseString, classOf[Response])
-    } else null
-  }
-
   def setInstanceVariable(groupAggregateUtil: GroupAggregatesUtil, groupDao: GroupDaoImpl) = {
     this.groupAggregatesUtil = groupAggregateUtil
     this.groupDao = groupDao
     this
   }
-}
\ No newline at end of file
+}
+
+object GroupAggregatesActor {
+  private val threadCount = new AtomicInteger()
+  lazy val readContext: ExecutionContext = ExecutionContext.fromExecutor(Executors.newFixedThreadPool(
+    Math.max(1, NumberUtils.toInt(ProjectUtil.getConfigValue("group_activity_agg_read_parallelism"), 8)), runnable => {
+      val thread = new Thread(runnable, "group-activity-agg-read-" + threadCount.incrementAndGet())
+      thread.setDaemon(true)
+      thread
+    }))
+}
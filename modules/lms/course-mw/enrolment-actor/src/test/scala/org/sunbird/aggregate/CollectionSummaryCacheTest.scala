@@ -0,0 +1,98 @@
+package org.sunbird.aggregate
+
+import okhttp3.mockwebserver.{MockResponse, MockWebServer}
+import org.scalatest.{BeforeAndAfterEach, FlatSpec, Matchers}
+import org.sunbird.cache.util.RedisCacheUtil
+
+import java.util
+import java.util.concurrent.{ConcurrentHashMap, TimeUnit}
+import scala.concurrent.duration._
+import scala.concurrent.{Await, ExecutionContext, Future}
+
+class CollectionSummaryCacheTest extends FlatSpec with Matchers with BeforeAndAfterEach {
+
+  implicit val ec: ExecutionContext = ExecutionContext.global
+  var server: MockWebServer = _
+
+  class InMemoryCacheUtil extends RedisCacheUtil {
+    val values = new ConcurrentHashMap[String, String]()
+
+    override def get(key: String, handler: String => String, ttl: Int): String = values.get(key)
+
+    override def set(key: String, data: String, ttl: Int): Unit = values.put(key, data)
+  }
+
+  override def beforeEach(): Unit = {
+    server = new MockWebServer()
+    server.start()
+  }
+
+  override def afterEach(): Unit = server.shutdown()
+
+  def druidClient(timeoutMillis: Long): DruidClient =
+    new DruidClient(server.url("/druid/v2/").toString, timeoutMillis, DruidClient.newHttpClient(1000, 2))
+
+  def load(client: DruidClient): () => Future[util.Map[String, AnyRef]] = () => client.query("{}").map(body => {
+    val result = new util.HashMap[String, AnyRef]()
+    result.put("metrics", body)
+    result.put("lastUpdatedOn", System.currentTimeMillis().asInstanceOf[AnyRef])
+    result
+  })
+
+  "CollectionSummaryCache" should "send one query for concurrent misses of a key" in {
+    server.enqueue(new MockResponse().setBody("[]").setBodyDelay(200, TimeUnit.MILLISECONDS))
+    val cacheUtil = new InMemoryCacheUtil()
+    val cache = new CollectionSummaryCache(cacheUtil, 60, 300)
+    val client = druidClient(5000)
+
+    val results = (1 to 5).map(_ => cache.get("bmetrics:batch", load(client)))
+    Await.result(Future.sequence(results), 5.seconds).foreach(result => result.get("metrics") should be("[]"))
+
+    server.getRequestCount should be(1)
+    cache.snapshot().get("collapsed") should be(4L)
+    cacheUtil.values.containsKey("bmetrics:batch") should be(true)
+  }
+
+  "CollectionSummaryCache" should "return a stale value and refresh it with one query" in {
+    server.enqueue(new MockResponse().setBody("[\"fresh\"]").setBodyDelay(200, TimeUnit.MILLISECONDS))
+    val cacheUtil = new InMemoryCacheUtil()
+    cacheUtil.values.put("bmetrics:batch", "{\"metrics\":\"stale\",\"lastUpdatedOn\":1000}")
+    val cache = new CollectionSummaryCache(cacheUtil, 60, 300)
+    val client = druidClient(5000)
+
+    val stale = (1 to 3).map(_ => Await.result(cache.get("bmetrics:batch", load(client)), 1.second))
+    stale.foreach(result => result.get("metrics") should be("stale"))
+
+    server.takeRequest(5, TimeUnit.SECONDS) should not be (null)
+    Thread.sleep(500)
+    server.getRequestCount should be(1)
+    cacheUtil.values.get("bmetrics:batch") should include("fresh")
+    cache.snapshot().get("staleHits") should be(3L)
+  }
+
+  "CollectionSummaryCache" should "fail a load when druid does not answer in time" in {
+    server.enqueue(new MockResponse().setBody("[]").setHeadersDelay(2, TimeUnit.SECONDS))
+    val cacheUtil = new InMemoryCacheUtil()
+    val cache = new CollectionSummaryCache(cacheUtil, 60, 300)
+
+    an[java.net.http.HttpTimeoutException] should be thrownBy
+      Await.result(cache.get("bmetrics:batch", load(druidClient(200))), 5.seconds)
+    Thread.sleep(100)
+    cacheUtil.values.isEmpty should be(true)
+    cache.snapshot().get("failedLoads") should be(1L)
+    cache.snapshot().get("inFlight") should be(0)
+  }
+
+  "CollectionSummaryCache" should "fail a load when druid sends the headers but not the body in time" in {
+    server.enqueue(new MockResponse().setBody("[]").setBodyDelay(2, TimeUnit.SECONDS))
+    val cacheUtil = new InMemoryCacheUtil()
+    val cache = new CollectionSummaryCache(cacheUtil, 60, 300)
+
+    an[java.net.http.HttpTimeoutException] should be thrownBy
+      Await.result(cache.get("bmetrics:batch", load(druidClient(200))), 5.seconds)
+    Thread.sleep(100)
+    cacheUtil.values.isEmpty should be(true)
+    cache.snapshot().get("failedLoads") should be(1L)
+    cache.snapshot().get("inFlight") should be(0)
+  }
+}
@@ -0,0 +1,174 @@
+package org.sunbird.enrolments
+
+import org.scalamock.scalatest.MockFactory
+import org.scalatest.{FlatSpec, Matchers}
+import org.sunbird.cassandra.CassandraOperation
+import org.sunbird.request.RequestContext
+import org.sunbird.response.Response
+
+import scala.collection.JavaConverters._
+import scala.collection.mutable
+
+class ContentConsumptionWriteBehindTest extends FlatSpec with Matchers with MockFactory {
+
+    /** In-memory stand-in for the consumption and enrolment tables, counting Cassandra round trips. */
+    class ConsumptionTable {
+        val rows = mutable.LinkedHashMap[String, java.util.Map[String, AnyRef]]()
+        var roundTrips = 0
+        var failingWrites = 0
+
+        def cassandraOperation(): CassandraOperation = {
+            val cassandraOperation = stub[CassandraOperation]
+            (cassandraOperation.getRecords(_: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String], _: RequestContext)).when(*, *, *, *, *).onCall((_: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.List[String], _: RequestContext) => {
+                roundTrips += 1
+                val response = new Response()
+                response.put("response", new java.util.ArrayList[java.util.Map[String, AnyRef]](rows.values.map(row => {
+                    val stored = new java.util.HashMap[String, AnyRef]()
+                    stored.put("contentId", contentId(row))
+                    stored.put("status", row.get("status"))
+                    stored.put("progress", row.get("progress"))
+                    stored: java.util.Map[String, AnyRef]
+                }).toList.asJava))
+                response
+            })
+            (cassandraOperation.batchInsertUnlogged(_: String, _: String, _: java.util.List[java.util.Map[String, AnyRef]], _: RequestContext)).when(*, *, *, *).onCall((_: String, _: String, records: java.util.List[java.util.Map[String, AnyRef]], _: RequestContext) => {
+                roundTrips += 1
+                if (failingWrites > 0) {
+                    failingWrites -= 1
+                    throw new RuntimeException("Cassandra unavailable")
+                }
+                records.asScala.foreach(record => rows.put(contentId(record), record))
+                new Response()
+            })
+            (cassandraOperation.batchInsertLogged(_: String, _: String, _: java.util.List[java.util.Map[String, AnyRef]], _: RequestContext)).when(*, *, *, *).onCall((_: String, _: String, records: java.util.List[java.util.Map[String, AnyRef]], _: RequestContext) => {
+                roundTrips += 1
+                records.asScala.foreach(record => rows.put(contentId(record), record))
+                new Response()
+            })
+            (cassandraOperation.updateRecordV2(_: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.Map[String, AnyRef], _: Boolean, _: RequestContext)).when(*, *, *, *, *, *).onCall((_: String, _: String, _: java.util.Map[String, AnyRef], _: java.util.Map[String, AnyRef], _: Boolean, _: RequestContext) => {
+                roundTrips += 1
+                new Response()
+            })
+            cassandraOperation
+        }
+
+        private def contentId(record: java.util.Map[String, AnyRef]): String =
+            Option(record.get("contentid")).getOrElse(record.get("contentId")).asInstanceOf[String]
+    }
+
+    val key = ConsumptionKey("user1", "do_123", "0123")
+
+    "write-behind" should "write coalesced heartbeats with fewer round trips than synchronous writes" in {
+        val syncTable = new ConsumptionTable
+        val syncWriter = new ContentConsumptionWriter(syncTable.cassandraOperation(), false)
+        heartbeats().foreach(heartbeat => syncWriter.write(key.userId, key.batchId, key.courseId, List(heartbeat), false, new RequestContext()))
+
+        val table = new ConsumptionTable
+        val writeBehind = new ContentConsumptionWriteBehind(new ContentConsumptionWriter(table.cassandraOperation(), false), 10)
+        heartbeats().foreach(heartbeat => writeBehind.submit(key, List(heartbeat), new RequestContext()) should be (true))
+        writeBehind.flush()
+
+        syncTable.roundTrips should be (3 * heartbeats().size)
+        table.roundTrips should be (3)
+        table.rows.size should be (1)
+        table.rows("do_456").get("progress") should be (60)
+        table.rows("do_456").get("status") should be (1)
+        writeBehind.snapshot().get("coalesced") should be (heartbeats().size - 1L)
+        writeBehind.snapshot().get("flushedPartitions") should be (1L)
+    }
+
+    "write-behind" should "keep a content completed once a heartbeat completes it" in {
+        val table = new ConsumptionTable
+        val writeBehind = new ContentConsumptionWriteBehind(new ContentConsumptionWriter(table.cassandraOperation(), false), 10)
+        writeBehind.submit(key, List(heartbeat(40, 1)), new RequestContext())
+        writeBehind.submit(key, List(heartbeat(100, 2)), new RequestContext())
+        writeBehind.submit(key, List(heartbeat(10, 1)), new RequestContext())
+        writeBehind.flush()
+        table.rows("do_456").get("status") should be (2)
+        table.rows("do_456").get("progress") should be (100)
+
+        writeBehind.submit(key, List(heartbeat(20, 1)), new RequestContext())
+        writeBehind.flush()
+        table.rows("do_456").get("status") should be (2)
+        table.rows("do_456").get("progress") should be (100)
+    }
+
+    "write-behind" should "reject new partitions when the buffer is full" in {
+        val table = new ConsumptionTable
+        val writeBehind = new ContentConsumptionWriteBehind(new ContentConsumptionWriter(table.cassandraOperation(), false), 1)
+        writeBehind.submit(key, List(heartbeat(10, 1)), new RequestContext()) should be (true)
+        writeBehind.submit(ConsumptionKey("user2", "do_123", "0123"), List(heartbeat(10, 1)), new RequestContext()) should be (false)
+        writeBehind.submit(key, List(heartbeat(20, 1)), new RequestContext()) should be (true)
+        writeBehind.snapshot().get("rejected") should be (1L)
+        table.roundTrips should be (0)
+    }
+
+    "write-behind" should "write a partition which failed to be written with the updates received since" in {
+        val table = new ConsumptionTable
+        table.failingWrites = 1
+        val writeBehind = new ContentConsumptionWriteBehind(new ContentConsumptionWriter(table.cassandraOperation(), false), 10, 3)
+        writeBehind.submit(key, List(graded(heartbeat(40, 1), "B")), new RequestContext())
+        writeBehind.flush()
+        table.rows.size should be (0)
+        writeBehind.snapshot().get("failedPartitions") should be (1L)
+        writeBehind.snapshot().get("pending") should be (1)
+
+        writeBehind.submit(key, List(graded(heartbeat(70, 1), "A")), new RequestContext())
+        writeBehind.flush()
+        table.rows("do_456").get("progress") should be (70)
+        table.rows("do_456").get("grade") should be ("A")
+        writeBehind.snapshot().get("flushedPartitions") should be (1L)
+        writeBehind.snapshot().get("pending") should be (0)
+    }
+
+    "write-behind" should "publish the instruction event of a partition once, after it is written" in {
+        val table = new ConsumptionTable
+        table.failingWrites = 1
+        val published = mutable.ListBuffer[java.util.Map[String, AnyRef]]()
+        val writer = new ContentConsumptionWriter(table.cassandraOperation(), true) {
+            override protected def publishInstructionEvent(userId: String, topic: String, data: java.util.Map[String, AnyRef]): Unit = {
+                table.rows.size should be (1)
+                published += data
+            }
+        }
+        val writeBehind = new ContentConsumptionWriteBehind(writer, 10, 3)
+        writeBehind.submit(key, List(heartbeat(40, 1)), new RequestContext())
+        writeBehind.flush()
+        published.size should be (0)
+
+        writeBehind.flush()
+        published.size should be (1)
+        writeBehind.snapshot().get("flushedPartitions") should be (1L)
+    }
+
+    "write-behind" should "drop a partition after max attempts even when it keeps receiving updates" in {
+        val table = new ConsumptionTable
+        table.failingWrites = 3
+        val writeBehind = new ContentConsumptionWriteBehind(new ContentConsumptionWriter(table.cassandraOperation(), false), 10, 2)
+        writeBehind.submit(key, List(heartbeat(40, 1)), new RequestContext())
+        writeBehind.flush()
+        writeBehind.submit(key, List(heartbeat(50, 1)), new RequestContext())
+        writeBehind.flush()
+        writeBehind.flush()
+        writeBehind.snapshot().get("failedPartitions") should be (2L)
+        writeBehind.snapshot().get("droppedPartitions") should be (1L)
+        writeBehind.snapshot().get("pending") should be (0)
+        table.rows.size should be (0)
+    }
+
+    def graded(heartbeat: java.util.Map[String, AnyRef], grade: String): java.util.Map[String, AnyRef] = {
+        heartbeat.put("grade", grade)
+        heartbeat
+    }
+
+    def heartbeats(): List[java.util.Map[String, AnyRef]] = List(heartbeat(10, 1), heartbeat(60, 1), heartbeat(30, 1), heartbeat(50, 1))
+
+    def heartbeat(progress: Int, status: Int): java.util.Map[String, AnyRef] = new java.util.HashMap[String, AnyRef]() {{
+        put("userId", "user1")
+        put("courseId", "do_123")
+        put("batchId", "0123")
+        put("contentId", "do_456")
+        put("progress", progress.asInstanceOf[AnyRef])
+        put("status", status.asInstanceOf[AnyRef])
+    }}
+}
@@ -26,7 +26,6 @@ class GroupAggregatesActorTest extends FlatSpec with Matchers with MockFactory {
   "GroupAggregatesActor" should "return sucess" in {
     (groupAggregateUtil.getGroupDetails(_:String, _:Request)).expects(*,*).returns(validRestResponse())
     (groupDao.read(_: String, _: String, _: java.util.List[String], _: RequestContext)).expects(*,*,*,* ).returns(validDBResponse())
-      (cacheUtil.set(_: String, _: String, _: Int)).expects(*, *, *).once()
     val response = callActor(getGroupActivityAggRequest(), Props(new GroupAggregatesActor()(cacheUtil).setInstanceVariable(groupAggregateUtil, groupDao)))
 
     assert(response.getResponseCode == ResponseCode.OK)
@@ -35,7 +34,6 @@ class GroupAggregatesActorTest extends FlatSpec with Matchers with MockFactory {
   "GroupAggregatesActor with null aggr field" should "return success" in {
     (groupAggregateUtil.getGroupDetails(_:String, _:Request)).expects(*,*).returns(validRestResponse())
     (groupDao.read(_: String, _: String, _: java.util.List[String], _: RequestContext)).expects(*,*,*,* ).returns(validDBResponseWithNullAggr())
-    (cacheUtil.set(_: String, _: String, _: Int)).expects(*, *, *).once()
     val response = callActor(getGroupActivityAggRequest(), Props(new GroupAggregatesActor()(cacheUtil).setInstanceVariable(groupAggregateUtil, groupDao)))
 
     assert(response.getResponseCode == ResponseCode.OK)
@@ -44,12 +42,45 @@ class GroupAggregatesActorTest extends FlatSpec with Matchers with MockFactory {
   "GroupAggregatesActor with missing attemptCount last updated" should "return success" in {
     (groupAggregateUtil.getGroupDetails(_:String, _:Request)).expects(*,*).returns(validRestResponse())
     (groupDao.read(_: String, _: String, _: java.util.List[String], _: RequestContext)).expects(*,*,*,* ).returns(validDBResponseWithMissingAttemptsCountLastUpdated())
-    (cacheUtil.set(_: String, _: String, _: Int)).expects(*, *, *).once()
     val response = callActor(getGroupActivityAggRequest(), Props(new GroupAggregatesActor()(cacheUtil).setInstanceVariable(groupAggregateUtil, groupDao)))
 
     assert(response.getResponseCode == ResponseCode.OK)
   }
 
+  "GroupAggregatesActor with member cache" should "read only the members missing from cache" in {
+    val cachedAgg = "[{\"user_id\":\"user1\",\"agg\":{\"completedCount\":1},\"aggregates\":{\"completedCount\":1.0},\"agg_last_updated\":{\"completedCount\":1595506598142}}]"
+    (cacheUtil.get(_: String, _: String => String, _: Int)).expects("groupid:group-members", *, *).returns(null)
+    (groupAggregateUtil.getGroupDetails(_:String, _:Request)).expects(*,*).returns(validRestResponseWithMembers("user1", "user2"))
+    (cacheUtil.set(_: String, _: String, _: Int)).expects("groupid:group-members", *, *).once()
+    (cacheUtil.getMultiple(_: List[String])).expects(List("activityid:Course:user1:member-activity-agg", "activityid:Course:user2:member-activity-agg")).returns(List(cachedAgg, null))
+    (groupDao.read(_: String, _: String, _: java.util.List[String], _: RequestContext)).expects("activityid", "Course", java.util.Arrays.asList("user2"), *).returns(blankDBResponse())
+    (cacheUtil.setMultiple(_: Map[String, String], _: Int)).expects(Map("activityid:Course:user2:member-activity-agg" -> "[]"), *).once()
+    val response = callActor(getGroupActivityAggRequest(), Props(new GroupAggregatesActor()(cacheUtil) {
+      override val isCacheEnabled = true
+    }.setInstanceVariable(groupAggregateUtil, groupDao)))
+
+    assert(response.getResponseCode == ResponseCode.OK)
+    val members = response.get("members").asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
+    assert(members.size() == 1)
+    assert(members.get(0).get("userId") == "user1")
+  }
+
+  "GroupAggregatesActor with member cache" should "not call the group service when the members are cached" in {
+    val cachedMembers = "[{\"userId\":\"user1\",\"role\":\"member\",\"status\":\"active\",\"name\":\"user1\",\"createdBy\":\"userBy\"}]"
+    val cachedAgg = "[{\"user_id\":\"user1\",\"agg\":{\"completedCount\":1},\"aggregates\":{\"completedCount\":1.0},\"agg_last_updated\":{\"completedCount\":1595506598142}}]"
+    (cacheUtil.get(_: String, _: String => String, _: Int)).expects("groupid:group-members", *, *).returns(cachedMembers)
+    (groupAggregateUtil.getGroupDetails(_:String, _:Request)).expects(*,*).never()
+    (cacheUtil.getMultiple(_: List[String])).expects(List("activityid:Course:user1:member-activity-agg")).returns(List(cachedAgg))
+    val response = callActor(getGroupActivityAggRequest(), Props(new GroupAggregatesActor()(cacheUtil) {
+      override val isCacheEnabled = true
+    }.setInstanceVariable(groupAggregateUtil, groupDao)))
+
+    assert(response.getResponseCode == ResponseCode.OK)
+    val members = response.get("members").asInstanceOf[java.util.List[java.util.Map[String, AnyRef]]]
+    assert(members.size() == 1)
+    assert(members.get(0).get("userId") == "user1")
+  }
+
   "GroupAggregatesActor" should "return member not found" in {
     (groupAggregateUtil.getGroupDetails(_:String, _:Request)).expects(*,*).returns(blankRestResponse())
     val response = callActor(getGroupActivityAggRequest(), Props(new GroupAggregatesActor()(cacheUtil).setInstanceVariable(groupAggregateUtil, groupDao)))
@@ -70,6 +101,32 @@ class GroupAggregatesActorTest extends FlatSpec with Matchers with MockFactory {
     assert(response.getResponseCode == ResponseCode.SERVER_ERROR.getResponseCode)
   }
 
+  "GroupAggregatesActor" should "return server error when the member reads time out" in {
+    (groupAggregateUtil.getGroupDetails(_:String, _:Request)).expects(*,*).returns(validRestResponse())
+    (groupDao.read(_: String, _: String, _: java.util.List[String], _: RequestContext)).expects(*,*,*,*).onCall((_: String, _: String, _: java.util.List[String], _: RequestContext) => {
+      Thread.sleep(1000)
+      validDBResponse()
+    })
+    val response = callActorForFailure(getGroupActivityAggRequest(), Props(new GroupAggregatesActor()(cacheUtil) {
+      override val readTimeoutMillis = 100L
+    }.setInstanceVariable(groupAggregateUtil, groupDao)))
+    assert(response.getResponseCode == ResponseCode.SERVER_ERROR.getResponseCode)
+  }
+
+  "GroupAggregatesActor" should "stop reading the remaining batches after the member reads time out" in {
+    (groupAggregateUtil.getGroupDetails(_:String, _:Request)).expects(*,*).returns(validRestResponseWithMembers("user1", "user2", "user3"))
+    (groupDao.read(_: String, _: String, _: java.util.List[String], _: RequestContext)).expects(*,*,*,*).onCall((_: String, _: String, _: java.util.List[String], _: RequestContext) => {
+      Thread.sleep(1000)
+      validDBResponse()
+    }).once()
+    val response = callActorForFailure(getGroupActivityAggRequest(), Props(new GroupAggregatesActor()(cacheUtil) {
+      override val readTimeoutMillis = 100L
+      override val readBatchSize = 1
+      override val readsPerRequest = 1
+    }.setInstanceVariable(groupAggregateUtil, groupDao)))
+    assert(response.getResponseCode == ResponseCode.SERVER_ERROR.getResponseCode)
+  }
+
   "GroupAggregatesActor" should "return wrong operation" in {
     val response = callActorForFailure(getGroupActivityAggWrongRequest(), Props(new GroupAggregatesActor()(cacheUtil).setInstanceVariable(groupAggregateUtil, groupDao)))
     assert(response.getResponseCode == ResponseCode.CLIENT_ERROR.getResponseCode)
@@ -97,6 +154,20 @@ class GroupAggregatesActorTest extends FlatSpec with Matchers with MockFactory {
     response
   }
 
+  def validRestResponseWithMembers(userIds: String*): Response = {
+    val response = new Response()
+    val members = new java.util.ArrayList[java.util.Map[String, AnyRef]]
+    userIds.foreach(userId => members.add(new java.util.HashMap[String, AnyRef] {{
+      put("userId", userId)
+      put("role", "member")
+      put("status", "active")
+      put("name", userId)
+      put("createdBy", "userBy")
+    }}))
+    response.put("members", members)
+    response
+  }
+
   def blankDBResponse(): Response = {
     val response = new Response()
     response
@@ -10,14 +10,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import modules.ApplicationStart;
 import modules.OnRequestHandler;
 import org.apache.commons.lang3.StringUtils;
+import org.sunbird.actor.admission.AdmissionController;
+import org.sunbird.actor.admission.AdmissionRejectedException;
+import org.sunbird.actor.metrics.ActorMetrics;
 import org.sunbird.exception.ProjectCommonException;
+import org.sunbird.response.JsonResultUtil;
 import org.sunbird.response.Response;
 import org.sunbird.response.ResponseParams;
 import org.sunbird.operations.lms.ActorOperations;
 import org.sunbird.keys.JsonKey;
 import org.sunbird.logging.LoggerUtil;
 import org.sunbird.common.ProjectUtil;
-import org.sunbird.request.HeaderParam;
 import org.sunbird.request.RequestContext;
 import org.sunbird.response.ResponseCode;
 import org.sunbird.keys.SunbirdKey;
@@ -33,13 +36,13 @@ import util.Attrs;
 import util.AuthenticationHelper;
 
 import java.io.File;
-import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
@@ -343,19 +346,7 @@ public class BaseController extends Controller {
     ResponseCode code = ResponseCode.getResponse(ResponseCode.success.getErrorCode());
     code.setResponseCode(ResponseCode.OK.getResponseCode());
     response.setParams(createResponseParamObj(code, null, request.attrs().getOptional(Attrs.REQUEST_ID).orElse(null)));
-
-    String value = null;
-    try {
-      if (response.getResult() != null) {
-        String json = new ObjectMapper().writeValueAsString(response.getResult());
-        value = getResponseSize(json);
-      }
-    } catch (Exception e) {
-      value = "0.0";
-    }
-
-    return Results.ok(Json.toJson(response))
-        .withHeader(HeaderParam.X_Response_Length.getName(), value);
+    return JsonResultUtil.createJsonResult(response);
   }
 
   /**
@@ -564,11 +555,29 @@ public class BaseController extends Controller {
           }
         };
 
+    long admittedAt;
+    try {
+      admittedAt = AdmissionController.acquire(operation);
+    } catch (AdmissionRejectedException e) {
+      return CompletableFuture.completedFuture(
+          createCommonExceptionResponse(e, httpReq)
+              .withHeader(
+                  Http.HeaderNames.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds())));
+    }
+    ActorMetrics.onEnqueue(request);
+    CompletionStage<Object> future;
     if (actorRef instanceof ActorRef) {
-      return PatternsCS.ask((ActorRef) actorRef, request, timeout).thenApply(function);
+      future = PatternsCS.ask((ActorRef) actorRef, request, timeout);
     } else {
-      return PatternsCS.ask((ActorSelection) actorRef, request, timeout).thenApply(function);
+      future = PatternsCS.ask((ActorSelection) actorRef, request, timeout);
     }
+    return future
+        .whenComplete(
+            (result, failure) -> {
+              AdmissionController.release(operation, admittedAt, failure);
+              ActorMetrics.onAskComplete(operation, failure);
+            })
+        .thenApply(function);
   }
 
   /**
@@ -747,13 +756,6 @@ public class BaseController extends Controller {
         .orElse("");
   }
 
-  public static String getResponseSize(String response) throws UnsupportedEncodingException {
-    if (StringUtils.isNotBlank(response)) {
-      return response.getBytes("UTF-8").length + "";
-    }
-    return "0.0";
-  }
-
   public org.sunbird.request.Request transformUserId(
       org.sunbird.request.Request request) {
     if (request != null && request.getRequest() != null) {
@@ -333,9 +333,28 @@ public class CourseBatchRequestValidator extends BaseRequestValidator {
                 MessageFormat.format(ResponseCode.invalidRequestData.getErrorMessage(), JsonKey.BATCH),
                 ResponseCode.CLIENT_ERROR.getResponseCode());
     }
+    Map<String, Object> batch = (Map<String, Object>) request.getRequest().get(JsonKey.BATCH);
     validateParam(
-            (String) ((Map<String, Object>)request.getRequest().get(JsonKey.BATCH)).get(JsonKey.BATCH_ID),
+            (String) batch.get(JsonKey.BATCH_ID),
             ResponseCode.mandatoryParamsMissing,
             JsonKey.BATCH_ID);
+    Object limit = batch.get(JsonKey.LIMIT);
+    if (batch.containsKey(JsonKey.LIMIT) && !(limit instanceof Integer && (Integer) limit > 0)) {
+      throw new ProjectCommonException(
+          ResponseCode.invalidParameterValue,
+          ResponseCode.invalidParameterValue.getErrorMessage(),
+          ResponseCode.CLIENT_ERROR.getResponseCode(),
+          String.valueOf(limit),
+          JsonKey.LIMIT);
+    }
+    Object cursor = batch.get(JsonKey.CURSOR);
+    if (null != cursor && !(cursor instanceof String)) {
+      throw new ProjectCommonException(
+          ResponseCode.invalidParameterValue,
+          ResponseCode.invalidParameterValue.getErrorMessage(),
+          ResponseCode.CLIENT_ERROR.getResponseCode(),
+          String.valueOf(cursor),
+          JsonKey.CURSOR);
+    }
   }
 }
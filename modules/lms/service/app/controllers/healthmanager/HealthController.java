@@ -3,6 +3,14 @@ package controllers.healthmanager;
 
 import org.apache.pekko.actor.ActorRef;
 import controllers.BaseController;
+import org.sunbird.actor.metrics.ActorMetrics;
+import org.sunbird.aggregate.CollectionSummaryCache;
+import org.sunbird.assessment.service.ContentMetadataCache;
+import org.sunbird.enrolments.ContentConsumptionWriteBehind;
+import org.sunbird.http.HttpDestinations;
+import org.sunbird.learner.actors.coursebatch.service.UserCoursesEsSyncer;
+import org.sunbird.learner.util.DataCacheHandler;
+import org.sunbird.learner.util.PageSectionSearchCache;
 import org.sunbird.response.Response;
 import org.sunbird.operations.lms.ActorOperations;
 import org.sunbird.keys.JsonKey;
@@ -77,4 +85,32 @@ public class HealthController extends BaseController {
     return CompletableFuture.completedFuture(ok(play.libs.Json.toJson(response)));
   }
 
+  /**
+   * This method will return the per-operation actor metrics (mailbox delay, processing time,
+   * timeouts, queued and in-flight counts), the outbound HTTP destination metrics, the content
+   * consumption write-behind metrics, the page cache, page section search cache, collection summary
+   * cache and assessment content metadata cache metrics, and the queue depth and lag of the user
+   * courses ES sync recorded by this service instance.
+   *
+   * @return CompletionStage<Result>
+   */
+  public CompletionStage<Result> getServiceMetrics(Http.Request httpRequest) {
+    Response response = new Response();
+    response.getResult().put(JsonKey.RESPONSE, ActorMetrics.snapshot());
+    response.getResult().put(JsonKey.OUTBOUND, HttpDestinations.snapshot());
+    response.getResult()
+        .put(JsonKey.CONTENT_CONSUMPTION_WRITE_BEHIND, ContentConsumptionWriteBehind.metrics());
+    response.getResult()
+        .put(JsonKey.PAGE_SECTION_SEARCH_CACHE, PageSectionSearchCache.getInstance().snapshot());
+    response.getResult().put(JsonKey.PAGE_CACHE, DataCacheHandler.snapshot());
+    response.getResult().put(JsonKey.COLLECTION_SUMMARY_CACHE, CollectionSummaryCache.metrics());
+    response.getResult().put(JsonKey.ASSESSMENT_CONTENT_CACHE, ContentMetadataCache.metrics());
+    response.getResult()
+        .put(JsonKey.USER_COURSES_ES_SYNC, UserCoursesEsSyncer.getInstance().snapshot());
+    response.setId("learner.service.metrics.api");
+    response.setVer(getApiVersion(httpRequest.path()));
+    response.setTs(httpRequest.attrs().getOptional(Attrs.REQUEST_ID).orElse(null));
+    return CompletableFuture.completedFuture(ok(play.libs.Json.toJson(response)));
+  }
+
 }
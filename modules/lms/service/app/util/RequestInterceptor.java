@@ -34,6 +34,7 @@ public class RequestInterceptor {
     apiHeaderIgnoreMap.put("/v1/page/assemble", var);
     apiHeaderIgnoreMap.put("/v1/dial/assemble", var);
     apiHeaderIgnoreMap.put("/health", var);
+    apiHeaderIgnoreMap.put("/service/metrics", var);
     apiHeaderIgnoreMap.put("/v1/data/sync", var);
     apiHeaderIgnoreMap.put("/v1/content/link", var);
     apiHeaderIgnoreMap.put("/v1/content/unlink", var);
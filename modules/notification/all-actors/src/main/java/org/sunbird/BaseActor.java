@@ -1,6 +1,7 @@
 package org.sunbird;
 
 import org.apache.pekko.actor.UntypedAbstractActor;
+import org.sunbird.actor.metrics.ActorMetrics;
 import org.sunbird.exception.ActorServiceException;
 import org.sunbird.exception.BaseException;
 import org.sunbird.message.IResponseMessage;
@@ -26,12 +27,17 @@ public abstract class BaseActor extends UntypedAbstractActor {
             Request request = (Request) message;
             String operation = request.getOperation();
             logger.info(request.getContext(),"BaseActor:onReceive called for operation:" + operation);
+            long startTime = ActorMetrics.onStart(request);
+            boolean failed = false;
             try {
                 logger.info(request.getContext(),String.format("%s:%s:method started at %s",this.getClass().getSimpleName(),operation,System.currentTimeMillis()));
                 onReceive(request);
                 logger.info(request.getContext(),String.format("%s:%s:method ended at %s",this.getClass().getSimpleName(),operation,System.currentTimeMillis()));
             } catch (Exception e) {
+                failed = true;
                 onReceiveException(operation, e);
+            } finally {
+                ActorMetrics.onComplete(operation, startTime, failed);
             }
         } else {
             logger.info("BaseActor: onReceive called with invalid type of request.");
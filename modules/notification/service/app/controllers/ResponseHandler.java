@@ -1,16 +1,17 @@
 package controllers;
 
+import org.apache.pekko.actor.ActorRef;
 import org.apache.pekko.pattern.Patterns;
 import org.apache.pekko.util.Timeout;
-import com.fasterxml.jackson.databind.JsonNode;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
+import org.sunbird.actor.metrics.ActorMetrics;
 import org.sunbird.exception.BaseException;
 import org.sunbird.request.Request;
+import org.sunbird.response.JsonResultUtil;
 import org.sunbird.response.Response;
 import org.sunbird.response.ResponseFactory;
 import play.libs.Json;
@@ -57,8 +58,12 @@ public class ResponseHandler extends BaseController {
                 };
 
         Timeout t = new Timeout(Long.valueOf(request.getTimeout()), TimeUnit.SECONDS);
-        Future<Object> future = Patterns.ask(getActorRef(operation), request, t);
-        return FutureConverters.asJava(future).thenApplyAsync(fn);
+        ActorRef actorRef = getActorRef(operation);
+        ActorMetrics.onEnqueue(request);
+        Future<Object> future = Patterns.ask(actorRef, request, t);
+        return FutureConverters.asJava(future)
+                .whenComplete((result, failure) -> ActorMetrics.onAskComplete(operation, failure))
+                .thenApplyAsync(fn);
     }
 
     /**
@@ -127,13 +132,11 @@ public class ResponseHandler extends BaseController {
      */
     public static Result handleSuccessResponse(
           Request request,  Response response, HttpExecutionContext httpExecutionContext, play.mvc.Http.Request req) {
-        CompletableFuture<JsonNode> future = new CompletableFuture<>();
         String apiId = getApiId(req.path());
         response.setId(apiId);
         response.setVer("v1");
         response.setTs(System.currentTimeMillis() + "");
-        future.complete(Json.toJson(response));
-        return Results.ok(Json.toJson(response));
+        return JsonResultUtil.createJsonResult(response);
     }
 
     public static String getApiId(String uri) {
@@ -6,7 +6,10 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 import controllers.ResponseHandler;
+import org.sunbird.actor.metrics.ActorMetrics;
 import org.sunbird.exception.BaseException;
+import org.sunbird.http.HttpDestinations;
+import org.sunbird.keys.JsonKey;
 import org.sunbird.message.IResponseMessage;
 import org.sunbird.message.ResponseCode;
 import org.sunbird.request.Request;
@@ -71,6 +74,20 @@ public class HealthController extends BaseController {
       }
   }
 
+  /**
+   * This action method returns the per-operation actor metrics (mailbox delay, processing time,
+   * timeouts, queued and in-flight counts) and the outbound HTTP destination metrics recorded by
+   * this service instance.
+   *
+   * @return a CompletableFuture of success response
+   */
+  public CompletionStage<Result> getServiceMetrics(Http.Request req) {
+    Response response = new Response();
+    response.put(RESPONSE, ActorMetrics.snapshot());
+    response.put(JsonKey.OUTBOUND, HttpDestinations.snapshot());
+    return CompletableFuture.completedFuture(ok(play.libs.Json.toJson(response)));
+  }
+
   private void handleSigTerm() throws BaseException {
     if (signalHandler.isShuttingDown()) {
       logger.info(
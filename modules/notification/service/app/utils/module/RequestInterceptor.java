@@ -24,6 +24,7 @@ public class RequestInterceptor {
         apiHeaderIgnoreMap.put("/v1/notification/send",var);
         apiHeaderIgnoreMap.put("/health", var);
         apiHeaderIgnoreMap.put("/service/health",var);
+        apiHeaderIgnoreMap.put("/service/metrics",var);
     }
 
     /**
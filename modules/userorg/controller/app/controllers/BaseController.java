@@ -13,7 +13,6 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.File;
-import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -31,6 +30,9 @@ import modules.OnRequestHandler;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpHeaders;
+import org.sunbird.actor.admission.AdmissionController;
+import org.sunbird.actor.admission.AdmissionRejectedException;
+import org.sunbird.actor.metrics.ActorMetrics;
 import org.sunbird.exception.ProjectCommonException;
 import org.sunbird.response.ResponseCode;
 import org.sunbird.keys.JsonKey;
@@ -39,6 +41,7 @@ import org.sunbird.operations.userorg.ActorOperations;
 import org.sunbird.request.HeaderParam;
 import org.sunbird.request.RequestContext;
 import org.sunbird.response.ClientErrorResponse;
+import org.sunbird.response.JsonResultUtil;
 import org.sunbird.response.Response;
 import org.sunbird.telemetry.util.TelemetryEvents;
 import org.sunbird.telemetry.util.TelemetryWriter;
@@ -402,18 +405,8 @@ public class BaseController extends Controller {
     code.setResponseCode(ResponseCode.OK.getResponseCode());
     response.setParams(
         createResponseParamObj(code, null, Common.getFromRequest(request, Attrs.X_REQUEST_ID)));
-    String value = null;
-    try {
-      if (response.getResult() != null) {
-        String json = new ObjectMapper().writeValueAsString(response.getResult());
-        value = getResponseSize(json);
-      }
-    } catch (Exception e) {
-      value = "0.0";
-    }
     logTelemetry(response, request);
-    return Results.ok(Json.toJson(response))
-        .withHeader(HeaderParam.X_Response_Length.getName(), value);
+    return JsonResultUtil.createJsonResult(response);
   }
 
   /**
@@ -751,13 +744,44 @@ public class BaseController extends Controller {
           }
         };
 
+    long admittedAt;
+    try {
+      admittedAt = AdmissionController.acquire(request.getOperation());
+    } catch (AdmissionRejectedException e) {
+      onRequestRejected(request);
+      printExitLogOnFailure(request, e);
+      Result reslt =
+          createCommonExceptionResponse(
+              new ProjectCommonException(
+                  e, ActorOperations.getOperationCodeByActorOperation(request.getOperation())),
+              httpReq);
+      return CompletableFuture.completedFuture(
+          reslt.withHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds())));
+    }
+    ActorMetrics.onEnqueue(request);
+    CompletionStage<Object> future;
     if (actorRef instanceof ActorRef) {
-      return PatternsCS.ask((ActorRef) actorRef, request, timeout).thenApplyAsync(function);
+      future = PatternsCS.ask((ActorRef) actorRef, request, timeout);
     } else {
-      return PatternsCS.ask((ActorSelection) actorRef, request, timeout).thenApplyAsync(function);
+      future = PatternsCS.ask((ActorSelection) actorRef, request, timeout);
     }
+    return future
+        .whenComplete(
+            (result, failure) -> {
+              AdmissionController.release(request.getOperation(), admittedAt, failure);
+              ActorMetrics.onAskComplete(request.getOperation(), failure);
+            })
+        .thenApplyAsync(function);
   }
 
+  /**
+   * Called when a request is rejected by admission control without being sent to its actor, so
+   * that controllers can release what they prepared for the actor.
+   *
+   * @param request The rejected request.
+   */
+  protected void onRequestRejected(org.sunbird.request.Request request) {}
+
   private Result createClientErrorResponse(Request httpReq, ClientErrorResponse response) {
     ClientErrorResponse errorResponse = response;
     generateExceptionTelemetry(httpReq, errorResponse.getException());
@@ -979,13 +1003,6 @@ public class BaseController extends Controller {
     }
   }
 
-  public static String getResponseSize(String response) throws UnsupportedEncodingException {
-    if (StringUtils.isNotBlank(response)) {
-      return response.getBytes("UTF-8").length + "";
-    }
-    return "0.0";
-  }
-
   public org.sunbird.request.Request transformUserId(org.sunbird.request.Request request) {
     if (request != null && request.getRequest() != null) {
       String id = (String) request.getRequest().get(JsonKey.ID);
@@ -3,10 +3,11 @@ package controllers.bulkapimanagement;
 import com.fasterxml.jackson.databind.JsonNode;
 import controllers.BaseController;
 import java.io.ByteArrayInputStream;
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,67 +49,109 @@ public class BaseBulkUploadController extends BaseController {
     org.sunbird.request.Request reqObj = new org.sunbird.request.Request();
     Map<String, Object> map = new HashMap<>();
     byte[] byteArray = null;
+    Path filePath = null;
     MultipartFormData body = httpRequest.body().asMultipartFormData();
     Map<String, String[]> formUrlEncodeddata = httpRequest.body().asFormUrlEncoded();
     JsonNode requestData = httpRequest.body().asJson();
-    if (body != null) {
-      Map<String, String[]> data = body.asFormUrlEncoded();
-      for (Entry<String, String[]> entry : data.entrySet()) {
-        map.put(entry.getKey(), entry.getValue()[0]);
-      }
-      List<FilePart<Files.TemporaryFile>> filePart = body.getFiles();
-      if (filePart != null && !filePart.isEmpty()) {
-        InputStream is = new FileInputStream(filePart.get(0).getRef().path().toFile());
+    try {
+      if (body != null) {
+        Map<String, String[]> data = body.asFormUrlEncoded();
+        for (Entry<String, String[]> entry : data.entrySet()) {
+          map.put(entry.getKey(), entry.getValue()[0]);
+        }
+        List<FilePart<Files.TemporaryFile>> filePart = body.getFiles();
+        if (filePart != null && !filePart.isEmpty()) {
+          // The actor streams the upload after responding, so it is moved out of the temporary
+          // file that Play deletes with the request; the actor deletes it once read.
+          filePath = File.createTempFile("bulk-upload-", ".csv").toPath();
+          filePart.get(0).getRef().moveFileTo(filePath, true);
+        }
+      } else if (null != formUrlEncodeddata) {
+        // read data as string from request
+        for (Entry<String, String[]> entry : formUrlEncodeddata.entrySet()) {
+          map.put(entry.getKey(), entry.getValue()[0]);
+        }
+        InputStream is =
+            new ByteArrayInputStream(
+                ((String) map.get(JsonKey.DATA)).getBytes(StandardCharsets.UTF_8));
+        byteArray = IOUtils.toByteArray(is);
+      } else if (null != requestData) {
+        reqObj =
+            (org.sunbird.request.Request)
+                mapper.RequestMapper.mapRequest(
+                    httpRequest.body().asJson(), org.sunbird.request.Request.class);
+        InputStream is =
+            new ByteArrayInputStream(
+                ((String) reqObj.getRequest().get(JsonKey.DATA))
+                    .getBytes(StandardCharsets.UTF_8));
         byteArray = IOUtils.toByteArray(is);
+        reqObj.getRequest().remove(JsonKey.DATA);
+        map.putAll(reqObj.getRequest());
+      } else {
+        throw new ProjectCommonException(
+            ResponseCode.invalidRequestData,
+            ResponseCode.invalidRequestData.getErrorMessage(),
+            ResponseCode.CLIENT_ERROR.getResponseCode());
       }
-    } else if (null != formUrlEncodeddata) {
-      // read data as string from request
-      for (Entry<String, String[]> entry : formUrlEncodeddata.entrySet()) {
-        map.put(entry.getKey(), entry.getValue()[0]);
+      if (validateFileZize) {
+        Long fileSize =
+            filePath != null ? Long.valueOf(filePath.toFile().length()) : getLength(byteArray);
+        checkFileSize(fileSize, objectType);
       }
-      InputStream is =
-          new ByteArrayInputStream(
-              ((String) map.get(JsonKey.DATA)).getBytes(StandardCharsets.UTF_8));
-      byteArray = IOUtils.toByteArray(is);
-    } else if (null != requestData) {
-      reqObj =
-          (org.sunbird.request.Request)
-              mapper.RequestMapper.mapRequest(
-                  httpRequest.body().asJson(), org.sunbird.request.Request.class);
-      InputStream is =
-          new ByteArrayInputStream(
-              ((String) reqObj.getRequest().get(JsonKey.DATA)).getBytes(StandardCharsets.UTF_8));
-      byteArray = IOUtils.toByteArray(is);
-      reqObj.getRequest().remove(JsonKey.DATA);
-      map.putAll(reqObj.getRequest());
-    } else {
-      throw new ProjectCommonException(
-          ResponseCode.invalidRequestData,
-          ResponseCode.invalidRequestData.getErrorMessage(),
-          ResponseCode.CLIENT_ERROR.getResponseCode());
-    }
-    if (validateFileZize) {
-      checkFileSize(byteArray, objectType);
-    }
-    if (map.get("operation") != null) {
-      reqObj.setOperation("userBulkSelfDeclared");
-    } else {
-      reqObj.setOperation(operation);
+      if (map.get("operation") != null) {
+        reqObj.setOperation("userBulkSelfDeclared");
+      } else {
+        reqObj.setOperation(operation);
+      }
+      reqObj.setRequestId(Common.getFromRequest(httpRequest, Attrs.X_REQUEST_ID));
+      reqObj.setEnv(getEnvironment());
+      map.put(JsonKey.OBJECT_TYPE, objectType);
+      map.put(JsonKey.CREATED_BY, Common.getFromRequest(httpRequest, Attrs.USER_ID));
+      if (filePath != null) {
+        map.put(JsonKey.FILE_PATH, filePath.toString());
+      } else {
+        map.put(JsonKey.FILE, byteArray);
+      }
+    } catch (IOException | RuntimeException e) {
+      // The file is only handed to the actor with a valid request; delete it otherwise
+      if (filePath != null) {
+        filePath.toFile().delete();
+      }
+      throw e;
     }
-    reqObj.setRequestId(Common.getFromRequest(httpRequest, Attrs.X_REQUEST_ID));
-    reqObj.setEnv(getEnvironment());
-    map.put(JsonKey.OBJECT_TYPE, objectType);
-    map.put(JsonKey.CREATED_BY, Common.getFromRequest(httpRequest, Attrs.USER_ID));
-    map.put(JsonKey.FILE, byteArray);
     HashMap<String, Object> innerMap = new HashMap<>();
     innerMap.put(JsonKey.DATA, map);
     reqObj.setRequest(innerMap);
     return reqObj;
   }
 
-  private void checkFileSize(byte[] byteArray, String objectType) {
+  /**
+   * Deletes the file spooled to disk for a bulk upload request which is not handed to its actor.
+   * Once the actor has received the request, it deletes the file itself.
+   *
+   * @param request Bulk upload request.
+   */
+  @SuppressWarnings("unchecked")
+  protected void deleteUploadedFile(org.sunbird.request.Request request) {
+    Map<String, Object> data = (Map<String, Object>) request.getRequest().get(JsonKey.DATA);
+    String filePath = data == null ? null : (String) data.get(JsonKey.FILE_PATH);
+    if (StringUtils.isNotBlank(filePath)) {
+      new File(filePath).delete();
+    }
+  }
+
+  @Override
+  protected void onRequestRejected(org.sunbird.request.Request request) {
+    deleteUploadedFile(request);
+  }
+
+  private Long getLength(byte[] byteArray) {
+    return byteArray == null ? null : Long.valueOf(byteArray.length);
+  }
+
+  private void checkFileSize(Long fileSize, String objectType) {
 
-    if (null == byteArray) {
+    if (null == fileSize) {
       throw new ProjectCommonException(
           ResponseCode.missingFileAttachment,
           ResponseCode.missingFileAttachment.getErrorMessage(),
@@ -129,7 +172,7 @@ public class BaseBulkUploadController extends BaseController {
       filesize = filesize * MB_to_byte;
       // converting MB to bytes
       Long allowedSize = filesize.longValue();
-      if (byteArray.length > allowedSize) {
+      if (fileSize > allowedSize) {
         throw new ProjectCommonException(
             ResponseCode.sizeLimitExceed,
             ResponseCode.sizeLimitExceed.getErrorMessage(),
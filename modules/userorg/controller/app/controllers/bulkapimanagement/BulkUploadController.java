@@ -42,6 +42,7 @@ public class BulkUploadController extends BaseBulkUploadController {
       setContextAndPrintEntryLog(httpRequest, request);
       return actorResponseHandler(userBulkUploadActor, request, timeout, null, httpRequest);
     } catch (Exception e) {
+      deleteUploadedFile(request);
       ProjectCommonException exception =
           new ProjectCommonException(
               (ProjectCommonException) e,
@@ -60,6 +61,7 @@ public class BulkUploadController extends BaseBulkUploadController {
       setContextAndPrintEntryLog(httpRequest, request);
       return actorResponseHandler(orgBulkUploadActor, request, timeout, null, httpRequest);
     } catch (Exception e) {
+      deleteUploadedFile(request);
       ProjectCommonException exception =
           new ProjectCommonException(
               (ProjectCommonException) e,
@@ -80,6 +82,7 @@ public class BulkUploadController extends BaseBulkUploadController {
           (Map<String, Object>) request.getRequest().get(JsonKey.DATA), JsonKey.LOCATION_TYPE);
       return actorResponseHandler(locationBulkUploadActor, request, timeout, null, httpRequest);
     } catch (Exception e) {
+      deleteUploadedFile(request);
       ProjectCommonException exception =
           new ProjectCommonException(
               (ProjectCommonException) e,
@@ -12,11 +12,14 @@ import java.util.concurrent.CompletionStage;
 import javax.inject.Inject;
 import javax.inject.Named;
 import modules.SignalHandler;
+import org.sunbird.actor.metrics.ActorMetrics;
+import org.sunbird.http.HttpDestinations;
 import org.sunbird.exception.ProjectCommonException;
 import org.sunbird.response.ResponseCode;
 import org.sunbird.keys.JsonKey;
 import org.sunbird.operations.userorg.ActorOperations;
 import org.sunbird.request.Request;
+import org.sunbird.service.user.UserRoleEsUpdater;
 import org.sunbird.response.Response;
 import org.sunbird.common.ProjectUtil;
 import play.mvc.Http;
@@ -118,6 +121,24 @@ public class HealthController extends BaseController {
     }
   }
 
+  /**
+   * This method will return the per-operation actor metrics (mailbox delay, processing time,
+   * timeouts, queued and in-flight counts), the outbound HTTP destination metrics and the user role
+   * ES sync metrics recorded by this service instance.
+   *
+   * @return CompletionStage<Result>
+   */
+  public CompletionStage<Result> serviceMetrics(Http.Request httpRequest) {
+    Response response = new Response();
+    response.getResult().put(JsonKey.RESPONSE, ActorMetrics.snapshot());
+    response.getResult().put(JsonKey.OUTBOUND, HttpDestinations.snapshot());
+    response.getResult().put(JsonKey.USER_ROLE_ES_SYNC, UserRoleEsUpdater.getInstance().snapshot());
+    response.setId("api.userorg.service.metrics");
+    response.setVer(getApiVersion(httpRequest.path()));
+    response.setTs(Common.getFromRequest(httpRequest, Attrs.X_REQUEST_ID));
+    return CompletableFuture.completedFuture(ok(play.libs.Json.toJson(response)));
+  }
+
   private void handleSigTerm() {
     if (signalHandler.isShuttingDown()) {
       throw new ProjectCommonException(
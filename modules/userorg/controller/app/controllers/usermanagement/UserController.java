@@ -252,6 +252,26 @@ public class UserController extends BaseController {
         httpRequest);
   }
 
+  public CompletionStage<Result> getUsersByIds(Http.Request httpRequest) {
+    final boolean isPrivate = httpRequest.path().contains(JsonKey.PRIVATE);
+    final String requestedFields = httpRequest.getQueryString(JsonKey.FIELDS);
+    return handleRequest(
+        userProfileReadActor,
+        ActorOperations.GET_USER_PROFILES.getValue(),
+        httpRequest.body().asJson(),
+        req -> {
+          Request request = (Request) req;
+          new UserGetRequestValidator().validateGetUsersByIdsRequest(request);
+          request.getContext().put(JsonKey.FIELDS, requestedFields);
+          request.getContext().put(JsonKey.PRIVATE, isPrivate);
+          return null;
+        },
+        null,
+        null,
+        true,
+        httpRequest);
+  }
+
   public CompletionStage<Result> getUserByLoginId(Http.Request httpRequest) {
     final String requestedFields = httpRequest.getQueryString(JsonKey.FIELDS);
 
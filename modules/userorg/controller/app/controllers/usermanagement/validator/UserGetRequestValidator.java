@@ -1,5 +1,6 @@
 package controllers.usermanagement.validator;
 
+import java.util.List;
 import org.sunbird.exception.ProjectCommonException;
 import org.sunbird.response.ResponseCode;
 import org.sunbird.keys.JsonKey;
@@ -13,6 +14,7 @@ import util.CaptchaHelper;
 
 public class UserGetRequestValidator extends BaseRequestValidator {
   private static LoggerUtil logger = new LoggerUtil(UserGetRequestValidator.class);
+  private static final String USER_BULK_READ_MAX_IDS = "sunbird_user_bulk_read_max_ids";
 
   public void validateGetUserByKeyRequest(Request request) {
     String key = (String) request.getRequest().get(JsonKey.KEY);
@@ -51,6 +53,18 @@ public class UserGetRequestValidator extends BaseRequestValidator {
     }
   }
 
+  public void validateGetUsersByIdsRequest(Request request) {
+    if (request.getRequest().get(JsonKey.USER_IDs) == null) {
+      validateParam(null, ResponseCode.mandatoryParamsMissing, JsonKey.USER_IDs);
+    }
+    validateListParam(request.getRequest(), JsonKey.USER_IDs);
+    List<Object> userIds = (List<Object>) request.getRequest().get(JsonKey.USER_IDs);
+    if (userIds.isEmpty()) {
+      validateParam(null, ResponseCode.mandatoryParamsMissing, JsonKey.USER_IDs);
+    }
+    validateListParamSize(USER_BULK_READ_MAX_IDS, JsonKey.USER_IDs, userIds);
+  }
+
   public void validateGetUserByKeyRequestaWithCaptcha(Request request, Http.Request httpRequest) {
     String captcha = httpRequest.getQueryString(JsonKey.CAPTCHA_RESPONSE);
     logger.debug("QueryString: " + httpRequest.uri());
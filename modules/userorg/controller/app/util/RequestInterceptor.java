@@ -61,6 +61,7 @@ public class RequestInterceptor {
     apiHeaderIgnoreMap.put("/v1/org/search", var);
     apiHeaderIgnoreMap.put("/service/health", var);
     apiHeaderIgnoreMap.put("/health", var);
+    apiHeaderIgnoreMap.put("/service/metrics", var);
     apiHeaderIgnoreMap.put("/v1/notification/email", var);
     apiHeaderIgnoreMap.put("/v2/notification", var);
     apiHeaderIgnoreMap.put("/v1/data/sync", var);
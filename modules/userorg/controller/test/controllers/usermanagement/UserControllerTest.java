@@ -367,6 +367,26 @@ public class UserControllerTest extends BaseApplicationTest {
     assertEquals(ResponseCode.CLIENT_ERROR.name(), TestUtil.getResponseCode(result));
   }
 
+  @Test
+  public void testGetUsersByIdsSuccess() {
+    Map<String, Object> innerMap = new HashMap<>();
+    innerMap.put(JsonKey.USER_IDs, Arrays.asList(userId));
+    Map<String, Object> reqMap = new HashMap<>();
+    reqMap.put(JsonKey.REQUEST, innerMap);
+    Result result = performTest("/private/user/v1/read/bulk", "POST", reqMap);
+    assertEquals(getResponseCode(result), ResponseCode.SUCCESS.name());
+    assertTrue(getResponseStatus(result) == 200);
+  }
+
+  @Test
+  public void testGetUsersByIdsFailureWithoutUserIds() {
+    Map<String, Object> reqMap = new HashMap<>();
+    reqMap.put(JsonKey.REQUEST, new HashMap<>());
+    Result result = performTest("/private/user/v1/read/bulk", "POST", reqMap);
+    assertEquals(getResponseCode(result), ResponseCode.CLIENT_ERROR.name());
+    assertTrue(getResponseStatus(result) == 400);
+  }
+
   @Test
   public void testSearchUserFailureWithoutFilter() {
     Result result = performTest("/v1/user/getuser", "POST", searchUserRequest(null));
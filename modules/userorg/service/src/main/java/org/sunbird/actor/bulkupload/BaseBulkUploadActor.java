@@ -7,6 +7,7 @@ import com.opencsv.CSVReaderBuilder;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.sunbird.actor.core.BaseActor;
 import org.sunbird.dao.bulkupload.BulkUploadProcessDao;
 import org.sunbird.dao.bulkupload.BulkUploadProcessTaskDao;
@@ -24,11 +25,15 @@ import org.sunbird.service.user.UserService;
 import org.sunbird.service.user.impl.UserServiceImpl;
 import org.sunbird.common.ProjectUtil;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.sql.Timestamp;
 import java.util.*;
 
@@ -142,25 +147,87 @@ public abstract class BaseBulkUploadActor extends BaseActor {
     return csvReader;
   }
 
-  public List<String[]> parseCsvFile(byte[] byteArray, String processId, RequestContext context)
+  /**
+   * Method to get CsvReader for the file of a bulk upload request. Files uploaded as multipart form
+   * data are spooled to disk by the controller and passed as {@link JsonKey#FILE_PATH}, and are read
+   * as a stream so that only the current line is held in memory. Content sent inline in the request
+   * body is passed as a byte array in {@link JsonKey#FILE}.
+   *
+   * @param req Request data containing the file.
+   * @return CsvReader.
+   * @throws IOException If the uploaded file can not be opened.
+   */
+  public CSVReader getCsvReader(Map<String, Object> req) throws IOException {
+    String filePath = (String) req.get(JsonKey.FILE_PATH);
+    if (StringUtils.isBlank(filePath)) {
+      byte[] fileByteArray = (byte[]) req.get(JsonKey.FILE);
+      if (fileByteArray == null) {
+        ProjectCommonException.throwClientErrorException(
+            ResponseCode.missingFileAttachment,
+            ResponseCode.missingFileAttachment.getErrorMessage());
+      }
+      return getCsvReader(fileByteArray, ',', '"', 0);
+    }
+    Reader reader =
+        new BufferedReader(
+            new InputStreamReader(
+                Files.newInputStream(Paths.get(filePath)), StandardCharsets.UTF_8));
+    return new CSVReaderBuilder(reader).build();
+  }
+
+  /**
+   * Method to delete the file spooled to disk for a bulk upload request, once it has been read.
+   *
+   * @param request Bulk upload request.
+   */
+  @SuppressWarnings("unchecked")
+  protected void deleteUploadedFile(Request request) {
+    Map<String, Object> req = (Map<String, Object>) request.getRequest().get(JsonKey.DATA);
+    String filePath = req == null ? null : (String) req.get(JsonKey.FILE_PATH);
+    if (StringUtils.isNotBlank(filePath)) {
+      try {
+        Files.deleteIfExists(Paths.get(filePath));
+      } catch (IOException e) {
+        logger.error(
+            request.getRequestContext(),
+            "BaseBulkUploadActor:deleteUploadedFile: Failed to delete " + filePath,
+            e);
+      }
+    }
+  }
+
+  /**
+   * Reads the uploaded file one line at a time, validates its header line against the allowed
+   * fields and counts its lines, so that the file can be checked before any of it is stored. Only
+   * the current line is held in memory.
+   *
+   * @param req Request data containing the file.
+   * @param allowedFields Allowed header fields.
+   * @param processId Id of the bulk upload process, marked as failed if the file can not be read.
+   * @param context Request context.
+   * @return Number of non-empty lines in the file, including the header line.
+   * @throws IOException If the file can not be read.
+   */
+  public int validateHeaderAndCountLines(
+      Map<String, Object> req, String[] allowedFields, String processId, RequestContext context)
       throws IOException {
     CSVReader csvReader = null;
-    // Create List for holding objects
-    List<String[]> rows = new ArrayList<>();
+    int lines = 0;
     try {
-      csvReader = getCsvReader(byteArray, ',', '"', 0);
+      csvReader = getCsvReader(req);
       String[] strArray;
       // Read one line at a time
       while ((strArray = csvReader.readNext()) != null) {
         if (ProjectUtil.isNotEmptyStringArray(strArray)) {
           continue;
         }
-        List<String> list = new ArrayList<>();
-        for (String token : strArray) {
-          list.add(token);
+        if (lines == 0) {
+          validateBulkUploadFields(trimColumnAttributes(strArray), allowedFields, false);
         }
-        rows.add(list.toArray(list.toArray(new String[strArray.length])));
+        lines++;
       }
+    } catch (ProjectCommonException ex) {
+      throw ex;
     } catch (Exception ex) {
       logger.error(context, "Exception occurred while processing csv file : ", ex);
       BulkUploadProcessDao bulkUploadDao = new BulkUploadProcessDaoImpl();
@@ -170,13 +237,9 @@ public abstract class BaseBulkUploadActor extends BaseActor {
       bulkUploadDao.update(bulkUploadProcess, context);
       throw ex;
     } finally {
-      try {
-        IOUtils.closeQuietly(csvReader);
-      } catch (Exception e) {
-        logger.error(context, "Exception occurred while closing csv reader : ", e);
-      }
+      IOUtils.closeQuietly(csvReader);
     }
-    return rows;
+    return lines;
   }
 
   /**
@@ -231,17 +294,24 @@ public abstract class BaseBulkUploadActor extends BaseActor {
   }
 
   protected Integer validateAndParseRecords(
-      byte[] fileByteArray,
+      Map<String, Object> req,
       String processId,
       Map<String, Object> additionalRowFields,
       RequestContext context)
       throws IOException {
-    return validateAndParseRecords(
-        fileByteArray, processId, additionalRowFields, null, false, context);
+    return validateAndParseRecords(req, processId, additionalRowFields, null, false, context);
   }
 
+  /**
+   * Reads the uploaded file one line at a time and stores each row as a {@link
+   * BulkUploadProcessTask}. Tasks are inserted in batches of {@link
+   * JsonKey#CASSANDRA_WRITE_BATCH_SIZE} as they are read, so memory use does not grow with the
+   * size of the file.
+   *
+   * @return Number of records read, excluding the header.
+   */
   protected Integer validateAndParseRecords(
-      byte[] fileByteArray,
+      Map<String, Object> req,
       String processId,
       Map<String, Object> additionalRowFields,
       Map<String, Object> csvColumnMap,
@@ -257,8 +327,9 @@ public abstract class BaseBulkUploadActor extends BaseActor {
     Map<String, Object> record = new HashMap<>();
     List<BulkUploadProcessTask> records = new ArrayList<>();
     ObjectMapper mapper = new ObjectMapper();
+    int batchSize = getBatchSize(JsonKey.CASSANDRA_WRITE_BATCH_SIZE);
     try {
-      csvReader = getCsvReader(fileByteArray, ',', '"', 0);
+      csvReader = getCsvReader(req);
       while ((csvLine = csvReader.readNext()) != null) {
         if (ProjectUtil.isNotEmptyStringArray(csvLine)) {
           continue;
@@ -284,7 +355,7 @@ public abstract class BaseBulkUploadActor extends BaseActor {
           tasks.setCreatedOn(new Timestamp(System.currentTimeMillis()));
           records.add(tasks);
           count++;
-          if (count >= getBatchSize(JsonKey.CASSANDRA_WRITE_BATCH_SIZE)) {
+          if (count >= batchSize) {
             performBatchInsert(records, context);
             records.clear();
             count = 0;
@@ -378,13 +449,11 @@ public abstract class BaseBulkUploadActor extends BaseActor {
       List<String> mandatoryColumns,
       Map<String, Object> supportedColumnsMap)
       throws IOException {
-    byte[] fileByteArray = (byte[]) req.get(JsonKey.FILE);
-
     CSVReader csvReader = null;
     Boolean flag = true;
     String[] csvLine;
     try {
-      csvReader = getCsvReader(fileByteArray, ',', '"', 0);
+      csvReader = getCsvReader(req);
       while (flag) {
         csvLine = csvReader.readNext();
         if (csvLine == null) {
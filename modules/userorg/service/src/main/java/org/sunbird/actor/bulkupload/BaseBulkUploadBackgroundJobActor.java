@@ -4,22 +4,16 @@ import org.apache.pekko.actor.ActorRef;
 import org.apache.pekko.pattern.Patterns;
 import org.apache.pekko.util.Timeout;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import org.apache.commons.lang3.StringUtils;
-import org.sunbird.common.Constants;
 import org.sunbird.dao.bulkupload.BulkUploadProcessDao;
-import org.sunbird.dao.bulkupload.BulkUploadProcessTaskDao;
 import org.sunbird.dao.bulkupload.impl.BulkUploadProcessDaoImpl;
-import org.sunbird.dao.bulkupload.impl.BulkUploadProcessTaskDaoImpl;
 import org.sunbird.exception.ProjectCommonException;
 import org.sunbird.response.ResponseCode;
-import org.sunbird.keys.BulkUploadJsonKey;
 import org.sunbird.keys.JsonKey;
 import org.sunbird.model.bulkupload.BulkUploadProcess;
 import org.sunbird.model.bulkupload.BulkUploadProcessTask;
@@ -103,64 +97,29 @@ public abstract class BaseBulkUploadBackgroundJobActor extends BaseBulkUploadAct
 
   public void processBulkUpload(
       BulkUploadProcess bulkUploadProcess, Function function, RequestContext context) {
-    BulkUploadProcessTaskDao bulkUploadProcessTaskDao = BulkUploadProcessTaskDaoImpl.getInstance();
-    String logMessagePrefix =
-        MessageFormat.format(
-            "BaseBulkUploadBackGroundJobActor:processBulkUpload:{0}: ", bulkUploadProcess.getId());
-    Integer sequence = 0;
-    Integer taskCount = bulkUploadProcess.getTaskCount();
-    List<Map<String, Object>> successList = new LinkedList<>();
-    List<Map<String, Object>> failureList = new LinkedList<>();
-    while (sequence < taskCount) {
-      Integer nextSequence = sequence + getBatchSize(JsonKey.CASSANDRA_WRITE_BATCH_SIZE);
-      Map<String, Object> queryMap = new HashMap<>();
-      queryMap.put(JsonKey.PROCESS_ID, bulkUploadProcess.getId());
-      Map<String, Object> sequenceRange = new HashMap<>();
-      sequenceRange.put(Constants.GT, sequence);
-      sequenceRange.put(Constants.LTE, nextSequence);
-      queryMap.put(BulkUploadJsonKey.SEQUENCE_ID, sequenceRange);
-      List<BulkUploadProcessTask> tasks =
-          bulkUploadProcessTaskDao.readByPrimaryKeys(queryMap, context);
-      if (tasks == null) {
-        logger.info(
-            context,
-            logMessagePrefix
-                + "No bulkUploadProcessTask found for process id: "
-                + bulkUploadProcess.getId()
-                + " and range "
-                + sequence
-                + ":"
-                + nextSequence);
-        sequence = nextSequence;
-        continue;
-      }
-      function.apply(tasks);
-
-      try {
-        ObjectMapper mapper = new ObjectMapper();
-        for (BulkUploadProcessTask task : tasks) {
-
-          if (task.getStatus().equals(ProjectUtil.BulkProcessStatus.FAILED.getValue())) {
-            failureList.add(
-                mapper.readValue(
-                    task.getFailureResult(), new TypeReference<Map<String, Object>>() {}));
-          } else if (task.getStatus().equals(ProjectUtil.BulkProcessStatus.COMPLETED.getValue())) {
-            successList.add(
-                mapper.readValue(
-                    task.getSuccessResult(), new TypeReference<Map<String, Object>>() {}));
-          }
-        }
+    BulkUploadPipeline pipeline =
+        new BulkUploadPipeline(
+            bulkUploadProcess,
+            getBatchSize(JsonKey.CASSANDRA_WRITE_BATCH_SIZE),
+            getExecutionConcurrency(),
+            context);
+    pipeline.run(function, tasks -> performBatchUpdate(tasks, context));
+    setCompletionStatus(
+        bulkUploadProcess, pipeline.getSuccessList(), pipeline.getFailureList(), context);
+  }
 
-      } catch (IOException e) {
-        logger.error(
-            context,
-            logMessagePrefix + "Exception occurred with error message = " + e.getMessage(),
-            e);
-      }
-      performBatchUpdate(tasks, context);
-      sequence = nextSequence;
-    }
-    setCompletionStatus(bulkUploadProcess, successList, failureList, context);
+  /**
+   * Returns the number of tasks of a process that may be executed at a time. Rows run one at a
+   * time by default: user and org rows are checked for an existing email, phone or external id
+   * before they are inserted, so two rows of one file with the same key would both pass the check
+   * if run concurrently, and location rows may refer to parents created by earlier rows. Uploads
+   * whose rows are independent may return 0 to run {@code
+   * sunbird_bulk_upload_process_concurrency} rows at a time.
+   *
+   * @return Execution concurrency, or 0 for the configured default.
+   */
+  protected int getExecutionConcurrency() {
+    return 1;
   }
 
   private void setCompletionStatus(
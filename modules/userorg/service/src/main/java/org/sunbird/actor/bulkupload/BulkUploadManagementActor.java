@@ -14,6 +14,7 @@ import org.sunbird.common.ElasticSearchHelper;
 import org.sunbird.common.factory.EsClientFactory;
 import org.sunbird.common.inf.ElasticSearchService;
 import org.sunbird.dao.bulkupload.BulkUploadProcessTaskDao;
+import org.sunbird.dao.bulkupload.impl.BulkUploadProcessDaoImpl;
 import org.sunbird.dao.bulkupload.impl.BulkUploadProcessTaskDaoImpl;
 import org.sunbird.datasecurity.DecryptionService;
 import org.sunbird.dto.SearchDTO;
@@ -22,6 +23,7 @@ import org.sunbird.response.ResponseCode;
 import org.sunbird.helper.ServiceFactory;
 import org.sunbird.keys.BulkUploadJsonKey;
 import org.sunbird.keys.JsonKey;
+import org.sunbird.model.bulkupload.BulkUploadProcess;
 import org.sunbird.model.bulkupload.BulkUploadProcessTask;
 import org.sunbird.operations.userorg.ActorOperations;
 import org.sunbird.request.Request;
@@ -47,12 +49,17 @@ public class BulkUploadManagementActor extends BaseBulkUploadActor {
   public void onReceive(Request request) throws Throwable {
     Util.initializeContext(request, TelemetryEnvKey.USER);
     if (request.getOperation().equalsIgnoreCase(ActorOperations.BULK_UPLOAD.getValue())) {
-      upload(request);
+      try {
+        upload(request);
+      } finally {
+        deleteUploadedFile(request);
+      }
     } else if (request
         .getOperation()
         .equalsIgnoreCase(ActorOperations.GET_BULK_OP_STATUS.getValue())) {
       getUploadStatus(request);
     } else {
+      deleteUploadedFile(request);
       onReceiveUnsupportedOperation();
     }
   }
@@ -210,27 +217,17 @@ public class BulkUploadManagementActor extends BaseBulkUploadActor {
       Map<String, Object> req, String processId, RequestContext context) throws IOException {
     int orgDataSize = 0;
     logger.info(context, "BulkUploadManagementActor: processBulkOrgUpload called.");
-    List<String[]> orgList = null;
-    orgList = parseCsvFile((byte[]) req.get(JsonKey.FILE), processId, context);
-    if (null != orgList) {
-      if (null != PropertiesCache.getInstance().getProperty(JsonKey.BULK_UPLOAD_ORG_DATA_SIZE)) {
-        orgDataSize =
-            (Integer.parseInt(
-                PropertiesCache.getInstance().getProperty(JsonKey.BULK_UPLOAD_ORG_DATA_SIZE)));
-        logger.info(context, "bulk upload org data size read from config file " + orgDataSize);
-      }
-      validateFileSizeAgainstLineNumbers(orgDataSize, orgList.size());
-      if (!orgList.isEmpty()) {
-        String[] columns = orgList.get(0);
-        String[] bulkOrgAllowedFields = DataCacheHandler.bulkOrgAllowedFields;
-        validateBulkUploadFields(columns, bulkOrgAllowedFields, false);
-      } else {
-        throw new ProjectCommonException(
-            ResponseCode.dataSizeError,
-            ProjectUtil.formatMessage(ResponseCode.dataSizeError.getErrorMessage(), orgDataSize),
-            ResponseCode.CLIENT_ERROR.getResponseCode());
-      }
-    } else {
+    int lines =
+        validateHeaderAndCountLines(
+            req, DataCacheHandler.bulkOrgAllowedFields, processId, context);
+    if (null != PropertiesCache.getInstance().getProperty(JsonKey.BULK_UPLOAD_ORG_DATA_SIZE)) {
+      orgDataSize =
+          (Integer.parseInt(
+              PropertiesCache.getInstance().getProperty(JsonKey.BULK_UPLOAD_ORG_DATA_SIZE)));
+      logger.info(context, "bulk upload org data size read from config file " + orgDataSize);
+    }
+    validateFileSizeAgainstLineNumbers(orgDataSize, lines);
+    if (lines == 0) {
       throw new ProjectCommonException(
           ResponseCode.dataSizeError,
           ProjectUtil.formatMessage(ResponseCode.dataSizeError.getErrorMessage(), orgDataSize),
@@ -238,7 +235,8 @@ public class BulkUploadManagementActor extends BaseBulkUploadActor {
     }
     // save csv file to db
     uploadCsvToDB(
-        orgList,
+        req,
+        lines,
         processId,
         null,
         JsonKey.ORGANISATION,
@@ -316,9 +314,11 @@ public class BulkUploadManagementActor extends BaseBulkUploadActor {
             ResponseCode.CLIENT_ERROR.getResponseCode());
       }
     }
-    List<String[]> userList = null;
+    int lines = 0;
     try {
-      userList = parseCsvFile((byte[]) req.get(JsonKey.FILE), processId, context);
+      lines =
+          validateHeaderAndCountLines(
+              req, DataCacheHandler.bulkUserAllowedFields, processId, context);
     } catch (IOException e) {
       throw new ProjectCommonException(
           ResponseCode.csvError,
@@ -326,37 +326,20 @@ public class BulkUploadManagementActor extends BaseBulkUploadActor {
           ResponseCode.CLIENT_ERROR.getResponseCode());
     }
     int userDataSize = 0;
-    if (null != userList) {
-      if (StringUtils.isNotBlank(ProjectUtil.getConfigValue(JsonKey.BULK_UPLOAD_USER_DATA_SIZE))) {
-        userDataSize =
-            (Integer.parseInt(
-                ProjectUtil.getConfigValue(JsonKey.BULK_UPLOAD_USER_DATA_SIZE).trim()));
+    if (StringUtils.isNotBlank(ProjectUtil.getConfigValue(JsonKey.BULK_UPLOAD_USER_DATA_SIZE))) {
+      userDataSize =
+          (Integer.parseInt(ProjectUtil.getConfigValue(JsonKey.BULK_UPLOAD_USER_DATA_SIZE).trim()));
 
-        logger.info(
-            context,
-            "BulkUploadManagementActor:processBulkUserUpload : bulk upload user data size"
-                + userDataSize);
-      }
-      validateFileSizeAgainstLineNumbers(userDataSize, userList.size());
-      String[] bulkUserAllowedFields = DataCacheHandler.bulkUserAllowedFields;
-      if (!userList.isEmpty()) {
-        String[] columns = userList.get(0);
-        validateBulkUploadFields(columns, bulkUserAllowedFields, false);
-      } else {
-        throw new ProjectCommonException(
-            ResponseCode.csvError,
-            ResponseCode.csvError.getErrorMessage(),
-            ResponseCode.CLIENT_ERROR.getResponseCode());
-      }
-    } else {
-      throw new ProjectCommonException(
-          ResponseCode.csvError,
-          ResponseCode.csvError.getErrorMessage(),
-          ResponseCode.CLIENT_ERROR.getResponseCode());
+      logger.info(
+          context,
+          "BulkUploadManagementActor:processBulkUserUpload : bulk upload user data size"
+              + userDataSize);
     }
+    validateFileSizeAgainstLineNumbers(userDataSize, lines);
     // save csv file to db
     uploadCsvToDB(
-        userList,
+        req,
+        lines,
         processId,
         orgId,
         JsonKey.USER,
@@ -365,8 +348,16 @@ public class BulkUploadManagementActor extends BaseBulkUploadActor {
         context);
   }
 
+  /**
+   * Stores the rows of a validated upload as bulk upload process tasks, reading the file one line
+   * at a time and writing the tasks in batches, and then creates the bulk upload process.
+   *
+   * @param req Request data containing the file.
+   * @param lines Number of non-empty lines in the file, including the header line.
+   */
   private void uploadCsvToDB(
-      List<String[]> dataList,
+      Map<String, Object> req,
+      int lines,
       String processId,
       String orgId,
       String objectType,
@@ -374,72 +365,39 @@ public class BulkUploadManagementActor extends BaseBulkUploadActor {
       String rootOrgId,
       RequestContext context) {
     logger.info(context, "BulkUploadManagementActor: uploadCsvToDB called.");
-    List<Map<String, Object>> dataMapList = new ArrayList<>();
-    if (dataList.size() > 1) {
-      try {
-        String[] columnArr = dataList.get(0);
-        columnArr = trimColumnAttributes(columnArr);
-        Map<String, Object> dataMap = null;
-        String channel = null;
-        // channel is required only in case of the user type bulk upload.
-        if (StringUtils.isNotBlank(objectType) && objectType.equalsIgnoreCase(JsonKey.USER)) {
-          channel = orgService.getChannel(rootOrgId, context);
-        }
-        for (int i = 1; i < dataList.size(); i++) {
-          dataMap = new HashMap<>();
-          String[] valueArr = dataList.get(i);
-          for (int j = 0; j < valueArr.length; j++) {
-            String value = (valueArr[j].trim().length() == 0 ? null : valueArr[j].trim());
-            dataMap.put(columnArr[j], value);
-          }
-          if (!StringUtils.isBlank(objectType) && objectType.equalsIgnoreCase(JsonKey.USER)) {
-            dataMap.put(JsonKey.ROOT_ORG_ID, rootOrgId);
-            dataMap.put(JsonKey.ORGANISATION_ID, orgId);
-            dataMap.put(JsonKey.CHANNEL, channel);
-          }
-          dataMapList.add(dataMap);
-        }
-      } catch (Exception e) {
-        logger.error(context, e.getMessage(), e);
-        throw new ProjectCommonException(
-            ResponseCode.csvError,
-            ResponseCode.csvError.getErrorMessage(),
-            ResponseCode.CLIENT_ERROR.getResponseCode());
-      }
-    } else {
+    if (lines < 2) {
       // tell sender that csv file is empty
       throw new ProjectCommonException(
           ResponseCode.csvError,
           ResponseCode.csvError.getErrorMessage(),
           ResponseCode.CLIENT_ERROR.getResponseCode());
     }
-    // convert userMapList to json string
-    Map<String, Object> map = new HashMap<>();
-
+    Map<String, Object> additionalRowFields = new HashMap<>();
+    // channel is required only in case of the user type bulk upload.
+    if (StringUtils.isNotBlank(objectType) && objectType.equalsIgnoreCase(JsonKey.USER)) {
+      additionalRowFields.put(JsonKey.ROOT_ORG_ID, rootOrgId);
+      additionalRowFields.put(JsonKey.ORGANISATION_ID, orgId);
+      additionalRowFields.put(JsonKey.CHANNEL, orgService.getChannel(rootOrgId, context));
+    }
+    int taskCount;
     try {
-      ObjectMapper mapper = new ObjectMapper();
-      map.put(JsonKey.DATA, mapper.writeValueAsString(dataMapList));
-    } catch (IOException e) {
-      logger.error(
-          context,
-          "BulkUploadManagementActor:uploadCsvToDB: Exception while converting map to string: "
-              + e.getMessage(),
-          e);
+      taskCount = validateAndParseRecords(req, processId, additionalRowFields, context);
+    } catch (Exception e) {
+      logger.error(context, e.getMessage(), e);
       throw new ProjectCommonException(
-          ResponseCode.serverError,
-          ResponseCode.serverError.getErrorMessage(),
-          ResponseCode.SERVER_ERROR.getResponseCode());
+          ResponseCode.csvError,
+          ResponseCode.csvError.getErrorMessage(),
+          ResponseCode.CLIENT_ERROR.getResponseCode());
     }
-    CassandraOperation cassandraOperation = ServiceFactory.getInstance();
-    map.put(JsonKey.ID, processId);
-    map.put(JsonKey.OBJECT_TYPE, objectType);
-    map.put(JsonKey.UPLOADED_BY, requestedBy);
-    map.put(JsonKey.UPLOADED_DATE, ProjectUtil.getFormattedDate());
-    map.put(JsonKey.PROCESS_START_TIME, ProjectUtil.getFormattedDate());
-    map.put(JsonKey.STATUS, ProjectUtil.BulkProcessStatus.NEW.getValue());
-    Util.DbInfo bulkDb = Util.dbInfoMap.get(JsonKey.BULK_OP_DB);
-    Response res =
-        cassandraOperation.insertRecord(bulkDb.getKeySpace(), bulkDb.getTableName(), map, context);
+    BulkUploadProcess bulkUploadProcess = new BulkUploadProcess();
+    bulkUploadProcess.setId(processId);
+    bulkUploadProcess.setObjectType(objectType);
+    bulkUploadProcess.setUploadedBy(requestedBy);
+    bulkUploadProcess.setUploadedDate(ProjectUtil.getFormattedDate());
+    bulkUploadProcess.setProcessStartTime(ProjectUtil.getFormattedDate());
+    bulkUploadProcess.setStatus(ProjectUtil.BulkProcessStatus.NEW.getValue());
+    bulkUploadProcess.setTaskCount(taskCount);
+    Response res = new BulkUploadProcessDaoImpl().create(bulkUploadProcess, context);
     res.put(JsonKey.PROCESS_ID, processId);
     logger.info(
         context,
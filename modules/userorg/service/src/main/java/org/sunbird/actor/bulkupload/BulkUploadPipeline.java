@@ -0,0 +1,435 @@
+package org.sunbird.actor.bulkupload;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.sunbird.common.Constants;
+import org.sunbird.common.ProjectUtil;
+import org.sunbird.dao.bulkupload.BulkUploadProcessDao;
+import org.sunbird.dao.bulkupload.BulkUploadProcessTaskDao;
+import org.sunbird.dao.bulkupload.impl.BulkUploadProcessDaoImpl;
+import org.sunbird.dao.bulkupload.impl.BulkUploadProcessTaskDaoImpl;
+import org.sunbird.exception.ProjectCommonException;
+import org.sunbird.keys.BulkUploadJsonKey;
+import org.sunbird.keys.JsonKey;
+import org.sunbird.logging.LoggerUtil;
+import org.sunbird.model.bulkupload.BulkUploadProcess;
+import org.sunbird.model.bulkupload.BulkUploadProcessTask;
+import org.sunbird.request.RequestContext;
+import org.sunbird.response.ResponseCode;
+
+/**
+ * Runs the tasks of a bulk upload process through four stages connected by bounded queues:
+ *
+ * <ul>
+ *   <li>read: pages tasks from bulk_upload_process_task in sequence windows,
+ *   <li>validate: passes tasks still to be processed on to execution, and tasks completed by an
+ *       earlier run of the process straight to the result stage,
+ *   <li>execute: processes tasks concurrently on the workers of the process,
+ *   <li>write: persists task results in batches.
+ * </ul>
+ *
+ * <p>A slow stage holds back the reader instead of the whole upload being buffered. Each process
+ * runs as many tasks at a time as its actor allows, by default one, and all processes of a tenant
+ * (the organisation of the uploader) share {@code sunbird_bulk_upload_tenant_concurrency} fair
+ * permits, so that a large upload of one tenant does not take every worker in the service.
+ * Since task results are persisted batch by batch, a process that is interrupted is resumed from
+ * its unfinished tasks. The process record itself holds no progress: it is only marked as in
+ * progress once the first batch is persisted, and resuming relies on the task statuses alone.
+ *
+ * <p>When a stage fails, including on an {@link Error}, the stages still running are interrupted
+ * and no stage waits on a queue that nobody drains any more.
+ */
+public class BulkUploadPipeline {
+
+  private static final LoggerUtil logger = new LoggerUtil(BulkUploadPipeline.class);
+  private static final ObjectMapper mapper = new ObjectMapper();
+  private static final Item END = new Item(null, false);
+  private static final String DEFAULT_TENANT = "default";
+  private static final int PROCESS_CONCURRENCY =
+      NumberUtils.toInt(ProjectUtil.getConfigValue("sunbird_bulk_upload_process_concurrency"), 8);
+  private static final int TENANT_CONCURRENCY =
+      NumberUtils.toInt(ProjectUtil.getConfigValue("sunbird_bulk_upload_tenant_concurrency"), 16);
+  private static final long POLL_MILLIS = 100;
+  private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000;
+  private static final ConcurrentMap<String, Semaphore> tenantPermits = new ConcurrentHashMap<>();
+
+  private final BulkUploadProcess bulkUploadProcess;
+  private final int batchSize;
+  private final int concurrency;
+  private final RequestContext context;
+  private final String logMessagePrefix;
+  private final BlockingQueue<Item> readQueue;
+  private final BlockingQueue<Item> executeQueue;
+  private final BlockingQueue<Item> resultQueue;
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private final List<Result> successList = new ArrayList<>();
+  private final List<Result> failureList = new ArrayList<>();
+  private boolean markedInProgress;
+
+  /**
+   * Creates the pipeline of a bulk upload process.
+   *
+   * @param bulkUploadProcess The process whose tasks are run.
+   * @param batchSize Number of tasks read and written per batch.
+   * @param concurrency Maximum number of tasks executed at a time, or 0 for the configured
+   *     default.
+   * @param context Request context.
+   */
+  public BulkUploadPipeline(
+      BulkUploadProcess bulkUploadProcess, int batchSize, int concurrency, RequestContext context) {
+    this.bulkUploadProcess = bulkUploadProcess;
+    this.batchSize = Math.max(1, batchSize);
+    this.concurrency = Math.max(1, concurrency > 0 ? concurrency : PROCESS_CONCURRENCY);
+    this.context = context;
+    this.logMessagePrefix =
+        MessageFormat.format("BulkUploadPipeline:{0}: ", bulkUploadProcess.getId());
+    readQueue = new ArrayBlockingQueue<>(this.batchSize);
+    executeQueue = new ArrayBlockingQueue<>(this.batchSize);
+    resultQueue = new ArrayBlockingQueue<>(this.batchSize);
+  }
+
+  /**
+   * Runs all tasks of the process and waits for them to complete.
+   *
+   * @param function Processes a list of tasks, setting their status and results.
+   * @param batchWriter Persists a batch of processed tasks.
+   */
+  public void run(Function function, Consumer<List<BulkUploadProcessTask>> batchWriter) {
+    long startTime = System.currentTimeMillis();
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService stages =
+        Executors.newFixedThreadPool(
+            concurrency + 3,
+            runnable -> {
+              Thread thread =
+                  new Thread(
+                      runnable,
+                      "bulk-upload-"
+                          + bulkUploadProcess.getId()
+                          + "-"
+                          + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      stages.execute(this::read);
+      stages.execute(this::validate);
+      Semaphore tenant = getTenantPermits();
+      for (int i = 0; i < concurrency; i++) {
+        stages.execute(() -> execute(function, tenant));
+      }
+      stages.execute(() -> write(batchWriter));
+      stages.shutdown();
+      while (!stages.awaitTermination(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+        if (failure.get() != null) {
+          stopStages(stages);
+          break;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      stages.shutdownNow();
+      failure.compareAndSet(null, e);
+    }
+    logger.info(
+        context,
+        logMessagePrefix
+            + "processed "
+            + (successList.size() + failureList.size())
+            + " tasks in "
+            + (System.currentTimeMillis() - startTime)
+            + "ms with concurrency "
+            + concurrency);
+    if (failure.get() != null) {
+      logger.error(context, logMessagePrefix + "failed", failure.get());
+      ProjectCommonException.throwServerErrorException(
+          ResponseCode.SERVER_ERROR, failure.get().getMessage());
+    }
+  }
+
+  /** @return Success results of the tasks, in sequence order. */
+  public List<Map<String, Object>> getSuccessList() {
+    return toResultMaps(successList);
+  }
+
+  /** @return Failure results of the tasks, in sequence order. */
+  public List<Map<String, Object>> getFailureList() {
+    return toResultMaps(failureList);
+  }
+
+  private void read() {
+    BulkUploadProcessTaskDao bulkUploadProcessTaskDao = BulkUploadProcessTaskDaoImpl.getInstance();
+    Integer taskCount = bulkUploadProcess.getTaskCount();
+    int sequence = 0;
+    try {
+      while (taskCount != null && sequence < taskCount && failure.get() == null) {
+        int nextSequence = sequence + batchSize;
+        Map<String, Object> queryMap = new HashMap<>();
+        queryMap.put(JsonKey.PROCESS_ID, bulkUploadProcess.getId());
+        Map<String, Object> sequenceRange = new HashMap<>();
+        sequenceRange.put(Constants.GT, sequence);
+        sequenceRange.put(Constants.LTE, nextSequence);
+        queryMap.put(BulkUploadJsonKey.SEQUENCE_ID, sequenceRange);
+        List<BulkUploadProcessTask> tasks =
+            bulkUploadProcessTaskDao.readByPrimaryKeys(queryMap, context);
+        if (tasks == null) {
+          logger.info(
+              context,
+              logMessagePrefix
+                  + "No bulkUploadProcessTask found for range "
+                  + sequence
+                  + ":"
+                  + nextSequence);
+        } else {
+          for (BulkUploadProcessTask task : tasks) {
+            put(readQueue, new Item(task, false));
+          }
+        }
+        sequence = nextSequence;
+      }
+    } catch (Throwable e) {
+      fail(e);
+    } finally {
+      putQuietly(readQueue, END);
+    }
+  }
+
+  private void validate() {
+    try {
+      for (Item item = readQueue.take(); item != END; item = readQueue.take()) {
+        BulkUploadProcessTask task = item.task;
+        if (task.getStatus() == null
+            || task.getStatus() == ProjectUtil.BulkProcessStatus.COMPLETED.getValue()) {
+          put(resultQueue, item);
+        } else {
+          put(executeQueue, item);
+        }
+      }
+    } catch (Throwable e) {
+      fail(e);
+    } finally {
+      for (int i = 0; i < concurrency; i++) {
+        putQuietly(executeQueue, END);
+      }
+    }
+  }
+
+  private void execute(Function function, Semaphore tenant) {
+    try {
+      for (Item item = executeQueue.take(); item != END; item = executeQueue.take()) {
+        BulkUploadProcessTask task = item.task;
+        tenant.acquire();
+        try {
+          function.apply(Collections.singletonList(task));
+        } catch (Exception e) {
+          logger.error(context, logMessagePrefix + "Error in processing task", e);
+          setFailed(task, e.getMessage());
+        } finally {
+          tenant.release();
+        }
+        put(resultQueue, new Item(task, true));
+      }
+    } catch (Throwable e) {
+      fail(e);
+    } finally {
+      putQuietly(resultQueue, END);
+    }
+  }
+
+  private void write(Consumer<List<BulkUploadProcessTask>> batchWriter) {
+    List<BulkUploadProcessTask> batch = new ArrayList<>(batchSize);
+    int remainingWorkers = concurrency;
+    try {
+      while (remainingWorkers > 0) {
+        Item item = resultQueue.take();
+        if (item == END) {
+          remainingWorkers--;
+          continue;
+        }
+        addResult(item.task);
+        if (item.executed) {
+          batch.add(item.task);
+        }
+        if (batch.size() >= batchSize) {
+          flush(batch, batchWriter);
+        }
+      }
+      flush(batch, batchWriter);
+    } catch (Throwable e) {
+      fail(e);
+      // Keep draining so that the workers are never blocked on a full result queue.
+      try {
+        while (remainingWorkers > 0) {
+          if (resultQueue.take() == END) {
+            remainingWorkers--;
+          }
+        }
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void flush(
+      List<BulkUploadProcessTask> batch, Consumer<List<BulkUploadProcessTask>> batchWriter) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    batchWriter.accept(new ArrayList<>(batch));
+    batch.clear();
+    if (!markedInProgress) {
+      markedInProgress = true;
+      markInProgress();
+    }
+  }
+
+  private void markInProgress() {
+    BulkUploadProcess process = new BulkUploadProcess();
+    process.setId(bulkUploadProcess.getId());
+    process.setStatus(ProjectUtil.BulkProcessStatus.IN_PROGRESS.getValue());
+    try {
+      BulkUploadProcessDao bulkUploadDao = BulkUploadProcessDaoImpl.getInstance();
+      bulkUploadDao.update(process, context);
+    } catch (Exception e) {
+      logger.error(context, logMessagePrefix + "Failed to mark process in progress", e);
+    }
+  }
+
+  private void addResult(BulkUploadProcessTask task) {
+    try {
+      if (ProjectUtil.BulkProcessStatus.FAILED.getValue() == task.getStatus()
+          && task.getFailureResult() != null) {
+        failureList.add(new Result(task.getSequenceId(), task.getFailureResult()));
+      } else if (ProjectUtil.BulkProcessStatus.COMPLETED.getValue() == task.getStatus()
+          && task.getSuccessResult() != null) {
+        successList.add(new Result(task.getSequenceId(), task.getSuccessResult()));
+      }
+    } catch (Exception e) {
+      logger.error(
+          context,
+          logMessagePrefix + "Exception occurred with error message = " + e.getMessage(),
+          e);
+    }
+  }
+
+  private void setFailed(BulkUploadProcessTask task, String errorMessage) {
+    task.setStatus(ProjectUtil.BulkProcessStatus.FAILED.getValue());
+    if (task.getFailureResult() == null) {
+      try {
+        Map<String, Object> row =
+            mapper.readValue(task.getData(), new TypeReference<Map<String, Object>>() {});
+        row.put(JsonKey.ERROR_MSG, errorMessage);
+        task.setFailureResult(mapper.writeValueAsString(row));
+      } catch (Exception e) {
+        logger.error(context, logMessagePrefix + "Unable to record task failure", e);
+      }
+    }
+  }
+
+  private List<Map<String, Object>> toResultMaps(List<Result> results) {
+    results.sort(Comparator.comparingInt(result -> result.sequenceId));
+    List<Map<String, Object>> maps = new ArrayList<>(results.size());
+    for (Result result : results) {
+      try {
+        maps.add(mapper.readValue(result.json, new TypeReference<Map<String, Object>>() {}));
+      } catch (Exception e) {
+        logger.error(
+            context,
+            logMessagePrefix + "Exception occurred with error message = " + e.getMessage(),
+            e);
+      }
+    }
+    return maps;
+  }
+
+  private Semaphore getTenantPermits() {
+    String tenant =
+        StringUtils.defaultIfBlank(bulkUploadProcess.getOrganisationId(), DEFAULT_TENANT);
+    return tenantPermits.computeIfAbsent(tenant, key -> new Semaphore(TENANT_CONCURRENCY, true));
+  }
+
+  /**
+   * Interrupts the stages after a failure and waits a bounded time for them to stop. A stage
+   * blocked in a call that ignores interrupts is left behind on its daemon thread.
+   */
+  private void stopStages(ExecutorService stages) throws InterruptedException {
+    stages.shutdownNow();
+    if (!stages.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+      logger.info(
+          context,
+          logMessagePrefix + "stages did not stop within " + SHUTDOWN_TIMEOUT_MILLIS + "ms");
+    }
+  }
+
+  private void fail(Throwable e) {
+    if (e instanceof InterruptedException) {
+      Thread.currentThread().interrupt();
+    }
+    failure.compareAndSet(null, e);
+  }
+
+  /**
+   * Puts the item on the queue, giving up once the pipeline has failed, since the stage draining
+   * the queue may have stopped.
+   */
+  private void put(BlockingQueue<Item> queue, Item item) throws InterruptedException {
+    while (!queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+      if (failure.get() != null) {
+        throw new IllegalStateException("Bulk upload pipeline failed");
+      }
+    }
+  }
+
+  private void putQuietly(BlockingQueue<Item> queue, Item item) {
+    try {
+      put(queue, item);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IllegalStateException e) {
+      // The pipeline has failed, run() interrupts the stages still waiting for the item.
+    }
+  }
+
+  /** A task on its way through the pipeline. */
+  private static final class Item {
+    private final BulkUploadProcessTask task;
+    private final boolean executed;
+
+    private Item(BulkUploadProcessTask task, boolean executed) {
+      this.task = task;
+      this.executed = executed;
+    }
+  }
+
+  /** Serialised result of a task, kept with its sequence to restore the upload order. */
+  private static final class Result {
+    private final int sequenceId;
+    private final String json;
+
+    private Result(Integer sequenceId, String json) {
+      this.sequenceId = sequenceId == null ? 0 : sequenceId;
+      this.json = json;
+    }
+  }
+}
@@ -30,9 +30,14 @@ public class LocationBulkUploadActor extends BaseBulkUploadActor {
 
     switch (operation) {
       case "locationBulkUpload":
-        upload(request);
+        try {
+          upload(request);
+        } finally {
+          deleteUploadedFile(request);
+        }
         break;
       default:
+        deleteUploadedFile(request);
         onReceiveUnsupportedOperation();
     }
   }
@@ -59,14 +64,10 @@ public class LocationBulkUploadActor extends BaseBulkUploadActor {
       BulkUploadProcess bulkUploadProcess,
       RequestContext context)
       throws IOException {
-    byte[] fileByteArray = null;
-    if (null != req.get(JsonKey.FILE)) {
-      fileByteArray = (byte[]) req.get(JsonKey.FILE);
-    }
     Map<String, Object> additionalRowFields = new HashMap<>();
     additionalRowFields.put(JsonKey.LOCATION_TYPE, locationType);
     Integer recordCount =
-        validateAndParseRecords(fileByteArray, processId, additionalRowFields, context);
+        validateAndParseRecords(req, processId, additionalRowFields, context);
     processBulkUpload(
         locationBulkUploadBackGroundJobActor,
         recordCount,
@@ -42,8 +42,13 @@ public class OrgBulkUploadActor extends BaseBulkUploadActor {
     String operation = request.getOperation();
 
     if (operation.equalsIgnoreCase("orgBulkUpload")) {
-      upload(request);
+      try {
+        upload(request);
+      } finally {
+        deleteUploadedFile(request);
+      }
     } else {
+      deleteUploadedFile(request);
       onReceiveUnsupportedOperation();
     }
   }
@@ -109,10 +114,6 @@ public class OrgBulkUploadActor extends BaseBulkUploadActor {
       Map<String, Object> supportedColumnsMap,
       RequestContext context)
       throws IOException {
-    byte[] fileByteArray = null;
-    if (null != req.get(JsonKey.FILE)) {
-      fileByteArray = (byte[]) req.get(JsonKey.FILE);
-    }
     HashMap<String, Object> additionalInfo = new HashMap<>();
     Map<String, Object> user =
         userService.getUserDetailsById((String) req.get(JsonKey.CREATED_BY), context);
@@ -137,7 +138,7 @@ public class OrgBulkUploadActor extends BaseBulkUploadActor {
     }
     Integer recordCount =
         validateAndParseRecords(
-            fileByteArray, processId, additionalInfo, supportedColumnsMap, true, context);
+            req, processId, additionalInfo, supportedColumnsMap, true, context);
     processBulkUpload(
         orgBulkUploadBackgroundJobActor,
         recordCount,
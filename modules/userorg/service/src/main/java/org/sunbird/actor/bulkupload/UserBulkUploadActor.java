@@ -33,8 +33,13 @@ public class UserBulkUploadActor extends BaseBulkUploadActor {
     Util.initializeContext(request, TelemetryEnvKey.USER);
     String operation = request.getOperation();
     if (operation.equalsIgnoreCase("userBulkUpload")) {
-      upload(request);
+      try {
+        upload(request);
+      } finally {
+        deleteUploadedFile(request);
+      }
     } else {
+      deleteUploadedFile(request);
       onReceiveUnsupportedOperation();
     }
   }
@@ -101,13 +106,8 @@ public class UserBulkUploadActor extends BaseBulkUploadActor {
       Map<String, Object> supportedColumnsMap,
       RequestContext context)
       throws IOException {
-    byte[] fileByteArray = null;
-    if (null != req.get(JsonKey.FILE)) {
-      fileByteArray = (byte[]) req.get(JsonKey.FILE);
-    }
     Integer recordCount =
-        validateAndParseRecords(
-            fileByteArray, processId, new HashMap(), supportedColumnsMap, true, context);
+        validateAndParseRecords(req, processId, new HashMap(), supportedColumnsMap, true, context);
     processBulkUpload(
         userBulkUploadBackgroundJobActor,
         recordCount,
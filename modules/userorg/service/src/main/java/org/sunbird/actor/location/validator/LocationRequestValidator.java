@@ -17,6 +17,7 @@ import org.sunbird.keys.JsonKey;
 import org.sunbird.model.location.Location;
 import org.sunbird.model.location.UpsertLocationRequest;
 import org.sunbird.request.RequestContext;
+import org.sunbird.service.location.LocationHierarchyIndex;
 import org.sunbird.service.location.LocationService;
 import org.sunbird.service.location.LocationServiceImpl;
 import org.sunbird.common.ProjectUtil;
@@ -448,6 +449,11 @@ public class LocationRequestValidator extends BaseLocationRequestValidator {
     Set<Location> locationSet = new LinkedHashSet<>();
     Location location = locationObj;
     int count = getOrder(location.getType());
+    List<Location> ancestry = LocationHierarchyIndex.getAncestry(location.getId(), count);
+    if (ancestry != null) {
+      locationSet.addAll(ancestry);
+      return locationSet;
+    }
     locationSet.add(location);
     while (count > 0) {
       Location parent = null;
@@ -19,6 +19,7 @@ import org.sunbird.response.Response;
 import org.sunbird.service.otp.OTPService;
 import org.sunbird.service.ratelimit.RateLimitService;
 import org.sunbird.service.ratelimit.RateLimitServiceImpl;
+import org.sunbird.service.ratelimit.RedisRateLimitServiceImpl;
 import org.sunbird.telemetry.dto.TelemetryEnvKey;
 import org.sunbird.common.ProjectUtil;
 import org.sunbird.util.Util;
@@ -29,7 +30,10 @@ import org.sunbird.util.ratelimit.RateLimiter;
 public class OTPActor extends BaseActor {
 
   private final OTPService otpService = new OTPService();
-  private final RateLimitService rateLimitService = new RateLimitServiceImpl();
+  private final RateLimitService rateLimitService =
+      RedisRateLimitServiceImpl.isEnabled()
+          ? new RedisRateLimitServiceImpl()
+          : new RateLimitServiceImpl();
   private static final String SUNBIRD_OTP_ALLOWED_ATTEMPT = "sunbird_otp_allowed_attempt";
 
   @Inject
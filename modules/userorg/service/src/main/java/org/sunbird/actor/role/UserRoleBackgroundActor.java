@@ -33,7 +33,7 @@ public class UserRoleBackgroundActor extends BaseActor {
     if (type.equals(JsonKey.USER)) {
       result.put(JsonKey.ROLES, roles);
     }
-    userRoleService.updateUserRoleToES(
+    userRoleService.syncUserRoleToES(
         (String) result.get(JsonKey.USER_ID), result, actorMessage.getRequestContext());
   }
 }
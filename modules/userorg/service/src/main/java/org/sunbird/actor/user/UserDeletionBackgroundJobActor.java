@@ -5,8 +5,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.sunbird.actor.core.BaseActor;
-import org.sunbird.common.ElasticSearchHelper;
-import org.sunbird.dto.SearchDTO;
 import org.sunbird.kafka.InstructionEventGenerator;
 import org.sunbird.keys.JsonKey;
 import org.sunbird.model.user.User;
@@ -37,61 +35,31 @@ public class UserDeletionBackgroundJobActor extends BaseActor {
 
     String userName = UserUtil.getDecryptedData(user.getUserName(), request.getRequestContext());
 
-    List<Map<String, Object>> suggestedUsersList = new ArrayList<>();
-    Map<String, Object> searchQueryMap = new HashMap<>();
-    Map<String, Object> searchFilter = new HashMap<>();
-    searchFilter.put(JsonKey.ROOT_ORG_ID, rootOrgId);
-
     if (!roles.contains(JsonKey.ORG_ADMIN)) roles.add(JsonKey.ORG_ADMIN);
 
-    // for each role in the organisation, fetch list of other users to pass it as part of event
-    List<String> queryFields = new ArrayList<>();
-    queryFields.add(JsonKey.USER_ID);
-    searchQueryMap.put(JsonKey.FIELDS, queryFields);
-    logger.info("UserDeletionBackgroundJobActor::inputKafkaTopic:: roles size:: " + roles.size());
-    roles.forEach(
-        role -> {
-          searchFilter.put(JsonKey.ROLES + "." + JsonKey.ROLE, role);
-          searchQueryMap.put(JsonKey.FILTERS, searchFilter);
-          SearchDTO searchDto = ElasticSearchHelper.createSearchDTO(searchQueryMap);
-          Map<String, Object> result =
-              userService.searchUser(searchDto, request.getRequestContext());
-          List<Map<String, Object>> userMapList =
-              (List<Map<String, Object>>) result.get(JsonKey.CONTENT);
-
-          if (!userMapList.isEmpty()) {
-            Map<String, Object> roleUsersMap = new HashMap<>();
-            roleUsersMap.put(JsonKey.ROLE, role);
-            List<String> roleUsersList = new ArrayList<>();
-            for (Map<String, Object> userMap : userMapList) {
-              roleUsersList.add((String) userMap.get(JsonKey.USER_ID));
-            }
-            roleUsersMap.put(JsonKey.USERS, roleUsersList);
-            suggestedUsersList.add(roleUsersMap);
-          }
-        });
-
-    logger.info(
-        "UserDeletionBackgroundJobActor::inputKafkaTopic:: suggestedUsersList size:: "
-            + suggestedUsersList.size());
+    // fetch other users holding each role in the organisation, and the users managed by this
+    // user, with one search to pass them as part of event
+    Map<String, List<String>> usersByRole =
+        userService.getRoleHolders(rootOrgId, roles, userId, request.getRequestContext());
+    List<String> managedUsersList = usersByRole.remove(JsonKey.MANAGED_USERS);
+    if (managedUsersList == null) {
+      managedUsersList = new ArrayList<>();
+    }
 
-    /* Fetch Managed Users - START */
-    List<String> managedUsersList = new ArrayList<>();
-    Map<String, Object> managedUsersSearchFilter = new HashMap<>();
-    managedUsersSearchFilter.put(JsonKey.ROOT_ORG_ID, rootOrgId);
-    managedUsersSearchFilter.put(JsonKey.MANAGED_BY, userId);
-    searchQueryMap.put(JsonKey.FILTERS, managedUsersSearchFilter);
-    SearchDTO searchDto = ElasticSearchHelper.createSearchDTO(searchQueryMap);
-    Map<String, Object> result = userService.searchUser(searchDto, request.getRequestContext());
-    List<Map<String, Object>> userMapList = (List<Map<String, Object>>) result.get(JsonKey.CONTENT);
-
-    if (!userMapList.isEmpty()) {
-      for (Map<String, Object> userMap : userMapList) {
-        managedUsersList.add((String) userMap.get(JsonKey.USER_ID));
+    List<Map<String, Object>> suggestedUsersList = new ArrayList<>();
+    for (String role : roles) {
+      List<String> roleUsersList = usersByRole.get(role);
+      if (roleUsersList != null && !roleUsersList.isEmpty()) {
+        Map<String, Object> roleUsersMap = new HashMap<>();
+        roleUsersMap.put(JsonKey.ROLE, role);
+        roleUsersMap.put(JsonKey.USERS, roleUsersList);
+        suggestedUsersList.add(roleUsersMap);
       }
     }
-    /* Fetch Managed Users - END */
 
+    logger.info(
+        "UserDeletionBackgroundJobActor::inputKafkaTopic:: suggestedUsersList size:: "
+            + suggestedUsersList.size());
     logger.info(
         "UserDeletionBackgroundJobActor::inputKafkaTopic:: managedUsersList size:: "
             + managedUsersList.size());
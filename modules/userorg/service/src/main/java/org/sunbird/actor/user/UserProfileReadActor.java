@@ -38,6 +38,9 @@ public class UserProfileReadActor extends BaseActor {
       case "getUserProfileV5":
         getUserProfileV3(request);
         break;
+      case "getUserProfiles":
+        getUserProfiles(request);
+        break;
       case "getUserDetailsByLoginId":
         getUserDetailsByLoginId(request);
         break;
@@ -54,6 +57,11 @@ public class UserProfileReadActor extends BaseActor {
     sender().tell(response, self());
   }
 
+  private void getUserProfiles(Request actorMessage) {
+    Response response = profileReadService.getUserProfilesData(actorMessage);
+    sender().tell(response, self());
+  }
+
   private void getUserDetailsByLoginId(Request actorMessage) {
     actorMessage.getRequest().put(JsonKey.KEY, JsonKey.LOGIN_ID);
     actorMessage.getRequest().put(JsonKey.VALUE, actorMessage.getRequest().get(JsonKey.LOGIN_ID));
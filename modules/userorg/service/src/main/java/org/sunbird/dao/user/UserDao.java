@@ -61,6 +61,15 @@ public interface UserDao {
    */
   Map<String, Object> getUserDetailsById(String userId, RequestContext context);
 
+  /**
+   * This method will return the users found for the given userIds, read in one query.
+   *
+   * @param userIds List of user ids.
+   * @param context
+   * @return List of user details, without the users which are not found.
+   */
+  List<Map<String, Object>> getUsersDetailsByIds(List<String> userIds, RequestContext context);
+
   /**
    * This method will user based on userId and return user if found else throw
    * ProjectCommonException.
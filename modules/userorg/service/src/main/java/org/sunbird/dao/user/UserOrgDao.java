@@ -15,6 +15,8 @@ public interface UserOrgDao {
 
   Response getUserOrgListByUserId(String userId, RequestContext context);
 
+  Response getUserOrgListByUserIds(List<String> userIds, RequestContext context);
+
   Response getUserOrgDetails(String userId, String organisationId, RequestContext context);
 
   Response insertRecord(Map reqMap, RequestContext context);
@@ -15,5 +15,16 @@ public interface UserRoleDao {
 
   List<Map<String, Object>> getUserRoles(String userId, String role, RequestContext context);
 
+  List<Map<String, Object>> getUsersRoles(List<String> userIds, RequestContext context);
+
   boolean updateUserRoleToES(String identifier, Map<String, Object> data, RequestContext context);
+
+  /**
+   * Partially updates the ES documents of several users in one bulk request.
+   *
+   * @return Ids of the users whose documents could not be updated, or null if the bulk request
+   *     could not be executed.
+   */
+  List<String> updateUserRolesToES(
+      Map<String, Map<String, Object>> dataById, RequestContext context);
 }
@@ -2,6 +2,7 @@ package org.sunbird.dao.user.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.collections.CollectionUtils;
@@ -82,6 +83,17 @@ public class UserDaoImpl implements UserDao {
     return null;
   }
 
+  @Override
+  public List<Map<String, Object>> getUsersDetailsByIds(
+      List<String> userIds, RequestContext context) {
+    Response response =
+        cassandraOperation.getRecordsByPrimaryKeys(
+            KEY_SPACE_NAME, TABLE_NAME, userIds, JsonKey.ID, context);
+    List<Map<String, Object>> responseList =
+        (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    return CollectionUtils.isNotEmpty(responseList) ? responseList : new ArrayList<>();
+  }
+
   @Override
   public Response getUserPropertiesById(
       List<String> userIds, List<String> properties, RequestContext context) {
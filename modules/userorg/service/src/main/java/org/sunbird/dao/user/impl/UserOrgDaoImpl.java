@@ -1,6 +1,7 @@
 package org.sunbird.dao.user.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -59,6 +60,16 @@ public final class UserOrgDaoImpl implements UserOrgDao {
     return cassandraOperation.getRecordById(ProjectUtil.getConfigValue(JsonKey.SUNBIRD_KEYSPACE), TABLE_NAME, compositeKey, context);
   }
 
+  @Override
+  public Response getUserOrgListByUserIds(List<String> userIds, RequestContext context) {
+    return cassandraOperation.getRecordsByProperty(
+        ProjectUtil.getConfigValue(JsonKey.SUNBIRD_KEYSPACE),
+        TABLE_NAME,
+        JsonKey.USER_ID,
+        new ArrayList<>(userIds),
+        context);
+  }
+
   @Override
   public Response getUserOrgDetails(String userId, String organisationId, RequestContext context) {
     Map<String, Object> searchMap = new LinkedHashMap<>(2);
@@ -75,6 +75,18 @@ public final class UserRoleDaoImpl implements UserRoleDao {
     return responseList;
   }
 
+  @Override
+  public List<Map<String, Object>> getUsersRoles(List<String> userIds, RequestContext context) {
+    Response existingRecords =
+        cassandraOperation.getRecordsByProperty(
+            ProjectUtil.getConfigValue(JsonKey.SUNBIRD_KEYSPACE),
+            TABLE_NAME,
+            JsonKey.USER_ID,
+            new ArrayList<>(userIds),
+            context);
+    return (List<Map<String, Object>>) existingRecords.get(JsonKey.RESPONSE);
+  }
+
   @Override
   public boolean updateUserRoleToES(
       String identifier, Map<String, Object> data, RequestContext context) {
@@ -89,4 +101,20 @@ public final class UserRoleDaoImpl implements UserRoleDao {
             + identifier);
     return false;
   }
+
+  @Override
+  public List<String> updateUserRolesToES(
+      Map<String, Map<String, Object>> dataById, RequestContext context) {
+    Future<List<String>> failedIdsF =
+        esService.bulkUpdate(ProjectUtil.EsType.user.getTypeName(), dataById, context);
+    List<String> failedIds = (List<String>) ElasticSearchHelper.getResponseFromFuture(failedIdsF);
+    if (failedIds == null) {
+      logger.info(
+          context,
+          "UserRoleDaoImpl:updateUserRolesToES:unable to save the user role data to ES for "
+              + dataById.size()
+              + " users");
+    }
+    return failedIds;
+  }
 }
@@ -0,0 +1,421 @@
+package org.sunbird.service.location;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.FutureCallback;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.ProjectUtil;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.keys.JsonKey;
+import org.sunbird.logging.LoggerUtil;
+import org.sunbird.model.location.Location;
+
+/**
+ * In-memory index of the location hierarchy (state, district, block, cluster, school), used to
+ * resolve location codes and ancestry without one database read per level.
+ *
+ * <p>Locations are held in parallel arrays and the parent of a location is the int index of its
+ * parent slot, so the index stays compact even with every school loaded. It is built by {@link
+ * #run()} from a paged scan of the location table, which the scheduler repeats to pick up writes
+ * made through other instances, and {@link LocationServiceImpl} keeps it current between scans on
+ * every create, update and delete. Until the first scan completes, and for locations it does not
+ * know, lookups return null and callers fall back to Elasticsearch and Cassandra. Locations are
+ * returned with all of their fields, so callers can use them as read from the database.
+ *
+ * <p>The index is off by default ({@code sunbird_location_index_enabled}). Writes made through
+ * other instances are only picked up by the next scan, so an instance can resolve a code to a
+ * location that was changed or deleted elsewhere for up to one refresh interval.
+ *
+ * @see LocationServiceImpl
+ */
+public class LocationHierarchyIndex implements Runnable {
+
+  private static final LoggerUtil logger = new LoggerUtil(LocationHierarchyIndex.class);
+  private static final String KEYSPACE_NAME = ProjectUtil.getConfigValue(JsonKey.SUNBIRD_KEYSPACE);
+  private static final String LOCATION_TABLE_NAME = "location";
+  private static final List<String> FIELDS =
+      Arrays.asList(JsonKey.ID, JsonKey.CODE, JsonKey.NAME, JsonKey.TYPE, JsonKey.PARENT_ID);
+  private static final long LOAD_TIMEOUT_MINUTES = 30;
+
+  private static volatile Tree tree;
+  private static Queue<Consumer<Tree>> writesDuringLoad;
+
+  private final CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+
+  public static boolean isEnabled() {
+    return Boolean.parseBoolean(ProjectUtil.getConfigValue("sunbird_location_index_enabled"));
+  }
+
+  public static int getRefreshIntervalMinutes() {
+    return NumberUtils.toInt(
+        ProjectUtil.getConfigValue("sunbird_location_index_refresh_interval_minutes"), 15);
+  }
+
+  public static boolean isLoaded() {
+    return tree != null;
+  }
+
+  /**
+   * Looks up locations by code.
+   *
+   * @param codes Location codes.
+   * @return One location per distinct code, in request order, or null if the index is not loaded
+   *     or any of the codes is unknown.
+   */
+  public static List<Location> getByCodes(Collection<String> codes) {
+    Tree current = tree;
+    return current == null ? null : current.getByCodes(new LinkedHashSet<>(codes));
+  }
+
+  /**
+   * Returns a location followed by its ancestors, nearest first.
+   *
+   * @param id Location id.
+   * @param maxDepth Maximum number of ancestors to return.
+   * @return The location and its ancestors, or null if the index is not loaded or any location in
+   *     the chain is unknown.
+   */
+  public static List<Location> getAncestry(String id, int maxDepth) {
+    Tree current = tree;
+    return current == null || id == null ? null : current.getAncestry(id, maxDepth);
+  }
+
+  /**
+   * Records a created or updated location. Null fields keep their indexed value, matching the
+   * partial update applied to the location table.
+   *
+   * @param location Location details.
+   */
+  public static void upsert(Location location) {
+    if (location != null && StringUtils.isNotBlank(location.getId())) {
+      apply(
+          current ->
+              current.put(
+                  location.getId(),
+                  location.getCode(),
+                  location.getName(),
+                  location.getType(),
+                  location.getParentId(),
+                  false));
+    }
+  }
+
+  /**
+   * Records a deleted location.
+   *
+   * @param id Location id.
+   */
+  public static void remove(String id) {
+    if (StringUtils.isNotBlank(id)) {
+      apply(current -> current.remove(id));
+    }
+  }
+
+  private static synchronized void apply(Consumer<Tree> write) {
+    if (tree != null) {
+      write.accept(tree);
+    }
+    if (writesDuringLoad != null) {
+      writesDuringLoad.add(write);
+    }
+  }
+
+  private static synchronized void beginLoad() {
+    writesDuringLoad = new ConcurrentLinkedQueue<>();
+  }
+
+  private static synchronized void install(Tree loaded) {
+    if (loaded != null && writesDuringLoad != null) {
+      writesDuringLoad.forEach(write -> write.accept(loaded));
+    }
+    writesDuringLoad = null;
+    if (loaded != null) {
+      tree = loaded;
+    }
+  }
+
+  /**
+   * Replaces the index with the given locations.
+   *
+   * @param locations All locations.
+   */
+  static void load(Collection<Location> locations) {
+    beginLoad();
+    Tree loaded = new Tree(locations.size());
+    for (Location location : locations) {
+      loaded.put(
+          location.getId(),
+          location.getCode(),
+          location.getName(),
+          location.getType(),
+          location.getParentId(),
+          true);
+    }
+    loaded.resolveParents();
+    install(loaded);
+  }
+
+  static synchronized void clear() {
+    tree = null;
+    writesDuringLoad = null;
+  }
+
+  @Override
+  public void run() {
+    long startTime = System.currentTimeMillis();
+    logger.info("LocationHierarchyIndex:run: Location index refresh started.");
+    beginLoad();
+    Tree loaded = null;
+    try {
+      CompletableFuture<Tree> future = new CompletableFuture<>();
+      cassandraOperation.applyOperationOnRecordsAsync(
+          KEYSPACE_NAME, LOCATION_TABLE_NAME, null, FIELDS, getLoadCallback(future), null);
+      loaded = future.get(LOAD_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+      logger.info(
+          "LocationHierarchyIndex:run: Location index refresh completed with "
+              + loaded.size
+              + " locations in "
+              + (System.currentTimeMillis() - startTime)
+              + "ms.");
+    } catch (Exception e) {
+      logger.error("LocationHierarchyIndex:run: Location index refresh failed", e);
+    } finally {
+      install(loaded);
+    }
+  }
+
+  private FutureCallback<ResultSet> getLoadCallback(CompletableFuture<Tree> future) {
+    return new FutureCallback<ResultSet>() {
+      @Override
+      public void onSuccess(ResultSet result) {
+        try {
+          Tree loaded = new Tree(0);
+          // Rows are fetched from Cassandra one page at a time while iterating.
+          for (Row row : result) {
+            loaded.put(
+                row.getString(JsonKey.ID),
+                row.getString(JsonKey.CODE),
+                row.getString(JsonKey.NAME),
+                row.getString(JsonKey.TYPE),
+                row.getString(JsonKey.PARENT_ID),
+                true);
+          }
+          loaded.resolveParents();
+          future.complete(loaded);
+        } catch (Exception e) {
+          future.completeExceptionally(e);
+        }
+      }
+
+      @Override
+      public void onFailure(Throwable t) {
+        future.completeExceptionally(t);
+      }
+    };
+  }
+
+  /** Location hierarchy stored as parallel arrays indexed by slot. */
+  private static final class Tree {
+    private static final int ROOT = -1;
+    private static final int UNKNOWN = -2;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> idIndex;
+    private final Map<String, Integer> codeIndex;
+    private final List<String> typeNames = new ArrayList<>();
+    private String[] ids;
+    private String[] codes;
+    private String[] names;
+    private byte[] types;
+    private int[] parents;
+    private String[] pendingParentIds;
+    private int size;
+
+    Tree(int capacity) {
+      capacity = Math.max(capacity, MIN_CAPACITY);
+      idIndex = new HashMap<>(capacity * 4 / 3 + 1);
+      codeIndex = new HashMap<>(capacity * 4 / 3 + 1);
+      ids = new String[capacity];
+      codes = new String[capacity];
+      names = new String[capacity];
+      types = new byte[capacity];
+      parents = new int[capacity];
+      pendingParentIds = new String[capacity];
+    }
+
+    void put(
+        String id, String code, String name, String type, String parentId, boolean loading) {
+      if (StringUtils.isBlank(id)) {
+        return;
+      }
+      lock.writeLock().lock();
+      try {
+        Integer slot = idIndex.get(id);
+        if (slot == null) {
+          slot = allocate(id);
+        }
+        if (code != null) {
+          if (codes[slot] != null) {
+            codeIndex.remove(codes[slot]);
+          }
+          codes[slot] = code;
+          codeIndex.put(code, slot);
+        }
+        if (name != null) {
+          names[slot] = name;
+        }
+        if (type != null) {
+          types[slot] = getTypeIndex(type);
+        }
+        if (loading) {
+          pendingParentIds[slot] = parentId;
+        } else if (parentId != null) {
+          parents[slot] = getParentSlot(parentId);
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    void remove(String id) {
+      lock.writeLock().lock();
+      try {
+        Integer slot = idIndex.remove(id);
+        if (slot != null) {
+          if (codes[slot] != null) {
+            codeIndex.remove(codes[slot]);
+          }
+          ids[slot] = null;
+          codes[slot] = null;
+          names[slot] = null;
+          parents[slot] = UNKNOWN;
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    void resolveParents() {
+      lock.writeLock().lock();
+      try {
+        for (int slot = 0; slot < size; slot++) {
+          parents[slot] = getParentSlot(pendingParentIds[slot]);
+        }
+        pendingParentIds = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    List<Location> getByCodes(Collection<String> codeList) {
+      lock.readLock().lock();
+      try {
+        List<Location> locations = new ArrayList<>(codeList.size());
+        for (String code : codeList) {
+          Integer slot = codeIndex.get(code);
+          if (slot == null) {
+            return null;
+          }
+          locations.add(toLocation(slot));
+        }
+        return locations;
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    List<Location> getAncestry(String id, int maxDepth) {
+      lock.readLock().lock();
+      try {
+        Integer slot = idIndex.get(id);
+        if (slot == null) {
+          return null;
+        }
+        int current = slot;
+        List<Location> ancestry = new ArrayList<>(maxDepth + 1);
+        ancestry.add(toLocation(current));
+        for (int depth = 0; depth < maxDepth; depth++) {
+          int parent = parents[current];
+          if (parent == ROOT) {
+            break;
+          }
+          if (parent == UNKNOWN || ids[parent] == null) {
+            return null;
+          }
+          current = parent;
+          ancestry.add(toLocation(current));
+        }
+        return ancestry;
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    private int allocate(String id) {
+      if (size == ids.length) {
+        int capacity = size * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        codes = Arrays.copyOf(codes, capacity);
+        names = Arrays.copyOf(names, capacity);
+        types = Arrays.copyOf(types, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        if (pendingParentIds != null) {
+          pendingParentIds = Arrays.copyOf(pendingParentIds, capacity);
+        }
+      }
+      int slot = size++;
+      ids[slot] = id;
+      parents[slot] = ROOT;
+      idIndex.put(id, slot);
+      return slot;
+    }
+
+    private int getParentSlot(String parentId) {
+      if (StringUtils.isBlank(parentId)) {
+        return ROOT;
+      }
+      Integer parent = idIndex.get(parentId);
+      return parent == null ? UNKNOWN : parent;
+    }
+
+    // Types are stored as their position in typeNames plus one, so that zero means no type.
+    private byte getTypeIndex(String type) {
+      int index = typeNames.indexOf(type);
+      if (index < 0) {
+        typeNames.add(type);
+        index = typeNames.size() - 1;
+      }
+      return (byte) (index + 1);
+    }
+
+    private Location toLocation(int slot) {
+      Location location = new Location();
+      location.setId(ids[slot]);
+      location.setCode(codes[slot]);
+      location.setName(names[slot]);
+      location.setType(types[slot] == 0 ? null : typeNames.get(types[slot] - 1));
+      int parent = parents[slot];
+      if (parent >= 0) {
+        location.setParentId(ids[parent]);
+      }
+      return location;
+    }
+  }
+}
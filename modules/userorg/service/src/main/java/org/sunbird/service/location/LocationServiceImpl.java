@@ -27,17 +27,23 @@ public class LocationServiceImpl implements LocationService {
 
   @Override
   public Response createLocation(Location location, RequestContext context) {
-    return locationDao.create(location, context);
+    Response response = locationDao.create(location, context);
+    LocationHierarchyIndex.upsert(location);
+    return response;
   }
 
   @Override
   public Response updateLocation(Location location, RequestContext context) {
-    return locationDao.update(location, context);
+    Response response = locationDao.update(location, context);
+    LocationHierarchyIndex.upsert(location);
+    return response;
   }
 
   @Override
   public Response deleteLocation(String locationId, RequestContext context) {
-    return locationDao.delete(locationId, context);
+    Response response = locationDao.delete(locationId, context);
+    LocationHierarchyIndex.remove(locationId);
+    return response;
   }
 
   @Override
@@ -49,7 +55,7 @@ public class LocationServiceImpl implements LocationService {
   @SuppressWarnings("unchecked")
   public List<Map<String, String>> getValidatedRelatedLocationIdAndType(
       List<String> codeList, RequestContext context) {
-    List<Location> locationIdTypeList = locationSearch(JsonKey.CODE, codeList, context);
+    List<Location> locationIdTypeList = getLocationsByCode(codeList, context);
     List<Map<String, String>> locationIdType = new ArrayList<>();
     List<String> codes = new ArrayList<>(codeList);
     if (CollectionUtils.isNotEmpty(locationIdTypeList)) {
@@ -82,7 +88,7 @@ public class LocationServiceImpl implements LocationService {
       List<String> codeList, RequestContext context) {
     Set<String> locationIds = null;
     List<String> codes = new ArrayList<>(codeList);
-    List<Location> locationList = locationSearch(JsonKey.CODE, codeList, context);
+    List<Location> locationList = getLocationsByCode(codeList, context);
     List<String> locationIdList = new ArrayList<>();
     if (CollectionUtils.isNotEmpty(locationList)) {
       if (locationList.size() != codes.size()) {
@@ -103,6 +109,14 @@ public class LocationServiceImpl implements LocationService {
     return locationIdList;
   }
 
+  private List<Location> getLocationsByCode(List<String> codeList, RequestContext context) {
+    List<Location> locationList = LocationHierarchyIndex.getByCodes(codeList);
+    if (locationList != null) {
+      return locationList;
+    }
+    return locationSearch(JsonKey.CODE, codeList, context);
+  }
+
   @SuppressWarnings("unchecked")
   public List<Location> locationSearch(String param, Object value, RequestContext context) {
     Map<String, Object> filter = new HashMap<>();
@@ -155,6 +169,11 @@ public class LocationServiceImpl implements LocationService {
     Set<Location> locationSet = new LinkedHashSet<>();
     Location location = locationObj;
     int count = getOrder(location.getType());
+    List<Location> ancestry = LocationHierarchyIndex.getAncestry(location.getId(), count);
+    if (ancestry != null) {
+      locationSet.addAll(ancestry);
+      return locationSet;
+    }
     locationSet.add(location);
     while (count > 0) {
       Location parent = null;
@@ -0,0 +1,139 @@
+package org.sunbird.service.ratelimit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.redisson.api.RScript;
+import org.redisson.client.codec.StringCodec;
+import org.sunbird.common.ProjectUtil;
+import org.sunbird.exception.ProjectCommonException;
+import org.sunbird.logging.LoggerUtil;
+import org.sunbird.redis.RedisConnectionManager;
+import org.sunbird.request.RequestContext;
+import org.sunbird.response.ResponseCode;
+import org.sunbird.util.otp.OTPUtil;
+import org.sunbird.util.ratelimit.LocalRateLimitFilter;
+import org.sunbird.util.ratelimit.RateLimiter;
+
+/**
+ * Rate limit service keeping a sliding window log of the accepted requests of each key in a Redis
+ * sorted set.
+ *
+ * <p>Every check is a single script, run atomically by Redis, which drops the requests older than
+ * the largest window, counts the requests left in each window and records the new request only if
+ * no window is full. Requests this instance has already accepted are also kept in a {@link
+ * LocalRateLimitFilter}, so a key flooding one instance is rejected without reaching Redis. If
+ * Redis cannot be reached, the check falls back to {@link RateLimitServiceImpl}.
+ *
+ * <p>The script timestamps requests with the Redis server clock (TIME), while the local filter uses
+ * the clock of this JVM. When the two clocks disagree, the local filter sees a window start or end
+ * earlier or later than Redis does, by the skew between them. A JVM clock running ahead lets the
+ * local filter expire requests early, which only sends more requests on to Redis. A JVM clock
+ * running behind keeps them longer, so a request can be rejected locally for up to the skew after
+ * Redis would have accepted it again.
+ */
+public class RedisRateLimitServiceImpl implements RateLimitService {
+  private static final LoggerUtil logger = new LoggerUtil(RedisRateLimitServiceImpl.class);
+  private static final String KEY_PREFIX = "rate_limit:";
+
+  // ARGV: request id, then window in milliseconds and limit of each rate limiter. Returns 0 if the
+  // request is accepted, otherwise the 1-based index of the first full window.
+  private static final String SLIDING_WINDOW_SCRIPT =
+      "redis.replicate_commands() "
+          + "local time = redis.call('TIME') "
+          + "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) "
+          + "local maxWindow = 0 "
+          + "for i = 2, #ARGV, 2 do "
+          + "  maxWindow = math.max(maxWindow, tonumber(ARGV[i])) "
+          + "end "
+          + "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - maxWindow) "
+          + "for i = 2, #ARGV, 2 do "
+          + "  local windowStart = '(' .. (now - tonumber(ARGV[i])) "
+          + "  local count = redis.call('ZCOUNT', KEYS[1], windowStart, '+inf') "
+          + "  if count >= tonumber(ARGV[i + 1]) then "
+          + "    return i / 2 "
+          + "  end "
+          + "end "
+          + "redis.call('ZADD', KEYS[1], now, ARGV[1]) "
+          + "redis.call('PEXPIRE', KEYS[1], maxWindow) "
+          + "return 0";
+
+  private static final LocalRateLimitFilter localFilter =
+      new LocalRateLimitFilter(
+          NumberUtils.toInt(
+              ProjectUtil.getConfigValue("sunbird_rate_limit_local_filter_max_keys"), 100000));
+
+  private final RateLimitServiceImpl fallbackService = new RateLimitServiceImpl();
+
+  public static boolean isEnabled() {
+    return Boolean.parseBoolean(ProjectUtil.getConfigValue("sunbird_rate_limit_redis_enabled"));
+  }
+
+  @Override
+  public void throttleByKey(
+      String key, String type, RateLimiter[] rateLimiters, RequestContext context) {
+    if (!fallbackService.isRateLimitOn()) {
+      logger.info(context, "RedisRateLimitServiceImpl:throttleByKey: Rate limiter is disabled");
+      return;
+    }
+    List<RateLimiter> limited = new ArrayList<>();
+    List<Object> args = new ArrayList<>();
+    args.add(UUID.randomUUID().toString());
+    for (RateLimiter rateLimiter : rateLimiters) {
+      if (rateLimiter.getRateLimit() != null) {
+        limited.add(rateLimiter);
+        args.add(String.valueOf(rateLimiter.getTTL() * 1000L));
+        args.add(String.valueOf(rateLimiter.getRateLimit()));
+      }
+    }
+    if (limited.isEmpty()) {
+      return;
+    }
+    RateLimiter[] checked = limited.toArray(new RateLimiter[0]);
+
+    RateLimiter exceeded = localFilter.getExceeded(key, checked, System.currentTimeMillis());
+    if (exceeded == null) {
+      Long index;
+      try {
+        index =
+            RedisConnectionManager.getClient()
+                .getScript(StringCodec.INSTANCE)
+                .eval(
+                    KEY_PREFIX + key,
+                    RScript.Mode.READ_WRITE,
+                    SLIDING_WINDOW_SCRIPT,
+                    RScript.ReturnType.INTEGER,
+                    Collections.singletonList(KEY_PREFIX + key),
+                    args.toArray());
+      } catch (Exception e) {
+        logger.error(
+            context,
+            "RedisRateLimitServiceImpl:throttleByKey: Redis check failed for key = "
+                + OTPUtil.maskId(key, type)
+                + ", falling back to Cassandra",
+            e);
+        fallbackService.throttleByKey(key, type, rateLimiters, context);
+        localFilter.record(key, checked, System.currentTimeMillis());
+        return;
+      }
+      if (index == null || index == 0) {
+        localFilter.record(key, checked, System.currentTimeMillis());
+        return;
+      }
+      exceeded = checked[index.intValue() - 1];
+    }
+    logger.info(
+        context,
+        "RedisRateLimitServiceImpl:throttleByKey: Rate limit threshold crossed for key = "
+            + OTPUtil.maskId(key, type)
+            + ", unit = "
+            + exceeded.name());
+    throw new ProjectCommonException(
+        ResponseCode.errorRateLimitExceeded,
+        ResponseCode.errorRateLimitExceeded.getErrorMessage(),
+        ResponseCode.TOO_MANY_REQUESTS.getResponseCode(),
+        exceeded.name().toLowerCase());
+  }
+}
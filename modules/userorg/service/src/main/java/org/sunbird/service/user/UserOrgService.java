@@ -9,6 +9,9 @@ public interface UserOrgService {
 
   List<Map<String, Object>> getUserOrgListByUserId(String userId, RequestContext context);
 
+  Map<String, List<Map<String, Object>>> getUserOrgListByUserIds(
+      List<String> userIds, RequestContext context);
+
   void deleteUserOrgMapping(List<Map<String, Object>> userOrgList, RequestContext context);
 
   void upsertUserOrgData(Map<String, Object> userMap, RequestContext context);
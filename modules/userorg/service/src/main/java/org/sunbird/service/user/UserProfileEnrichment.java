@@ -0,0 +1,188 @@
+package org.sunbird.service.user;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.commons.collections.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.sunbird.common.ProjectUtil;
+import org.sunbird.keys.JsonKey;
+import org.sunbird.request.RequestContext;
+import org.sunbird.service.location.LocationService;
+import org.sunbird.service.location.LocationServiceImpl;
+import org.sunbird.service.organisation.OrgService;
+import org.sunbird.service.organisation.impl.OrgServiceImpl;
+
+/**
+ * Lookups made to enrich the user profiles returned by one read request.
+ *
+ * <p>Lookups run on a pool shared by all profile reads, so the lookups of a profile that do not
+ * depend on each other run concurrently. Organisations and locations are kept by id for the
+ * lifetime of the request: each id is fetched at most once, in one call with the other ids
+ * requested at the same time, however many sections or profiles refer to it. Records returned by
+ * {@link #getOrgs(Collection)} and {@link #getLocations(Collection)} are shared and must be copied
+ * before being modified.
+ */
+public class UserProfileEnrichment {
+
+  private static final AtomicInteger threadCount = new AtomicInteger();
+  private static final ExecutorService executor =
+      Executors.newFixedThreadPool(
+          NumberUtils.toInt(
+              ProjectUtil.getConfigValue("sunbird_user_profile_read_concurrency"), 32),
+          runnable -> {
+            Thread thread =
+                new Thread(runnable, "user-profile-read-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final OrgService orgService = OrgServiceImpl.getInstance();
+  private final LocationService locationService = LocationServiceImpl.getInstance();
+  private final RequestContext context;
+  private final Map<String, CompletableFuture<Map<String, Object>>> orgsById =
+      new ConcurrentHashMap<>();
+  private final Map<String, CompletableFuture<Map<String, Object>>> locationsById =
+      new ConcurrentHashMap<>();
+
+  public UserProfileEnrichment(RequestContext context) {
+    this.context = context;
+  }
+
+  /**
+   * Starts a lookup on the profile read pool.
+   *
+   * @param lookup Lookup to run.
+   * @return Future result of the lookup.
+   */
+  public static <T> CompletableFuture<T> supply(Supplier<T> lookup) {
+    return CompletableFuture.supplyAsync(lookup, executor);
+  }
+
+  /**
+   * Waits for the result of a lookup, rethrowing the exception the lookup failed with.
+   *
+   * @param future Future result of the lookup.
+   * @return Result of the lookup.
+   */
+  public static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      while (cause instanceof CompletionException && cause.getCause() != null) {
+        cause = cause.getCause();
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * Returns organisations by id, fetching all their fields.
+   *
+   * @param orgIds Ids of the organisations.
+   * @return Future map of the organisations found, by id.
+   */
+  public CompletableFuture<Map<String, Map<String, Object>>> getOrgs(Collection<String> orgIds) {
+    return getById(
+        orgIds,
+        orgsById,
+        ids -> {
+          if (ids.size() == 1) {
+            Map<String, Object> org = orgService.getOrgById(ids.get(0), context);
+            return MapUtils.isEmpty(org)
+                ? Collections.emptyList()
+                : Collections.singletonList(org);
+          }
+          return orgService.getOrgByIds(ids, context);
+        });
+  }
+
+  /**
+   * Returns locations by id, fetching all their fields.
+   *
+   * @param locationIds Ids of the locations.
+   * @return Future map of the locations found, by id.
+   */
+  public CompletableFuture<Map<String, Map<String, Object>>> getLocations(
+      Collection<String> locationIds) {
+    return getById(
+        locationIds,
+        locationsById,
+        ids -> locationService.getLocationsByIds(ids, null, context));
+  }
+
+  private CompletableFuture<Map<String, Map<String, Object>>> getById(
+      Collection<String> ids,
+      Map<String, CompletableFuture<Map<String, Object>>> cache,
+      Function<List<String>, List<Map<String, Object>>> fetch) {
+    Set<String> requested = new LinkedHashSet<>();
+    Map<String, CompletableFuture<Map<String, Object>>> missing = new LinkedHashMap<>();
+    for (String id : ids) {
+      if (StringUtils.isNotBlank(id) && requested.add(id)) {
+        CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        if (cache.putIfAbsent(id, future) == null) {
+          missing.put(id, future);
+        }
+      }
+    }
+    if (!missing.isEmpty()) {
+      supply(() -> fetch.apply(List.copyOf(missing.keySet())))
+          .whenComplete(
+              (records, error) -> {
+                if (error != null) {
+                  missing.values().forEach(future -> future.completeExceptionally(error));
+                  return;
+                }
+                if (records != null) {
+                  for (Map<String, Object> record : records) {
+                    CompletableFuture<Map<String, Object>> future =
+                        missing.get((String) record.get(JsonKey.ID));
+                    if (future != null) {
+                      future.complete(record);
+                    }
+                  }
+                }
+                missing.values().forEach(future -> future.complete(null));
+              });
+    }
+    CompletableFuture<?>[] futures =
+        requested.stream().map(cache::get).toArray(CompletableFuture[]::new);
+    return CompletableFuture.allOf(futures)
+        .thenApply(
+            done -> {
+              Map<String, Map<String, Object>> recordsById = new HashMap<>();
+              for (String id : requested) {
+                Map<String, Object> record = cache.get(id).join();
+                if (record != null) {
+                  recordsById.put(id, record);
+                }
+              }
+              return recordsById;
+            });
+  }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.text.MessageFormat;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import com.typesafe.config.ConfigFactory;
@@ -21,10 +22,6 @@ import org.sunbird.operations.userorg.ActorOperations;
 import org.sunbird.request.Request;
 import org.sunbird.request.RequestContext;
 import org.sunbird.response.Response;
-import org.sunbird.service.location.LocationService;
-import org.sunbird.service.location.LocationServiceImpl;
-import org.sunbird.service.organisation.OrgService;
-import org.sunbird.service.organisation.impl.OrgServiceImpl;
 import org.sunbird.service.user.impl.*;
 import org.sunbird.util.*;
 import org.sunbird.common.ProjectUtil;
@@ -33,12 +30,13 @@ import org.sunbird.util.user.UserUtil;
 
 public class UserProfileReadService {
 
+  private static final List<String> USER_LOCATION_FIELDS =
+      Arrays.asList(JsonKey.CODE, JsonKey.NAME, JsonKey.TYPE, JsonKey.PARENT_ID, JsonKey.ID);
+
   private final LoggerUtil logger = new LoggerUtil(UserProfileReadService.class);
   private final UserService userService = UserServiceImpl.getInstance();
-  private final OrgService orgService = OrgServiceImpl.getInstance();
   private final UserRoleService userRoleService = UserRoleServiceImpl.getInstance();
   private final UserOrgService userOrgService = UserOrgServiceImpl.getInstance();
-  private final LocationService locationService = LocationServiceImpl.getInstance();
   private final UserSelfDeclarationService userSelfDeclarationService =
       UserSelfDeclarationServiceImpl.getInstance();
   private final UserExternalIdentityService userExternalIdentityService =
@@ -59,42 +57,14 @@ public class UserProfileReadService {
     } else {
       userId = id;
     }
-    Map<String, Object> result =
-        validateUserIdAndGetUserDetails(userId, actorMessage.getRequestContext());
-    appendUserTypeAndLocation(result, actorMessage);
-    Map<String, Object> rootOrg =
-        orgService.getOrgById(
-            (String) result.get(JsonKey.ROOT_ORG_ID), actorMessage.getRequestContext());
-    if (MapUtils.isNotEmpty(rootOrg)
-        && (readVersion.equalsIgnoreCase(ActorOperations.GET_USER_PROFILE_V4.getValue())
-            || readVersion.equalsIgnoreCase(ActorOperations.GET_USER_PROFILE_V5.getValue()))) {
-      Util.getOrgDefaultValue().keySet().forEach(rootOrg::remove);
-      Util.getUserDefaultValue().keySet().forEach(result::remove);
-    } else {
-      result.putAll(Util.getUserDefaultValue());
-    }
-
-    OrgTypeValidator.getInstance().updateOrganisationTypeFlags(rootOrg);
-    result.put(JsonKey.ROOT_ORG, rootOrg);
-    Map<String, List<String>> userOrgRoles = null;
-    List<Map<String, Object>> userRolesList =
-        userRoleService.getUserRoles(userId, actorMessage.getRequestContext());
-    if (readVersion.equalsIgnoreCase(ActorOperations.GET_USER_PROFILE_V5.getValue())) {
-      result.put(JsonKey.ROLES, userRolesList);
-    } else {
-      result.remove(JsonKey.ROLES);
-      userOrgRoles = getUserOrgRoles(userRolesList);
-    }
-    result.put(
-        JsonKey.ORGANISATIONS,
-        fetchUserOrgList(
-            (String) result.get(JsonKey.ID), userOrgRoles, actorMessage.getRequestContext()));
+    RequestContext context = actorMessage.getRequestContext();
+    Map<String, Object> result = validateUserIdAndGetUserDetails(userId, context);
     String requestedById =
         (String) actorMessage.getContext().getOrDefault(JsonKey.REQUESTED_BY, "");
     String managedForId = (String) actorMessage.getContext().getOrDefault(JsonKey.MANAGED_FOR, "");
     String managedBy = (String) result.get(JsonKey.MANAGED_BY);
     logger.debug(
-        actorMessage.getRequestContext(),
+        context,
         "requested By and requested user id == "
             + requestedById
             + "  "
@@ -108,17 +78,86 @@ public class UserProfileReadService {
         ProjectCommonException.throwUnauthorizedErrorException();
       }
     }
-    getManagedToken(actorMessage, userId, result, managedBy);
+    appendUserTypeAndLocation(result, actorMessage);
     String requestFields = (String) actorMessage.getContext().get(JsonKey.FIELDS);
-    if (StringUtils.isNotBlank(userId)
-        && (userId.equalsIgnoreCase(requestedById) || userId.equalsIgnoreCase(managedForId))
-        && StringUtils.isBlank(requestFields)) {
-      result.put(
-          JsonKey.EXTERNAL_IDS,
-          fetchUserExternalIdentity(userId, result, true, actorMessage.getRequestContext()));
+    boolean isSelfRead =
+        StringUtils.isNotBlank(userId)
+            && (userId.equalsIgnoreCase(requestedById) || userId.equalsIgnoreCase(managedForId));
+    EnrichmentPlan plan = new EnrichmentPlan(result, requestFields, isSelfRead);
+
+    // Start every lookup the requested sections need before waiting for any of them.
+    UserProfileEnrichment enrichment = new UserProfileEnrichment(context);
+    String profileId = (String) result.get(JsonKey.ID);
+    String rootOrgId = (String) result.get(JsonKey.ROOT_ORG_ID);
+    CompletableFuture<Map<String, Map<String, Object>>> rootOrgFuture =
+        enrichment.getOrgs(Collections.singletonList(rootOrgId));
+    CompletableFuture<List<Map<String, Object>>> userRolesFuture =
+        UserProfileEnrichment.supply(() -> userRoleService.getUserRoles(userId, context));
+    CompletableFuture<List<Map<String, Object>>> userOrgsFuture =
+        UserProfileEnrichment.supply(
+                () -> userOrgService.getUserOrgListByUserId(profileId, context))
+            .thenCombine(
+                userRolesFuture,
+                (userOrgList, userRolesList) ->
+                    fetchUserOrgList(
+                        userOrgList,
+                        readVersion.equalsIgnoreCase(ActorOperations.GET_USER_PROFILE_V5.getValue())
+                            ? null
+                            : getUserOrgRoles(userRolesList)));
+    if (plan.orgDetails) {
+      userOrgsFuture =
+          userOrgsFuture.thenCompose(userOrgs -> updateUserOrgInfo(userOrgs, enrichment));
+    }
+    CompletableFuture<List<Map<String, String>>> externalIdsFuture = null;
+    if (plan.externalIds) {
+      Map<String, Object> user = new HashMap<>(result);
+      externalIdsFuture =
+          UserProfileEnrichment.supply(
+              () -> fetchUserExternalIdentity(userId, user, plan.mergeDeclarations, context));
+    }
+    CompletableFuture<List<Map<String, Object>>> declarationsFuture = null;
+    if (plan.declarations) {
+      declarationsFuture =
+          UserProfileEnrichment.supply(
+              () -> userSelfDeclarationService.fetchUserDeclarations(profileId, context));
+    }
+    CompletableFuture<Map<String, Map<String, Object>>> userLocationsFuture = null;
+    if (plan.userLocations) {
+      userLocationsFuture = enrichment.getLocations(getProfileLocationIds(result));
     }
-    if (StringUtils.isNotBlank((String) actorMessage.getContext().get(JsonKey.FIELDS))) {
-      addExtraFieldsInUserProfileResponse(result, requestFields, actorMessage.getRequestContext());
+    getManagedToken(actorMessage, userId, result, managedBy);
+
+    Map<String, Object> rootOrg =
+        new HashMap<>(
+            UserProfileEnrichment.join(rootOrgFuture).getOrDefault(rootOrgId, new HashMap<>()));
+    if (MapUtils.isNotEmpty(rootOrg)
+        && (readVersion.equalsIgnoreCase(ActorOperations.GET_USER_PROFILE_V4.getValue())
+            || readVersion.equalsIgnoreCase(ActorOperations.GET_USER_PROFILE_V5.getValue()))) {
+      Util.getOrgDefaultValue().keySet().forEach(rootOrg::remove);
+      Util.getUserDefaultValue().keySet().forEach(result::remove);
+    } else {
+      result.putAll(Util.getUserDefaultValue());
+    }
+
+    OrgTypeValidator.getInstance().updateOrganisationTypeFlags(rootOrg);
+    result.put(JsonKey.ROOT_ORG, rootOrg);
+    if (readVersion.equalsIgnoreCase(ActorOperations.GET_USER_PROFILE_V5.getValue())) {
+      result.put(JsonKey.ROLES, UserProfileEnrichment.join(userRolesFuture));
+    } else {
+      result.remove(JsonKey.ROLES);
+    }
+    result.put(JsonKey.ORGANISATIONS, UserProfileEnrichment.join(userOrgsFuture));
+    if (isSelfRead && StringUtils.isBlank(requestFields)) {
+      result.put(JsonKey.EXTERNAL_IDS, UserProfileEnrichment.join(externalIdsFuture));
+    }
+    if (StringUtils.isNotBlank(requestFields)) {
+      addExtraFieldsInUserProfileResponse(
+          result,
+          requestFields,
+          userLocationsFuture == null ? null : UserProfileEnrichment.join(userLocationsFuture),
+          declarationsFuture == null ? null : UserProfileEnrichment.join(declarationsFuture),
+          externalIdsFuture == null ? null : UserProfileEnrichment.join(externalIdsFuture),
+          context);
     }
     String encEmail = (String) result.get(JsonKey.EMAIL);
     String encPhone = (String) result.get(JsonKey.PHONE);
@@ -146,6 +185,131 @@ public class UserProfileReadService {
     return response;
   }
 
+  /**
+   * Reads the profiles of several users in the v3 format. Each backing table is read once for all
+   * the users, and the organisations and locations referred to by the profiles are fetched once
+   * for all of them. Profiles are returned in the order of the requested ids; users not found or
+   * deleted are skipped.
+   *
+   * @param actorMessage Request with the user ids.
+   * @return Response with the profiles of the users found.
+   */
+  public Response getUserProfilesData(Request actorMessage) {
+    RequestContext context = actorMessage.getRequestContext();
+    List<String> userIds =
+        ((List<String>) actorMessage.getRequest().get(JsonKey.USER_IDs))
+            .stream()
+            .map(ProjectUtil::getLmsUserId)
+            .distinct()
+            .collect(Collectors.toList());
+    boolean isPrivate = (boolean) actorMessage.getContext().getOrDefault(JsonKey.PRIVATE, false);
+    String requestFields = (String) actorMessage.getContext().get(JsonKey.FIELDS);
+
+    UserProfileEnrichment enrichment = new UserProfileEnrichment(context);
+    CompletableFuture<Map<String, List<Map<String, Object>>>> userRolesFuture =
+        UserProfileEnrichment.supply(() -> userRoleService.getUsersRoles(userIds, context));
+    CompletableFuture<Map<String, List<Map<String, Object>>>> userOrgsFuture =
+        UserProfileEnrichment.supply(
+            () -> userOrgService.getUserOrgListByUserIds(userIds, context));
+    Map<String, Map<String, Object>> usersById = new HashMap<>();
+    Map<String, EnrichmentPlan> plansById = new HashMap<>();
+    for (Map<String, Object> user : userService.getUsersDetailsByIds(userIds, context)) {
+      if (!Boolean.TRUE.equals(user.get(JsonKey.IS_DELETED))) {
+        String userId = (String) user.get(JsonKey.ID);
+        removeUserPrivateField(user);
+        appendUserTypeAndLocation(user, true, context);
+        usersById.put(userId, user);
+        plansById.put(userId, new EnrichmentPlan(user, requestFields, false));
+      }
+    }
+    CompletableFuture<Map<String, Map<String, Object>>> rootOrgsFuture =
+        enrichment.getOrgs(
+            usersById
+                .values()
+                .stream()
+                .map(user -> (String) user.get(JsonKey.ROOT_ORG_ID))
+                .collect(Collectors.toList()));
+    Set<String> profileLocationIds = new HashSet<>();
+    for (Map<String, Object> user : usersById.values()) {
+      if (plansById.get((String) user.get(JsonKey.ID)).userLocations) {
+        profileLocationIds.addAll(getProfileLocationIds(user));
+      }
+    }
+    CompletableFuture<Map<String, Map<String, Object>>> userLocationsFuture =
+        enrichment.getLocations(profileLocationIds);
+
+    Map<String, List<Map<String, Object>>> userOrgsById =
+        UserProfileEnrichment.join(userOrgsFuture);
+    Map<String, List<Map<String, Object>>> userRolesById =
+        UserProfileEnrichment.join(userRolesFuture);
+    Map<String, List<Map<String, Object>>> profileOrgsById = new HashMap<>();
+    List<Map<String, Object>> allProfileOrgs = new ArrayList<>();
+    for (String userId : usersById.keySet()) {
+      List<Map<String, Object>> profileOrgs =
+          fetchUserOrgList(
+              userOrgsById.getOrDefault(userId, new ArrayList<>()),
+              getUserOrgRoles(userRolesById.getOrDefault(userId, new ArrayList<>())));
+      profileOrgsById.put(userId, profileOrgs);
+      allProfileOrgs.addAll(profileOrgs);
+    }
+    if (plansById.values().stream().anyMatch(plan -> plan.orgDetails)) {
+      UserProfileEnrichment.join(updateUserOrgInfo(allProfileOrgs, enrichment));
+    }
+    Map<String, Map<String, Object>> rootOrgsById = UserProfileEnrichment.join(rootOrgsFuture);
+    Map<String, Map<String, Object>> userLocationsById =
+        UserProfileEnrichment.join(userLocationsFuture);
+
+    List<Map<String, Object>> profiles = new ArrayList<>();
+    for (String userId : userIds) {
+      Map<String, Object> result = usersById.get(userId);
+      if (result == null) {
+        continue;
+      }
+      Map<String, Object> rootOrg =
+          new HashMap<>(
+              rootOrgsById.getOrDefault(result.get(JsonKey.ROOT_ORG_ID), new HashMap<>()));
+      result.putAll(Util.getUserDefaultValue());
+      OrgTypeValidator.getInstance().updateOrganisationTypeFlags(rootOrg);
+      result.put(JsonKey.ROOT_ORG, rootOrg);
+      result.remove(JsonKey.ROLES);
+      result.put(JsonKey.ORGANISATIONS, profileOrgsById.get(userId));
+      if (StringUtils.isNotBlank(requestFields)) {
+        addExtraFieldsInUserProfileResponse(
+            result,
+            requestFields,
+            plansById.get(userId).userLocations ? userLocationsById : null,
+            null,
+            null,
+            context);
+      }
+      String encEmail = (String) result.get(JsonKey.EMAIL);
+      String encPhone = (String) result.get(JsonKey.PHONE);
+      UserUtility.decryptUserDataFrmES(result);
+      if (isPrivate) {
+        result.put((JsonKey.ENC_PHONE), encPhone);
+        result.put((JsonKey.ENC_EMAIL), encEmail);
+      }
+      updateTnc(result);
+      if (null != result.get(JsonKey.ALL_TNC_ACCEPTED)) {
+        result.put(
+            JsonKey.ALL_TNC_ACCEPTED,
+            UserTncUtil.convertTncStringToJsonMap(
+                (Map<String, String>) result.get(JsonKey.ALL_TNC_ACCEPTED)));
+      }
+      addFlagValue(result);
+      appendMinorFlag(result);
+      result.put(JsonKey.IDENTIFIER, userId);
+      profiles.add(result);
+    }
+
+    Map<String, Object> responseMap = new HashMap<>();
+    responseMap.put(JsonKey.CONTENT, profiles);
+    responseMap.put(JsonKey.COUNT, profiles.size());
+    Response response = new Response();
+    response.put(JsonKey.RESPONSE, responseMap);
+    return response;
+  }
+
   private Map<String, List<String>> getUserOrgRoles(List<Map<String, Object>> userRolesList) {
     Map<String, List<String>> userOrgRoles = new HashMap<>();
     for (Map userRole : userRolesList) {
@@ -168,6 +332,16 @@ public class UserProfileReadService {
   }
 
   public void appendUserTypeAndLocation(Map<String, Object> result, Request actorMessage) {
+    appendUserTypeAndLocation(
+        result,
+        actorMessage
+            .getOperation()
+            .equalsIgnoreCase(ActorOperations.GET_USER_PROFILE_V3.getValue()),
+        actorMessage.getRequestContext());
+  }
+
+  private void appendUserTypeAndLocation(
+      Map<String, Object> result, boolean isV3Read, RequestContext context) {
     List<Map<String, Object>> userTypeDetailsList = new ArrayList<>();
     try {
       if (StringUtils.isNotEmpty((String) result.get(JsonKey.PROFILE_USERTYPES))) {
@@ -177,7 +351,7 @@ public class UserProfileReadService {
       }
     } catch (Exception e) {
       logger.error(
-          actorMessage.getRequestContext(),
+          context,
           "Exception because of mapper read value" + result.get(JsonKey.PROFILE_USERTYPES),
           e);
     }
@@ -190,7 +364,7 @@ public class UserProfileReadService {
       }
     } catch (Exception e) {
       logger.error(
-          actorMessage.getRequestContext(),
+          context,
           "Exception because of mapper read value" + result.get(JsonKey.PROFILE_USERTYPE),
           e);
     }
@@ -209,13 +383,11 @@ public class UserProfileReadService {
       }
     } catch (Exception ex) {
       logger.error(
-          actorMessage.getRequestContext(),
+          context,
           "Exception occurred while mapping " + result.get(JsonKey.PROFILE_LOCATION),
           ex);
     }
-    if (actorMessage
-        .getOperation()
-        .equalsIgnoreCase(ActorOperations.GET_USER_PROFILE_V3.getValue())) {
+    if (isV3Read) {
       if (MapUtils.isNotEmpty(userTypeDetails)) {
         result.put(JsonKey.USER_TYPE, userTypeDetails.get(JsonKey.TYPE));
         result.put(JsonKey.USER_SUB_TYPE, userTypeDetails.get(JsonKey.SUB_TYPE));
@@ -282,10 +454,8 @@ public class UserProfileReadService {
   }
 
   private List<Map<String, Object>> fetchUserOrgList(
-      String userId, Map<String, List<String>> userOrgRoles, RequestContext requestContext) {
+      List<Map<String, Object>> userOrgList, Map<String, List<String>> userOrgRoles) {
     List<Map<String, Object>> usrOrgList = new ArrayList<>();
-    List<Map<String, Object>> userOrgList =
-        userOrgService.getUserOrgListByUserId(userId, requestContext);
     for (Map<String, Object> userOrg : userOrgList) {
       Boolean isDeleted = (Boolean) userOrg.get(JsonKey.IS_DELETED);
       if (null == isDeleted || (!isDeleted.booleanValue())) {
@@ -438,8 +608,13 @@ public class UserProfileReadService {
     }
   }
 
-  public void addExtraFieldsInUserProfileResponse(
-      Map<String, Object> result, String fields, RequestContext context) {
+  private void addExtraFieldsInUserProfileResponse(
+      Map<String, Object> result,
+      String fields,
+      Map<String, Map<String, Object>> locationsById,
+      List<Map<String, Object>> declarations,
+      List<Map<String, String>> externalIds,
+      RequestContext context) {
     if (!StringUtils.isBlank(fields)) {
       result.put(JsonKey.LAST_LOGIN_TIME, Long.parseLong("0"));
       if (fields.contains(JsonKey.TOPIC)) {
@@ -448,43 +623,29 @@ public class UserProfileReadService {
       if (fields.contains(JsonKey.ROLES)) {
         result.put(JsonKey.ROLE_LIST, DataCacheHandler.getUserReadRoleList());
       }
-      if (fields.contains(JsonKey.ORGANISATIONS)) {
-        updateUserOrgInfo((List) result.get(JsonKey.ORGANISATIONS), context);
-      }
-      if (fields.contains(JsonKey.LOCATIONS)) {
-        List<Map<String, String>> userLocList =
-            (List<Map<String, String>>) result.get(JsonKey.PROFILE_LOCATION);
-        if (CollectionUtils.isNotEmpty(userLocList)) {
-          List<String> locationIds =
-              userLocList.stream().map(m -> m.get(JsonKey.ID)).collect(Collectors.toList());
-          List<Map<String, Object>> userLocations = getUserLocations(locationIds, context);
-          if (CollectionUtils.isNotEmpty(userLocations)) {
-            result.put(JsonKey.USER_LOCATIONS, userLocations);
-            // For adding school, request need to have fields=locations,organisations, as externalid
-            // id is populated with this request only
-            if (fields.contains(JsonKey.ORGANISATIONS)) {
-              try {
-                addSchoolLocation(result, context);
-              } catch (Exception e) {
-                logger.error("Not able to fetch school details in user read - user location", e);
-              }
+      if (locationsById != null) {
+        List<Map<String, Object>> userLocations =
+            getUserLocations(getProfileLocationIds(result), locationsById);
+        if (CollectionUtils.isNotEmpty(userLocations)) {
+          result.put(JsonKey.USER_LOCATIONS, userLocations);
+          // For adding school, request need to have fields=locations,organisations, as externalid
+          // id is populated with this request only
+          if (fields.contains(JsonKey.ORGANISATIONS)) {
+            try {
+              addSchoolLocation(result, context);
+            } catch (Exception e) {
+              logger.error("Not able to fetch school details in user read - user location", e);
             }
-            result.remove(JsonKey.LOCATION_IDS);
-            result.remove(JsonKey.PROFILE_LOCATION);
           }
+          result.remove(JsonKey.LOCATION_IDS);
+          result.remove(JsonKey.PROFILE_LOCATION);
         }
       }
-      if (fields.contains(JsonKey.DECLARATIONS)) {
-        List<Map<String, Object>> declarations =
-            userSelfDeclarationService.fetchUserDeclarations(
-                (String) result.get(JsonKey.ID), context);
+      if (declarations != null) {
         result.put(JsonKey.DECLARATIONS, declarations);
       }
-      if (CollectionUtils.isEmpty((List<Map<String, String>>) result.get(JsonKey.EXTERNAL_IDS))
-          && fields.contains(JsonKey.EXTERNAL_IDS)) {
-        List<Map<String, String>> resExternalIds =
-            fetchUserExternalIdentity((String) result.get(JsonKey.ID), result, false, context);
-        result.put(JsonKey.EXTERNAL_IDS, resExternalIds);
+      if (externalIds != null) {
+        result.put(JsonKey.EXTERNAL_IDS, externalIds);
       }
     }
   }
@@ -520,84 +681,71 @@ public class UserProfileReadService {
     }
   }
 
-  private List<Map<String, Object>> getUserLocations(
-      List<String> locationIds, RequestContext context) {
-    if (CollectionUtils.isNotEmpty(locationIds)) {
-      List<String> locationFields =
-          Arrays.asList(JsonKey.CODE, JsonKey.NAME, JsonKey.TYPE, JsonKey.PARENT_ID, JsonKey.ID);
-      return locationService.getLocationsByIds(locationIds, locationFields, context);
+  private List<String> getProfileLocationIds(Map<String, Object> result) {
+    List<Map<String, String>> userLocList =
+        (List<Map<String, String>>) result.get(JsonKey.PROFILE_LOCATION);
+    if (CollectionUtils.isEmpty(userLocList)) {
+      return new ArrayList<>();
     }
-    return new ArrayList<>();
+    return userLocList.stream().map(m -> m.get(JsonKey.ID)).collect(Collectors.toList());
   }
 
-  private void updateUserOrgInfo(List<Map<String, Object>> userOrgs, RequestContext context) {
-    Map<String, Map<String, Object>> orgInfoMap = fetchAllOrgById(userOrgs, context);
-    Map<String, Map<String, Object>> locationInfoMap = fetchAllLocationsById(orgInfoMap, context);
-    prepUserOrgInfoWithAdditionalData(userOrgs, orgInfoMap, locationInfoMap);
+  private List<Map<String, Object>> getUserLocations(
+      List<String> locationIds, Map<String, Map<String, Object>> locationsById) {
+    List<Map<String, Object>> userLocations = new ArrayList<>();
+    for (String locationId : locationIds) {
+      Map<String, Object> location = locationsById.get(locationId);
+      if (location != null) {
+        Map<String, Object> userLocation = new HashMap<>();
+        for (String field : USER_LOCATION_FIELDS) {
+          userLocation.put(field, location.get(field));
+        }
+        userLocations.add(userLocation);
+      }
+    }
+    return userLocations;
   }
 
-  private Map<String, Map<String, Object>> fetchAllOrgById(
-      List<Map<String, Object>> userOrgs, RequestContext context) {
+  private CompletableFuture<List<Map<String, Object>>> updateUserOrgInfo(
+      List<Map<String, Object>> userOrgs, UserProfileEnrichment enrichment) {
     List<String> orgIds =
         userOrgs
             .stream()
             .map(m -> (String) m.get(JsonKey.ORGANISATION_ID))
             .distinct()
             .collect(Collectors.toList());
-    if (CollectionUtils.isNotEmpty(orgIds)) {
-      List<String> fields =
-          Arrays.asList(
-              JsonKey.ORG_NAME,
-              JsonKey.CHANNEL,
-              JsonKey.HASHTAGID,
-              JsonKey.ORG_LOCATION,
-              JsonKey.LOCATION_IDS,
-              JsonKey.ID,
-              JsonKey.EXTERNAL_ID,
-              JsonKey.ORGANISATION_TYPE);
-      List<Map<String, Object>> userOrgResponseList =
-          orgService.getOrgByIds(orgIds, fields, context);
-      if (CollectionUtils.isNotEmpty(userOrgResponseList)) {
-        return userOrgResponseList
-            .stream()
-            .collect(Collectors.toMap(obj -> (String) obj.get("id"), val -> val));
-      }
-    }
-    return new HashMap<>();
-  }
-
-  private Map<String, Map<String, Object>> fetchAllLocationsById(
-      Map<String, Map<String, Object>> orgInfoMap, RequestContext context) {
-    Set<String> locationSet = new HashSet<>();
-    for (Map<String, Object> org : orgInfoMap.values()) {
-      List<String> locationIds = null;
-      List<Map<String, String>> orgLocList = (List) org.get(JsonKey.ORG_LOCATION);
-      if (CollectionUtils.isNotEmpty(orgLocList)) {
-        locationIds = orgLocList.stream().map(m -> m.get(JsonKey.ID)).collect(Collectors.toList());
-        org.put(JsonKey.ORG_LOCATION, orgLocList);
-      } else {
-        org.put(JsonKey.ORG_LOCATION, new ArrayList<>());
-      }
-      if (CollectionUtils.isNotEmpty(locationIds)) {
-        locationIds.forEach(
-            locId -> {
-              if (StringUtils.isNotBlank(locId)) {
-                locationSet.add(locId);
+    return enrichment
+        .getOrgs(orgIds)
+        .thenCompose(
+            orgInfoMap -> {
+              Set<String> locationSet = new HashSet<>();
+              for (Map<String, Object> org : orgInfoMap.values()) {
+                List<String> locationIds = getOrgLocationIds(org);
+                if (CollectionUtils.isNotEmpty(locationIds)) {
+                  locationIds.forEach(
+                      locId -> {
+                        if (StringUtils.isNotBlank(locId)) {
+                          locationSet.add(locId);
+                        }
+                      });
+                }
               }
+              return enrichment
+                  .getLocations(locationSet)
+                  .thenApply(
+                      locationInfoMap -> {
+                        prepUserOrgInfoWithAdditionalData(userOrgs, orgInfoMap, locationInfoMap);
+                        return userOrgs;
+                      });
             });
-      }
-      org.put(JsonKey.LOCATION_IDS, locationIds);
-    }
-    if (CollectionUtils.isNotEmpty(locationSet)) {
-      List<String> locList = new ArrayList<>(locationSet);
-      List<Map<String, Object>> locationResponseList =
-          locationService.getLocationsByIds(locList, null, context);
-      return locationResponseList
-          .stream()
-          .collect(Collectors.toMap(obj -> (String) obj.get("id"), val -> val));
-    } else {
-      return new HashMap<>();
+  }
+
+  private List<String> getOrgLocationIds(Map<String, Object> org) {
+    List<Map<String, String>> orgLocList = (List) org.get(JsonKey.ORG_LOCATION);
+    if (CollectionUtils.isNotEmpty(orgLocList)) {
+      return orgLocList.stream().map(m -> m.get(JsonKey.ID)).collect(Collectors.toList());
     }
+    return null;
   }
 
   private void prepUserOrgInfoWithAdditionalData(
@@ -607,11 +755,15 @@ public class UserProfileReadService {
     for (Map<String, Object> usrOrg : userOrgs) {
       Map<String, Object> orgInfo = orgInfoMap.get(usrOrg.get(JsonKey.ORGANISATION_ID));
       if (MapUtils.isNotEmpty(orgInfo)) {
+        List<String> locationIds = getOrgLocationIds(orgInfo);
+        Object orgLocation = orgInfo.get(JsonKey.ORG_LOCATION);
         usrOrg.put(JsonKey.ORG_NAME, orgInfo.get(JsonKey.ORG_NAME));
         usrOrg.put(JsonKey.CHANNEL, orgInfo.get(JsonKey.CHANNEL));
         usrOrg.put(JsonKey.HASHTAGID, orgInfo.get(JsonKey.HASHTAGID));
-        usrOrg.put(JsonKey.LOCATION_IDS, orgInfo.get(JsonKey.LOCATION_IDS));
-        usrOrg.put(JsonKey.ORG_LOCATION, orgInfo.get(JsonKey.ORG_LOCATION));
+        usrOrg.put(JsonKey.LOCATION_IDS, locationIds);
+        usrOrg.put(
+            JsonKey.ORG_LOCATION,
+            CollectionUtils.isNotEmpty((List) orgLocation) ? orgLocation : new ArrayList<>());
         usrOrg.put(JsonKey.EXTERNAL_ID, orgInfo.get(JsonKey.EXTERNAL_ID));
         if (null != orgInfo.get(JsonKey.ORGANISATION_TYPE)) {
           int orgType = (int) orgInfo.get(JsonKey.ORGANISATION_TYPE);
@@ -620,10 +772,7 @@ public class UserProfileReadService {
           usrOrg.put(JsonKey.IS_SCHOOL, isSchool);
         }
         if (MapUtils.isNotEmpty(locationInfoMap)) {
-          usrOrg.put(
-              JsonKey.LOCATIONS,
-              prepLocationFields(
-                  (List<String>) orgInfo.get(JsonKey.LOCATION_IDS), locationInfoMap));
+          usrOrg.put(JsonKey.LOCATIONS, prepLocationFields(locationIds, locationInfoMap));
         }
       }
     }
@@ -639,4 +788,29 @@ public class UserProfileReadService {
     }
     return retList;
   }
+
+  /** Sections of the user profile that need lookups beyond the user record. */
+  private static final class EnrichmentPlan {
+    private final boolean orgDetails;
+    private final boolean userLocations;
+    private final boolean declarations;
+    private final boolean externalIds;
+    private final boolean mergeDeclarations;
+
+    private EnrichmentPlan(Map<String, Object> user, String fields, boolean isSelfRead) {
+      boolean hasFields = StringUtils.isNotBlank(fields);
+      orgDetails = hasFields && fields.contains(JsonKey.ORGANISATIONS);
+      userLocations =
+          hasFields
+              && fields.contains(JsonKey.LOCATIONS)
+              && CollectionUtils.isNotEmpty((List) user.get(JsonKey.PROFILE_LOCATION));
+      declarations = hasFields && fields.contains(JsonKey.DECLARATIONS);
+      mergeDeclarations = isSelfRead && !hasFields;
+      externalIds =
+          mergeDeclarations
+              || (hasFields
+                  && fields.contains(JsonKey.EXTERNAL_IDS)
+                  && CollectionUtils.isEmpty((List) user.get(JsonKey.EXTERNAL_IDS)));
+    }
+  }
 }
@@ -0,0 +1,244 @@
+package org.sunbird.service.user;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.collections.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.sunbird.common.ProjectUtil;
+import org.sunbird.dao.user.UserRoleDao;
+import org.sunbird.dao.user.impl.UserRoleDaoImpl;
+import org.sunbird.logging.LoggerUtil;
+import org.sunbird.request.RequestContext;
+
+/**
+ * Applies user role changes to the user documents in ES in the background.
+ *
+ * <p>Changes submitted for the same user within one window are merged into a single partial
+ * update, later fields overriding earlier ones, and the updates of a window are sent in bulk
+ * requests. A single thread applies the updates and waits for each bulk request to complete, so
+ * the updates of a user are applied in the order they were submitted. Updates of a bulk request
+ * that could not be applied are merged back under any newer change of the same user, the newer
+ * fields winning, and retried up to {@code sunbird_user_role_es_sync_max_attempts} times in all.
+ */
+public class UserRoleEsUpdater {
+
+  private static final LoggerUtil logger = new LoggerUtil(UserRoleEsUpdater.class);
+  private static final long WINDOW_MILLIS =
+      NumberUtils.toLong(ProjectUtil.getConfigValue("sunbird_user_role_es_sync_window_ms"), 500);
+  private static final int BATCH_SIZE =
+      NumberUtils.toInt(ProjectUtil.getConfigValue("sunbird_user_role_es_sync_batch_size"), 500);
+  private static final int MAX_ATTEMPTS =
+      NumberUtils.toInt(ProjectUtil.getConfigValue("sunbird_user_role_es_sync_max_attempts"), 3);
+
+  private static volatile UserRoleEsUpdater instance;
+
+  private final UserRoleDao userRoleDao;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final Map<String, PendingUpdate> pending = new ConcurrentHashMap<>();
+  private final AtomicLong submitted = new AtomicLong();
+  private final AtomicLong coalesced = new AtomicLong();
+  private final AtomicLong applied = new AtomicLong();
+  private final AtomicLong retried = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicLong bulkRequests = new AtomicLong();
+  private final AtomicLong lastLagMillis = new AtomicLong();
+  private final AtomicLong maxLagMillis = new AtomicLong();
+
+  UserRoleEsUpdater(UserRoleDao userRoleDao, int batchSize, int maxAttempts) {
+    this.userRoleDao = userRoleDao;
+    this.batchSize = Math.max(1, batchSize);
+    this.maxAttempts = Math.max(1, maxAttempts);
+  }
+
+  public static UserRoleEsUpdater getInstance() {
+    if (instance == null) {
+      synchronized (UserRoleEsUpdater.class) {
+        if (instance == null) {
+          UserRoleEsUpdater updater =
+              new UserRoleEsUpdater(UserRoleDaoImpl.getInstance(), BATCH_SIZE, MAX_ATTEMPTS);
+          updater.start(WINDOW_MILLIS);
+          instance = updater;
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Queues a partial update of the ES document of a user.
+   *
+   * @param userId Id of the user.
+   * @param data Fields to update.
+   * @param context Request context of the change.
+   */
+  public void submit(String userId, Map<String, Object> data, RequestContext context) {
+    if (StringUtils.isBlank(userId) || MapUtils.isEmpty(data)) {
+      return;
+    }
+    submitted.incrementAndGet();
+    pending.merge(
+        userId,
+        new PendingUpdate(new HashMap<>(data), System.currentTimeMillis(), context, 0),
+        (older, newer) -> {
+          coalesced.incrementAndGet();
+          return older.mergedWith(newer);
+        });
+  }
+
+  /** Applies the updates queued so far. Called by the updater thread at the end of each window. */
+  void flush() {
+    List<String> userIds = new ArrayList<>(pending.keySet());
+    Map<String, PendingUpdate> batch = new LinkedHashMap<>();
+    for (String userId : userIds) {
+      PendingUpdate update = pending.remove(userId);
+      if (update != null) {
+        batch.put(userId, update);
+      }
+      if (batch.size() == batchSize) {
+        apply(batch);
+        batch = new LinkedHashMap<>();
+      }
+    }
+    if (!batch.isEmpty()) {
+      apply(batch);
+    }
+  }
+
+  private void apply(Map<String, PendingUpdate> batch) {
+    Map<String, Map<String, Object>> dataById = new HashMap<>();
+    batch.forEach((userId, update) -> dataById.put(userId, new HashMap<>(update.data)));
+    bulkRequests.incrementAndGet();
+    List<String> failedIds;
+    try {
+      failedIds = userRoleDao.updateUserRolesToES(dataById, null);
+    } catch (Exception e) {
+      logger.error("UserRoleEsUpdater:apply: bulk update of user roles failed", e);
+      failedIds = null;
+    }
+    if (failedIds == null) {
+      batch.forEach(this::requeue);
+      return;
+    }
+    long now = System.currentTimeMillis();
+    long lag = 0;
+    for (Map.Entry<String, PendingUpdate> entry : batch.entrySet()) {
+      if (failedIds.contains(entry.getKey())) {
+        requeue(entry.getKey(), entry.getValue());
+        continue;
+      }
+      applied.incrementAndGet();
+      lag = Math.max(lag, now - entry.getValue().firstSubmittedAt);
+    }
+    lastLagMillis.set(lag);
+    maxLagMillis.accumulateAndGet(lag, Math::max);
+  }
+
+  private void requeue(String userId, PendingUpdate update) {
+    if (update.attempts + 1 >= maxAttempts) {
+      dropped.incrementAndGet();
+      logger.error(
+          update.context,
+          "UserRoleEsUpdater:requeue: dropping role update of user "
+              + userId
+              + " after "
+              + maxAttempts
+              + " attempts",
+          null);
+      return;
+    }
+    retried.incrementAndGet();
+    // Changes submitted while the update was in flight are newer, so their fields win
+    pending.merge(
+        userId,
+        new PendingUpdate(
+            update.data, update.firstSubmittedAt, update.context, update.attempts + 1),
+        (newer, retry) -> retry.mergedWith(newer));
+  }
+
+  /**
+   * Returns the counters of the updater and the lag, in milliseconds, between the first change
+   * of a user being submitted and its update being applied.
+   *
+   * @return Map of metric name to value.
+   */
+  public Map<String, Object> snapshot() {
+    Map<String, Object> snapshot = new LinkedHashMap<>();
+    snapshot.put("pending", pending.size());
+    snapshot.put("submitted", submitted.get());
+    snapshot.put("coalesced", coalesced.get());
+    snapshot.put("applied", applied.get());
+    snapshot.put("retried", retried.get());
+    snapshot.put("dropped", dropped.get());
+    snapshot.put("bulkRequests", bulkRequests.get());
+    snapshot.put("lastLagMillis", lastLagMillis.get());
+    snapshot.put("maxLagMillis", maxLagMillis.get());
+    return snapshot;
+  }
+
+  private void start(long windowMillis) {
+    ScheduledExecutorService executor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "user-role-es-updater");
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.scheduleWithFixedDelay(
+        this::flushQuietly, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    Runtime.getRuntime()
+        .addShutdownHook(
+            new Thread(
+                () -> {
+                  executor.shutdown();
+                  try {
+                    executor.awaitTermination(windowMillis, TimeUnit.MILLISECONDS);
+                  } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                  }
+                  flushQuietly();
+                }));
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (Exception e) {
+      logger.error("UserRoleEsUpdater:flush: failed to apply user role updates", e);
+    }
+  }
+
+  private static final class PendingUpdate {
+    private final Map<String, Object> data;
+    private final long firstSubmittedAt;
+    private final RequestContext context;
+    private final int attempts;
+
+    private PendingUpdate(
+        Map<String, Object> data, long firstSubmittedAt, RequestContext context, int attempts) {
+      this.data = data;
+      this.firstSubmittedAt = firstSubmittedAt;
+      this.context = context;
+      this.attempts = attempts;
+    }
+
+    private PendingUpdate mergedWith(PendingUpdate newer) {
+      Map<String, Object> merged = new HashMap<>(data);
+      merged.putAll(newer.data);
+      return new PendingUpdate(
+          merged,
+          Math.min(firstSubmittedAt, newer.firstSubmittedAt),
+          newer.context,
+          Math.max(attempts, newer.attempts));
+    }
+  }
+}
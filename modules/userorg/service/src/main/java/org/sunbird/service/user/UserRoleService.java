@@ -11,7 +11,11 @@ public interface UserRoleService {
 
   boolean updateUserRoleToES(String identifier, Map<String, Object> data, RequestContext context);
 
+  void syncUserRoleToES(String identifier, Map<String, Object> data, RequestContext context);
+
   List<Map<String, Object>> getUserRoles(String userId, RequestContext context);
 
+  Map<String, List<Map<String, Object>>> getUsersRoles(List<String> userIds, RequestContext context);
+
   List<Map<String, Object>> getUserRoles(String userId, String role, RequestContext context);
 }
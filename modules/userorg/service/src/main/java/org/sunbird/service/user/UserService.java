@@ -19,6 +19,8 @@ public interface UserService {
 
   Map<String, Object> getUserDetailsById(String userId, RequestContext context);
 
+  List<Map<String, Object>> getUsersDetailsByIds(List<String> userIds, RequestContext context);
+
   void validateUserId(Request request, String managedById, RequestContext context);
 
   void validateUploader(Request request, RequestContext context);
@@ -58,6 +60,15 @@ public interface UserService {
 
   Map<String, Object> searchUser(SearchDTO searchDTO, RequestContext context);
 
+  /**
+   * Returns the ids of the users of a root organisation holding each role, with one search. When
+   * managedBy is given, the users it manages are returned under {@code JsonKey.MANAGED_USERS}.
+   * A group which fills its {@code ElasticSearchHelper.MAX_HITS_PER_GROUP} aggregated hits is read
+   * again with a search of its own, which returns up to the default search limit of 1000 users.
+   */
+  Map<String, List<String>> getRoleHolders(
+      String rootOrgId, List<String> roles, String managedBy, RequestContext context);
+
   boolean updateUserDataToES(String identifier, Map<String, Object> data, RequestContext context);
 
   String saveUserToES(String identifier, Map<String, Object> data, RequestContext context);
@@ -0,0 +1,175 @@
+package org.sunbird.service.user;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.google.common.util.concurrent.FutureCallback;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.sunbird.cassandra.CassandraOperation;
+import org.sunbird.common.ProjectUtil;
+import org.sunbird.datasecurity.DecryptionService;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.keys.JsonKey;
+import org.sunbird.logging.LoggerUtil;
+
+/**
+ * Probabilistic set of the usernames already taken, used to skip generated username candidates
+ * that are known to exist before they are encrypted and looked up in user_lookup.
+ *
+ * <p>The filter is built by {@link #run()} from a paged scan of the username rows of user_lookup,
+ * which the scheduler repeats to pick up usernames allocated through other instances, and usernames
+ * allocated by this instance are added as they are assigned. A filter can report a username as
+ * taken when it is not, which only costs one more candidate, but never misses a username it was
+ * given. Usernames it has not seen yet are still checked against user_lookup, so the filter never
+ * decides that a username is free.
+ *
+ * <p>The filter is off by default ({@code sunbird_username_filter_enabled}): user_lookup is keyed
+ * by type and value together, so the refresh cannot read only the username rows and scans and
+ * decrypts the whole table on every instance.
+ */
+public class UsernameFilter implements Runnable {
+
+  private static final LoggerUtil logger = new LoggerUtil(UsernameFilter.class);
+  private static final String KEYSPACE_NAME = ProjectUtil.getConfigValue(JsonKey.SUNBIRD_KEYSPACE);
+  private static final List<String> FIELDS = Arrays.asList(JsonKey.TYPE, JsonKey.VALUE);
+  private static final long LOAD_TIMEOUT_MINUTES = 60;
+  private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+  private static volatile BloomFilter<CharSequence> filter;
+  private static Queue<String> usernamesDuringLoad;
+
+  private final CassandraOperation cassandraOperation = ServiceFactory.getInstance();
+  private final DecryptionService decryptionService =
+      org.sunbird.datasecurity.impl.ServiceFactory.getDecryptionServiceInstance();
+
+  public static boolean isEnabled() {
+    return Boolean.parseBoolean(ProjectUtil.getConfigValue("sunbird_username_filter_enabled"));
+  }
+
+  public static int getRefreshIntervalMinutes() {
+    return NumberUtils.toInt(
+        ProjectUtil.getConfigValue("sunbird_username_filter_refresh_interval_minutes"), 1440);
+  }
+
+  private static int getExpectedUsernames() {
+    return NumberUtils.toInt(
+        ProjectUtil.getConfigValue("sunbird_username_filter_expected_usernames"), 5000000);
+  }
+
+  /**
+   * Checks whether a username is known to be taken.
+   *
+   * @param username Username in plain text.
+   * @return True if the username may be taken, false if it is not known to the filter or the filter
+   *     is not loaded.
+   */
+  public static boolean mightBeTaken(String username) {
+    BloomFilter<CharSequence> current = filter;
+    return current != null && current.mightContain(username);
+  }
+
+  /**
+   * Records an allocated username.
+   *
+   * @param username Username in plain text.
+   */
+  public static synchronized void add(String username) {
+    if (StringUtils.isBlank(username)) {
+      return;
+    }
+    if (filter != null) {
+      filter.put(username);
+    }
+    if (usernamesDuringLoad != null) {
+      usernamesDuringLoad.add(username);
+    }
+  }
+
+  private static synchronized void beginLoad() {
+    usernamesDuringLoad = new ConcurrentLinkedQueue<>();
+  }
+
+  private static synchronized void install(BloomFilter<CharSequence> loaded) {
+    if (loaded != null) {
+      usernamesDuringLoad.forEach(loaded::put);
+      filter = loaded;
+    }
+    usernamesDuringLoad = null;
+  }
+
+  @Override
+  public void run() {
+    long startTime = System.currentTimeMillis();
+    logger.info("UsernameFilter:run: Username filter refresh started.");
+    beginLoad();
+    BloomFilter<CharSequence> loaded = null;
+    try {
+      CompletableFuture<BloomFilter<CharSequence>> future = new CompletableFuture<>();
+      cassandraOperation.applyOperationOnRecordsAsync(
+          KEYSPACE_NAME, JsonKey.USER_LOOKUP, null, FIELDS, getLoadCallback(future), null);
+      loaded = future.get(LOAD_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+      logger.info(
+          "UsernameFilter:run: Username filter refresh completed with approximately "
+              + loaded.approximateElementCount()
+              + " usernames in "
+              + (System.currentTimeMillis() - startTime)
+              + "ms.");
+    } catch (Exception e) {
+      logger.error("UsernameFilter:run: Username filter refresh failed", e);
+    } finally {
+      install(loaded);
+    }
+  }
+
+  private FutureCallback<ResultSet> getLoadCallback(
+      CompletableFuture<BloomFilter<CharSequence>> future) {
+    return new FutureCallback<ResultSet>() {
+      @Override
+      public void onSuccess(ResultSet result) {
+        try {
+          int expectedUsernames = getExpectedUsernames();
+          BloomFilter<CharSequence> loaded =
+              BloomFilter.create(
+                  Funnels.stringFunnel(StandardCharsets.UTF_8),
+                  expectedUsernames,
+                  FALSE_POSITIVE_PROBABILITY);
+          long count = 0;
+          // Rows are fetched from Cassandra one page at a time while iterating.
+          for (Row row : result) {
+            if (JsonKey.USER_LOOKUP_FILED_USER_NAME.equals(row.getString(JsonKey.TYPE))) {
+              String username = decryptionService.decryptData(row.getString(JsonKey.VALUE));
+              if (StringUtils.isNotBlank(username)) {
+                loaded.put(username);
+                count++;
+              }
+            }
+          }
+          if (count > expectedUsernames) {
+            logger.info(
+                "UsernameFilter: "
+                    + count
+                    + " usernames exceed sunbird_username_filter_expected_usernames, the filter "
+                    + "will report more usernames as taken than configured.");
+          }
+          future.complete(loaded);
+        } catch (Exception e) {
+          future.completeExceptionally(e);
+        }
+      }
+
+      @Override
+      public void onFailure(Throwable t) {
+        future.completeExceptionally(t);
+      }
+    };
+  }
+}
@@ -1,8 +1,11 @@
 package org.sunbird.service.user.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
+import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.jackson.map.ObjectMapper;
 import org.sunbird.dao.user.UserOrgDao;
@@ -51,6 +54,23 @@ public class UserOrgServiceImpl implements UserOrgService {
     return (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
   }
 
+  @Override
+  public Map<String, List<Map<String, Object>>> getUserOrgListByUserIds(
+      List<String> userIds, RequestContext context) {
+    Map<String, List<Map<String, Object>>> userOrgsById = new HashMap<>();
+    Response response = userOrgDao.getUserOrgListByUserIds(userIds, context);
+    List<Map<String, Object>> userOrgList =
+        (List<Map<String, Object>>) response.get(JsonKey.RESPONSE);
+    if (CollectionUtils.isNotEmpty(userOrgList)) {
+      for (Map<String, Object> userOrg : userOrgList) {
+        userOrgsById
+            .computeIfAbsent((String) userOrg.get(JsonKey.USER_ID), id -> new ArrayList<>())
+            .add(userOrg);
+      }
+    }
+    return userOrgsById;
+  }
+
   public void deleteUserOrgMapping(List<Map<String, Object>> userOrgList, RequestContext context) {
     userOrgDao.deleteUserOrgMapping(userOrgList, context);
   }
@@ -19,6 +19,7 @@ import org.sunbird.response.ResponseCode;
 import org.sunbird.keys.JsonKey;
 import org.sunbird.logging.LoggerUtil;
 import org.sunbird.request.RequestContext;
+import org.sunbird.service.user.UserRoleEsUpdater;
 import org.sunbird.service.user.UserRoleService;
 import org.sunbird.common.ProjectUtil;
 
@@ -273,26 +274,51 @@ public class UserRoleServiceImpl implements UserRoleService {
     return userRoleDao.updateUserRoleToES(identifier, data, context);
   }
 
+  @Override
+  public void syncUserRoleToES(
+      String identifier, Map<String, Object> data, RequestContext context) {
+    UserRoleEsUpdater.getInstance().submit(identifier, data, context);
+  }
+
   @Override
   public List<Map<String, Object>> getUserRoles(String userId, RequestContext context) {
     List<Map<String, Object>> userRolesList = userRoleDao.getUserRoles(userId, null, context);
     for (Map<String, Object> userRole : userRolesList) {
-      List<Map<String, String>> scopeMap = new ArrayList<>();
-      try {
-        String scope = (String) userRole.get(JsonKey.SCOPE);
-        if (StringUtils.isNotBlank(scope)) {
-          scopeMap = mapper.readValue(scope, ArrayList.class);
-        }
-      } catch (Exception e) {
-        logger.error(
-            context, "Exception because of mapper read value" + userRole.get(JsonKey.SCOPE), e);
-      }
-      userRole.put(JsonKey.SCOPE, scopeMap);
+      parseScope(userRole, context);
       userRole.remove(JsonKey.USER_ID);
     }
     return userRolesList;
   }
 
+  @Override
+  public Map<String, List<Map<String, Object>>> getUsersRoles(
+      List<String> userIds, RequestContext context) {
+    Map<String, List<Map<String, Object>>> userRolesById = new HashMap<>();
+    List<Map<String, Object>> userRolesList = userRoleDao.getUsersRoles(userIds, context);
+    if (CollectionUtils.isNotEmpty(userRolesList)) {
+      for (Map<String, Object> userRole : userRolesList) {
+        parseScope(userRole, context);
+        String userId = (String) userRole.remove(JsonKey.USER_ID);
+        userRolesById.computeIfAbsent(userId, id -> new ArrayList<>()).add(userRole);
+      }
+    }
+    return userRolesById;
+  }
+
+  private void parseScope(Map<String, Object> userRole, RequestContext context) {
+    List<Map<String, String>> scopeMap = new ArrayList<>();
+    try {
+      String scope = (String) userRole.get(JsonKey.SCOPE);
+      if (StringUtils.isNotBlank(scope)) {
+        scopeMap = mapper.readValue(scope, ArrayList.class);
+      }
+    } catch (Exception e) {
+      logger.error(
+          context, "Exception because of mapper read value" + userRole.get(JsonKey.SCOPE), e);
+    }
+    userRole.put(JsonKey.SCOPE, scopeMap);
+  }
+
   @Override
   public List<Map<String, Object>> getUserRoles(
       String userId, String role, RequestContext context) {
@@ -95,12 +95,26 @@ public class UserServiceImpl implements UserService {
           ResponseCode.resourceNotFound,
           MessageFormat.format(ResponseCode.resourceNotFound.getErrorMessage(), JsonKey.USER));
     }
+    appendProfileDetailsAndDefaults(user, context);
+    return user;
+  }
+
+  @Override
+  public List<Map<String, Object>> getUsersDetailsByIds(
+      List<String> userIds, RequestContext context) {
+    List<Map<String, Object>> users = userDao.getUsersDetailsByIds(userIds, context);
+    for (Map<String, Object> user : users) {
+      appendProfileDetailsAndDefaults(user, context);
+    }
+    return users;
+  }
+
+  private void appendProfileDetailsAndDefaults(Map<String, Object> user, RequestContext context) {
     if (user.get(JsonKey.PROFILE_DETAILS) != null) {
       logger.debug(context, "getUserDetailsById :: read Profile details String is :: " + user.get(JsonKey.PROFILE_DETAILS).toString());
       user.put(JsonKey.PROFILE_DETAILS, ProfileUtil.toMap(user.get(JsonKey.PROFILE_DETAILS).toString()));
     }
     user.putAll(Util.getUserDefaultValue());
-    return user;
   }
 
   // This function is called during createUserV4 and update of users.
@@ -426,6 +440,74 @@ public class UserServiceImpl implements UserService {
     return userDao.search(searchDTO, context);
   }
 
+  @Override
+  public Map<String, List<String>> getRoleHolders(
+      String rootOrgId, List<String> roles, String managedBy, RequestContext context) {
+    // Users matching any group are searched once and split per group by a filters aggregation.
+    Map<String, Object> anyGroupFilter = new HashMap<>();
+    Map<String, Map<String, Object>> groupFilters = new LinkedHashMap<>();
+    if (CollectionUtils.isNotEmpty(roles)) {
+      anyGroupFilter.put(JsonKey.ROLES + "." + JsonKey.ROLE, new ArrayList<>(roles));
+      for (String role : roles) {
+        Map<String, Object> roleFilter = new HashMap<>();
+        roleFilter.put(JsonKey.ROLES + "." + JsonKey.ROLE, role);
+        groupFilters.put(role, roleFilter);
+      }
+    }
+    if (StringUtils.isNotBlank(managedBy)) {
+      anyGroupFilter.put(JsonKey.MANAGED_BY, managedBy);
+      Map<String, Object> managedFilter = new HashMap<>();
+      managedFilter.put(JsonKey.MANAGED_BY, managedBy);
+      groupFilters.put(JsonKey.MANAGED_USERS, managedFilter);
+    }
+    Map<String, List<String>> usersByGroup = new LinkedHashMap<>();
+    if (groupFilters.isEmpty()) {
+      return usersByGroup;
+    }
+    Map<String, Object> filters = new HashMap<>();
+    filters.put(JsonKey.ROOT_ORG_ID, rootOrgId);
+    filters.put(JsonKey.ES_OR_OPERATION, anyGroupFilter);
+    SearchDTO searchDTO = new SearchDTO();
+    searchDTO.getAdditionalProperties().put(JsonKey.FILTERS, filters);
+    searchDTO.setFields(Collections.singletonList(JsonKey.USER_ID));
+    searchDTO.setLimit(0);
+    searchDTO.setGroupFilters(groupFilters);
+    Map<String, Object> result = searchUser(searchDTO, context);
+    Map<String, List<Map<String, Object>>> hitsByGroup =
+        MapUtils.isNotEmpty(result)
+            ? (Map<String, List<Map<String, Object>>>) result.get(JsonKey.HITS_BY_GROUP)
+            : null;
+    for (Map.Entry<String, Map<String, Object>> group : groupFilters.entrySet()) {
+      List<Map<String, Object>> users =
+          MapUtils.isNotEmpty(hitsByGroup) ? hitsByGroup.get(group.getKey()) : null;
+      if (users != null && users.size() >= ElasticSearchHelper.MAX_HITS_PER_GROUP) {
+        // The group filled its top hits and may hold more users, so read it on its own
+        users = searchGroupUsers(rootOrgId, group.getValue(), context);
+      }
+      List<String> userIds = new ArrayList<>();
+      if (users != null) {
+        for (Map<String, Object> user : users) {
+          userIds.add((String) user.get(JsonKey.USER_ID));
+        }
+      }
+      usersByGroup.put(group.getKey(), userIds);
+    }
+    return usersByGroup;
+  }
+
+  private List<Map<String, Object>> searchGroupUsers(
+      String rootOrgId, Map<String, Object> groupFilter, RequestContext context) {
+    Map<String, Object> filters = new HashMap<>(groupFilter);
+    filters.put(JsonKey.ROOT_ORG_ID, rootOrgId);
+    SearchDTO searchDTO = new SearchDTO();
+    searchDTO.getAdditionalProperties().put(JsonKey.FILTERS, filters);
+    searchDTO.setFields(Collections.singletonList(JsonKey.USER_ID));
+    Map<String, Object> result = searchUser(searchDTO, context);
+    return MapUtils.isNotEmpty(result)
+        ? (List<Map<String, Object>>) result.get(JsonKey.CONTENT)
+        : null;
+  }
+
   @Override
   public boolean updateUserDataToES(
       String identifier, Map<String, Object> data, RequestContext context) {
@@ -0,0 +1,98 @@
+package org.sunbird.util.ratelimit;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory record of the requests this instance has let through for each rate limited key, used
+ * to reject floods without a round trip to the shared rate limit store.
+ *
+ * <p>Only requests accepted by the shared store are recorded, so the number of requests counted
+ * here for a window never exceeds the number counted by the store and a request rejected here would
+ * also have been rejected there. Requests routed to other instances are not seen, so a request
+ * accepted here still has to be checked against the store. The least recently used keys are
+ * evicted once {@code maxKeys} keys are tracked.
+ *
+ * <p>Requests are timed with the clock of the caller, which can differ from the clock the store
+ * uses for the same requests. The guarantee above only holds while the two clocks agree; see {@link
+ * org.sunbird.service.ratelimit.RedisRateLimitServiceImpl}.
+ */
+public class LocalRateLimitFilter {
+
+  private final Map<String, Deque<Long>> acceptedByKey;
+
+  public LocalRateLimitFilter(int maxKeys) {
+    this.acceptedByKey =
+        new LinkedHashMap<String, Deque<Long>>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Deque<Long>> eldest) {
+            return size() > maxKeys;
+          }
+        };
+  }
+
+  /**
+   * Returns the first rate limiter whose limit has already been reached for a key by the requests
+   * accepted through this instance.
+   *
+   * @param key Rate limited key.
+   * @param rateLimiters Rate limiters to check.
+   * @param now Current time in milliseconds.
+   * @return The exceeded rate limiter, or null if none is known to be exceeded.
+   */
+  public synchronized RateLimiter getExceeded(String key, RateLimiter[] rateLimiters, long now) {
+    Deque<Long> accepted = acceptedByKey.get(key);
+    if (accepted == null) {
+      return null;
+    }
+    for (RateLimiter rateLimiter : rateLimiters) {
+      Integer limit = rateLimiter.getRateLimit();
+      if (limit != null && count(accepted, now - rateLimiter.getTTL() * 1000L) >= limit) {
+        return rateLimiter;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Records a request accepted for a key.
+   *
+   * @param key Rate limited key.
+   * @param rateLimiters Rate limiters the request was checked against.
+   * @param now Time of the request in milliseconds.
+   */
+  public synchronized void record(String key, RateLimiter[] rateLimiters, long now) {
+    long maxWindow = 0;
+    int maxLimit = 0;
+    for (RateLimiter rateLimiter : rateLimiters) {
+      Integer limit = rateLimiter.getRateLimit();
+      if (limit != null) {
+        maxWindow = Math.max(maxWindow, rateLimiter.getTTL() * 1000L);
+        maxLimit = Math.max(maxLimit, limit);
+      }
+    }
+    if (maxLimit == 0) {
+      return;
+    }
+    Deque<Long> accepted = acceptedByKey.computeIfAbsent(key, k -> new ArrayDeque<>());
+    while (!accepted.isEmpty()
+        && (accepted.peekFirst() <= now - maxWindow || accepted.size() >= maxLimit)) {
+      accepted.pollFirst();
+    }
+    accepted.addLast(now);
+  }
+
+  private static int count(Deque<Long> accepted, long windowStart) {
+    int count = 0;
+    for (Iterator<Long> it = accepted.descendingIterator(); it.hasNext(); ) {
+      if (it.next() <= windowStart) {
+        break;
+      }
+      count++;
+    }
+    return count;
+  }
+}
@@ -0,0 +1,225 @@
+package org.sunbird.util.search;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Fuzzy matching of a name against candidate names, scored as the fuzzy-matcher library (0.4.1)
+ * scored them for text elements.
+ *
+ * <p>Every word is URL encoded, stripped of everything but ASCII letters and digits and lower
+ * cased. Two words are similar when they share a trigram, a word of up to three characters being
+ * its own single trigram, and when their Soundex codes are equal; numeric words are similar only
+ * when equal. The similarity of two words is therefore 1 or 0, and a candidate matches when any of
+ * its words is similar to any query word and the threshold is below 1. Encodings are cached across
+ * requests, least recently used first out, so the words that recur between search results are
+ * only encoded once.
+ *
+ * <p>The candidates are the results of one search, so they are scanned once per query rather than
+ * indexed. A candidate stops being scanned at its first similar word, and the scan stops once the
+ * requested number of matches is found.
+ */
+public class FuzzyNameMatcher {
+
+  private static final String ENCODING = "UTF-8";
+  private static final String SOUNDEX_CODES = "01230120022455012623010202";
+  private static final int MAX_CACHED_ENCODINGS = 10000;
+
+  private static final Map<String, Word> encodingCache =
+      Collections.synchronizedMap(
+          new LinkedHashMap<String, Word>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Word> eldest) {
+              return size() > MAX_CACHED_ENCODINGS;
+            }
+          });
+
+  private FuzzyNameMatcher() {}
+
+  /**
+   * Returns the keys of all the candidates matching a name.
+   *
+   * @param name Name to match, one or more words.
+   * @param namesByKey Candidate names by the key to return when they match. Null or blank names
+   *     never match.
+   * @param threshold Similarity a candidate must exceed, below 1 for any candidate to match.
+   * @return Keys of the matching candidates, in the order of the candidates.
+   */
+  public static List<String> match(String name, Map<String, String> namesByKey, float threshold) {
+    return match(name, namesByKey, threshold, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns the keys of the first candidates matching a name.
+   *
+   * @param name Name to match, one or more words.
+   * @param namesByKey Candidate names by the key to return when they match. Null or blank names
+   *     never match.
+   * @param threshold Similarity a candidate must exceed, below 1 for any candidate to match.
+   * @param limit Maximum number of keys to return.
+   * @return Keys of at most limit matching candidates, in the order of the candidates.
+   */
+  public static List<String> match(
+      String name, Map<String, String> namesByKey, float threshold, int limit) {
+    List<String> matchedKeys = new ArrayList<>();
+    List<Word> queryWords = tokenize(name);
+    if (queryWords.isEmpty() || threshold >= 1f) {
+      return matchedKeys;
+    }
+    for (Map.Entry<String, String> entry : namesByKey.entrySet()) {
+      if (matchedKeys.size() >= limit) {
+        break;
+      }
+      if (matchesAny(queryWords, tokenize(entry.getValue()))) {
+        matchedKeys.add(entry.getKey());
+      }
+    }
+    return matchedKeys;
+  }
+
+  private static boolean matchesAny(List<Word> queryWords, List<Word> words) {
+    for (Word word : words) {
+      for (Word queryWord : queryWords) {
+        if (isSimilar(queryWord, word)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean isSimilar(Word first, Word second) {
+    if (!sharesTrigram(first.trigrams, second.trigrams)) {
+      return false;
+    }
+    if (first.numeric || second.numeric) {
+      return first.value.equals(second.value);
+    }
+    return first.phonetic.equals(second.phonetic);
+  }
+
+  private static List<Word> tokenize(String name) {
+    List<Word> tokens = new ArrayList<>();
+    if (StringUtils.isBlank(name)) {
+      return tokens;
+    }
+    for (String token : StringUtils.split(name, ' ')) {
+      String value = normalize(token.trim());
+      if (!value.isEmpty()) {
+        tokens.add(encode(value));
+      }
+    }
+    return tokens;
+  }
+
+  static String normalize(String token) {
+    String encoded;
+    try {
+      encoded = URLEncoder.encode(token, ENCODING);
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+    StringBuilder value = new StringBuilder(encoded.length());
+    for (int i = 0; i < encoded.length(); i++) {
+      char c = encoded.charAt(i);
+      if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+        value.append(c);
+      } else if (c >= 'A' && c <= 'Z') {
+        value.append(Character.toLowerCase(c));
+      }
+    }
+    return value.toString();
+  }
+
+  private static Word encode(String value) {
+    Word word = encodingCache.get(value);
+    if (word == null) {
+      word = new Word(value, StringUtils.isNumeric(value), soundex(value), trigrams(value));
+      encodingCache.put(value, word);
+    }
+    return word;
+  }
+
+  /** Soundex code of a normalised word, ignoring its digits, or an empty string without letters. */
+  static String soundex(String value) {
+    String letters = value.replaceAll("[^a-z]", "");
+    if (letters.isEmpty()) {
+      return letters;
+    }
+    char first = letters.charAt(0);
+    StringBuilder code = new StringBuilder(4).append(Character.toUpperCase(first));
+    char last = SOUNDEX_CODES.charAt(first - 'a');
+    for (int i = 1; i < letters.length() && code.length() < 4; i++) {
+      char c = letters.charAt(i);
+      if (c == 'h' || c == 'w') {
+        continue;
+      }
+      char digit = SOUNDEX_CODES.charAt(c - 'a');
+      if (digit != '0' && digit != last) {
+        code.append(digit);
+      }
+      last = digit;
+    }
+    while (code.length() < 4) {
+      code.append('0');
+    }
+    return code.toString();
+  }
+
+  private static long[] trigrams(String value) {
+    if (value.length() <= 3) {
+      return new long[] {pack(value, 0, value.length())};
+    }
+    long[] trigrams = new long[value.length() - 2];
+    for (int i = 0; i < trigrams.length; i++) {
+      trigrams[i] = pack(value, i, i + 3);
+    }
+    return Arrays.stream(trigrams).distinct().sorted().toArray();
+  }
+
+  private static long pack(String value, int start, int end) {
+    long packed = 0;
+    for (int i = start; i < end; i++) {
+      packed = (packed << 16) | value.charAt(i);
+    }
+    return packed;
+  }
+
+  private static boolean sharesTrigram(long[] first, long[] second) {
+    int i = 0;
+    int j = 0;
+    while (i < first.length && j < second.length) {
+      if (first[i] == second[j]) {
+        return true;
+      } else if (first[i] < second[j]) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return false;
+  }
+
+  /** A normalised word with its encodings. */
+  private static final class Word {
+    private final String value;
+    private final boolean numeric;
+    private final String phonetic;
+    private final long[] trigrams;
+
+    private Word(String value, boolean numeric, String phonetic, long[] trigrams) {
+      this.value = value;
+      this.numeric = numeric;
+      this.phonetic = phonetic;
+      this.trigrams = trigrams;
+    }
+  }
+}
@@ -2,17 +2,20 @@ package org.sunbird.util.search;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.sunbird.exception.ProjectCommonException;
 import org.sunbird.response.ResponseCode;
 import org.sunbird.keys.JsonKey;
 import org.sunbird.logging.LoggerUtil;
+import org.sunbird.common.PropertiesCache;
 
 public class FuzzySearchManager {
   private static final LoggerUtil logger = new LoggerUtil(FuzzySearchManager.class);
+  private static final float DEFAULT_FUZZY_THRESHOLD = 0.5f;
 
   private Map<String, Object> fuzzySearchMap;
   private List<Map<String, Object>> searchMap;
@@ -30,17 +33,17 @@ public class FuzzySearchManager {
 
   public List<Map<String, Object>> startFuzzySearch() {
     HashSet<String> resultSet = new HashSet<>();
+    float threshold = getFuzzyThreshold();
     fuzzySearchMap
         .entrySet()
         .forEach(
             map -> {
               validateKeyInFuzzyMap(map.getKey());
-              String[] splittedName = map.getValue().toString().split(" ");
-              for (int i = 0; i < splittedName.length; i++) {
-                resultSet.addAll(
-                    FuzzyMatcher.matchDoc(
-                        splittedName[i].trim(), getFuzzyAttributeFromMap(map.getKey())));
-              }
+              resultSet.addAll(
+                  FuzzyNameMatcher.match(
+                      map.getValue().toString(),
+                      getFuzzyAttributeFromMap(map.getKey()),
+                      threshold));
             });
     logger.info(
         String.format(
@@ -49,6 +52,16 @@ public class FuzzySearchManager {
     return prepareResponseList(resultSet);
   }
 
+  private float getFuzzyThreshold() {
+    String threshold =
+        PropertiesCache.getInstance().readProperty(JsonKey.SUNBIRD_FUZZY_SEARCH_THRESHOLD);
+    logger.info(
+        String.format(
+            "%s:%s:the threshold got for Fuzzy search is %s",
+            this.getClass().getSimpleName(), "getFuzzyThreshold", threshold));
+    return NumberUtils.toFloat(threshold, DEFAULT_FUZZY_THRESHOLD);
+  }
+
   private void validateKeyInFuzzyMap(String key) {
     Map<String, Object> resultMap = searchMap.get(0);
     if (!resultMap.keySet().contains(key)) {
@@ -61,7 +74,7 @@ public class FuzzySearchManager {
   }
 
   private Map<String, String> getFuzzyAttributeFromMap(String key) {
-    Map<String, String> attributesValueMap = new HashMap<>();
+    Map<String, String> attributesValueMap = new LinkedHashMap<>();
     searchMap
         .stream()
         .forEach(
@@ -3,6 +3,8 @@ package org.sunbird.util.user;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import org.sunbird.logging.LoggerUtil;
+import org.sunbird.service.location.LocationHierarchyIndex;
+import org.sunbird.service.user.UsernameFilter;
 import org.sunbird.util.DataCacheHandler;
 import org.sunbird.util.ExecutorManager;
 import org.sunbird.common.ProjectUtil;
@@ -25,5 +27,22 @@ public class SchedulerManager {
     logger.info(
         "SchedulerManager:schedule: Started scheduler job for cache refresh with ttl in sec ="
             + TTL);
+    if (LocationHierarchyIndex.isEnabled()) {
+      int interval = LocationHierarchyIndex.getRefreshIntervalMinutes();
+      service.scheduleWithFixedDelay(
+          new LocationHierarchyIndex(), 0, interval, TimeUnit.MINUTES);
+      logger.info(
+          "SchedulerManager:schedule: Started scheduler job for location index refresh with "
+              + "interval in min ="
+              + interval);
+    }
+    if (UsernameFilter.isEnabled()) {
+      int interval = UsernameFilter.getRefreshIntervalMinutes();
+      service.scheduleWithFixedDelay(new UsernameFilter(), 0, interval, TimeUnit.MINUTES);
+      logger.info(
+          "SchedulerManager:schedule: Started scheduler job for username filter refresh with "
+              + "interval in min ="
+              + interval);
+    }
   }
 }
@@ -36,6 +36,7 @@ import org.sunbird.service.user.UserExternalIdentityService;
 import org.sunbird.service.user.UserLookupService;
 import org.sunbird.service.user.UserOrgService;
 import org.sunbird.service.user.UserService;
+import org.sunbird.service.user.UsernameFilter;
 import org.sunbird.service.user.impl.UserExternalIdentityServiceImpl;
 import org.sunbird.service.user.impl.UserLookUpServiceImpl;
 import org.sunbird.service.user.impl.UserOrgServiceImpl;
@@ -365,75 +366,53 @@ public class UserUtil {
             MessageFormat.format(
                 ResponseCode.errorParamExists.getErrorMessage(), JsonKey.USERNAME));
       }
+      UsernameFilter.add((String) userMap.get(JsonKey.USERNAME));
     }
   }
 
   private static String getUsername(String name, RequestContext context) {
-    List<Map<String, Object>> users = null;
-    List<String> encryptedUserNameList = new ArrayList<>();
     List<String> excludedUsernames = new ArrayList<>();
-    List<String> userNameList = new ArrayList<>();
-
-    String userName = "";
     for (int j = 1; j <= 10; j++) {
       logger.info(context, "Generating list of 10 userNames in loop for iteration " + j);
-      encryptedUserNameList.clear();
-      excludedUsernames.addAll(userNameList);
 
-      // Generate usernames
-      userNameList = userService.generateUsernames(name, excludedUsernames, context);
+      // Generate usernames, skipping the ones known to be taken
+      List<String> userNameList = userService.generateUsernames(name, excludedUsernames, context);
+      excludedUsernames.addAll(userNameList);
+      List<String> candidates =
+          userNameList
+              .stream()
+              .filter(userName -> !UsernameFilter.mightBeTaken(userName))
+              .collect(Collectors.toList());
+      if (candidates.isEmpty()) {
+        continue;
+      }
 
-      // Encrypt each user name
-      userService
-          .getEncryptedList(userNameList, context)
-          .stream()
-          .forEach(value -> encryptedUserNameList.add(value));
+      // Encrypt the remaining user names
+      List<String> encryptedUserNameList = userService.getEncryptedList(candidates, context);
 
       // Throw an error in case of encryption failures
       if (encryptedUserNameList.isEmpty()) {
         ProjectCommonException.throwServerErrorException(ResponseCode.SERVER_ERROR);
       }
 
-      // Search if any user names
-      List<String> filtersEncryptedUserNameList = new ArrayList<>(encryptedUserNameList);
-      users = userService.searchUserNameInUserLookup(filtersEncryptedUserNameList, context);
-
-      if (!(CollectionUtils.isNotEmpty(users) && users.size() >= encryptedUserNameList.size())) {
-        break;
+      // Look up all of them at once and take the first one that is not assigned
+      Set<Object> assignedUserNames =
+          userService
+              .searchUserNameInUserLookup(new ArrayList<>(encryptedUserNameList), context)
+              .stream()
+              .map(user -> user.get(JsonKey.VALUE))
+              .collect(Collectors.toSet());
+      Optional<String> result =
+          encryptedUserNameList
+              .stream()
+              .filter(value -> !assignedUserNames.contains(value))
+              .findFirst();
+      if (result.isPresent()) {
+        String userName = decService.decryptData(result.get(), context);
+        UsernameFilter.add(userName);
+        return userName;
       }
     }
-
-    List<String> esUserNameList = new ArrayList<>();
-
-    // Map list of results (from User lookup) into list of usernames
-    users
-        .stream()
-        .forEach(
-            user -> {
-              esUserNameList.add((String) user.get(JsonKey.VALUE));
-            });
-
-    // Query cassandra to find first username that is not yet assigned
-    Optional<String> result =
-        encryptedUserNameList
-            .stream()
-            .filter(
-                value -> {
-                  if (!esUserNameList.contains(value)) {
-                    return userLookupService.checkUsernameUniqueness(value, true, context);
-                  }
-                  return false;
-                })
-            .findFirst();
-
-    if (result.isPresent()) {
-      userName = result.get();
-    }
-
-    if (StringUtils.isNotBlank(userName)) {
-      return decService.decryptData(userName, context);
-    }
-
     return "";
   }
   // validateExternalIds For CREATE USER and MIGRATE USER
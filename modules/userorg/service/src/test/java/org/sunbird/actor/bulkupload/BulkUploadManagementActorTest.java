@@ -23,6 +23,7 @@ import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
@@ -179,6 +180,73 @@ public class BulkUploadManagementActorTest {
     Assert.assertTrue(null != res);
   }
 
+  @Test
+  public void testOrgBulkUploadStreamsSpooledFileInBatches() throws Exception {
+    TestKit probe = new TestKit(system);
+    ActorRef subject = system.actorOf(props);
+    List<String> lines = Files.readAllLines(Paths.get(getResourcePath("BulkOrgUploadSample.csv")));
+    Path file = Files.createTempFile("bulk-org-upload", ".csv");
+    List<String> content = new ArrayList<>();
+    content.add(lines.get(0));
+    for (int i = 0; i < 250; i++) {
+      content.add(lines.get(1));
+    }
+    Files.write(file, content);
+
+    when(cassandraOperation.insertRecord(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyMap(), Mockito.any()))
+        .thenReturn(createCassandraInsertSuccessResponse());
+    when(cassandraOperation.batchInsert(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyList(), Mockito.any()))
+        .thenReturn(createCassandraInsertSuccessResponse());
+    Request reqObj = new Request();
+    reqObj.setOperation(ActorOperations.BULK_UPLOAD.getValue());
+    HashMap<String, Object> innerMap = new HashMap<>();
+    innerMap.put(JsonKey.CREATED_BY, USER_ID);
+    innerMap.put(JsonKey.OBJECT_TYPE, JsonKey.ORGANISATION);
+    innerMap.put(JsonKey.FILE_PATH, file.toString());
+    reqObj.getRequest().put(JsonKey.DATA, innerMap);
+    subject.tell(reqObj, probe.getRef());
+    Response res = probe.expectMsgClass(Duration.ofSeconds(10), Response.class);
+    Assert.assertNotNull(res.get(JsonKey.PROCESS_ID));
+
+    ArgumentCaptor<List> batches = ArgumentCaptor.forClass(List.class);
+    Mockito.verify(cassandraOperation, Mockito.times(3))
+        .batchInsert(Mockito.anyString(), Mockito.anyString(), batches.capture(), Mockito.any());
+    int tasks = 0;
+    for (List batch : batches.getAllValues()) {
+      Assert.assertTrue(batch.size() <= 100);
+      tasks += batch.size();
+    }
+    Assert.assertEquals(250, tasks);
+    awaitDeleted(file);
+  }
+
+  @Test
+  public void testOrgBulkUploadDeletesSpooledFileWhenHeaderIsInvalid() throws Exception {
+    TestKit probe = new TestKit(system);
+    ActorRef subject = system.actorOf(props);
+    Path file = Files.createTempFile("bulk-org-upload", ".csv");
+    Files.write(
+        file, "batchId,orgName,isRootOrg,channel\nbatch78575ir8478,hello001,false,,1119".getBytes());
+
+    Request reqObj = new Request();
+    reqObj.setOperation(ActorOperations.BULK_UPLOAD.getValue());
+    HashMap<String, Object> innerMap = new HashMap<>();
+    innerMap.put(JsonKey.CREATED_BY, USER_ID);
+    innerMap.put(JsonKey.OBJECT_TYPE, JsonKey.ORGANISATION);
+    innerMap.put(JsonKey.FILE_PATH, file.toString());
+    reqObj.getRequest().put(JsonKey.DATA, innerMap);
+    subject.tell(reqObj, probe.getRef());
+    ProjectCommonException res =
+        probe.expectMsgClass(Duration.ofSeconds(10), ProjectCommonException.class);
+    Assert.assertEquals(
+        "UOS_BLKUPLD" + ResponseCode.invalidColumns.getErrorCode(), res.getErrorCode());
+    Mockito.verify(cassandraOperation, Mockito.never())
+        .batchInsert(Mockito.anyString(), Mockito.anyString(), Mockito.anyList(), Mockito.any());
+    awaitDeleted(file);
+  }
+
   @Test
   public void testBulkUploadGetStatus() {
     Response response = getCassandraRecordByIdForBulkUploadResponse();
@@ -365,6 +433,18 @@ public class BulkUploadManagementActorTest {
     return response;
   }
 
+  private void awaitDeleted(Path file) throws InterruptedException {
+    // the actor deletes the file after it has replied
+    for (int i = 0; i < 50 && Files.exists(file); i++) {
+      Thread.sleep(100);
+    }
+    Assert.assertFalse(Files.exists(file));
+  }
+
+  private String getResourcePath(String fileName) {
+    return BulkUploadManagementActorTest.class.getClassLoader().getResource(fileName).getFile();
+  }
+
   private byte[] getFileAsBytes(String fileName) {
     File file = null;
     byte[] bytes = null;
@@ -0,0 +1,289 @@
+package org.sunbird.actor.bulkupload;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+import org.sunbird.common.Constants;
+import org.sunbird.common.ProjectUtil;
+import org.sunbird.dao.bulkupload.impl.BulkUploadProcessDaoImpl;
+import org.sunbird.dao.bulkupload.impl.BulkUploadProcessTaskDaoImpl;
+import org.sunbird.exception.ProjectCommonException;
+import org.sunbird.keys.BulkUploadJsonKey;
+import org.sunbird.keys.JsonKey;
+import org.sunbird.model.bulkupload.BulkUploadProcess;
+import org.sunbird.model.bulkupload.BulkUploadProcessTask;
+import org.sunbird.response.Response;
+
+@PrepareForTest({BulkUploadProcessDaoImpl.class, BulkUploadProcessTaskDaoImpl.class})
+@RunWith(PowerMockRunner.class)
+@PowerMockIgnore({
+  "javax.management.*",
+  "javax.net.ssl.*",
+  "javax.security.*",
+  "jdk.internal.reflect.*",
+  "javax.crypto.*"
+})
+public class BulkUploadPipelineTest {
+
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  private BulkUploadProcessDaoImpl bulkUploadProcessDao;
+  private List<BulkUploadProcessTask> tasks;
+  private List<List<BulkUploadProcessTask>> writtenBatches;
+
+  @Before
+  public void setUp() throws Exception {
+    PowerMockito.mockStatic(BulkUploadProcessDaoImpl.class);
+    bulkUploadProcessDao = mock(BulkUploadProcessDaoImpl.class);
+    when(BulkUploadProcessDaoImpl.getInstance()).thenReturn(bulkUploadProcessDao);
+    when(bulkUploadProcessDao.update(Mockito.any(), Mockito.any())).thenReturn(new Response());
+
+    PowerMockito.mockStatic(BulkUploadProcessTaskDaoImpl.class);
+    BulkUploadProcessTaskDaoImpl bulkUploadProcessTaskDao =
+        mock(BulkUploadProcessTaskDaoImpl.class);
+    when(BulkUploadProcessTaskDaoImpl.getInstance()).thenReturn(bulkUploadProcessTaskDao);
+    when(bulkUploadProcessTaskDao.readByPrimaryKeys(Mockito.anyMap(), Mockito.any()))
+        .thenAnswer(invocation -> readTasks(invocation.getArgument(0)));
+
+    tasks = new ArrayList<>();
+    writtenBatches = Collections.synchronizedList(new ArrayList<>());
+  }
+
+  @Test
+  public void testRunReturnsResultsInSequenceOrder() throws Exception {
+    for (int i = 1; i <= 5; i++) {
+      addTask(i, ProjectUtil.BulkProcessStatus.NEW.getValue());
+    }
+
+    BulkUploadPipeline pipeline = newPipeline(4);
+    pipeline.run(completeTasks(), writtenBatches::add);
+
+    List<Map<String, Object>> successList = pipeline.getSuccessList();
+    assertEquals(5, successList.size());
+    for (int i = 0; i < 5; i++) {
+      assertEquals("user" + (i + 1), successList.get(i).get(JsonKey.USER_NAME));
+    }
+    assertEquals(0, pipeline.getFailureList().size());
+    int written = 0;
+    for (List<BulkUploadProcessTask> batch : writtenBatches) {
+      assertTrue(batch.size() <= 2);
+      written += batch.size();
+    }
+    assertEquals(5, written);
+  }
+
+  @Test
+  public void testRunSkipsTasksCompletedByEarlierRun() throws Exception {
+    addTask(1, ProjectUtil.BulkProcessStatus.COMPLETED.getValue());
+    tasks.get(0).setSuccessResult(row(1));
+    addTask(2, ProjectUtil.BulkProcessStatus.NEW.getValue());
+    List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+
+    BulkUploadPipeline pipeline = newPipeline(2);
+    pipeline.run(
+        taskList -> {
+          for (BulkUploadProcessTask task : (List<BulkUploadProcessTask>) taskList) {
+            executed.add(task.getSequenceId());
+            complete(task);
+          }
+          return null;
+        },
+        writtenBatches::add);
+
+    assertEquals(Collections.singletonList(2), executed);
+    assertEquals(2, pipeline.getSuccessList().size());
+    assertEquals(1, writtenBatches.size());
+    assertEquals(2, writtenBatches.get(0).get(0).getSequenceId().intValue());
+  }
+
+  @Test
+  public void testRunMarksFailingTaskAsFailed() throws Exception {
+    addTask(1, ProjectUtil.BulkProcessStatus.NEW.getValue());
+    addTask(2, ProjectUtil.BulkProcessStatus.NEW.getValue());
+
+    BulkUploadPipeline pipeline = newPipeline(2);
+    pipeline.run(
+        taskList -> {
+          BulkUploadProcessTask task = ((List<BulkUploadProcessTask>) taskList).get(0);
+          if (task.getSequenceId() == 2) {
+            throw new RuntimeException("invalid row");
+          }
+          complete(task);
+          return null;
+        },
+        writtenBatches::add);
+
+    assertEquals(1, pipeline.getSuccessList().size());
+    List<Map<String, Object>> failureList = pipeline.getFailureList();
+    assertEquals(1, failureList.size());
+    assertEquals("user2", failureList.get(0).get(JsonKey.USER_NAME));
+    assertEquals("invalid row", failureList.get(0).get(JsonKey.ERROR_MSG));
+  }
+
+  @Test
+  public void testRunMarksProcessInProgressOnce() throws Exception {
+    for (int i = 1; i <= 5; i++) {
+      addTask(i, ProjectUtil.BulkProcessStatus.NEW.getValue());
+    }
+
+    newPipeline(2).run(completeTasks(), writtenBatches::add);
+
+    ArgumentCaptor<BulkUploadProcess> captor = ArgumentCaptor.forClass(BulkUploadProcess.class);
+    Mockito.verify(bulkUploadProcessDao, Mockito.times(1)).update(captor.capture(), Mockito.any());
+    assertEquals(
+        ProjectUtil.BulkProcessStatus.IN_PROGRESS.getValue(),
+        captor.getValue().getStatus().intValue());
+    assertTrue(writtenBatches.size() > 1);
+  }
+
+  @Test(timeout = 30000)
+  public void testRunFailsWhenWorkersDieOnError() throws Exception {
+    for (int i = 1; i <= 20; i++) {
+      addTask(i, ProjectUtil.BulkProcessStatus.NEW.getValue());
+    }
+
+    try {
+      newPipeline(1)
+          .run(
+              taskList -> {
+                throw new OutOfMemoryError("worker died");
+              },
+              writtenBatches::add);
+      fail("Pipeline did not fail");
+    } catch (ProjectCommonException e) {
+      assertEquals("worker died", e.getMessage());
+    }
+    assertTrue(writtenBatches.isEmpty());
+  }
+
+  @Test
+  public void testRunDoesNotCreateUsersWithSameEmailTwice() throws Exception {
+    assertOneOfDuplicateRowsFails(UserBulkUploadBackgroundJobActor.class, JsonKey.EMAIL);
+  }
+
+  @Test
+  public void testRunDoesNotCreateOrgsWithSameExternalIdTwice() throws Exception {
+    assertOneOfDuplicateRowsFails(OrgBulkUploadBackgroundJobActor.class, JsonKey.EXTERNAL_ID);
+  }
+
+  /**
+   * Runs two rows with the same unique key at the execution concurrency of the actor, creating
+   * records the way user and org creation do: the key is looked up first and inserted later.
+   */
+  private void assertOneOfDuplicateRowsFails(
+      Class<? extends BaseBulkUploadBackgroundJobActor> actorClass, String key) throws Exception {
+    for (int i = 1; i <= 2; i++) {
+      Map<String, Object> row = new HashMap<>();
+      row.put(JsonKey.USER_NAME, "user" + i);
+      row.put(key, "duplicate");
+      BulkUploadProcessTask task = new BulkUploadProcessTask();
+      task.setProcessId("processId");
+      task.setSequenceId(i);
+      task.setStatus(ProjectUtil.BulkProcessStatus.NEW.getValue());
+      task.setData(mapper.writeValueAsString(row));
+      tasks.add(task);
+    }
+    // The actor is only asked for its concurrency, so it is created outside an actor system.
+    int concurrency = Whitebox.newInstance(actorClass).getExecutionConcurrency();
+    Set<Object> existingKeys = Collections.synchronizedSet(new HashSet<>());
+
+    BulkUploadPipeline pipeline = newPipeline(concurrency);
+    pipeline.run(
+        taskList -> {
+          BulkUploadProcessTask task = ((List<BulkUploadProcessTask>) taskList).get(0);
+          Object value;
+          try {
+            value = mapper.readValue(task.getData(), Map.class).get(key);
+            if (existingKeys.contains(value)) {
+              throw new RuntimeException(key + " already exists");
+            }
+            Thread.sleep(200);
+          } catch (RuntimeException e) {
+            throw e;
+          } catch (Exception e) {
+            throw new RuntimeException(e);
+          }
+          existingKeys.add(value);
+          complete(task);
+          return null;
+        },
+        writtenBatches::add);
+
+    assertEquals(1, pipeline.getSuccessList().size());
+    List<Map<String, Object>> failureList = pipeline.getFailureList();
+    assertEquals(1, failureList.size());
+    assertEquals(key + " already exists", failureList.get(0).get(JsonKey.ERROR_MSG));
+  }
+
+  private BulkUploadPipeline newPipeline(int concurrency) {
+    BulkUploadProcess bulkUploadProcess = new BulkUploadProcess();
+    bulkUploadProcess.setId("processId");
+    bulkUploadProcess.setOrganisationId("orgId");
+    bulkUploadProcess.setTaskCount(tasks.size());
+    return new BulkUploadPipeline(bulkUploadProcess, 2, concurrency, null);
+  }
+
+  private Function completeTasks() {
+    return taskList -> {
+      for (BulkUploadProcessTask task : (List<BulkUploadProcessTask>) taskList) {
+        complete(task);
+      }
+      return null;
+    };
+  }
+
+  private void complete(BulkUploadProcessTask task) {
+    task.setStatus(ProjectUtil.BulkProcessStatus.COMPLETED.getValue());
+    task.setSuccessResult(task.getData());
+  }
+
+  private void addTask(int sequenceId, int status) throws Exception {
+    BulkUploadProcessTask task = new BulkUploadProcessTask();
+    task.setProcessId("processId");
+    task.setSequenceId(sequenceId);
+    task.setStatus(status);
+    task.setData(row(sequenceId));
+    tasks.add(task);
+  }
+
+  private String row(int sequenceId) throws Exception {
+    Map<String, Object> row = new HashMap<>();
+    row.put(JsonKey.USER_NAME, "user" + sequenceId);
+    return mapper.writeValueAsString(row);
+  }
+
+  private List<BulkUploadProcessTask> readTasks(Map<String, Object> queryMap) {
+    Map<String, Object> range = (Map<String, Object>) queryMap.get(BulkUploadJsonKey.SEQUENCE_ID);
+    int from = (int) range.get(Constants.GT);
+    int to = (int) range.get(Constants.LTE);
+    List<BulkUploadProcessTask> result = new ArrayList<>();
+    for (BulkUploadProcessTask task : tasks) {
+      if (task.getSequenceId() > from && task.getSequenceId() <= to) {
+        result.add(task);
+      }
+    }
+    return result;
+  }
+}
@@ -69,6 +69,13 @@ public class UserDeletionBackgroundJobActorTest {
     searchResult.put(JsonKey.CONTENT, getUsersList());
     PowerMockito.when(userService.searchUser(Mockito.any(), Mockito.any()))
         .thenReturn(searchResult);
+    Map<String, List<String>> usersByRole = new HashMap<>();
+    usersByRole.put(JsonKey.ORG_ADMIN, new ArrayList<>(Arrays.asList("dummyuser")));
+    usersByRole.put(JsonKey.MANAGED_USERS, new ArrayList<>());
+    PowerMockito.when(
+            userService.getRoleHolders(
+                Mockito.anyString(), Mockito.anyList(), Mockito.anyString(), Mockito.any()))
+        .thenReturn(usersByRole);
 
     // Mock RequestContext and ReqId
     RequestContext requestContext = PowerMockito.mock(RequestContext.class);
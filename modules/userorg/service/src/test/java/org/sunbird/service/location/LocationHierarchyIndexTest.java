@@ -0,0 +1,94 @@
+package org.sunbird.service.location;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sunbird.model.location.Location;
+
+public class LocationHierarchyIndexTest {
+
+  @Before
+  public void setUp() {
+    List<Location> locations = new ArrayList<>();
+    // Children are loaded before their parents, as a table scan may return them.
+    locations.add(getLocation("blockId", "blockCode", "block", "districtId"));
+    locations.add(getLocation("districtId", "districtCode", "district", "stateId"));
+    locations.add(getLocation("stateId", "stateCode", "state", null));
+    LocationHierarchyIndex.load(locations);
+  }
+
+  @After
+  public void tearDown() {
+    LocationHierarchyIndex.clear();
+  }
+
+  @Test
+  public void testGetAncestry() {
+    List<Location> ancestry = LocationHierarchyIndex.getAncestry("blockId", 2);
+    assertEquals(3, ancestry.size());
+    assertEquals("blockId", ancestry.get(0).getId());
+    assertEquals("districtId", ancestry.get(0).getParentId());
+    assertEquals("district", ancestry.get(1).getType());
+    assertEquals("stateCode", ancestry.get(2).getCode());
+    assertEquals("stateCode name", ancestry.get(2).getName());
+    assertEquals(2, LocationHierarchyIndex.getAncestry("blockId", 1).size());
+  }
+
+  @Test
+  public void testGetByCodes() {
+    List<Location> locations =
+        LocationHierarchyIndex.getByCodes(Arrays.asList("stateCode", "blockCode", "stateCode"));
+    assertEquals(2, locations.size());
+    assertEquals("stateId", locations.get(0).getId());
+    assertEquals("block", locations.get(1).getType());
+    assertEquals("blockCode name", locations.get(1).getName());
+    assertNull(LocationHierarchyIndex.getByCodes(Arrays.asList("stateCode", "unknownCode")));
+  }
+
+  @Test
+  public void testUpsertAndRemove() {
+    LocationHierarchyIndex.upsert(getLocation("clusterId", "clusterCode", "cluster", "blockId"));
+    assertEquals(4, LocationHierarchyIndex.getAncestry("clusterId", 3).size());
+
+    Location update = new Location();
+    update.setId("clusterId");
+    update.setCode("newClusterCode");
+    LocationHierarchyIndex.upsert(update);
+    assertNull(LocationHierarchyIndex.getByCodes(Arrays.asList("clusterCode")));
+    Location cluster = LocationHierarchyIndex.getByCodes(Arrays.asList("newClusterCode")).get(0);
+    assertEquals("cluster", cluster.getType());
+    assertEquals("clusterCode name", cluster.getName());
+    assertEquals("blockId", cluster.getParentId());
+
+    LocationHierarchyIndex.remove("blockId");
+    assertNull(LocationHierarchyIndex.getAncestry("clusterId", 3));
+  }
+
+  @Test
+  public void testUnknownParent() {
+    LocationHierarchyIndex.upsert(getLocation("schoolId", "schoolCode", "school", "otherId"));
+    assertNull(LocationHierarchyIndex.getAncestry("schoolId", 4));
+    assertTrue(LocationHierarchyIndex.isLoaded());
+    LocationHierarchyIndex.clear();
+    assertFalse(LocationHierarchyIndex.isLoaded());
+    assertNull(LocationHierarchyIndex.getAncestry("blockId", 2));
+  }
+
+  private Location getLocation(String id, String code, String type, String parentId) {
+    Location location = new Location();
+    location.setId(id);
+    location.setCode(code);
+    location.setName(code + " name");
+    location.setType(type);
+    location.setParentId(parentId);
+    return location;
+  }
+}
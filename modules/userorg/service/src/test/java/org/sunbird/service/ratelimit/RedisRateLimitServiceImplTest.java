@@ -0,0 +1,177 @@
+package org.sunbird.service.ratelimit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.ServerSocket;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.redisson.Redisson;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisConnectionException;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+import org.sunbird.exception.ProjectCommonException;
+import org.sunbird.keys.JsonKey;
+import org.sunbird.redis.RedisConnectionManager;
+import org.sunbird.response.ResponseCode;
+import org.sunbird.util.ratelimit.RateLimiter;
+import redis.embedded.RedisServer;
+
+/**
+ * Runs the sliding window script of {@link RedisRateLimitServiceImpl} against an embedded Redis
+ * server.
+ */
+public class RedisRateLimitServiceImplTest {
+
+  private static final String KEY_PREFIX = "rate_limit:";
+
+  private static RedisServer redisServer;
+  private static RedissonClient redisClient;
+
+  private RateLimitServiceImpl fallbackService;
+  private RedisRateLimitServiceImpl rateLimitService;
+
+  /** Two requests a second. */
+  private enum TestRateLimiter implements RateLimiter {
+    SECOND;
+
+    @Override
+    public Integer getRateLimit() {
+      return 2;
+    }
+
+    @Override
+    public int getTTL() {
+      return 1;
+    }
+  }
+
+  @BeforeClass
+  public static void startRedis() throws IOException {
+    int port;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    redisServer = new RedisServer(port);
+    redisServer.start();
+    Config config = new Config();
+    config.useSingleServer().setAddress("redis://localhost:" + port);
+    config.setCodec(new StringCodec());
+    redisClient = Redisson.create(config);
+  }
+
+  @AfterClass
+  public static void stopRedis() throws Exception {
+    setRedisClient(null);
+    redisClient.shutdown();
+    redisServer.stop();
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    setRedisClient(redisClient);
+    rateLimitService = new RedisRateLimitServiceImpl();
+    fallbackService = Mockito.mock(RateLimitServiceImpl.class);
+    Mockito.when(fallbackService.isRateLimitOn()).thenReturn(true);
+    Field field = RedisRateLimitServiceImpl.class.getDeclaredField("fallbackService");
+    field.setAccessible(true);
+    field.set(rateLimitService, fallbackService);
+  }
+
+  @Test
+  public void testThrottleByKeyAdmitsRequestsUnderTheLimit() {
+    throttle("admitKey");
+    throttle("admitKey");
+
+    RScoredSortedSet<String> requests = getRequests("admitKey");
+    assertEquals(2, requests.size());
+    assertTrue(requests.remainTimeToLive() > 0);
+  }
+
+  @Test
+  public void testThrottleByKeyRejectsAtTheLimit() {
+    // Requests accepted through other instances are only known to Redis.
+    RScoredSortedSet<String> requests = getRequests("limitKey");
+    requests.add(System.currentTimeMillis(), "otherInstance1");
+    requests.add(System.currentTimeMillis(), "otherInstance2");
+
+    assertRejected("limitKey");
+    assertEquals(2, requests.size());
+  }
+
+  @Test
+  public void testThrottleByKeyAdmitsAgainOnceTheWindowHasPassed() throws InterruptedException {
+    throttle("windowKey");
+    throttle("windowKey");
+    assertRejected("windowKey");
+
+    Thread.sleep(1100);
+
+    throttle("windowKey");
+    assertEquals(1, getRequests("windowKey").size());
+  }
+
+  @Test
+  public void testThrottleByKeyFallsBackToCassandraWhenRedisFails() throws Exception {
+    RedissonClient failingClient = Mockito.mock(RedissonClient.class);
+    Mockito.when(failingClient.getScript(Mockito.any()))
+        .thenThrow(new RedisConnectionException("Unable to connect to Redis server"));
+    setRedisClient(failingClient);
+    RateLimiter[] rateLimiters = {TestRateLimiter.SECOND};
+
+    rateLimitService.throttleByKey("fallbackKey", JsonKey.PHONE, rateLimiters, null);
+
+    Mockito.verify(fallbackService)
+        .throttleByKey("fallbackKey", JsonKey.PHONE, rateLimiters, null);
+  }
+
+  @Test
+  public void testThrottleByKeyRethrowsRejectionOfFallback() throws Exception {
+    RedissonClient failingClient = Mockito.mock(RedissonClient.class);
+    Mockito.when(failingClient.getScript(Mockito.any()))
+        .thenThrow(new RedisConnectionException("Unable to connect to Redis server"));
+    setRedisClient(failingClient);
+    Mockito.doThrow(
+            new ProjectCommonException(
+                ResponseCode.errorRateLimitExceeded,
+                ResponseCode.errorRateLimitExceeded.getErrorMessage(),
+                ResponseCode.TOO_MANY_REQUESTS.getResponseCode(),
+                TestRateLimiter.SECOND.name().toLowerCase()))
+        .when(fallbackService)
+        .throttleByKey(Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.any());
+
+    assertRejected("fallbackLimitKey");
+  }
+
+  private void throttle(String key) {
+    rateLimitService.throttleByKey(
+        key, JsonKey.PHONE, new RateLimiter[] {TestRateLimiter.SECOND}, null);
+  }
+
+  private void assertRejected(String key) {
+    try {
+      throttle(key);
+      fail("Request over the limit was accepted");
+    } catch (ProjectCommonException e) {
+      assertEquals(ResponseCode.TOO_MANY_REQUESTS.getResponseCode(), e.getErrorResponseCode());
+    }
+  }
+
+  private RScoredSortedSet<String> getRequests(String key) {
+    return redisClient.getScoredSortedSet(KEY_PREFIX + key, StringCodec.INSTANCE);
+  }
+
+  private static void setRedisClient(RedissonClient client) throws Exception {
+    Field field = RedisConnectionManager.class.getDeclaredField("client");
+    field.setAccessible(true);
+    field.set(null, client);
+  }
+}
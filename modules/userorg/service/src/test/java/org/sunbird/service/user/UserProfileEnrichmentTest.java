@@ -0,0 +1,300 @@
+package org.sunbird.service.user;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.actor.organisation.validator.OrgTypeValidator;
+import org.sunbird.exception.ProjectCommonException;
+import org.sunbird.keys.JsonKey;
+import org.sunbird.operations.userorg.ActorOperations;
+import org.sunbird.request.Request;
+import org.sunbird.request.RequestContext;
+import org.sunbird.response.Response;
+import org.sunbird.response.ResponseCode;
+import org.sunbird.service.location.LocationService;
+import org.sunbird.service.location.LocationServiceImpl;
+import org.sunbird.service.organisation.OrgService;
+import org.sunbird.service.organisation.impl.OrgServiceImpl;
+import org.sunbird.service.user.impl.UserOrgServiceImpl;
+import org.sunbird.service.user.impl.UserRoleServiceImpl;
+import org.sunbird.service.user.impl.UserServiceImpl;
+import org.sunbird.util.DataCacheHandler;
+import org.sunbird.util.UserUtility;
+import org.sunbird.util.Util;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({
+  UserServiceImpl.class,
+  UserRoleServiceImpl.class,
+  UserOrgServiceImpl.class,
+  OrgServiceImpl.class,
+  LocationServiceImpl.class,
+  UserUtility.class,
+  Util.class,
+  DataCacheHandler.class,
+  OrgTypeValidator.class
+})
+@PowerMockIgnore({
+  "javax.management.*",
+  "javax.net.ssl.*",
+  "javax.security.*",
+  "jdk.internal.reflect.*",
+  "javax.crypto.*"
+})
+public class UserProfileEnrichmentTest {
+
+  private UserService userService;
+  private UserRoleService userRoleService;
+  private UserOrgService userOrgService;
+  private OrgService orgService;
+  private LocationService locationService;
+  private Map<String, Map<String, Object>> orgsById;
+  private Map<String, Map<String, Object>> locationsById;
+
+  @Before
+  public void beforeEachTest() {
+    PowerMockito.mockStatic(UserServiceImpl.class);
+    userService = mock(UserServiceImpl.class);
+    when(UserServiceImpl.getInstance()).thenReturn(userService);
+
+    PowerMockito.mockStatic(UserRoleServiceImpl.class);
+    userRoleService = mock(UserRoleServiceImpl.class);
+    when(UserRoleServiceImpl.getInstance()).thenReturn(userRoleService);
+    when(userRoleService.getUserRoles(Mockito.anyString(), Mockito.any()))
+        .thenReturn(new ArrayList<>());
+
+    PowerMockito.mockStatic(UserOrgServiceImpl.class);
+    userOrgService = mock(UserOrgServiceImpl.class);
+    when(UserOrgServiceImpl.getInstance()).thenReturn(userOrgService);
+    when(userOrgService.getUserOrgListByUserId(Mockito.anyString(), Mockito.any()))
+        .thenReturn(
+            new ArrayList<>(Arrays.asList(getUserOrg("rootOrgId"), getUserOrg("subOrgId"))));
+
+    orgsById = new HashMap<>();
+    orgsById.put("rootOrgId", getOrg("rootOrgId", "root org", "stateId", null));
+    orgsById.put("subOrgId", getOrg("subOrgId", "sub org", "districtId", 2));
+    PowerMockito.mockStatic(OrgServiceImpl.class);
+    orgService = mock(OrgServiceImpl.class);
+    when(OrgServiceImpl.getInstance()).thenReturn(orgService);
+    when(orgService.getOrgById(Mockito.anyString(), Mockito.any()))
+        .thenAnswer(invocation -> orgsById.get((String) invocation.getArgument(0)));
+    when(orgService.getOrgByIds(Mockito.anyList(), Mockito.any()))
+        .thenAnswer(invocation -> getByIds(orgsById, invocation.getArgument(0)));
+
+    locationsById = new HashMap<>();
+    locationsById.put("stateId", getLocation("stateId", "state", null));
+    locationsById.put("districtId", getLocation("districtId", "district", "stateId"));
+    PowerMockito.mockStatic(LocationServiceImpl.class);
+    locationService = mock(LocationServiceImpl.class);
+    when(LocationServiceImpl.getInstance()).thenReturn(locationService);
+    when(locationService.getLocationsByIds(Mockito.anyList(), Mockito.any(), Mockito.any()))
+        .thenAnswer(invocation -> getByIds(locationsById, invocation.getArgument(0)));
+
+    PowerMockito.mockStatic(UserUtility.class);
+    PowerMockito.mockStatic(Util.class);
+    PowerMockito.mockStatic(DataCacheHandler.class);
+    when(DataCacheHandler.getConfigSettings()).thenReturn(new HashMap<>());
+    PowerMockito.mockStatic(OrgTypeValidator.class);
+    OrgTypeValidator orgTypeValidator = mock(OrgTypeValidator.class);
+    when(OrgTypeValidator.getInstance()).thenReturn(orgTypeValidator);
+    when(orgTypeValidator.getValueByType(JsonKey.ORG_TYPE_SCHOOL)).thenReturn(2);
+  }
+
+  @Test
+  public void getUserProfileDataEnrichesOrganisationsAndLocationsTest() {
+    when(userService.getUserDetailsById(Mockito.anyString(), Mockito.any()))
+        .thenReturn(getUser(null));
+    Map<String, Object> subOrgRecord = new HashMap<>(orgsById.get("subOrgId"));
+
+    Response response =
+        new UserProfileReadService()
+            .getUserProfileData(getProfileReadRequest("user1", "organisations,locations"));
+
+    Map<String, Object> result = (Map<String, Object>) response.get(JsonKey.RESPONSE);
+    Map<String, Object> rootOrg = (Map<String, Object>) result.get(JsonKey.ROOT_ORG);
+    assertEquals("root org", rootOrg.get(JsonKey.ORG_NAME));
+    assertEquals("root org description", rootOrg.get(JsonKey.DESCRIPTION));
+    List<Map<String, Object>> organisations =
+        (List<Map<String, Object>>) result.get(JsonKey.ORGANISATIONS);
+    assertEquals(2, organisations.size());
+    Map<String, Object> subOrg = organisations.get(1);
+    assertEquals("subOrgId", subOrg.get(JsonKey.ORGANISATION_ID));
+    assertEquals("sub org", subOrg.get(JsonKey.ORG_NAME));
+    assertEquals("channel", subOrg.get(JsonKey.CHANNEL));
+    assertEquals("subOrgId", subOrg.get(JsonKey.HASHTAGID));
+    assertEquals("subOrgId-external", subOrg.get(JsonKey.EXTERNAL_ID));
+    assertEquals(Collections.singletonList("districtId"), subOrg.get(JsonKey.LOCATION_IDS));
+    assertEquals(true, subOrg.get(JsonKey.IS_SCHOOL));
+    assertEquals(
+        "districtId",
+        ((List<Map<String, Object>>) subOrg.get(JsonKey.LOCATIONS)).get(0).get(JsonKey.ID));
+    // Only the organisation fields the user read has always returned are copied
+    assertFalse(subOrg.containsKey(JsonKey.DESCRIPTION));
+    assertFalse(organisations.get(0).containsKey(JsonKey.IS_SCHOOL));
+
+    List<Map<String, Object>> userLocations =
+        (List<Map<String, Object>>) result.get(JsonKey.USER_LOCATIONS);
+    assertEquals(2, userLocations.size());
+    assertEquals("stateId", userLocations.get(0).get(JsonKey.ID));
+    assertEquals("district", userLocations.get(1).get(JsonKey.TYPE));
+    assertEquals("stateId", userLocations.get(1).get(JsonKey.PARENT_ID));
+    assertFalse(userLocations.get(0).containsKey(JsonKey.CREATED_DATE));
+    assertFalse(result.containsKey(JsonKey.PROFILE_LOCATION));
+
+    // The root org and the user's orgs and locations are each fetched once
+    Mockito.verify(orgService, Mockito.times(1)).getOrgById(Mockito.eq("rootOrgId"), Mockito.any());
+    Mockito.verify(orgService, Mockito.times(1)).getOrgById(Mockito.eq("subOrgId"), Mockito.any());
+    Mockito.verify(orgService, Mockito.never()).getOrgByIds(Mockito.anyList(), Mockito.any());
+    Mockito.verify(locationService, Mockito.times(1))
+        .getLocationsByIds(Mockito.anyList(), Mockito.any(), Mockito.any());
+    // Records shared by the lookups of the request are not modified
+    assertEquals(subOrgRecord, orgsById.get("subOrgId"));
+  }
+
+  @Test
+  public void getUserProfileDataChecksManagedByBeforeLookupsTest() {
+    when(userService.getUserDetailsById(Mockito.anyString(), Mockito.any()))
+        .thenReturn(getUser("managerId"));
+
+    try {
+      new UserProfileReadService()
+          .getUserProfileData(getProfileReadRequest("user1", "organisations,locations"));
+      fail("Read of a managed user by another user must be rejected");
+    } catch (ProjectCommonException e) {
+      assertEquals(ResponseCode.unAuthorized.getErrorCode(), e.getErrorCode());
+    }
+    Mockito.verifyNoMoreInteractions(userRoleService, userOrgService, orgService, locationService);
+  }
+
+  @Test
+  public void getUserProfileDataRethrowsEnrichmentFailureTest() {
+    when(userService.getUserDetailsById(Mockito.anyString(), Mockito.any()))
+        .thenReturn(getUser(null));
+    ProjectCommonException failure =
+        new ProjectCommonException(
+            ResponseCode.serverError,
+            ResponseCode.serverError.getErrorMessage(),
+            ResponseCode.SERVER_ERROR.getResponseCode());
+    when(orgService.getOrgById(Mockito.eq("subOrgId"), Mockito.any())).thenThrow(failure);
+
+    try {
+      new UserProfileReadService()
+          .getUserProfileData(getProfileReadRequest("user1", "organisations"));
+      fail("Failure of an organisation lookup must fail the read");
+    } catch (ProjectCommonException e) {
+      assertSame(failure, e);
+    }
+  }
+
+  @Test
+  public void getOrgsFetchesEachIdOnceTest() {
+    UserProfileEnrichment enrichment = new UserProfileEnrichment(new RequestContext());
+
+    Map<String, Map<String, Object>> first =
+        UserProfileEnrichment.join(enrichment.getOrgs(Arrays.asList("rootOrgId", "subOrgId")));
+    Map<String, Map<String, Object>> second =
+        UserProfileEnrichment.join(
+            enrichment.getOrgs(Arrays.asList("subOrgId", "subOrgId", "unknownOrgId", "")));
+
+    assertEquals(2, first.size());
+    assertEquals(1, second.size());
+    assertSame(first.get("subOrgId"), second.get("subOrgId"));
+    Mockito.verify(orgService, Mockito.times(1))
+        .getOrgByIds(Mockito.eq(Arrays.asList("rootOrgId", "subOrgId")), Mockito.any());
+    Mockito.verify(orgService, Mockito.times(1))
+        .getOrgById(Mockito.eq("unknownOrgId"), Mockito.any());
+    Mockito.verifyNoMoreInteractions(orgService);
+  }
+
+  private Request getProfileReadRequest(String userId, String fields) {
+    Request reqObj = new Request();
+    reqObj.getRequest().put(JsonKey.USER_ID, userId);
+    reqObj.getContext().put(JsonKey.REQUESTED_BY, "requesterId");
+    reqObj.getContext().put(JsonKey.PRIVATE, false);
+    reqObj.getContext().put(JsonKey.FIELDS, fields);
+    reqObj.setOperation(ActorOperations.GET_USER_PROFILE_V3.getValue());
+    return reqObj;
+  }
+
+  private Map<String, Object> getUser(String managedBy) {
+    Map<String, Object> user = new HashMap<>();
+    user.put(JsonKey.ID, "user1");
+    user.put(JsonKey.USER_ID, "user1");
+    user.put(JsonKey.ROOT_ORG_ID, "rootOrgId");
+    user.put(JsonKey.IS_DELETED, false);
+    user.put(JsonKey.FLAGS_VALUE, 0);
+    user.put(
+        JsonKey.PROFILE_LOCATION,
+        "[{\"id\":\"stateId\",\"type\":\"state\"},{\"id\":\"districtId\",\"type\":\"district\"}]");
+    if (managedBy != null) {
+      user.put(JsonKey.MANAGED_BY, managedBy);
+    }
+    return user;
+  }
+
+  private Map<String, Object> getUserOrg(String orgId) {
+    Map<String, Object> userOrg = new HashMap<>();
+    userOrg.put(JsonKey.USER_ID, "user1");
+    userOrg.put(JsonKey.ORGANISATION_ID, orgId);
+    userOrg.put(JsonKey.IS_DELETED, false);
+    return userOrg;
+  }
+
+  private Map<String, Object> getOrg(
+      String orgId, String orgName, String locationId, Integer organisationType) {
+    Map<String, Object> org = new HashMap<>();
+    org.put(JsonKey.ID, orgId);
+    org.put(JsonKey.ORG_NAME, orgName);
+    org.put(JsonKey.CHANNEL, "channel");
+    org.put(JsonKey.HASHTAGID, orgId);
+    org.put(JsonKey.EXTERNAL_ID, orgId + "-external");
+    org.put(JsonKey.DESCRIPTION, orgName + " description");
+    Map<String, Object> orgLocation = new HashMap<>();
+    orgLocation.put(JsonKey.ID, locationId);
+    org.put(JsonKey.ORG_LOCATION, new ArrayList<>(Collections.singletonList(orgLocation)));
+    if (organisationType != null) {
+      org.put(JsonKey.ORGANISATION_TYPE, organisationType);
+    }
+    return org;
+  }
+
+  private Map<String, Object> getLocation(String locationId, String type, String parentId) {
+    Map<String, Object> location = new HashMap<>();
+    location.put(JsonKey.ID, locationId);
+    location.put(JsonKey.CODE, locationId + "-code");
+    location.put(JsonKey.NAME, locationId + "-name");
+    location.put(JsonKey.TYPE, type);
+    location.put(JsonKey.PARENT_ID, parentId);
+    location.put(JsonKey.CREATED_DATE, "2021-01-04 19:45:29:725+0530");
+    return location;
+  }
+
+  private List<Map<String, Object>> getByIds(
+      Map<String, Map<String, Object>> recordsById, List<String> ids) {
+    List<Map<String, Object>> records = new ArrayList<>();
+    for (String id : ids) {
+      if (recordsById.containsKey(id)) {
+        records.add(recordsById.get(id));
+      }
+    }
+    return records;
+  }
+}
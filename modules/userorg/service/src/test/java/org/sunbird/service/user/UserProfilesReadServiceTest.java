@@ -0,0 +1,151 @@
+package org.sunbird.service.user;
+
+import static org.junit.Assert.assertEquals;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.actor.organisation.validator.OrgTypeValidator;
+import org.sunbird.keys.JsonKey;
+import org.sunbird.operations.userorg.ActorOperations;
+import org.sunbird.request.Request;
+import org.sunbird.response.Response;
+import org.sunbird.service.location.LocationService;
+import org.sunbird.service.location.LocationServiceImpl;
+import org.sunbird.service.organisation.OrgService;
+import org.sunbird.service.organisation.impl.OrgServiceImpl;
+import org.sunbird.service.user.impl.UserOrgServiceImpl;
+import org.sunbird.service.user.impl.UserRoleServiceImpl;
+import org.sunbird.service.user.impl.UserServiceImpl;
+import org.sunbird.util.DataCacheHandler;
+import org.sunbird.util.UserUtility;
+import org.sunbird.util.Util;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({
+  UserServiceImpl.class,
+  UserRoleServiceImpl.class,
+  UserOrgServiceImpl.class,
+  OrgServiceImpl.class,
+  LocationServiceImpl.class,
+  UserUtility.class,
+  Util.class,
+  DataCacheHandler.class,
+  OrgTypeValidator.class
+})
+@PowerMockIgnore({
+  "javax.management.*",
+  "javax.net.ssl.*",
+  "javax.security.*",
+  "jdk.internal.reflect.*",
+  "javax.crypto.*"
+})
+public class UserProfilesReadServiceTest {
+
+  private UserService userService;
+  private OrgService orgService;
+
+  @Before
+  public void beforeEachTest() {
+    PowerMockito.mockStatic(UserServiceImpl.class);
+    userService = mock(UserServiceImpl.class);
+    when(UserServiceImpl.getInstance()).thenReturn(userService);
+
+    PowerMockito.mockStatic(UserRoleServiceImpl.class);
+    UserRoleService userRoleService = mock(UserRoleServiceImpl.class);
+    when(UserRoleServiceImpl.getInstance()).thenReturn(userRoleService);
+    when(userRoleService.getUsersRoles(Mockito.anyList(), Mockito.any()))
+        .thenReturn(new HashMap<>());
+
+    PowerMockito.mockStatic(UserOrgServiceImpl.class);
+    UserOrgService userOrgService = mock(UserOrgServiceImpl.class);
+    when(UserOrgServiceImpl.getInstance()).thenReturn(userOrgService);
+    Map<String, List<Map<String, Object>>> userOrgsById = new HashMap<>();
+    userOrgsById.put("user1", new ArrayList<>(Arrays.asList(getUserOrg("user1"))));
+    userOrgsById.put("user2", new ArrayList<>(Arrays.asList(getUserOrg("user2"))));
+    when(userOrgService.getUserOrgListByUserIds(Mockito.anyList(), Mockito.any()))
+        .thenReturn(userOrgsById);
+
+    PowerMockito.mockStatic(OrgServiceImpl.class);
+    orgService = mock(OrgServiceImpl.class);
+    when(OrgServiceImpl.getInstance()).thenReturn(orgService);
+    Map<String, Object> rootOrg = new HashMap<>();
+    rootOrg.put(JsonKey.ID, "rootOrgId");
+    rootOrg.put(JsonKey.ORG_NAME, "root org");
+    when(orgService.getOrgById(Mockito.anyString(), Mockito.any())).thenReturn(rootOrg);
+
+    PowerMockito.mockStatic(LocationServiceImpl.class);
+    LocationService locationService = mock(LocationServiceImpl.class);
+    when(LocationServiceImpl.getInstance()).thenReturn(locationService);
+
+    PowerMockito.mockStatic(UserUtility.class);
+    PowerMockito.mockStatic(Util.class);
+    PowerMockito.mockStatic(DataCacheHandler.class);
+    when(DataCacheHandler.getConfigSettings()).thenReturn(new HashMap<>());
+    PowerMockito.mockStatic(OrgTypeValidator.class);
+    when(OrgTypeValidator.getInstance()).thenReturn(mock(OrgTypeValidator.class));
+  }
+
+  @Test
+  public void getUserProfilesDataTest() {
+    Map<String, Object> deletedUser = getUser("user3");
+    deletedUser.put(JsonKey.IS_DELETED, true);
+    when(userService.getUsersDetailsByIds(Mockito.anyList(), Mockito.any()))
+        .thenReturn(new ArrayList<>(Arrays.asList(getUser("user2"), getUser("user1"), deletedUser)));
+
+    Response response =
+        new UserProfileReadService()
+            .getUserProfilesData(getProfilesReadRequest("user1", "user2", "user3", "user4"));
+
+    Map<String, Object> result = (Map<String, Object>) response.get(JsonKey.RESPONSE);
+    List<Map<String, Object>> profiles = (List<Map<String, Object>>) result.get(JsonKey.CONTENT);
+    assertEquals(2, result.get(JsonKey.COUNT));
+    assertEquals("user1", profiles.get(0).get(JsonKey.IDENTIFIER));
+    assertEquals("user2", profiles.get(1).get(JsonKey.IDENTIFIER));
+    assertEquals(
+        "root org",
+        ((Map<String, Object>) profiles.get(0).get(JsonKey.ROOT_ORG)).get(JsonKey.ORG_NAME));
+    assertEquals(1, ((List) profiles.get(1).get(JsonKey.ORGANISATIONS)).size());
+    Mockito.verify(userService, Mockito.times(1))
+        .getUsersDetailsByIds(Mockito.anyList(), Mockito.any());
+    Mockito.verify(orgService, Mockito.times(1)).getOrgById(Mockito.anyString(), Mockito.any());
+  }
+
+  private Request getProfilesReadRequest(String... userIds) {
+    Request reqObj = new Request();
+    reqObj.getRequest().put(JsonKey.USER_IDs, Arrays.asList(userIds));
+    reqObj.getContext().put(JsonKey.PRIVATE, true);
+    reqObj.setOperation(ActorOperations.GET_USER_PROFILES.getValue());
+    return reqObj;
+  }
+
+  private Map<String, Object> getUser(String userId) {
+    Map<String, Object> user = new HashMap<>();
+    user.put(JsonKey.ID, userId);
+    user.put(JsonKey.USER_ID, userId);
+    user.put(JsonKey.ROOT_ORG_ID, "rootOrgId");
+    user.put(JsonKey.IS_DELETED, false);
+    user.put(JsonKey.FLAGS_VALUE, 0);
+    return user;
+  }
+
+  private Map<String, Object> getUserOrg(String userId) {
+    Map<String, Object> userOrg = new HashMap<>();
+    userOrg.put(JsonKey.USER_ID, userId);
+    userOrg.put(JsonKey.ORGANISATION_ID, "rootOrgId");
+    userOrg.put(JsonKey.IS_DELETED, false);
+    return userOrg;
+  }
+}
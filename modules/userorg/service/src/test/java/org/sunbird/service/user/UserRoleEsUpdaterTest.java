@@ -0,0 +1,166 @@
+package org.sunbird.service.user;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.sunbird.dao.user.UserRoleDao;
+import org.sunbird.keys.JsonKey;
+
+public class UserRoleEsUpdaterTest {
+
+  @Test
+  public void flushMergesUpdatesOfSameUserTest() {
+    UserRoleDao userRoleDao = Mockito.mock(UserRoleDao.class);
+    Mockito.when(userRoleDao.updateUserRolesToES(Mockito.anyMap(), Mockito.any())).thenReturn(new ArrayList<>());
+    UserRoleEsUpdater updater = new UserRoleEsUpdater(userRoleDao, 10, 3);
+
+    updater.submit("user1", getRoles("user1", "PUBLIC"), null);
+    updater.submit("user2", getRoles("user2", "PUBLIC"), null);
+    updater.submit("user1", getRoles("user1", "ORG_ADMIN"), null);
+    updater.flush();
+
+    ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
+    Mockito.verify(userRoleDao, Mockito.times(1)).updateUserRolesToES(captor.capture(), Mockito.any());
+    Map<String, Map<String, Object>> dataById = captor.getValue();
+    assertEquals(2, dataById.size());
+    assertEquals("ORG_ADMIN", getRole(dataById.get("user1")));
+    assertEquals(1L, updater.snapshot().get("coalesced"));
+    assertEquals(2L, updater.snapshot().get("applied"));
+  }
+
+  @Test
+  public void flushSplitsUpdatesIntoBatchesTest() {
+    UserRoleDao userRoleDao = Mockito.mock(UserRoleDao.class);
+    Mockito.when(userRoleDao.updateUserRolesToES(Mockito.anyMap(), Mockito.any())).thenReturn(new ArrayList<>());
+    UserRoleEsUpdater updater = new UserRoleEsUpdater(userRoleDao, 2, 3);
+
+    for (int i = 0; i < 5; i++) {
+      updater.submit("user" + i, getRoles("user" + i, "PUBLIC"), null);
+    }
+    updater.flush();
+
+    Mockito.verify(userRoleDao, Mockito.times(3)).updateUserRolesToES(Mockito.anyMap(), Mockito.any());
+    assertEquals(0, updater.snapshot().get("pending"));
+  }
+
+  @Test
+  public void flushRetriesFailedUpdatesUnderNewerChangesTest() {
+    UserRoleDao userRoleDao = Mockito.mock(UserRoleDao.class);
+    Mockito.when(userRoleDao.updateUserRolesToES(Mockito.anyMap(), Mockito.any()))
+        .thenReturn(null, new ArrayList<>());
+    UserRoleEsUpdater updater = new UserRoleEsUpdater(userRoleDao, 10, 3);
+
+    updater.submit("user1", getRoles("user1", "PUBLIC"), null);
+    updater.flush();
+    updater.submit("user1", getRoles("user1", "ORG_ADMIN"), null);
+    updater.flush();
+
+    ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
+    Mockito.verify(userRoleDao, Mockito.times(2)).updateUserRolesToES(captor.capture(), Mockito.any());
+    Map<String, Map<String, Object>> dataById = captor.getAllValues().get(1);
+    assertEquals("ORG_ADMIN", getRole(dataById.get("user1")));
+    assertEquals(1L, updater.snapshot().get("retried"));
+    assertEquals(1L, updater.snapshot().get("applied"));
+  }
+
+  @Test
+  public void flushRetriesUpdatesUnderChangesSubmittedInFlightTest() {
+    UserRoleDao userRoleDao = Mockito.mock(UserRoleDao.class);
+    UserRoleEsUpdater updater = new UserRoleEsUpdater(userRoleDao, 10, 3);
+    Mockito.when(userRoleDao.updateUserRolesToES(Mockito.anyMap(), Mockito.any()))
+        .thenAnswer(
+            invocation -> {
+              updater.submit("user1", getRoles("user1", "ORG_ADMIN"), null);
+              return null;
+            })
+        .thenReturn(new ArrayList<>());
+
+    updater.submit("user1", getRoles("user1", "PUBLIC"), null);
+    updater.flush();
+    updater.flush();
+
+    ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
+    Mockito.verify(userRoleDao, Mockito.times(2)).updateUserRolesToES(captor.capture(), Mockito.any());
+    assertEquals("ORG_ADMIN", getRole((Map<String, Object>) captor.getAllValues().get(1).get("user1")));
+    assertEquals(1L, updater.snapshot().get("applied"));
+  }
+
+  @Test
+  public void flushKeepsAttemptsOfUpdatesChangedInFlightTest() {
+    UserRoleDao userRoleDao = Mockito.mock(UserRoleDao.class);
+    UserRoleEsUpdater updater = new UserRoleEsUpdater(userRoleDao, 10, 2);
+    Mockito.when(userRoleDao.updateUserRolesToES(Mockito.anyMap(), Mockito.any()))
+        .thenAnswer(
+            invocation -> {
+              updater.submit("user1", getRoles("user1", "ORG_ADMIN"), null);
+              return null;
+            })
+        .thenReturn(null);
+
+    updater.submit("user1", getRoles("user1", "PUBLIC"), null);
+    updater.flush();
+    updater.flush();
+
+    Mockito.verify(userRoleDao, Mockito.times(2)).updateUserRolesToES(Mockito.anyMap(), Mockito.any());
+    assertEquals(1L, updater.snapshot().get("dropped"));
+    assertEquals(0, updater.snapshot().get("pending"));
+  }
+
+  @Test
+  public void flushRetriesOnlyFailedItemsTest() {
+    UserRoleDao userRoleDao = Mockito.mock(UserRoleDao.class);
+    Mockito.when(userRoleDao.updateUserRolesToES(Mockito.anyMap(), Mockito.any()))
+        .thenReturn(new ArrayList<>(Collections.singletonList("user2")), new ArrayList<>());
+    UserRoleEsUpdater updater = new UserRoleEsUpdater(userRoleDao, 10, 3);
+
+    updater.submit("user1", getRoles("user1", "PUBLIC"), null);
+    updater.submit("user2", getRoles("user2", "PUBLIC"), null);
+    updater.flush();
+    updater.flush();
+
+    ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
+    Mockito.verify(userRoleDao, Mockito.times(2)).updateUserRolesToES(captor.capture(), Mockito.any());
+    assertEquals(Collections.singleton("user2"), captor.getAllValues().get(1).keySet());
+    assertEquals(1L, updater.snapshot().get("retried"));
+    assertEquals(2L, updater.snapshot().get("applied"));
+  }
+
+  @Test
+  public void flushDropsUpdatesAfterMaxAttemptsTest() {
+    UserRoleDao userRoleDao = Mockito.mock(UserRoleDao.class);
+    Mockito.when(userRoleDao.updateUserRolesToES(Mockito.anyMap(), Mockito.any())).thenReturn(null);
+    UserRoleEsUpdater updater = new UserRoleEsUpdater(userRoleDao, 10, 2);
+
+    updater.submit("user1", getRoles("user1", "PUBLIC"), null);
+    updater.flush();
+    updater.flush();
+    updater.flush();
+
+    Mockito.verify(userRoleDao, Mockito.times(2)).updateUserRolesToES(Mockito.anyMap(), Mockito.any());
+    assertEquals(1L, updater.snapshot().get("dropped"));
+    assertEquals(0, updater.snapshot().get("pending"));
+  }
+
+  private Map<String, Object> getRoles(String userId, String role) {
+    Map<String, Object> userRole = new HashMap<>();
+    userRole.put(JsonKey.ROLE, role);
+    List<Map<String, Object>> roles = new ArrayList<>();
+    roles.add(userRole);
+    Map<String, Object> data = new HashMap<>();
+    data.put(JsonKey.USER_ID, userId);
+    data.put(JsonKey.ROLES, roles);
+    return data;
+  }
+
+  private String getRole(Map<String, Object> data) {
+    List<Map<String, Object>> roles = (List<Map<String, Object>>) data.get(JsonKey.ROLES);
+    return (String) roles.get(0).get(JsonKey.ROLE);
+  }
+}
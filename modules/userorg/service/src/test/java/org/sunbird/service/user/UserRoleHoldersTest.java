@@ -0,0 +1,135 @@
+package org.sunbird.service.user;
+
+import org.apache.pekko.dispatch.Futures;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.common.ElasticSearchHelper;
+import org.sunbird.common.ElasticSearchRestHighImpl;
+import org.sunbird.common.factory.EsClientFactory;
+import org.sunbird.dao.user.UserDao;
+import org.sunbird.dao.user.impl.UserDaoImpl;
+import org.sunbird.dto.SearchDTO;
+import org.sunbird.keys.JsonKey;
+import org.sunbird.request.RequestContext;
+import org.sunbird.service.user.impl.UserServiceImpl;
+import scala.concurrent.Promise;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({
+  UserDao.class,
+  UserDaoImpl.class,
+  ElasticSearchRestHighImpl.class,
+  EsClientFactory.class,
+  ElasticSearchHelper.class
+})
+@PowerMockIgnore({
+  "javax.management.*",
+  "javax.net.ssl.*",
+  "javax.security.*",
+  "jdk.internal.reflect.*",
+  "javax.crypto.*"
+})
+public class UserRoleHoldersTest {
+
+  // UserServiceImpl and UserDaoImpl are singletons, so every test has to use the same ES mock
+  private static final ElasticSearchRestHighImpl esSearch = mock(ElasticSearchRestHighImpl.class);
+
+  @Before
+  public void beforeTest() {
+    PowerMockito.mockStatic(EsClientFactory.class);
+    Mockito.reset(esSearch);
+    when(EsClientFactory.getInstance(Mockito.anyString())).thenReturn(esSearch);
+  }
+
+  @Test
+  public void getRoleHolders() {
+    Map<String, List<Map<String, Object>>> hitsByGroup = new HashMap<>();
+    Map<String, Object> admin = new HashMap<>();
+    admin.put(JsonKey.USER_ID, "1231-45654-5135");
+    hitsByGroup.put(JsonKey.ORG_ADMIN, Collections.singletonList(admin));
+    Map<String, Object> managedUser = new HashMap<>();
+    managedUser.put(JsonKey.USER_ID, "1232-45654-5135");
+    hitsByGroup.put(JsonKey.MANAGED_USERS, Collections.singletonList(managedUser));
+    Map<String, Object> esResponse = new HashMap<>();
+    esResponse.put(JsonKey.CONTENT, new ArrayList<>());
+    esResponse.put(JsonKey.HITS_BY_GROUP, hitsByGroup);
+    Promise<Map<String, Object>> promise = Futures.promise();
+    promise.success(esResponse);
+
+    when(esSearch.search(Mockito.any(SearchDTO.class), Mockito.anyString(), Mockito.any()))
+        .thenReturn(promise.future());
+    UserService userService = UserServiceImpl.getInstance();
+    Map<String, List<String>> usersByRole =
+        userService.getRoleHolders(
+            "rootOrgId",
+            Arrays.asList(JsonKey.PUBLIC, JsonKey.ORG_ADMIN),
+            "1230-45654-5135",
+            new RequestContext());
+    Assert.assertEquals(3, usersByRole.size());
+    Assert.assertTrue(usersByRole.get(JsonKey.PUBLIC).isEmpty());
+    Assert.assertEquals(
+        Collections.singletonList("1231-45654-5135"), usersByRole.get(JsonKey.ORG_ADMIN));
+    Assert.assertEquals(
+        Collections.singletonList("1232-45654-5135"), usersByRole.get(JsonKey.MANAGED_USERS));
+  }
+
+  @Test
+  public void getRoleHoldersSearchesFullGroupSeparately() {
+    Map<String, List<Map<String, Object>>> hitsByGroup = new HashMap<>();
+    hitsByGroup.put(JsonKey.ORG_ADMIN, getUsers(ElasticSearchHelper.MAX_HITS_PER_GROUP));
+    Map<String, Object> aggregationResponse = new HashMap<>();
+    aggregationResponse.put(JsonKey.CONTENT, new ArrayList<>());
+    aggregationResponse.put(JsonKey.HITS_BY_GROUP, hitsByGroup);
+    Promise<Map<String, Object>> aggregationPromise = Futures.promise();
+    aggregationPromise.success(aggregationResponse);
+    Map<String, Object> groupResponse = new HashMap<>();
+    groupResponse.put(JsonKey.CONTENT, getUsers(150));
+    Promise<Map<String, Object>> groupPromise = Futures.promise();
+    groupPromise.success(groupResponse);
+
+    when(esSearch.search(Mockito.any(SearchDTO.class), Mockito.anyString(), Mockito.any()))
+        .thenReturn(aggregationPromise.future(), groupPromise.future());
+    UserService userService = UserServiceImpl.getInstance();
+    Map<String, List<String>> usersByRole =
+        userService.getRoleHolders(
+            "rootOrgId", Collections.singletonList(JsonKey.ORG_ADMIN), null, new RequestContext());
+    Assert.assertEquals(150, usersByRole.get(JsonKey.ORG_ADMIN).size());
+    Mockito.verify(esSearch, Mockito.times(2))
+        .search(Mockito.any(SearchDTO.class), Mockito.anyString(), Mockito.any());
+  }
+
+  @Test
+  public void getRoleHoldersWithoutGroups() {
+    UserService userService = UserServiceImpl.getInstance();
+    Map<String, List<String>> usersByRole =
+        userService.getRoleHolders("rootOrgId", new ArrayList<>(), null, new RequestContext());
+    Assert.assertTrue(usersByRole.isEmpty());
+  }
+
+  private List<Map<String, Object>> getUsers(int count) {
+    List<Map<String, Object>> users = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Map<String, Object> user = new HashMap<>();
+      user.put(JsonKey.USER_ID, "user" + i);
+      users.add(user);
+    }
+    return users;
+  }
+}
@@ -0,0 +1,68 @@
+package org.sunbird.util.ratelimit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class LocalRateLimitFilterTest {
+
+  private static final String KEY = "9999888898";
+  private static final RateLimiter MINUTE = rateLimiter("MINUTE", 2, 60);
+  private static final RateLimiter HOUR = rateLimiter("HOUR", 3, 3600);
+  private static final RateLimiter[] RATE_LIMITERS = {MINUTE, HOUR};
+
+  @Test
+  public void testGetExceededForUnknownKey() {
+    LocalRateLimitFilter filter = new LocalRateLimitFilter(10);
+    assertNull(filter.getExceeded(KEY, RATE_LIMITERS, 0L));
+  }
+
+  @Test
+  public void testGetExceededWithinSmallestWindow() {
+    LocalRateLimitFilter filter = new LocalRateLimitFilter(10);
+    filter.record(KEY, RATE_LIMITERS, 1000L);
+    assertNull(filter.getExceeded(KEY, RATE_LIMITERS, 2000L));
+    filter.record(KEY, RATE_LIMITERS, 2000L);
+    assertEquals(MINUTE, filter.getExceeded(KEY, RATE_LIMITERS, 3000L));
+  }
+
+  @Test
+  public void testGetExceededAfterSmallestWindowSlides() {
+    LocalRateLimitFilter filter = new LocalRateLimitFilter(10);
+    filter.record(KEY, RATE_LIMITERS, 1000L);
+    filter.record(KEY, RATE_LIMITERS, 2000L);
+    assertNull(filter.getExceeded(KEY, RATE_LIMITERS, 62000L));
+    filter.record(KEY, RATE_LIMITERS, 62000L);
+    assertEquals(HOUR, filter.getExceeded(KEY, RATE_LIMITERS, 63000L));
+    assertNull(filter.getExceeded(KEY, RATE_LIMITERS, 3601000L));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedKeyEvicted() {
+    LocalRateLimitFilter filter = new LocalRateLimitFilter(1);
+    filter.record(KEY, new RateLimiter[] {MINUTE}, 1000L);
+    filter.record(KEY, new RateLimiter[] {MINUTE}, 2000L);
+    filter.record("otherKey", new RateLimiter[] {MINUTE}, 2000L);
+    assertNull(filter.getExceeded(KEY, new RateLimiter[] {MINUTE}, 3000L));
+  }
+
+  private static RateLimiter rateLimiter(String name, int limit, int ttl) {
+    return new RateLimiter() {
+      @Override
+      public Integer getRateLimit() {
+        return limit;
+      }
+
+      @Override
+      public int getTTL() {
+        return ttl;
+      }
+
+      @Override
+      public String name() {
+        return name;
+      }
+    };
+  }
+}
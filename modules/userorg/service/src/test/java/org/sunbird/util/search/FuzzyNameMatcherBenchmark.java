@@ -0,0 +1,79 @@
+package org.sunbird.util.search;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of {@link FuzzyNameMatcher} over user search result sets of the sizes returned by
+ * Elasticsearch for a search page. Run from the module directory with {@code mvn test-compile
+ * exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.sunbird.util.search.FuzzyNameMatcherBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FuzzyNameMatcherBenchmark {
+
+  private static final String[] FIRST_NAMES = {
+    "Aarav", "Aditi", "Akash", "Ananya", "Arjun", "Deepak", "Divya", "Ganesh", "Gayathri",
+    "Harish", "Ishita", "Karthik", "Kavya", "Lakshmi", "Mahesh", "Meera", "Naveen", "Neha",
+    "Pooja", "Pradeep", "Priya", "Rahul", "Rajesh", "Ramesh", "Ravi", "Sanjay", "Shreya",
+    "Srinivas", "Suresh", "Vikram"
+  };
+  private static final String[] LAST_NAMES = {
+    "Agarwal", "Bhat", "Chatterjee", "Das", "Desai", "Gupta", "Iyer", "Joshi", "Kulkarni", "Kumar",
+    "Menon", "Mishra", "Nair", "Patel", "Pillai", "Rao", "Reddy", "Shah", "Sharma", "Singh"
+  };
+
+  @Param({"20", "100", "1000", "10000"})
+  public int resultSetSize;
+
+  private Map<String, String> namesById;
+  private String query;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    namesById = new LinkedHashMap<>();
+    for (int i = 0; i < resultSetSize; i++) {
+      namesById.put(
+          "user" + i,
+          FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]
+              + " "
+              + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+    }
+    // A misspelled first name and an exact last name, as typed in a search box.
+    query = "Ramesj Kumar";
+  }
+
+  @Benchmark
+  public List<String> match() {
+    return FuzzyNameMatcher.match(query, namesById, 0.5f);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(FuzzyNameMatcherBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
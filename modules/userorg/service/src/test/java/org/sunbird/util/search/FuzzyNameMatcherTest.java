@@ -0,0 +1,130 @@
+package org.sunbird.util.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FuzzyNameMatcherTest {
+
+  private Map<String, String> names;
+
+  @Before
+  public void setUp() {
+    names = new LinkedHashMap<>();
+    names.put("id1", "Ramesh Kumar");
+    names.put("id2", "Suresh Kumar");
+    names.put("id3", "John Smyth");
+    names.put("id4", "Anita D'Souza");
+    names.put("id5", null);
+  }
+
+  @Test
+  public void testMatchIgnoresCaseAndPunctuation() {
+    assertEquals(Arrays.asList("id4"), FuzzyNameMatcher.match("dsouza", names, 0.5f));
+    assertEquals(Arrays.asList("id1", "id2"), FuzzyNameMatcher.match("KUMAR", names, 0.5f));
+  }
+
+  @Test
+  public void testMatchMisspelledWordWithSameSoundex() {
+    assertEquals(Arrays.asList("id1"), FuzzyNameMatcher.match("Ramesj", names, 0.5f));
+  }
+
+  @Test
+  public void testMatchRequiresSharedTrigram() {
+    // Same Soundex code as Smyth and John, but no trigram in common.
+    assertTrue(FuzzyNameMatcher.match("smith", names, 0.5f).isEmpty());
+    assertTrue(FuzzyNameMatcher.match("Jon", names, 0.5f).isEmpty());
+  }
+
+  @Test
+  public void testMatchWithThresholdOfOne() {
+    assertTrue(FuzzyNameMatcher.match("Ramesh", names, 1f).isEmpty());
+  }
+
+  @Test
+  public void testMatchStopsAtLimit() {
+    assertEquals(Arrays.asList("id1"), FuzzyNameMatcher.match("Kumar", names, 0.5f, 1));
+    assertEquals(Arrays.asList("id1", "id2"), FuzzyNameMatcher.match("Kumar", names, 0.5f, 5));
+  }
+
+  @Test
+  public void testMatchWithoutMatchingWord() {
+    List<String> matched = FuzzyNameMatcher.match("Venkatesh", names, 0.5f);
+    assertTrue(matched.isEmpty());
+    assertTrue(FuzzyNameMatcher.match(" ", names, 0.5f).isEmpty());
+  }
+
+  /**
+   * Results of the fuzzy-matcher library (0.4.1) this class replaced, taken by running it over
+   * the same candidates at the default threshold of 0.5, one query word at a time as
+   * FuzzySearchManager called it.
+   */
+  @Test
+  public void testMatchKeepsResultsOfPreviousMatcher() {
+    Map<String, String> candidates = new LinkedHashMap<>();
+    candidates.put("id1", "Ramesh Kumar");
+    candidates.put("id2", "Suresh Kumar");
+    candidates.put("id3", "John Smyth");
+    candidates.put("id4", "Anita D'Souza");
+    candidates.put("id5", "Lakshmi Narayanan");
+    candidates.put("id6", "Priya Sharma");
+    candidates.put("id7", "Mohammed Rafi");
+    candidates.put("id8", "Venkatesh Iyer");
+    candidates.put("id9", "Gayathri Rao");
+    candidates.put("id10", "Karthik Reddy");
+    candidates.put("id11", "Aarav Patel");
+    candidates.put("id12", "Kavya Nair");
+    candidates.put("id13", "José Fernandes");
+    candidates.put("id14", "राम Prasad");
+    candidates.put("id15", "Flat 101");
+    Map<String, List<String>> expected = new LinkedHashMap<>();
+    expected.put("Ramesj", Arrays.asList("id1"));
+    expected.put("KUMAR", Arrays.asList("id1", "id2"));
+    expected.put("Kumaar", Arrays.asList("id1", "id2"));
+    expected.put("smith", Arrays.asList());
+    expected.put("Jon", Arrays.asList());
+    expected.put("dsouza", Arrays.asList("id4"));
+    expected.put("Narayan", Arrays.asList());
+    expected.put("Lakshmi Narayan", Arrays.asList("id5"));
+    expected.put("Pria Sharma", Arrays.asList("id6"));
+    expected.put("Mohamed", Arrays.asList("id7"));
+    expected.put("Muhammad Rafi", Arrays.asList("id7"));
+    expected.put("Venkat", Arrays.asList("id8"));
+    expected.put("Venkatesh", Arrays.asList("id8"));
+    expected.put("Gayatri", Arrays.asList("id9"));
+    expected.put("Karthick", Arrays.asList("id10"));
+    expected.put("Karthik Reddi", Arrays.asList("id10"));
+    expected.put("Arav", Arrays.asList("id11"));
+    expected.put("Nair", Arrays.asList("id12"));
+    expected.put("Rameshwar", Arrays.asList());
+    expected.put("Jose", Arrays.asList("id13"));
+    expected.put("राम", Arrays.asList("id14"));
+    expected.put("रामा", Arrays.asList());
+    expected.put("101", Arrays.asList("id15"));
+    expected.put("10", Arrays.asList());
+    expected.forEach(
+        (name, keys) ->
+            assertEquals(name, keys, FuzzyNameMatcher.match(name, candidates, 0.5f)));
+  }
+
+  @Test
+  public void testSoundex() {
+    assertEquals("R163", FuzzyNameMatcher.soundex("robert"));
+    assertEquals("R163", FuzzyNameMatcher.soundex("rupert"));
+    assertEquals("A261", FuzzyNameMatcher.soundex("ashcraft"));
+    assertEquals("T522", FuzzyNameMatcher.soundex("tymczak"));
+    assertEquals("D220", FuzzyNameMatcher.soundex("d27souza"));
+  }
+
+  @Test
+  public void testNormalize() {
+    assertEquals("d27souza", FuzzyNameMatcher.normalize("D'Souza"));
+    assertEquals("josc3a9", FuzzyNameMatcher.normalize("José"));
+  }
+}
@@ -0,0 +1,188 @@
+package org.sunbird.util.user;
+
+import static org.junit.Assert.assertEquals;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.FutureCallback;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.sunbird.cassandraimpl.CassandraOperationImpl;
+import org.sunbird.datasecurity.DecryptionService;
+import org.sunbird.helper.ServiceFactory;
+import org.sunbird.keys.JsonKey;
+import org.sunbird.service.user.UserService;
+import org.sunbird.service.user.UsernameFilter;
+import org.sunbird.service.user.impl.UserServiceImpl;
+
+/**
+ * Tests the generation of usernames in {@link UserUtil#setUserDefaultValue}, which skips the
+ * candidates that {@link UsernameFilter} reports as taken and looks the others up in one query.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({
+  ServiceFactory.class,
+  UserServiceImpl.class,
+  org.sunbird.datasecurity.impl.ServiceFactory.class
+})
+@PowerMockIgnore({
+  "javax.management.*",
+  "javax.net.ssl.*",
+  "javax.security.*",
+  "jdk.internal.reflect.*",
+  "javax.crypto.*"
+})
+public class GenerateUsernameTest {
+
+  private static final String ENCRYPTED = "enc:";
+
+  // UserUtil keeps the services it gets when it is loaded, so the same mocks are used by every test
+  private static final UserService userService = mock(UserService.class);
+  private static final DecryptionService decryptionService = mock(DecryptionService.class);
+
+  private CassandraOperationImpl cassandraOperation;
+
+  @Before
+  public void beforeEachTest() {
+    PowerMockito.mockStatic(ServiceFactory.class);
+    cassandraOperation = mock(CassandraOperationImpl.class);
+    when(ServiceFactory.getInstance()).thenReturn(cassandraOperation);
+
+    PowerMockito.mockStatic(org.sunbird.datasecurity.impl.ServiceFactory.class);
+    Mockito.reset(decryptionService, userService);
+    Answer<String> decrypt = invocation -> decrypt(invocation.getArgument(0));
+    when(decryptionService.decryptData(Mockito.anyString())).thenAnswer(decrypt);
+    when(decryptionService.decryptData(Mockito.anyString(), Mockito.any())).thenAnswer(decrypt);
+    when(org.sunbird.datasecurity.impl.ServiceFactory.getDecryptionServiceInstance())
+        .thenReturn(decryptionService);
+
+    PowerMockito.mockStatic(UserServiceImpl.class);
+    when(UserServiceImpl.getInstance()).thenReturn(userService);
+    when(userService.getEncryptedList(Mockito.anyList(), Mockito.any()))
+        .thenAnswer(
+            invocation ->
+                ((List<String>) invocation.getArgument(0))
+                    .stream()
+                    .map(username -> ENCRYPTED + username)
+                    .collect(Collectors.toList()));
+  }
+
+  /**
+   * Verifies that candidates known to the filter are not looked up, that the others are looked up
+   * in one query, and that a candidate the filter does not know but user_lookup has is not used.
+   */
+  @Test
+  public void testFilteredCandidatesAreLookedUpTogether() {
+    loadFilter("test_user_aaaa", "test_user_bbbb");
+    when(userService.generateUsernames(Mockito.anyString(), Mockito.anyList(), Mockito.any()))
+        .thenReturn(
+            Arrays.asList("test_user_aaaa", "test_user_bbbb", "test_user_cccc", "test_user_dddd"));
+    when(userService.searchUserNameInUserLookup(Mockito.anyList(), Mockito.any()))
+        .thenReturn(Collections.singletonList(lookupRow("test_user_cccc")));
+
+    assertEquals("test_user_dddd", generateUsername());
+
+    ArgumentCaptor<List> lookedUp = ArgumentCaptor.forClass(List.class);
+    Mockito.verify(userService, Mockito.times(1))
+        .searchUserNameInUserLookup(lookedUp.capture(), Mockito.any());
+    assertEquals(
+        Arrays.asList(ENCRYPTED + "test_user_cccc", ENCRYPTED + "test_user_dddd"),
+        lookedUp.getValue());
+    Mockito.verify(userService, Mockito.times(1))
+        .generateUsernames(Mockito.anyString(), Mockito.anyList(), Mockito.any());
+  }
+
+  /**
+   * Verifies that when the filter reports every candidate as taken, even though user_lookup has
+   * none of them (false positives), they are skipped without a lookup and the next batch of
+   * candidates is used.
+   */
+  @Test
+  public void testFalsePositivesOnlyCostMoreCandidates() {
+    List<String> firstBatch = Arrays.asList("test_user_aaaa", "test_user_bbbb");
+    List<String> secondBatch = Arrays.asList("test_user_eeee", "test_user_ffff");
+    loadFilter(firstBatch.toArray(new String[0]));
+    when(userService.generateUsernames(Mockito.anyString(), Mockito.anyList(), Mockito.any()))
+        .thenReturn(firstBatch, secondBatch);
+    when(userService.searchUserNameInUserLookup(Mockito.anyList(), Mockito.any()))
+        .thenReturn(new ArrayList<>());
+
+    assertEquals("test_user_eeee", generateUsername());
+
+    Mockito.verify(userService, Mockito.times(2))
+        .generateUsernames(Mockito.anyString(), Mockito.anyList(), Mockito.any());
+    ArgumentCaptor<List> lookedUp = ArgumentCaptor.forClass(List.class);
+    Mockito.verify(userService, Mockito.times(1))
+        .searchUserNameInUserLookup(lookedUp.capture(), Mockito.any());
+    assertEquals(
+        Arrays.asList(ENCRYPTED + "test_user_eeee", ENCRYPTED + "test_user_ffff"),
+        lookedUp.getValue());
+    // the generated username is recorded, so it is skipped from now on
+    assertEquals(true, UsernameFilter.mightBeTaken("test_user_eeee"));
+  }
+
+  private String generateUsername() {
+    Map<String, Object> userMap = new HashMap<>();
+    userMap.put(JsonKey.FIRST_NAME, "Test User");
+    UserUtil.setUserDefaultValue(userMap, null);
+    return (String) userMap.get(JsonKey.USERNAME);
+  }
+
+  /** Loads the filter from a user_lookup scan which returns the given usernames. */
+  private void loadFilter(String... usernames) {
+    List<Row> rows = new ArrayList<>();
+    for (String username : usernames) {
+      Row row = mock(Row.class);
+      when(row.getString(JsonKey.TYPE)).thenReturn(JsonKey.USER_LOOKUP_FILED_USER_NAME);
+      when(row.getString(JsonKey.VALUE)).thenReturn(ENCRYPTED + username);
+      rows.add(row);
+    }
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSet.iterator()).thenReturn(rows.iterator());
+    Mockito.doAnswer(
+            invocation -> {
+              ((FutureCallback<ResultSet>) invocation.getArgument(4)).onSuccess(resultSet);
+              return null;
+            })
+        .when(cassandraOperation)
+        .applyOperationOnRecordsAsync(
+            Mockito.anyString(),
+            Mockito.anyString(),
+            Mockito.any(),
+            Mockito.anyList(),
+            Mockito.any(),
+            Mockito.any());
+    new UsernameFilter().run();
+    for (String username : usernames) {
+      assertEquals(true, UsernameFilter.mightBeTaken(username));
+    }
+  }
+
+  private static Map<String, Object> lookupRow(String username) {
+    Map<String, Object> row = new HashMap<>();
+    row.put(JsonKey.TYPE, JsonKey.USER_LOOKUP_FILED_USER_NAME);
+    row.put(JsonKey.VALUE, ENCRYPTED + username);
+    return row;
+  }
+
+  private static String decrypt(String value) {
+    return value.startsWith(ENCRYPTED) ? value.substring(ENCRYPTED.length()) : value;
+  }
+}